@@ -0,0 +1,92 @@
+package org.example.benchmarks;
+
+import org.example.adapters.JdbcConnectionAdapter;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@code adapters} layer over plain JDBC when scanning a result set.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AdapterBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private Connection keepAlive;
+    private Connection rawConnection;
+    private JdbcConnectionAdapter adapter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keepAlive = BenchmarkDatabase.create("adapters", ROWS);
+        rawConnection = BenchmarkDatabase.connect("adapters");
+        adapter = new JdbcConnectionAdapter(BenchmarkDatabase.connect("adapters"), 16);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        adapter.close();
+        rawConnection.close();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public long rawJdbcScan() throws SQLException {
+        long sum = 0;
+        try (PreparedStatement stmt = rawConnection.prepareStatement(BenchmarkDatabase.SCAN_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getInt("id") + rs.getInt("age");
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long adapterScanByLabel() throws SQLException {
+        long sum = 0;
+        try (DatabaseStatement stmt = adapter.prepareStatement(BenchmarkDatabase.SCAN_QUERY);
+             DatabaseResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getInt("id") + rs.getInt("age");
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long adapterScanByIndex() throws SQLException {
+        long sum = 0;
+        try (DatabaseStatement stmt = adapter.prepareStatement(BenchmarkDatabase.SCAN_QUERY);
+             DatabaseResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getInt(1) + rs.getInt(3);
+            }
+        }
+        return sum;
+    }
+
+}
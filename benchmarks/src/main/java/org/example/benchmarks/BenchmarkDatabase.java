@@ -0,0 +1,54 @@
+package org.example.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * In-memory H2 database with a populated {@code users} table, the same schema {@code Main} uses.
+ */
+final class BenchmarkDatabase {
+
+    static final String LOOKUP_QUERY = "SELECT id, name, age FROM users WHERE id = ?";
+    static final String LOOKUP_IN_QUERY = "SELECT id, name, age FROM users WHERE id IN (?)";
+    static final String SCAN_QUERY = "SELECT id, name, age FROM users";
+    static final String UPDATE_QUERY = "UPDATE users SET age = ? WHERE id = ?";
+
+    private BenchmarkDatabase() {
+    }
+
+    static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+    }
+
+    static Connection connect(String name) throws SQLException {
+        return DriverManager.getConnection(url(name), "sa", "");
+    }
+
+    /**
+     * Creates the database and returns a connection that keeps it alive until closed.
+     */
+    static Connection create(String name, int rows) throws SQLException {
+        Connection connection = connect(name);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS users");
+            stmt.execute("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(255), age INT)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO users (id, name, age) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= rows; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "user-" + id);
+                insert.setInt(3, 18 + id % 60);
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        return connection;
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.example.benchmarks;
+
+import org.example.JdbcWrapper;
+import org.example.adapters.JdbcConnectionAdapter;
+import org.example.interfaces.DatabaseConnection;
+import org.example.pool.ConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups from several threads sharing a {@link ConnectionPool}, each borrowing a
+ * connection per operation as a request handler would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentAccessBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final JdbcWrapper.ResultSetMapper<User> USER_MAPPER =
+            rs -> new User(rs.getInt("id"), rs.getString("name"), rs.getInt("age"));
+
+    private Connection keepAlive;
+    private ConnectionPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keepAlive = BenchmarkDatabase.create("concurrent", ROWS);
+        pool = ConnectionPool.builder(() -> new JdbcConnectionAdapter(BenchmarkDatabase.connect("concurrent"), 64))
+                .maxSize(16)
+                .validateOnBorrow(false)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        pool.close();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public List<User> lookup1Thread() throws SQLException {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<User> lookup4Threads() throws SQLException {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public List<User> lookup16Threads() throws SQLException {
+        return lookup();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public List<User> lookup64Threads() throws SQLException {
+        return lookup();
+    }
+
+    private List<User> lookup() throws SQLException {
+        int id = ThreadLocalRandom.current().nextInt(1, ROWS + 1);
+        DatabaseConnection connection = pool.getConnection();
+        try (JdbcWrapper wrapper = new JdbcWrapper(connection)) {
+            return wrapper.executeQuery(BenchmarkDatabase.LOOKUP_QUERY, List.of(id), USER_MAPPER);
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.example.benchmarks;
+
+import org.example.JdbcWrapper;
+import org.example.adapters.JdbcConnectionAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Single-threaded throughput of the {@link JdbcWrapper} entry points against in-memory H2.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JdbcWrapperBenchmark {
+
+    private static final JdbcWrapper.ResultSetMapper<User> USER_MAPPER =
+            rs -> new User(rs.getInt("id"), rs.getString("name"), rs.getInt("age"));
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"0", "64"})
+    private int statementCacheSize;
+
+    private Connection keepAlive;
+    private JdbcWrapper wrapper;
+    private List<List<Object>> batch;
+    private List<Integer> lookupIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keepAlive = BenchmarkDatabase.create("wrapper", rows);
+        wrapper = new JdbcWrapper(new JdbcConnectionAdapter(BenchmarkDatabase.connect("wrapper"), statementCacheSize));
+        batch = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            batch.add(List.of(30, id));
+        }
+        lookupIds = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            lookupIds.add(id * (rows / 100));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        wrapper.close();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public List<User> singleRowLookup() throws SQLException {
+        int id = ThreadLocalRandom.current().nextInt(1, rows + 1);
+        return wrapper.executeQuery(BenchmarkDatabase.LOOKUP_QUERY, List.of(id), USER_MAPPER);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public int lookupsRowByRow() throws SQLException {
+        int found = 0;
+        for (Integer id : lookupIds) {
+            found += wrapper.executeQuery(BenchmarkDatabase.LOOKUP_QUERY, List.of(id), USER_MAPPER).size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<User> lookupsInList() throws SQLException {
+        return wrapper.executeQueryIn(BenchmarkDatabase.LOOKUP_IN_QUERY, lookupIds, USER_MAPPER);
+    }
+
+    @Benchmark
+    public List<User> largeScan() throws SQLException {
+        return wrapper.executeQuery(BenchmarkDatabase.SCAN_QUERY, null, USER_MAPPER);
+    }
+
+    @Benchmark
+    public List<User> largeScanGeneratedMapper() throws SQLException {
+        return wrapper.executeQueryAs(BenchmarkDatabase.SCAN_QUERY, List.of(), User.class);
+    }
+
+    @Benchmark
+    public long largeScanVisited() throws SQLException {
+        return wrapper.reduce(BenchmarkDatabase.SCAN_QUERY, List.of(), new long[1], (sum, row) -> {
+            sum[0] += row.getInt("age");
+            return sum;
+        })[0];
+    }
+
+    @Benchmark
+    public void largeScanStreamed(Blackhole blackhole) throws SQLException {
+        try (Stream<User> users = wrapper.executeQueryStream(BenchmarkDatabase.SCAN_QUERY, null, USER_MAPPER)) {
+            users.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public int singleRowUpdate() throws SQLException {
+        int id = ThreadLocalRandom.current().nextInt(1, rows + 1);
+        return wrapper.executeUpdate(BenchmarkDatabase.UPDATE_QUERY, List.of(30, id));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int bulkUpdateRowByRow() throws SQLException {
+        int updated = 0;
+        for (List<Object> row : batch) {
+            updated += wrapper.executeUpdate(BenchmarkDatabase.UPDATE_QUERY, row);
+        }
+        return updated;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int[] bulkUpdateBatched() throws SQLException {
+        return wrapper.executeBatch(BenchmarkDatabase.UPDATE_QUERY, batch);
+    }
+
+}
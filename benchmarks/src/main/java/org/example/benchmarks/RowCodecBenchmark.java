@@ -0,0 +1,129 @@
+package org.example.benchmarks;
+
+import org.example.JdbcWrapper;
+import org.example.adapters.JdbcConnectionAdapter;
+import org.example.io.BufferedResult;
+import org.example.io.ValueCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the binary row encoding behind {@link BufferedResult}: encoding and decoding rows
+ * with {@link ValueCodec} on their own, and reading a buffered result back from heap and from a
+ * memory-mapped spill file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RowCodecBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CODEC_ROWS = 1000;
+    private static final JdbcWrapper.ResultSetMapper<Integer> AGE_MAPPER = rs -> rs.getInt("age");
+
+    private Connection keepAlive;
+    private JdbcWrapper wrapper;
+    private BufferedResult<Integer> heapResult;
+    private BufferedResult<Integer> spilledResult;
+    private ByteArrayOutputStream encoded;
+    private DataOutputStream encoder;
+    private ByteBuffer rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        keepAlive = BenchmarkDatabase.create("codec", ROWS);
+        wrapper = new JdbcWrapper(new JdbcConnectionAdapter(BenchmarkDatabase.connect("codec")));
+        heapResult = wrapper.executeQueryBuffered(BenchmarkDatabase.SCAN_QUERY, List.of(), AGE_MAPPER, Long.MAX_VALUE);
+        spilledResult = wrapper.executeQueryBuffered(BenchmarkDatabase.SCAN_QUERY, List.of(), AGE_MAPPER, 0);
+        encoded = new ByteArrayOutputStream(64 * CODEC_ROWS);
+        encoder = new DataOutputStream(encoded);
+        encodeRows();
+        rows = ByteBuffer.wrap(encoded.toByteArray());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        heapResult.close();
+        spilledResult.close();
+        wrapper.close();
+        keepAlive.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEC_ROWS)
+    public int encodeRows() throws IOException {
+        encoded.reset();
+        for (int id = 1; id <= CODEC_ROWS; id++) {
+            ValueCodec.writeInt(encoder, id);
+            ValueCodec.writeString(encoder, "user-" + id);
+            ValueCodec.writeInt(encoder, 18 + id % 60);
+        }
+        return encoded.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODEC_ROWS)
+    public long decodeRows() {
+        long sum = 0;
+        int position = 0;
+        for (int row = 0; row < CODEC_ROWS; row++) {
+            sum += rows.getInt(position + 1);
+            position = ValueCodec.next(rows, position);
+            sum += ((String) ValueCodec.read(rows, position)).length();
+            position = ValueCodec.next(rows, position);
+            sum += rows.getInt(position + 1);
+            position = ValueCodec.next(rows, position);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateHeapResult() {
+        long sum = 0;
+        for (int age : heapResult) {
+            sum += age;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateSpilledResult() {
+        long sum = 0;
+        for (int age : spilledResult) {
+            sum += age;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long bufferSpilledResult() throws SQLException {
+        try (BufferedResult<Integer> result = wrapper.executeQueryBuffered(BenchmarkDatabase.SCAN_QUERY, List.of(),
+                AGE_MAPPER, 0)) {
+            return result.getByteSize();
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+package org.example.benchmarks;
+
+record User(int id, String name, int age) {
+}
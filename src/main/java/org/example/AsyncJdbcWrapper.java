@@ -0,0 +1,342 @@
+package org.example;
+
+import org.example.adapters.DelegatingConnection;
+import org.example.adapters.DelegatingStatement;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs queries and updates asynchronously, each on its own connection taken from a
+ * {@link DatabaseConnectionProvider} such as a {@link org.example.pool.ConnectionPool}. Partitioned
+ * scans split one large query into {@link QueryPartition}s that run side by side.
+ * <p>
+ * Tasks run on virtual threads when the runtime provides them (Java 21 and later) and otherwise
+ * on a fixed pool of {@code maxConcurrency} platform threads. Either way, at most
+ * {@code maxConcurrency} statements run at once; further tasks wait for a permit. Cancelling a
+ * returned future before it completes cancels the running statement.
+ */
+public class AsyncJdbcWrapper implements AutoCloseable {
+
+    private final DatabaseConnectionProvider connectionProvider;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    public AsyncJdbcWrapper(DatabaseConnectionProvider connectionProvider, int maxConcurrency) {
+        this(connectionProvider, maxConcurrency, defaultExecutor(maxConcurrency), true);
+    }
+
+    /**
+     * Uses a caller-supplied executor, which is not shut down by {@link #close()}.
+     */
+    public AsyncJdbcWrapper(DatabaseConnectionProvider connectionProvider, int maxConcurrency, ExecutorService executor) {
+        this(connectionProvider, maxConcurrency, executor, false);
+    }
+
+    private AsyncJdbcWrapper(DatabaseConnectionProvider connectionProvider, int maxConcurrency,
+                             ExecutorService executor, boolean ownsExecutor) {
+        if (connectionProvider == null) {
+            throw new IllegalArgumentException("Connection provider cannot be null");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Maximum concurrency must be positive");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.connectionProvider = connectionProvider;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public <T> CompletableFuture<List<T>> executeQueryAsync(String query, List<Object> parameters,
+                                                            JdbcWrapper.ResultSetMapper<T> mapper) {
+        return submit(wrapper -> wrapper.executeQuery(query, parameters, mapper));
+    }
+
+    /**
+     * Runs {@link JdbcWrapper#executeQueryIn} asynchronously.
+     */
+    public <T> CompletableFuture<List<T>> executeQueryInAsync(String query, Collection<?> values,
+                                                              JdbcWrapper.ResultSetMapper<T> mapper) {
+        return submit(wrapper -> wrapper.executeQueryIn(query, values, mapper));
+    }
+
+    public CompletableFuture<Integer> executeUpdateAsync(String query, List<Object> parameters) {
+        return submit(wrapper -> wrapper.executeUpdate(query, parameters));
+    }
+
+    /**
+     * Runs every partition concurrently, each on its own connection, and concatenates the results in
+     * partition order. If any partition fails, the others are cancelled and the returned future
+     * fails with that partition's exception.
+     */
+    public <T> CompletableFuture<List<T>> executeQueryPartitionedAsync(List<QueryPartition> partitions,
+                                                                      JdbcWrapper.ResultSetMapper<T> mapper) {
+        return executePartitions(partitions, mapper).thenApply(results -> {
+            int size = 0;
+            for (List<T> result : results) {
+                size += result.size();
+            }
+            List<T> merged = new ArrayList<>(size);
+            for (List<T> result : results) {
+                merged.addAll(result);
+            }
+            return merged;
+        });
+    }
+
+    /**
+     * Like {@link #executeQueryPartitionedAsync(List, JdbcWrapper.ResultSetMapper)}, but merges the
+     * partitions' results with a k-way merge. Each partition query must return its rows sorted
+     * consistently with {@code order} (typically through an {@code ORDER BY}); rows comparing equal
+     * keep partition order.
+     */
+    public <T> CompletableFuture<List<T>> executeQueryPartitionedAsync(List<QueryPartition> partitions,
+                                                                      JdbcWrapper.ResultSetMapper<T> mapper,
+                                                                      Comparator<? super T> order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+        return executePartitions(partitions, mapper).thenApply(results -> merge(results, order));
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns the number of statements currently holding a permit.
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<List<List<T>>> executePartitions(List<QueryPartition> partitions,
+                                                                    JdbcWrapper.ResultSetMapper<T> mapper) {
+        if (partitions == null) {
+            throw new IllegalArgumentException("Partitions cannot be null");
+        }
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(partitions.size());
+        for (QueryPartition partition : partitions) {
+            futures.add(executeQueryAsync(partition.getQuery(), partition.getParameters(), mapper));
+        }
+        CompletableFuture<List<List<T>>> all = new CompletableFuture<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            future.whenComplete((result, failure) -> {
+                if (failure != null && all.completeExceptionally(failure)) {
+                    futures.forEach(other -> other.cancel(true));
+                }
+            });
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                List<List<T>> results = new ArrayList<>(futures.size());
+                futures.forEach(future -> results.add(future.join()));
+                all.complete(results);
+            }
+        });
+        all.whenComplete((result, failure) -> {
+            if (all.isCancelled()) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        });
+        return all;
+    }
+
+    private static <T> List<T> merge(List<List<T>> results, Comparator<? super T> order) {
+        int size = 0;
+        for (List<T> result : results) {
+            size += result.size();
+        }
+        List<T> merged = new ArrayList<>(size);
+        int[] positions = new int[results.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, results.size()), (a, b) -> {
+            int comparison = order.compare(results.get(a).get(positions[a]), results.get(b).get(positions[b]));
+            return comparison != 0 ? comparison : Integer.compare(a, b);
+        });
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isEmpty()) {
+                heads.add(i);
+            }
+        }
+        while (!heads.isEmpty()) {
+            int partition = heads.poll();
+            List<T> result = results.get(partition);
+            merged.add(result.get(positions[partition]++));
+            if (positions[partition] < result.size()) {
+                heads.add(partition);
+            }
+        }
+        return merged;
+    }
+
+    private <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        RunningStatement running = new RunningStatement();
+        Future<?> submitted;
+        try {
+            submitted = executor.submit(() -> run(task, future, running));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        future.whenComplete((result, failure) -> {
+            if (future.isCancelled()) {
+                // cancel the statement before interrupting, which could make the task close it first
+                running.cancel();
+                submitted.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    private <T> void run(Task<T> task, CompletableFuture<T> future, RunningStatement running) {
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            future.completeExceptionally(new CancellationException("Cancelled while waiting for a permit"));
+            return;
+        }
+        T result = null;
+        Throwable failure = null;
+        try (DatabaseConnection connection = connectionProvider.getConnection()) {
+            result = task.run(new JdbcWrapper(new TrackingConnection(connection, running, future)));
+        } catch (SQLException | RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            permits.release();
+        }
+        // completed only once the connection is back and the permit released, so dependent stages can reuse both
+        if (failure != null) {
+            future.completeExceptionally(failure);
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+        } else {
+            future.complete(result);
+        }
+    }
+
+    private static ExecutorService defaultExecutor(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Maximum concurrency must be positive");
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // virtual threads need Java 21
+            return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+                Thread thread = new Thread(runnable, "async-jdbc-wrapper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task<T> {
+        T run(JdbcWrapper wrapper) throws SQLException;
+    }
+
+    /**
+     * The statement a task is currently executing. Access is synchronized so a statement is never
+     * cancelled after its task has closed it and the connection has moved on.
+     */
+    private static final class RunningStatement {
+
+        private DatabaseStatement statement;
+        private boolean cancelled;
+
+        synchronized boolean start(DatabaseStatement statement) {
+            this.statement = statement;
+            return !cancelled;
+        }
+
+        synchronized void finish() {
+            statement = null;
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (statement != null) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    // the statement may already have completed
+                }
+            }
+        }
+
+    }
+
+    private static final class TrackingConnection extends DelegatingConnection {
+
+        private final RunningStatement running;
+        private final CompletableFuture<?> future;
+
+        TrackingConnection(DatabaseConnection delegate, RunningStatement running, CompletableFuture<?> future) {
+            super(delegate);
+            this.running = running;
+            this.future = future;
+        }
+
+        @Override
+        public DatabaseStatement prepareStatement(String query) throws SQLException {
+            DatabaseStatement statement = delegate().prepareStatement(query);
+            if (!running.start(statement) || future.isCancelled()) {
+                running.finish();
+                statement.close();
+                throw new SQLException("Statement was cancelled", "57014");
+            }
+            return new TrackedStatement(statement, running);
+        }
+
+    }
+
+    private static final class TrackedStatement extends DelegatingStatement {
+
+        private final RunningStatement running;
+
+        TrackedStatement(DatabaseStatement delegate, RunningStatement running) {
+            super(delegate);
+            this.running = running;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            running.finish();
+            super.close();
+        }
+
+    }
+
+}
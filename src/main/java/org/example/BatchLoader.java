@@ -0,0 +1,317 @@
+package org.example;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batches point lookups into {@code IN} list queries. Each {@link #load} returns a future at once;
+ * the keys requested within the batch window of the first one, or until the maximum batch size is
+ * reached, are looked up together with one
+ * {@link AsyncJdbcWrapper#executeQueryInAsync executeQueryInAsync} call, and every future is
+ * completed with the row read for its key, or {@code null} if there is none. This turns the
+ * separate round trips of a loop of lookups, the N+1 query pattern, into a few.
+ * <pre>{@code
+ * BatchLoader<Long, User> users = BatchLoader.builder(async,
+ *         "SELECT id, name FROM users WHERE id IN (?)", rs -> rs.getLong("id"), USER).build();
+ * List<CompletableFuture<User>> authors = ids.stream().map(users::load).toList();
+ * }</pre>
+ * The key mapper must read keys back as objects equal to those passed to {@link #load}. The key
+ * column is expected to be unique; of several rows for one key, the first is returned. Keys
+ * requested again while their batch is still being collected are looked up once, though every
+ * caller gets a future of its own.
+ * <p>
+ * A failed query fails every future of its batch. A batch whose futures have all been cancelled is
+ * cancelled too, or not sent at all. Shared by any number of threads.
+ */
+public final class BatchLoader<K, V> implements AutoCloseable {
+
+    private final AsyncJdbcWrapper wrapper;
+    private final String query;
+    private final JdbcWrapper.ResultSetMapper<Map.Entry<K, V>> rowMapper;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final LongAdder batches = new LongAdder();
+    private Map<K, Slot<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> timer;
+    private boolean closed;
+
+    private BatchLoader(Builder<K, V> builder) {
+        this.wrapper = builder.wrapper;
+        this.query = builder.query;
+        JdbcWrapper.ResultSetMapper<K> keyMapper = builder.keyMapper;
+        JdbcWrapper.ResultSetMapper<V> valueMapper = builder.valueMapper;
+        this.rowMapper = rs -> new AbstractMap.SimpleImmutableEntry<>(keyMapper.map(rs), valueMapper.map(rs));
+        this.maxBatchSize = builder.maxBatchSize;
+        this.batchWindowNanos = builder.batchWindow.toNanos();
+    }
+
+    /**
+     * Starts a builder for a loader running {@code query}, which selects the rows for the keys in
+     * its only parameter, an {@code IN (?)} list, on {@code wrapper}. {@code keyMapper} reads the
+     * key of a row and {@code valueMapper} the value returned for it.
+     */
+    public static <K, V> Builder<K, V> builder(AsyncJdbcWrapper wrapper, String query,
+                                               JdbcWrapper.ResultSetMapper<K> keyMapper,
+                                               JdbcWrapper.ResultSetMapper<V> valueMapper) {
+        return new Builder<>(wrapper, query, keyMapper, valueMapper);
+    }
+
+    /**
+     * Returns a future completed with the row for {@code key}, or {@code null} if there is none,
+     * once the batch it joins has been looked up.
+     */
+    public CompletableFuture<V> load(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Slot<V> slot;
+        Map<K, Slot<V>> full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Loader has been closed");
+            }
+            slot = pending.get(key);
+            // a key whose callers have all cancelled starts over
+            if (slot == null || !slot.join()) {
+                slot = new Slot<>();
+                slot.join();
+                pending.put(key, slot);
+                if (pending.size() >= maxBatchSize) {
+                    full = takePending();
+                } else if (pending.size() == 1) {
+                    Map<K, Slot<V>> batch = pending;
+                    timer = Timer.SCHEDULER.schedule(() -> expire(batch), batchWindowNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return slot.newCaller();
+    }
+
+    /**
+     * Sends the keys collected so far without waiting for the batch window to end, for callers that
+     * know no more keys are coming.
+     */
+    public void dispatch() {
+        Map<K, Slot<V>> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        send(batch);
+    }
+
+    /**
+     * Returns the number of keys waiting to be sent.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of batches sent.
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Sends the keys collected so far; later {@link #load} calls fail. The wrapper is left open.
+     */
+    @Override
+    public void close() {
+        Map<K, Slot<V>> batch;
+        synchronized (this) {
+            closed = true;
+            batch = takePending();
+        }
+        send(batch);
+    }
+
+    private void expire(Map<K, Slot<V>> batch) {
+        synchronized (this) {
+            // the batch may have been sent already, and the timer fired before it could be cancelled
+            if (pending != batch) {
+                return;
+            }
+            takePending();
+        }
+        send(batch);
+    }
+
+    private Map<K, Slot<V>> takePending() {
+        Map<K, Slot<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        return batch;
+    }
+
+    private void send(Map<K, Slot<V>> batch) {
+        List<K> keys = new ArrayList<>(batch.size());
+        batch.forEach((key, slot) -> {
+            if (!slot.result.isDone()) {
+                keys.add(key);
+            }
+        });
+        if (keys.isEmpty()) {
+            return;
+        }
+        batches.increment();
+        CompletableFuture<List<Map.Entry<K, V>>> rows = wrapper.executeQueryInAsync(query, keys, rowMapper);
+        AtomicInteger waiting = new AtomicInteger(keys.size());
+        for (K key : keys) {
+            CompletableFuture<V> future = batch.get(key).result;
+            future.whenComplete((value, failure) -> {
+                if (future.isCancelled() && waiting.decrementAndGet() == 0) {
+                    rows.cancel(true);
+                }
+            });
+        }
+        rows.whenComplete((result, failure) -> {
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                batch.values().forEach(slot -> slot.result.completeExceptionally(cause));
+                return;
+            }
+            Map<K, V> values = new HashMap<>(Math.max(16, result.size() * 2));
+            for (Map.Entry<K, V> row : result) {
+                values.putIfAbsent(row.getKey(), row.getValue());
+            }
+            batch.forEach((key, slot) -> slot.result.complete(values.get(key)));
+        });
+    }
+
+    /**
+     * The lookup of one key in a batch. Every caller gets its own future depending on the shared
+     * result, so completing or cancelling one does not affect the others; the lookup itself is
+     * cancelled once all of its callers have cancelled.
+     */
+    private static final class Slot<V> {
+
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        private int callers;
+        private int cancelled;
+
+        /**
+         * Adds a caller, unless the lookup has already completed or all of its callers cancelled.
+         */
+        synchronized boolean join() {
+            if (result.isDone() || (callers > 0 && cancelled == callers)) {
+                return false;
+            }
+            callers++;
+            return true;
+        }
+
+        CompletableFuture<V> newCaller() {
+            CompletableFuture<V> future = result.copy();
+            future.whenComplete((value, failure) -> {
+                if (future.isCancelled()) {
+                    cancelled();
+                }
+            });
+            return future;
+        }
+
+        private void cancelled() {
+            boolean all;
+            synchronized (this) {
+                all = ++cancelled == callers;
+            }
+            if (all) {
+                result.cancel(false);
+            }
+        }
+
+    }
+
+    public static final class Builder<K, V> {
+
+        private final AsyncJdbcWrapper wrapper;
+        private final String query;
+        private final JdbcWrapper.ResultSetMapper<K> keyMapper;
+        private final JdbcWrapper.ResultSetMapper<V> valueMapper;
+        private int maxBatchSize = 100;
+        private Duration batchWindow = Duration.ofMillis(2);
+
+        private Builder(AsyncJdbcWrapper wrapper, String query, JdbcWrapper.ResultSetMapper<K> keyMapper,
+                        JdbcWrapper.ResultSetMapper<V> valueMapper) {
+            this.wrapper = wrapper;
+            this.query = query;
+            this.keyMapper = keyMapper;
+            this.valueMapper = valueMapper;
+        }
+
+        /**
+         * Sets the number of keys at which a batch is sent without waiting for its window to end.
+         */
+        public Builder<K, V> maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how long keys are collected after the first key of a batch is requested.
+         */
+        public Builder<K, V> batchWindow(Duration batchWindow) {
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        public BatchLoader<K, V> build() {
+            if (wrapper == null) {
+                throw new IllegalArgumentException("Wrapper cannot be null");
+            }
+            InList.parse(query);
+            if (keyMapper == null || valueMapper == null) {
+                throw new IllegalArgumentException("Key and value mappers cannot be null");
+            }
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("Maximum batch size must be positive");
+            }
+            if (batchWindow == null || batchWindow.isNegative() || batchWindow.isZero()) {
+                throw new IllegalArgumentException("Batch window must be positive");
+            }
+            return new BatchLoader<>(this);
+        }
+
+    }
+
+    /**
+     * Holds the scheduler that ends batch windows, started on first use. Its single daemon thread
+     * only hands batches to the wrapper, which runs them on its own threads.
+     */
+    private static final class Timer {
+
+        static final ScheduledThreadPoolExecutor SCHEDULER = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "jdbc-wrapper-batch-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+
+    }
+
+}
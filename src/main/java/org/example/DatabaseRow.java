@@ -0,0 +1,31 @@
+package org.example;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Read-only view of the current row of a scan started by
+ * {@link JdbcWrapper#forEachRow(String, java.util.List, JdbcWrapper.RowConsumer)} or
+ * {@link JdbcWrapper#reduce}. One view is reused for every row of a scan and reads straight from
+ * the live result set, so values must be copied out if they are needed after the callback returns.
+ */
+public interface DatabaseRow {
+    int getColumnCount() throws SQLException;
+    String getColumnLabel(int columnIndex) throws SQLException;
+    int getColumnType(int columnIndex) throws SQLException;
+    String getString(int columnIndex) throws SQLException;
+    String getString(String columnLabel) throws SQLException;
+    int getInt(int columnIndex) throws SQLException;
+    int getInt(String columnLabel) throws SQLException;
+    long getLong(int columnIndex) throws SQLException;
+    long getLong(String columnLabel) throws SQLException;
+    double getDouble(int columnIndex) throws SQLException;
+    double getDouble(String columnLabel) throws SQLException;
+    boolean getBoolean(int columnIndex) throws SQLException;
+    boolean getBoolean(String columnLabel) throws SQLException;
+    byte[] getBytes(int columnIndex) throws SQLException;
+    byte[] getBytes(String columnLabel) throws SQLException;
+    Timestamp getTimestamp(int columnIndex) throws SQLException;
+    Timestamp getTimestamp(String columnLabel) throws SQLException;
+    boolean wasNull() throws SQLException;
+}
@@ -0,0 +1,62 @@
+package org.example;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a request's statements must finish, measured on {@link System#nanoTime()}.
+ * Passed to {@link JdbcWrapper#withDeadline}, it bounds every statement in the scope: each gets the
+ * time remaining as its query timeout and is cancelled if it is still running when the deadline
+ * passes.
+ */
+public final class Deadline {
+
+    // keeps deadlines comparable by subtraction, which nanoTime values only are within 2^63 ns
+    private static final long MAX_TIMEOUT_NANOS = Long.MAX_VALUE / 2;
+
+    private final long nanoTime;
+
+    private Deadline(long nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public static Deadline after(Duration timeout) {
+        if (timeout == null || timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        long nanos;
+        try {
+            nanos = Math.min(timeout.toNanos(), MAX_TIMEOUT_NANOS);
+        } catch (ArithmeticException e) {
+            nanos = MAX_TIMEOUT_NANOS;
+        }
+        return new Deadline(System.nanoTime() + nanos);
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Returns the time left, or {@link Duration#ZERO} once the deadline has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    long remainingNanos() {
+        return nanoTime - System.nanoTime();
+    }
+
+    /**
+     * Returns whichever of this deadline and {@code other} comes first.
+     */
+    Deadline earliest(Deadline other) {
+        return other == null || nanoTime - other.nanoTime <= 0 ? this : other;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remaining() + "]";
+    }
+
+}
@@ -0,0 +1,242 @@
+package org.example;
+
+import org.example.adapters.DelegatingConnection;
+import org.example.adapters.DelegatingResultSet;
+import org.example.adapters.DelegatingStatement;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds every statement prepared through it to a {@link Deadline}. Each execution gets the time
+ * remaining, rounded up to whole seconds, as its JDBC query timeout, and a watchdog cancels the
+ * statement when the deadline passes while it is still executing or its result set is still being
+ * read, which driver query timeouts do not always cover. Failures of a statement that overran its
+ * deadline are thrown as {@link QueryTimeoutException}.
+ */
+final class DeadlineConnection extends DelegatingConnection {
+
+    private final Deadline deadline;
+
+    DeadlineConnection(DatabaseConnection delegate, Deadline deadline) {
+        super(delegate);
+        this.deadline = deadline;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        checkDeadline(deadline);
+        return new DeadlineStatement(delegate().prepareStatement(query), deadline);
+    }
+
+    private static void checkDeadline(Deadline deadline) throws QueryTimeoutException {
+        if (deadline.isExpired()) {
+            throw new QueryTimeoutException("Deadline expired before the statement started");
+        }
+    }
+
+    private static final class DeadlineStatement extends DelegatingStatement {
+
+        private final Deadline deadline;
+        private Execution open;
+
+        DeadlineStatement(DatabaseStatement delegate, Deadline deadline) {
+            super(delegate);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public DatabaseResultSet executeQuery() throws SQLException {
+            finishOpen();
+            Execution execution = start();
+            DatabaseResultSet resultSet;
+            try {
+                resultSet = delegate().executeQuery();
+            } catch (SQLException e) {
+                execution.finish();
+                throw execution.translate(e);
+            } catch (RuntimeException | Error e) {
+                execution.finish();
+                throw e;
+            }
+            open = execution;
+            return new DeadlineResultSet(resultSet, execution);
+        }
+
+        @Override
+        public int executeUpdate() throws SQLException {
+            Execution execution = start();
+            try {
+                return delegate().executeUpdate();
+            } catch (SQLException e) {
+                throw execution.translate(e);
+            } finally {
+                execution.finish();
+            }
+        }
+
+        @Override
+        public int[] executeBatch() throws SQLException {
+            Execution execution = start();
+            try {
+                return delegate().executeBatch();
+            } catch (SQLException e) {
+                throw execution.translate(e);
+            } finally {
+                execution.finish();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            // stop the watchdog before the statement can be closed, and possibly reused by a cache
+            finishOpen();
+            super.close();
+        }
+
+        private Execution start() throws SQLException {
+            checkDeadline(deadline);
+            long remaining = deadline.remainingNanos();
+            delegate().setQueryTimeout((int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                    (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+            return new Execution(delegate(), deadline, remaining);
+        }
+
+        private void finishOpen() {
+            if (open != null) {
+                open.finish();
+                open = null;
+            }
+        }
+
+    }
+
+    private static final class DeadlineResultSet extends DelegatingResultSet {
+
+        private final Execution execution;
+
+        DeadlineResultSet(DatabaseResultSet delegate, Execution execution) {
+            super(delegate);
+            this.execution = execution;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            try {
+                return delegate().next();
+            } catch (SQLException e) {
+                throw execution.translate(e);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            execution.finish();
+            super.close();
+        }
+
+    }
+
+    /**
+     * One execution under watch. When the deadline passes the watchdog marks it cancelled and hands
+     * the cancellation, which may block on the network, to a separate thread, so the watchdog does
+     * not wait for it. That thread skips the cancellation if the execution has finished by the time
+     * it runs, and otherwise holds the execution's lock while cancelling, so {@link #finish} waits
+     * for an in-progress cancellation and a statement is never cancelled once it has been released.
+     */
+    private static final class Execution implements Runnable {
+
+        private final DatabaseStatement statement;
+        private final Deadline deadline;
+        private final ScheduledFuture<?> timer;
+        private boolean finished;
+        private boolean cancelled;
+
+        Execution(DatabaseStatement statement, Deadline deadline, long remainingNanos) {
+            this.statement = statement;
+            this.deadline = deadline;
+            this.timer = Watchdog.SCHEDULER.schedule(this, remainingNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                cancelled = true;
+            }
+            Watchdog.CANCELLER.execute(this::cancel);
+        }
+
+        private synchronized void cancel() {
+            if (finished) {
+                return;
+            }
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // the statement may have completed meanwhile
+            }
+        }
+
+        void finish() {
+            synchronized (this) {
+                finished = true;
+            }
+            timer.cancel(false);
+        }
+
+        /**
+         * Returns {@code failure} as a {@link QueryTimeoutException} if the statement overran its
+         * deadline, or unchanged if it failed for another reason.
+         */
+        SQLException translate(SQLException failure) {
+            boolean timedOut;
+            synchronized (this) {
+                timedOut = cancelled;
+            }
+            boolean driverTimeout = failure instanceof SQLTimeoutException
+                    || ("57014".equals(failure.getSQLState()) && deadline.isExpired());
+            if (failure instanceof QueryTimeoutException || !(timedOut || driverTimeout)) {
+                return failure;
+            }
+            return new QueryTimeoutException("Statement did not finish before its deadline", failure);
+        }
+
+    }
+
+    /**
+     * Holds the watchdog scheduler, started on first use, and the pool its single daemon thread
+     * hands cancellations to, so one slow cancellation does not hold up other deadlines.
+     */
+    private static final class Watchdog {
+
+        static final ScheduledThreadPoolExecutor SCHEDULER = create();
+        static final ExecutorService CANCELLER = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "jdbc-wrapper-deadline-cancel");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "jdbc-wrapper-deadline-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package org.example;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A query whose only parameter is an {@code IN (?)} list, expanded to hold any number of values.
+ * {@code NOT IN} lists are rejected.
+ * Lists are padded to the next power of two, so a query needs at most eleven statement texts for
+ * lists of up to {@link #MAX_VALUES} values, which statement caches can then reuse.
+ */
+final class InList {
+
+    static final int MAX_VALUES = 1024;
+
+    private static final Pattern MARKER = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?\\s*\\)");
+    private static final Pattern NEGATION = Pattern.compile("(?i)\\bNOT\\s*$");
+    // element types the PostgreSQL driver binds as arrays
+    private static final Set<Class<?>> ARRAY_TYPES = Set.of(Short.class, Integer.class, Long.class,
+            Float.class, Double.class, Boolean.class, String.class);
+
+    private final String prefix;
+    private final String suffix;
+
+    private InList(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    static InList parse(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        Matcher matcher = MARKER.matcher(query);
+        if (!matcher.find() || query.indexOf('?') != query.lastIndexOf('?')) {
+            throw new IllegalArgumentException("Query must have one IN (?) list and no other parameters");
+        }
+        String prefix = query.substring(0, matcher.start());
+        // a NOT IN list cannot be split into chunks or left out when empty, nor become = ANY(?)
+        if (NEGATION.matcher(prefix).find()) {
+            throw new IllegalArgumentException("NOT IN (?) lists are not supported");
+        }
+        return new InList(prefix, query.substring(matcher.end()));
+    }
+
+    /**
+     * Returns the number of placeholders to send {@code count} values with, at most
+     * {@link #MAX_VALUES}.
+     */
+    static int bucket(int count) {
+        return count <= 1 ? 1 : Math.min(MAX_VALUES, Integer.highestOneBit(count - 1) << 1);
+    }
+
+    String expand(int size) {
+        StringBuilder sql = new StringBuilder(prefix.length() + suffix.length() + 5 + size * 3);
+        sql.append(prefix).append("IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(')').append(suffix).toString();
+    }
+
+    String anyArray() {
+        return prefix + "= ANY(?)" + suffix;
+    }
+
+    /**
+     * Returns {@code values} as an array of their common type, or {@code null} if they are not all
+     * of one type the PostgreSQL driver can bind as an array.
+     */
+    static Object[] toArray(List<?> values) {
+        Object first = values.get(0);
+        if (first == null || !ARRAY_TYPES.contains(first.getClass())) {
+            return null;
+        }
+        Object[] array = (Object[]) Array.newInstance(first.getClass(), values.size());
+        for (int i = 0; i < array.length; i++) {
+            Object value = values.get(i);
+            if (value == null || value.getClass() != first.getClass()) {
+                return null;
+            }
+            array[i] = value;
+        }
+        return array;
+    }
+
+}
@@ -1,16 +1,48 @@
 package org.example;
 
+import org.example.bulk.BulkLoader;
+import org.example.cache.QueryCoalescer;
+import org.example.cache.QueryKey;
+import org.example.cache.ResultCache;
+import org.example.columnar.ColumnVector;
+import org.example.columnar.ColumnarResult;
 import org.example.interfaces.DatabaseConnection;
 import org.example.interfaces.DatabaseResultSet;
 import org.example.interfaces.DatabaseStatement;
+import org.example.io.BufferedResult;
+import org.example.mapping.RowMappers;
+import org.postgresql.PGConnection;
 
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Savepoint;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JdbcWrapper implements AutoCloseable {
 
     private final DatabaseConnection connection;
+    private int fetchSize;
+    private int batchSize = 1000;
+    private ResultCache resultCache;
+    private QueryCoalescer queryCoalescer;
+    private List<String> transactionWrites;
+    private Deadline deadline;
+    private DatabaseConnection deadlineConnection;
 
     public JdbcWrapper(DatabaseConnection connection) {
         if (connection == null) {
@@ -20,9 +52,113 @@ public class JdbcWrapper implements AutoCloseable {
     }
 
     public <T> List<T> executeQuery(String query, List<Object> parameters, ResultSetMapper<T> mapper) throws SQLException {
+        Binder binder = stmt -> setParameters(stmt, parameters);
+        if (resultCache == null && queryCoalescer == null) {
+            return query(query, binder, mapper);
+        }
+        return shared(new QueryKey(query, parameters, mapper), () -> query(query, binder, mapper));
+    }
+
+    /**
+     * Maps each row to a record or JavaBean of {@code type} with {@link RowMappers#of(Class)},
+     * binding columns to properties once for the whole result.
+     */
+    public <T> List<T> executeQueryAs(String query, List<Object> parameters, Class<T> type) throws SQLException {
+        ResultSetMapper<T> mapper = RowMappers.of(type);
+        Binder binder = stmt -> setParameters(stmt, parameters);
+        if (resultCache == null && queryCoalescer == null) {
+            return query(query, binder, RowMappers.forQuery(type));
+        }
+        return shared(new QueryKey(query, parameters, mapper), () -> query(query, binder, RowMappers.forQuery(type)));
+    }
+
+    /**
+     * Like {@link #executeQuery(String, List, ResultSetMapper)}, failing with a
+     * {@link QueryTimeoutException} if the query, including reading its rows, takes longer than
+     * {@code timeout}.
+     */
+    public <T> List<T> executeQuery(String query, List<Object> parameters, ResultSetMapper<T> mapper,
+                                    Duration timeout) throws SQLException {
+        return withTimeout(timeout, wrapper -> wrapper.executeQuery(query, parameters, mapper));
+    }
+
+    /**
+     * Binds {@code parameters} with their typed setters rather than as objects. Reusing one
+     * {@link Parameters} instance across calls avoids boxing on hot lookup paths.
+     */
+    public <T> List<T> executeQueryWith(String query, Parameters parameters, ResultSetMapper<T> mapper) throws SQLException {
+        if (parameters == null) {
+            throw new IllegalArgumentException("Parameters cannot be null");
+        }
+        if (resultCache == null && queryCoalescer == null) {
+            return query(query, parameters::bind, mapper);
+        }
+        return shared(new QueryKey(query, parameters.toList(), mapper), () -> query(query, parameters::bind, mapper));
+    }
+
+    /**
+     * Runs {@code query}, whose only parameter is an {@code IN (?)} list, for all of {@code values}
+     * at once, sending duplicates once. The list is expanded to one placeholder per value, padded to
+     * the next power of two by repeating the last value, so only a few statement texts are ever
+     * prepared and statement caches can reuse them; lists of more than 1024 values run in chunks.
+     * On PostgreSQL, values that are all numbers, strings or booleans of one type are bound instead
+     * as one array to {@code = ANY(?)}, which needs a single statement text for any count.
+     * {@code NOT IN (?)} lists are rejected, as running them in chunks would not exclude every value.
+     */
+    public <T> List<T> executeQueryIn(String query, Collection<?> values, ResultSetMapper<T> mapper) throws SQLException {
+        InList inList = InList.parse(query);
+        if (values == null) {
+            throw new IllegalArgumentException("Values cannot be null");
+        }
+        List<Object> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Object[] array = connection.isWrapperFor(PGConnection.class) ? InList.toArray(distinct) : null;
+        if (array != null) {
+            return query(inList.anyArray(), stmt -> stmt.setParameter(1, array), mapper);
+        }
+        List<T> results = null;
+        for (int from = 0; from < distinct.size(); from += InList.MAX_VALUES) {
+            List<Object> chunk = distinct.subList(from, Math.min(distinct.size(), from + InList.MAX_VALUES));
+            int size = InList.bucket(chunk.size());
+            List<T> rows = query(inList.expand(size), stmt -> {
+                for (int i = 0; i < size; i++) {
+                    stmt.setParameter(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+            }, mapper);
+            if (results == null) {
+                results = rows;
+            } else {
+                results.addAll(rows);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Loads the result for {@code key} through the result cache and the query coalescer, whichever
+     * are set. Both are skipped inside a transaction: its reads must see its own writes, and must
+     * not share them with other connections before they are committed.
+     */
+    private <T> List<T> shared(QueryKey key, ResultCache.Loader<T> loader) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            return loader.load();
+        }
+        ResultCache.Loader<T> source = loader;
+        if (queryCoalescer != null) {
+            QueryCoalescer coalescer = queryCoalescer;
+            Deadline waitDeadline = deadline;
+            source = () -> coalescer.execute(key, waitDeadline, loader);
+        }
+        return new ArrayList<>(resultCache != null ? resultCache.getOrLoad(key, source) : source.load());
+    }
+
+    private <T> List<T> query(String query, Binder binder, ResultSetMapper<T> mapper) throws SQLException {
         List<T> results = new ArrayList<>();
-        try (DatabaseStatement stmt = connection.prepareStatement(query)) {
-            setParameters(stmt, parameters);
+        try (DatabaseStatement stmt = statements().prepareStatement(query)) {
+            applyFetchSize(stmt);
+            binder.bind(stmt);
             try (DatabaseResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     results.add(mapper.map(rs));
@@ -32,10 +168,313 @@ public class JdbcWrapper implements AutoCloseable {
         return results;
     }
 
+    /**
+     * Lazily maps rows as the returned stream is consumed, so memory use does not grow with the
+     * size of the result. The statement and result set stay open until the stream is fully
+     * consumed or closed; callers should use try-with-resources. SQL errors raised while
+     * consuming the stream are thrown as {@link UncheckedSQLException}.
+     * <p>
+     * Some drivers (PostgreSQL among them) only honour the fetch size outside autocommit mode.
+     */
+    public <T> Stream<T> executeQueryStream(String query, List<Object> parameters, ResultSetMapper<T> mapper) throws SQLException {
+        DatabaseStatement stmt = statements().prepareStatement(query);
+        DatabaseResultSet rs;
+        try {
+            applyFetchSize(stmt);
+            setParameters(stmt, parameters);
+            rs = stmt.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeAfterFailure(stmt, e);
+            throw e;
+        }
+        ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<>(stmt, rs, mapper);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Calls {@code consumer} for every row without mapping rows to objects. The same
+     * {@link DatabaseRow} view is passed for every row, so a scan allocates nothing per row beyond
+     * what the driver does. Returns the number of rows scanned.
+     */
+    public long forEachRow(String query, List<Object> parameters, RowConsumer consumer) throws SQLException {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        long[] count = new long[1];
+        scan(query, parameters, row -> {
+            consumer.accept(row);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Folds every row into an accumulator, starting from {@code initial}, without mapping rows to
+     * objects. Passing a mutable accumulator and returning it from {@code reducer} keeps the scan
+     * free of per-row allocation.
+     */
+    public <A> A reduce(String query, List<Object> parameters, A initial, RowReducer<A> reducer) throws SQLException {
+        if (reducer == null) {
+            throw new IllegalArgumentException("Reducer cannot be null");
+        }
+        Object[] accumulator = {initial};
+        scan(query, parameters, row -> {
+            @SuppressWarnings("unchecked")
+            A current = (A) accumulator[0];
+            accumulator[0] = reducer.reduce(current, row);
+        });
+        @SuppressWarnings("unchecked")
+        A result = (A) accumulator[0];
+        return result;
+    }
+
+    public ColumnarResult executeQueryColumnar(String query, List<Object> parameters) throws SQLException {
+        return executeQueryColumnar(query, parameters, ColumnVector.Storage.HEAP);
+    }
+
+    /**
+     * Reads the whole result into primitive column vectors instead of mapping each row to an
+     * object. {@link ColumnVector.Storage#OFF_HEAP} keeps the vector data in direct buffers.
+     */
+    public ColumnarResult executeQueryColumnar(String query, List<Object> parameters, ColumnVector.Storage storage) throws SQLException {
+        try (DatabaseStatement stmt = statements().prepareStatement(query)) {
+            applyFetchSize(stmt);
+            setParameters(stmt, parameters);
+            try (DatabaseResultSet rs = stmt.executeQuery()) {
+                return ColumnarResult.read(rs, storage);
+            }
+        }
+    }
+
+    /**
+     * Reads the whole result like {@link #executeQuery}, for callers that sort or re-read results
+     * too large for the heap. Rows are kept encoded rather than mapped: up to
+     * {@code heapBudgetBytes} on heap, and beyond that in a memory-mapped temp file. The returned
+     * list maps rows as they are read and must be closed to delete the file.
+     */
+    public <T> BufferedResult<T> executeQueryBuffered(String query, List<Object> parameters, ResultSetMapper<T> mapper,
+                                                      long heapBudgetBytes) throws SQLException {
+        return executeQueryBuffered(query, parameters, mapper, heapBudgetBytes, null);
+    }
+
+    /**
+     * Like {@link #executeQueryBuffered(String, List, ResultSetMapper, long)}, spilling to a temp
+     * file in {@code spillDirectory}.
+     */
+    public <T> BufferedResult<T> executeQueryBuffered(String query, List<Object> parameters, ResultSetMapper<T> mapper,
+                                                      long heapBudgetBytes, Path spillDirectory) throws SQLException {
+        try (DatabaseStatement stmt = statements().prepareStatement(query)) {
+            applyFetchSize(stmt);
+            setParameters(stmt, parameters);
+            try (DatabaseResultSet rs = stmt.executeQuery()) {
+                return BufferedResult.read(rs, mapper, heapBudgetBytes, spillDirectory);
+            }
+        }
+    }
+
     public int executeUpdate(String query, List<Object> parameters) throws SQLException {
-        try (DatabaseStatement stmt = connection.prepareStatement(query)) {
+        try (DatabaseStatement stmt = statements().prepareStatement(query)) {
             setParameters(stmt, parameters);
             return stmt.executeUpdate();
+        } finally {
+            invalidateCache(query);
+        }
+    }
+
+    /**
+     * Like {@link #executeUpdate(String, List)}, failing with a {@link QueryTimeoutException} if
+     * the update takes longer than {@code timeout}.
+     */
+    public int executeUpdate(String query, List<Object> parameters, Duration timeout) throws SQLException {
+        return withTimeout(timeout, wrapper -> wrapper.executeUpdate(query, parameters));
+    }
+
+    /**
+     * Like {@link #executeQueryWith}, binds {@code parameters} with their typed setters.
+     */
+    public int executeUpdateWith(String query, Parameters parameters) throws SQLException {
+        if (parameters == null) {
+            throw new IllegalArgumentException("Parameters cannot be null");
+        }
+        try (DatabaseStatement stmt = statements().prepareStatement(query)) {
+            parameters.bind(stmt);
+            return stmt.executeUpdate();
+        } finally {
+            invalidateCache(query);
+        }
+    }
+
+    public int[] executeBatch(String query, Iterable<List<Object>> rows) throws SQLException {
+        return executeBatch(query, rows, batchSize, false);
+    }
+
+    /**
+     * Binds each row as one batch entry and sends the batch to the database every
+     * {@code chunkSize} rows. Returns the update count of every row in input order.
+     * <p>
+     * When {@code transactional} is set and the connection is in autocommit mode, each chunk runs
+     * in its own transaction and is rolled back if it fails; autocommit is restored afterwards. If
+     * the caller already has a transaction open, committing is left to the caller.
+     */
+    public int[] executeBatch(String query, Iterable<List<Object>> rows, int chunkSize, boolean transactional) throws SQLException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        int[] counts = new int[0];
+        int total = 0;
+        try (DatabaseStatement stmt = statements().prepareStatement(query)) {
+            boolean manageTransaction = transactional && connection.getAutoCommit();
+            if (manageTransaction) {
+                connection.setAutoCommit(false);
+            }
+            try {
+                int pending = 0;
+                for (List<Object> row : rows) {
+                    setParameters(stmt, row);
+                    stmt.addBatch();
+                    if (++pending == chunkSize) {
+                        int[] chunk = executeChunk(stmt, manageTransaction);
+                        counts = append(counts, total, chunk);
+                        total += chunk.length;
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    int[] chunk = executeChunk(stmt, manageTransaction);
+                    counts = append(counts, total, chunk);
+                    total += chunk.length;
+                }
+            } finally {
+                if (manageTransaction) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } finally {
+            invalidateCache(query);
+        }
+        return counts.length == total ? counts : Arrays.copyOf(counts, total);
+    }
+
+    public long executeBulkLoad(String table, List<String> columns, Iterator<Object[]> rows) throws SQLException {
+        return executeBulkLoad(table, columns, rows, Function.identity());
+    }
+
+    /**
+     * Loads {@code rows} into {@code table} with a {@link BulkLoader}: through COPY on PostgreSQL and
+     * multi-row inserts of {@link #getBatchSize()} rows elsewhere. Returns the number of rows loaded.
+     */
+    public <T> long executeBulkLoad(String table, List<String> columns, Iterator<? extends T> rows,
+                                    Function<? super T, Object[]> values) throws SQLException {
+        BulkLoader loader = new BulkLoader(statements());
+        loader.setInsertRowsPerStatement(batchSize);
+        try {
+            return loader.load(table, columns, rows, values);
+        } finally {
+            invalidateCache("INSERT INTO " + table);
+        }
+    }
+
+    public <T> T withTimeout(Duration timeout, TransactionCallback<T> callback) throws SQLException {
+        return withDeadline(Deadline.after(timeout), callback);
+    }
+
+    /**
+     * Runs {@code callback} with every statement executed through this wrapper bound by
+     * {@code deadline}, or by the enclosing scope's deadline if that comes first. Each statement
+     * gets the remaining time as its query timeout and is cancelled by a watchdog if it is still
+     * executing, or its rows are still being read, when the deadline passes; it then fails with a
+     * {@link QueryTimeoutException}. Statements started after the deadline fail without running.
+     */
+    public <T> T withDeadline(Deadline deadline, TransactionCallback<T> callback) throws SQLException {
+        if (deadline == null) {
+            throw new IllegalArgumentException("Deadline cannot be null");
+        }
+        Deadline outerDeadline = this.deadline;
+        DatabaseConnection outerConnection = deadlineConnection;
+        Deadline effective = deadline.earliest(outerDeadline);
+        if (effective != outerDeadline) {
+            this.deadline = effective;
+            deadlineConnection = new DeadlineConnection(connection, effective);
+        }
+        try {
+            return callback.execute(this);
+        } finally {
+            this.deadline = outerDeadline;
+            deadlineConnection = outerConnection;
+        }
+    }
+
+    /**
+     * Returns the deadline of the enclosing {@link #withDeadline} scope, or {@code null} outside one.
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+        return inTransaction(TransactionOptions.DEFAULT, callback);
+    }
+
+    /**
+     * Runs {@code callback} in one transaction and commits it once, instead of committing after
+     * every statement. The transaction is rolled back if the callback throws. On a serialization
+     * failure or deadlock it is rolled back and run again, up to the retry limit of
+     * {@code options}, so the callback should not have side effects outside the database.
+     * Autocommit, isolation and read-only settings are restored afterwards.
+     * <p>
+     * When a transaction is already open, the callback runs within a savepoint of it instead: a
+     * failure rolls back to the savepoint, nothing is committed or retried, and {@code options} is
+     * ignored.
+     */
+    public <T> T inTransaction(TransactionOptions options, TransactionCallback<T> callback) throws SQLException {
+        if (options == null) {
+            throw new IllegalArgumentException("Transaction options cannot be null");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+        if (!connection.getAutoCommit()) {
+            return inSavepoint(callback);
+        }
+        boolean previousReadOnly = connection.isReadOnly();
+        int previousIsolation = TransactionOptions.DEFAULT_ISOLATION;
+        if (options.getIsolation() != TransactionOptions.DEFAULT_ISOLATION) {
+            previousIsolation = connection.getTransactionIsolation();
+            connection.setTransactionIsolation(options.getIsolation());
+        }
+        List<String> writes = new ArrayList<>();
+        try {
+            if (options.isReadOnly() != previousReadOnly) {
+                connection.setReadOnly(options.isReadOnly());
+            }
+            connection.setAutoCommit(false);
+            transactionWrites = writes;
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    T result = callback.execute(this);
+                    connection.commit();
+                    return result;
+                } catch (SQLException | RuntimeException | Error e) {
+                    rollbackAfterFailure(e);
+                    if (attempt >= options.getMaxRetries() || !isRetryable(e) || !backOff(options, attempt)) {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            transactionWrites = null;
+            try {
+                connection.setAutoCommit(true);
+                if (options.isReadOnly() != previousReadOnly) {
+                    connection.setReadOnly(previousReadOnly);
+                }
+                if (previousIsolation != TransactionOptions.DEFAULT_ISOLATION) {
+                    connection.setTransactionIsolation(previousIsolation);
+                }
+            } finally {
+                // entries loaded by other threads while the transaction was open may predate its commit
+                writes.forEach(this::invalidateCache);
+            }
         }
     }
 
@@ -45,6 +484,202 @@ public class JdbcWrapper implements AutoCloseable {
         }
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of rows sent per round trip by {@link #executeBatch(String, Iterable)}.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Caches the results of {@link #executeQuery} in {@code resultCache}, or stops caching when
+     * {@code null}. Only queries run in autocommit mode use the cache; queries inside a transaction
+     * always read from the database, so its uncommitted writes never reach the cache. Updates and
+     * batches run through this wrapper invalidate the entries reading the tables they write, and
+     * again when an {@link #inTransaction} transaction ends. Writes made by other means, or
+     * committed later in a transaction managed by the caller, are only picked up when entries
+     * expire.
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public QueryCoalescer getQueryCoalescer() {
+        return queryCoalescer;
+    }
+
+    /**
+     * Shares one execution of {@link #executeQuery} among the callers, of this or any other wrapper
+     * using {@code queryCoalescer}, that run the same query with the same parameters and mapper
+     * instance at the same time; {@code null} stops coalescing. Each caller gets its own list of
+     * the same mapped objects. Only queries run in autocommit mode are coalesced, as results read
+     * inside a transaction may depend on its uncommitted writes. With a result cache set, only
+     * cache misses are coalesced.
+     */
+    public void setQueryCoalescer(QueryCoalescer queryCoalescer) {
+        this.queryCoalescer = queryCoalescer;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Sets the JDBC fetch size hint applied to every query statement; {@code 0} leaves the
+     * driver default in place.
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size cannot be negative");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    private void scan(String query, List<Object> parameters, RowConsumer consumer) throws SQLException {
+        try (DatabaseStatement stmt = statements().prepareStatement(query)) {
+            applyFetchSize(stmt);
+            setParameters(stmt, parameters);
+            try (DatabaseResultSet rs = stmt.executeQuery()) {
+                ResultSetRow row = new ResultSetRow(rs);
+                try {
+                    while (rs.next()) {
+                        consumer.accept(row);
+                    }
+                } finally {
+                    row.finish();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the connection to prepare statements on: bound to the current deadline, if any.
+     */
+    private DatabaseConnection statements() {
+        return deadlineConnection != null ? deadlineConnection : connection;
+    }
+
+    private void invalidateCache(String query) {
+        if (resultCache != null && query != null) {
+            resultCache.invalidate(query);
+            if (transactionWrites != null) {
+                transactionWrites.add(query);
+            }
+        }
+    }
+
+    private <T> T inSavepoint(TransactionCallback<T> callback) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint(null);
+        T result;
+        try {
+            result = callback.execute(this);
+        } catch (SQLException | RuntimeException | Error e) {
+            try {
+                connection.rollback(savepoint);
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLFeatureNotSupportedException e) {
+            // the savepoint is released when the transaction ends
+        }
+        return result;
+    }
+
+    private void rollbackAfterFailure(Throwable failure) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Returns whether {@code failure}, or an exception it wraps, reports a serialization failure
+     * or a deadlock, after which the transaction can succeed when run again.
+     */
+    static boolean isRetryable(Throwable failure) {
+        // causes set with initCause can form a cycle
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable cause = failure; cause != null && seen.add(cause); cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                if ("40001".equals(state) || "40P01".equals(state)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean backOff(TransactionOptions options, int attempt) {
+        long delay = options.getRetryBackoff().toNanos() << Math.min(attempt, 10);
+        if (delay <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void applyFetchSize(DatabaseStatement stmt) throws SQLException {
+        if (fetchSize > 0) {
+            stmt.setFetchSize(fetchSize);
+        }
+    }
+
+    private int[] executeChunk(DatabaseStatement stmt, boolean commit) throws SQLException {
+        if (!commit) {
+            return stmt.executeBatch();
+        }
+        try {
+            int[] counts = stmt.executeBatch();
+            connection.commit();
+            return counts;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+
+    private static int[] append(int[] counts, int size, int[] chunk) {
+        if (size + chunk.length > counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(size + chunk.length, counts.length * 2));
+        }
+        System.arraycopy(chunk, 0, counts, size, chunk.length);
+        return counts;
+    }
+
+    private static void closeAfterFailure(AutoCloseable resource, Exception failure) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+        }
+    }
+
     private void setParameters(DatabaseStatement stmt, List<Object> parameters) throws SQLException {
         if (parameters != null) {
             for (int i = 0; i < parameters.size(); i++) {
@@ -58,4 +693,24 @@ public class JdbcWrapper implements AutoCloseable {
         T map(DatabaseResultSet rs) throws SQLException;
     }
 
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(DatabaseRow row) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowReducer<A> {
+        A reduce(A accumulator, DatabaseRow row) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(DatabaseStatement stmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+        T execute(JdbcWrapper wrapper) throws SQLException;
+    }
+
 }
\ No newline at end of file
@@ -19,7 +19,7 @@ public class Main {
         String password = "";
 
         try (Connection conn = DriverManager.getConnection(jdbcUrl, username, password);
-             JdbcWrapper wrapper = new JdbcWrapper(new JdbcConnectionAdapter(conn))) {
+             JdbcWrapper wrapper = new JdbcWrapper(new JdbcConnectionAdapter(conn, 16))) {
             // Initialize the database: create a table and insert sample data
             initializeDatabase(conn);
 
@@ -0,0 +1,219 @@
+package org.example;
+
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable vector of statement parameters, indexed from 1 like JDBC. Numbers are kept in primitive
+ * arrays and each slot remembers its type, so binding calls the matching typed setter of
+ * {@link DatabaseStatement} instead of boxing every value and leaving the driver to infer its type.
+ * Setting the same slots again before the next execution reuses the storage.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class Parameters {
+
+    private static final byte UNSET = 0;
+    private static final byte NULL = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte STRING = 5;
+    private static final byte BYTES = 6;
+    private static final byte OBJECT = 7;
+
+    private byte[] types;
+    private long[] primitives;
+    private Object[] objects;
+    private int size;
+
+    public Parameters() {
+        this(8);
+    }
+
+    public Parameters(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        types = new byte[capacity];
+        primitives = new long[capacity];
+        objects = new Object[capacity];
+    }
+
+    /**
+     * Returns parameters holding {@code values} in order, each bound by its runtime type.
+     */
+    public static Parameters of(Object... values) {
+        Parameters parameters = new Parameters(values.length);
+        for (int i = 0; i < values.length; i++) {
+            parameters.setObject(i + 1, values[i]);
+        }
+        return parameters;
+    }
+
+    public Parameters setInt(int index, int value) {
+        primitives[slot(index, INT)] = value;
+        return this;
+    }
+
+    public Parameters setLong(int index, long value) {
+        primitives[slot(index, LONG)] = value;
+        return this;
+    }
+
+    public Parameters setDouble(int index, double value) {
+        primitives[slot(index, DOUBLE)] = Double.doubleToRawLongBits(value);
+        return this;
+    }
+
+    public Parameters setString(int index, String value) {
+        if (value == null) {
+            return setNull(index, Types.VARCHAR);
+        }
+        objects[slot(index, STRING)] = value;
+        return this;
+    }
+
+    public Parameters setBytes(int index, byte[] value) {
+        if (value == null) {
+            return setNull(index, Types.VARBINARY);
+        }
+        objects[slot(index, BYTES)] = value;
+        return this;
+    }
+
+    /**
+     * Binds SQL {@code NULL} of the given {@link Types} type.
+     */
+    public Parameters setNull(int index, int sqlType) {
+        primitives[slot(index, NULL)] = sqlType;
+        return this;
+    }
+
+    /**
+     * Binds {@code value} with the typed setter matching its class, or as an object otherwise.
+     */
+    public Parameters setObject(int index, Object value) {
+        if (value instanceof Integer) {
+            return setInt(index, (Integer) value);
+        }
+        if (value instanceof Long) {
+            return setLong(index, (Long) value);
+        }
+        if (value instanceof Double) {
+            return setDouble(index, (Double) value);
+        }
+        if (value instanceof String) {
+            return setString(index, (String) value);
+        }
+        if (value instanceof byte[]) {
+            return setBytes(index, (byte[]) value);
+        }
+        if (value == null) {
+            return setNull(index, Types.NULL);
+        }
+        objects[slot(index, OBJECT)] = value;
+        return this;
+    }
+
+    /**
+     * Returns the highest index set since creation or the last {@link #clear()}.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Unsets every parameter, keeping the storage for reuse.
+     */
+    public void clear() {
+        Arrays.fill(types, 0, size, UNSET);
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+    }
+
+    public void bind(DatabaseStatement statement) throws SQLException {
+        for (int i = 0; i < size; i++) {
+            int index = i + 1;
+            switch (types[i]) {
+                case NULL:
+                    statement.setNull(index, (int) primitives[i]);
+                    break;
+                case INT:
+                    statement.setInt(index, (int) primitives[i]);
+                    break;
+                case LONG:
+                    statement.setLong(index, primitives[i]);
+                    break;
+                case DOUBLE:
+                    statement.setDouble(index, Double.longBitsToDouble(primitives[i]));
+                    break;
+                case STRING:
+                    statement.setString(index, (String) objects[i]);
+                    break;
+                case BYTES:
+                    statement.setBytes(index, (byte[]) objects[i]);
+                    break;
+                case OBJECT:
+                    statement.setParameter(index, objects[i]);
+                    break;
+                default:
+                    throw new SQLException("Parameter " + index + " has not been set", "07001");
+            }
+        }
+    }
+
+    /**
+     * Returns the values boxed into a list, with {@code null} for SQL nulls and unset slots.
+     */
+    public List<Object> toList() {
+        List<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(value(i));
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    private Object value(int slot) {
+        switch (types[slot]) {
+            case INT:
+                return (int) primitives[slot];
+            case LONG:
+                return primitives[slot];
+            case DOUBLE:
+                return Double.longBitsToDouble(primitives[slot]);
+            default:
+                return objects[slot];
+        }
+    }
+
+    private int slot(int index, byte type) {
+        if (index < 1) {
+            throw new IllegalArgumentException("Parameter index must be positive");
+        }
+        int slot = index - 1;
+        if (slot >= types.length) {
+            int capacity = Math.max(index, types.length * 2);
+            types = Arrays.copyOf(types, capacity);
+            primitives = Arrays.copyOf(primitives, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+        }
+        types[slot] = type;
+        objects[slot] = null;
+        if (index > size) {
+            size = index;
+        }
+        return slot;
+    }
+
+}
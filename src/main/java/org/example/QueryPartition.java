@@ -0,0 +1,70 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One slice of a partitioned scan: a query and its parameters, run on its own connection by
+ * {@link AsyncJdbcWrapper#executeQueryPartitionedAsync}.
+ */
+public final class QueryPartition {
+
+    private final String query;
+    private final List<Object> parameters;
+
+    public QueryPartition(String query, List<Object> parameters) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        this.query = query;
+        this.parameters = parameters == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(parameters));
+    }
+
+    /**
+     * Splits the key range {@code [minKey, maxKey)} into {@code count} contiguous ranges of nearly
+     * equal width. {@code query} must end with two placeholders bounding the key, such as
+     * {@code WHERE id >= ? AND id < ?}; each partition binds {@code parameters} followed by its lower
+     * and upper bound.
+     */
+    public static List<QueryPartition> keyRanges(String query, List<Object> parameters, long minKey, long maxKey, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+        if (maxKey < minKey) {
+            throw new IllegalArgumentException("Maximum key cannot be less than the minimum key");
+        }
+        long span;
+        try {
+            span = Math.subtractExact(maxKey, minKey);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Key range is too wide", e);
+        }
+        int partitions = (int) Math.max(1, Math.min(count, span));
+        List<QueryPartition> result = new ArrayList<>(partitions);
+        long lower = minKey;
+        for (int i = 0; i < partitions; i++) {
+            long upper = i == partitions - 1 ? maxKey : minKey + span / partitions * (i + 1) + Math.min(i + 1, span % partitions);
+            List<Object> bound = new ArrayList<>(parameters == null ? List.of() : parameters);
+            bound.add(lower);
+            bound.add(upper);
+            result.add(new QueryPartition(query, bound));
+            lower = upper;
+        }
+        return result;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryPartition{query=" + query + ", parameters=" + parameters + "}";
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.example;
+
+import java.sql.SQLTimeoutException;
+
+/**
+ * Thrown when a statement does not finish before its {@link Deadline}: it was cancelled by the
+ * driver's query timeout or by the deadline watchdog, or the deadline had already passed before it
+ * started. The SQLState is {@code 57014}, query cancelled.
+ */
+public class QueryTimeoutException extends SQLTimeoutException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryTimeoutException(String message) {
+        super(message, "57014");
+    }
+
+    public QueryTimeoutException(String message, Throwable cause) {
+        super(message, "57014", cause);
+    }
+
+}
@@ -0,0 +1,140 @@
+package org.example;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * The {@link DatabaseRow} handed to scan callbacks. It forwards reads to the live result set and
+ * rejects them once the scan has finished, so a view kept past its scan fails instead of reading a
+ * closed or advanced result set.
+ */
+final class ResultSetRow implements DatabaseRow {
+
+    private final DatabaseResultSet resultSet;
+    private boolean active = true;
+
+    ResultSetRow(DatabaseResultSet resultSet) {
+        this.resultSet = resultSet;
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        checkActive();
+        return resultSet.getColumnCount();
+    }
+
+    @Override
+    public String getColumnLabel(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getColumnLabel(columnIndex);
+    }
+
+    @Override
+    public int getColumnType(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getColumnType(columnIndex);
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getString(columnIndex);
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        checkActive();
+        return resultSet.getString(columnLabel);
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getInt(columnIndex);
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        checkActive();
+        return resultSet.getInt(columnLabel);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getLong(columnIndex);
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        checkActive();
+        return resultSet.getLong(columnLabel);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getDouble(columnIndex);
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        checkActive();
+        return resultSet.getDouble(columnLabel);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getBoolean(columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        checkActive();
+        return resultSet.getBoolean(columnLabel);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getBytes(columnIndex);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        checkActive();
+        return resultSet.getBytes(columnLabel);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        checkActive();
+        return resultSet.getTimestamp(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        checkActive();
+        return resultSet.getTimestamp(columnLabel);
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        checkActive();
+        return resultSet.wasNull();
+    }
+
+    void finish() {
+        active = false;
+    }
+
+    private void checkActive() throws SQLException {
+        if (!active) {
+            throw new SQLException("Row can only be read during its scan");
+        }
+    }
+
+}
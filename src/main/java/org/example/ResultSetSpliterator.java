@@ -0,0 +1,81 @@
+package org.example;
+
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Pulls one row at a time from an open result set. The statement and result set are released
+ * as soon as the rows are exhausted, a row fails to map, or {@link #close()} is called.
+ */
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+    private final DatabaseStatement statement;
+    private final DatabaseResultSet resultSet;
+    private final JdbcWrapper.ResultSetMapper<T> mapper;
+    private boolean closed;
+
+    ResultSetSpliterator(DatabaseStatement statement, DatabaseResultSet resultSet, JdbcWrapper.ResultSetMapper<T> mapper) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        T row;
+        try {
+            if (!resultSet.next()) {
+                close();
+                return false;
+            }
+            row = mapper.map(resultSet);
+        } catch (SQLException e) {
+            try {
+                release();
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw new UncheckedSQLException(e);
+        } catch (RuntimeException e) {
+            try {
+                release();
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        action.accept(row);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            release();
+        } catch (SQLException e) {
+            throw new UncheckedSQLException(e);
+        }
+    }
+
+    private void release() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            resultSet.close();
+        } finally {
+            statement.close();
+        }
+    }
+
+}
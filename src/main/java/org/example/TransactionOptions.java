@@ -0,0 +1,120 @@
+package org.example;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+/**
+ * Settings for {@link JdbcWrapper#inTransaction(TransactionOptions, JdbcWrapper.TransactionCallback)}.
+ */
+public final class TransactionOptions {
+
+    public static final TransactionOptions DEFAULT = builder().build();
+
+    static final int DEFAULT_ISOLATION = -1;
+
+    private final int isolation;
+    private final boolean readOnly;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    private TransactionOptions(Builder builder) {
+        this.isolation = builder.isolation;
+        this.readOnly = builder.readOnly;
+        this.maxRetries = builder.maxRetries;
+        this.retryBackoff = builder.retryBackoff;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the requested {@code Connection.TRANSACTION_*} level, or {@code -1} to keep the
+     * connection's own.
+     */
+    public int getIsolation() {
+        return isolation;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionOptions{isolation=" + isolation + ", readOnly=" + readOnly
+                + ", maxRetries=" + maxRetries + ", retryBackoff=" + retryBackoff + "}";
+    }
+
+    public static final class Builder {
+
+        private int isolation = DEFAULT_ISOLATION;
+        private boolean readOnly;
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(10);
+
+        private Builder() {
+        }
+
+        /**
+         * Runs the transaction at one of the {@code Connection.TRANSACTION_*} levels.
+         */
+        public Builder isolation(int isolation) {
+            this.isolation = isolation;
+            return this;
+        }
+
+        /**
+         * Marks the transaction read-only, letting the driver and server skip work needed only for
+         * writes.
+         */
+        public Builder readOnly(boolean readOnly) {
+            this.readOnly = readOnly;
+            return this;
+        }
+
+        /**
+         * Sets how many times a transaction failing with a serialization failure or deadlock is run
+         * again; {@code 0} disables retries.
+         */
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry. Later retries double it, with random jitter.
+         */
+        public Builder retryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        public TransactionOptions build() {
+            if (isolation != DEFAULT_ISOLATION
+                    && isolation != Connection.TRANSACTION_READ_UNCOMMITTED
+                    && isolation != Connection.TRANSACTION_READ_COMMITTED
+                    && isolation != Connection.TRANSACTION_REPEATABLE_READ
+                    && isolation != Connection.TRANSACTION_SERIALIZABLE) {
+                throw new IllegalArgumentException("Unknown transaction isolation level: " + isolation);
+            }
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("Maximum retries cannot be negative");
+            }
+            if (retryBackoff == null || retryBackoff.isNegative()) {
+                throw new IllegalArgumentException("Retry backoff cannot be negative");
+            }
+            return new TransactionOptions(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.example;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps a {@link SQLException} thrown while a lazily evaluated result, such as a
+ * {@link java.util.stream.Stream} returned by {@link JdbcWrapper#executeQueryStream}, is consumed.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+
+}
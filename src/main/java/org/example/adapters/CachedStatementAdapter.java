@@ -0,0 +1,35 @@
+package org.example.adapters;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Statement handed out by a {@link StatementCache}. Closing it returns the underlying
+ * {@code PreparedStatement} to the cache instead of closing it.
+ */
+class CachedStatementAdapter extends JdbcStatementAdapter {
+
+    private final String query;
+    private final StatementCache cache;
+    boolean checkedOut = true;
+
+    CachedStatementAdapter(PreparedStatement statement, String query, ColumnIndexCache columnIndexes, StatementCache cache) {
+        super(statement, query, columnIndexes);
+        this.query = query;
+        this.cache = cache;
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        cache.release(this);
+    }
+
+    void closeStatement() throws SQLException {
+        super.close();
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.example.adapters;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Column label to ordinal map for one query shape, resolved once from {@link ResultSetMetaData}.
+ * Labels are matched exactly first and then case-insensitively, as JDBC drivers do; the first
+ * column wins when a label appears more than once.
+ */
+final class ColumnIndex {
+
+    private final String[] labels;
+    private final int[] types;
+    private final ConcurrentHashMap<String, Integer> ordinals;
+
+    private ColumnIndex(String[] labels, int[] types) {
+        this.labels = labels;
+        this.types = types;
+        this.ordinals = new ConcurrentHashMap<>(labels.length * 2);
+        for (int i = 0; i < labels.length; i++) {
+            ordinals.putIfAbsent(labels[i], i + 1);
+        }
+    }
+
+    static ColumnIndex of(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+        }
+        return new ColumnIndex(labels, types);
+    }
+
+    int getColumnCount() {
+        return labels.length;
+    }
+
+    String getColumnLabel(int columnIndex) {
+        return labels[columnIndex - 1];
+    }
+
+    int getColumnType(int columnIndex) {
+        return types[columnIndex - 1];
+    }
+
+    /**
+     * Returns the 1-based ordinal of the column, or {@code -1} if no column has that label.
+     */
+    int indexOf(String label) {
+        Integer ordinal = ordinals.get(label);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(label)) {
+                ordinals.putIfAbsent(label, i + 1);
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether {@code metaData} describes the same columns, by label and type, in the same
+     * order, so a schema change that renames or reorders columns is not served stale ordinals.
+     */
+    boolean matches(ResultSetMetaData metaData) throws SQLException {
+        if (metaData.getColumnCount() != types.length) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (metaData.getColumnType(i + 1) != types[i] || !labels[i].equals(metaData.getColumnLabel(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.example.adapters;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-connection cache of {@link ColumnIndex}es keyed by SQL string. An entry is rebuilt
+ * whenever the column count, labels or types reported for that SQL change.
+ */
+class ColumnIndexCache {
+
+    static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<String, ColumnIndex> indexes;
+
+    ColumnIndexCache(int maxSize) {
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ColumnIndex> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    ColumnIndex resolve(String query, ResultSetMetaData metaData) throws SQLException {
+        ColumnIndex index;
+        synchronized (indexes) {
+            index = indexes.get(query);
+        }
+        if (index != null && index.matches(metaData)) {
+            return index;
+        }
+        index = ColumnIndex.of(metaData);
+        synchronized (indexes) {
+            indexes.put(query, index);
+        }
+        return index;
+    }
+
+    int size() {
+        synchronized (indexes) {
+            return indexes.size();
+        }
+    }
+
+}
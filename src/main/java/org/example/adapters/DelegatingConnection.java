@@ -0,0 +1,116 @@
+package org.example.adapters;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Base class for {@link DatabaseConnection} decorators. Every call is forwarded to
+ * {@link #delegate()}, so subclasses only override the calls they change.
+ */
+public abstract class DelegatingConnection implements DatabaseConnection {
+
+    private final DatabaseConnection delegate;
+
+    protected DelegatingConnection(DatabaseConnection delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("Delegate connection cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    protected DatabaseConnection delegate() throws SQLException {
+        return delegate;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        return delegate().prepareStatement(query);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return delegate().getAutoCommit();
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        delegate().setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        delegate().commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        delegate().rollback();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return delegate().setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        delegate().rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        delegate().releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return delegate().getTransactionIsolation();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        delegate().setTransactionIsolation(level);
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return delegate().isReadOnly();
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        delegate().setReadOnly(readOnly);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return delegate.isClosed();
+    }
+
+    @Override
+    public boolean isValid(int timeoutSeconds) throws SQLException {
+        return delegate().isValid(timeoutSeconds);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        return delegate().unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) throws SQLException {
+        return type.isInstance(this) || delegate().isWrapperFor(type);
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.example.adapters;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Base class for {@link DatabaseResultSet} decorators. Every call is forwarded to
+ * {@link #delegate()}, so subclasses only override the calls they change.
+ */
+public abstract class DelegatingResultSet implements DatabaseResultSet {
+
+    private final DatabaseResultSet delegate;
+
+    protected DelegatingResultSet(DatabaseResultSet delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("Delegate result set cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    protected DatabaseResultSet delegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        return delegate().next();
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        return delegate().getColumnCount();
+    }
+
+    @Override
+    public String getColumnLabel(int columnIndex) throws SQLException {
+        return delegate().getColumnLabel(columnIndex);
+    }
+
+    @Override
+    public int getColumnType(int columnIndex) throws SQLException {
+        return delegate().getColumnType(columnIndex);
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        return delegate().getString(columnIndex);
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return delegate().getString(columnLabel);
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        return delegate().getInt(columnIndex);
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return delegate().getInt(columnLabel);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        return delegate().getLong(columnIndex);
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return delegate().getLong(columnLabel);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        return delegate().getDouble(columnIndex);
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return delegate().getDouble(columnLabel);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        return delegate().getBoolean(columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return delegate().getBoolean(columnLabel);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return delegate().getBytes(columnIndex);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return delegate().getBytes(columnLabel);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return delegate().getTimestamp(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return delegate().getTimestamp(columnLabel);
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return delegate().wasNull();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        delegate().close();
+    }
+
+}
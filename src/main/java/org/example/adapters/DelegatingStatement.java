@@ -0,0 +1,102 @@
+package org.example.adapters;
+
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+
+/**
+ * Base class for {@link DatabaseStatement} decorators. Every call is forwarded to
+ * {@link #delegate()}, so subclasses only override the calls they change.
+ */
+public abstract class DelegatingStatement implements DatabaseStatement {
+
+    private final DatabaseStatement delegate;
+
+    protected DelegatingStatement(DatabaseStatement delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("Delegate statement cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    protected DatabaseStatement delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void setParameter(int index, Object value) throws SQLException {
+        delegate().setParameter(index, value);
+    }
+
+    @Override
+    public void setInt(int index, int value) throws SQLException {
+        delegate().setInt(index, value);
+    }
+
+    @Override
+    public void setLong(int index, long value) throws SQLException {
+        delegate().setLong(index, value);
+    }
+
+    @Override
+    public void setDouble(int index, double value) throws SQLException {
+        delegate().setDouble(index, value);
+    }
+
+    @Override
+    public void setString(int index, String value) throws SQLException {
+        delegate().setString(index, value);
+    }
+
+    @Override
+    public void setBytes(int index, byte[] value) throws SQLException {
+        delegate().setBytes(index, value);
+    }
+
+    @Override
+    public void setNull(int index, int sqlType) throws SQLException {
+        delegate().setNull(index, sqlType);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        delegate().setFetchSize(rows);
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        delegate().setQueryTimeout(seconds);
+    }
+
+    @Override
+    public DatabaseResultSet executeQuery() throws SQLException {
+        return delegate().executeQuery();
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        return delegate().executeUpdate();
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        delegate().addBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return delegate().executeBatch();
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        delegate().cancel();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        delegate().close();
+    }
+
+}
@@ -5,26 +5,106 @@ import org.example.interfaces.DatabaseStatement;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 
 public class JdbcConnectionAdapter implements DatabaseConnection {
 
     private final Connection connection;
+    private final ColumnIndexCache columnIndexes = new ColumnIndexCache(ColumnIndexCache.DEFAULT_MAX_SIZE);
+    private final StatementCache statementCache;
 
     public JdbcConnectionAdapter(Connection connection) {
+        this(connection, 0);
+    }
+
+    /**
+     * @param statementCacheSize maximum number of idle prepared statements kept for this
+     *                           connection across all SQL strings, least recently used evicted
+     *                           first; {@code 0} disables caching and closes statements as before
+     */
+    public JdbcConnectionAdapter(Connection connection, int statementCacheSize) {
         if (connection == null) {
             throw new NullPointerException("Connection cannot be null");
         }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size cannot be negative");
+        }
         this.connection = connection;
+        this.statementCache = statementCacheSize == 0 ? null : new StatementCache(connection, columnIndexes, statementCacheSize);
     }
 
     @Override
     public DatabaseStatement prepareStatement(String query) throws SQLException {
-        return new JdbcStatementAdapter(connection.prepareStatement(query));
+        if (statementCache != null) {
+            return statementCache.borrow(query);
+        }
+        return new JdbcStatementAdapter(connection.prepareStatement(query), query, columnIndexes);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return connection.getAutoCommit();
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        connection.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        connection.commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return name == null ? connection.setSavepoint() : connection.setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        connection.rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        connection.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return connection.getTransactionIsolation();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        connection.setTransactionIsolation(level);
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return connection.isReadOnly();
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        connection.setReadOnly(readOnly);
     }
 
     @Override
     public void close() throws SQLException {
-        connection.close();
+        try {
+            if (statementCache != null) {
+                statementCache.close();
+            }
+        } finally {
+            connection.close();
+        }
     }
 
     @Override
@@ -32,4 +112,45 @@ public class JdbcConnectionAdapter implements DatabaseConnection {
         return connection.isClosed();
     }
 
-}
\ No newline at end of file
+    @Override
+    public boolean isValid(int timeoutSeconds) throws SQLException {
+        return connection.isValid(timeoutSeconds);
+    }
+
+    /**
+     * Returns this adapter, the wrapped {@code Connection}, or whatever the driver unwraps it to,
+     * such as {@code org.postgresql.PGConnection}.
+     */
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        if (type.isInstance(connection)) {
+            return type.cast(connection);
+        }
+        return connection.unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) throws SQLException {
+        return type.isInstance(this) || type.isInstance(connection) || connection.isWrapperFor(type);
+    }
+
+    public int getStatementCacheSize() {
+        return statementCache == null ? 0 : statementCache.size();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCache == null ? 0 : statementCache.getHits();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCache == null ? 0 : statementCache.getMisses();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCache == null ? 0 : statementCache.getEvictions();
+    }
+
+}
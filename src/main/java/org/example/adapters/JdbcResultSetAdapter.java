@@ -4,16 +4,23 @@ import org.example.interfaces.DatabaseResultSet;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 
 public class JdbcResultSetAdapter implements DatabaseResultSet {
 
     private final ResultSet resultSet;
+    private final ColumnIndex columnIndex;
 
     public JdbcResultSetAdapter(ResultSet resultSet) {
+        this(resultSet, null);
+    }
+
+    JdbcResultSetAdapter(ResultSet resultSet, ColumnIndex columnIndex) {
         if (resultSet == null) {
             throw new NullPointerException("ResultSet cannot be null");
         }
         this.resultSet = resultSet;
+        this.columnIndex = columnIndex;
     }
 
     @Override
@@ -21,9 +28,129 @@ public class JdbcResultSetAdapter implements DatabaseResultSet {
         return resultSet.next();
     }
 
+    @Override
+    public int getColumnCount() throws SQLException {
+        if (columnIndex != null) {
+            return columnIndex.getColumnCount();
+        }
+        return resultSet.getMetaData().getColumnCount();
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        if (columnIndex != null) {
+            return columnIndex.getColumnLabel(column);
+        }
+        return resultSet.getMetaData().getColumnLabel(column);
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        if (columnIndex != null) {
+            return columnIndex.getColumnType(column);
+        }
+        return resultSet.getMetaData().getColumnType(column);
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        return resultSet.getString(columnIndex);
+    }
+
     @Override
     public String getString(String columnLabel) throws SQLException {
-        return resultSet.getString(columnLabel);
+        if (columnIndex == null) {
+            return resultSet.getString(columnLabel);
+        }
+        return resultSet.getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        return resultSet.getInt(columnIndex);
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        if (columnIndex == null) {
+            return resultSet.getInt(columnLabel);
+        }
+        return resultSet.getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        return resultSet.getLong(columnIndex);
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        if (columnIndex == null) {
+            return resultSet.getLong(columnLabel);
+        }
+        return resultSet.getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        return resultSet.getDouble(columnIndex);
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        if (columnIndex == null) {
+            return resultSet.getDouble(columnLabel);
+        }
+        return resultSet.getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        return resultSet.getBoolean(columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        if (columnIndex == null) {
+            return resultSet.getBoolean(columnLabel);
+        }
+        return resultSet.getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return resultSet.getBytes(columnIndex);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        if (columnIndex == null) {
+            return resultSet.getBytes(columnLabel);
+        }
+        return resultSet.getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return resultSet.getTimestamp(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        if (columnIndex == null) {
+            return resultSet.getTimestamp(columnLabel);
+        }
+        return resultSet.getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return resultSet.wasNull();
+    }
+
+    private int findColumn(String columnLabel) throws SQLException {
+        int ordinal = columnIndex.indexOf(columnLabel);
+        return ordinal > 0 ? ordinal : resultSet.findColumn(columnLabel);
     }
 
     @Override
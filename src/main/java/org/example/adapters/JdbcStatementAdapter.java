@@ -4,17 +4,27 @@ import org.example.interfaces.DatabaseResultSet;
 import org.example.interfaces.DatabaseStatement;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class JdbcStatementAdapter implements DatabaseStatement {
 
     private final PreparedStatement statement;
+    private final String query;
+    private final ColumnIndexCache columnIndexes;
+    private boolean queryTimeoutSet;
 
     public JdbcStatementAdapter(PreparedStatement statement) {
+        this(statement, null, null);
+    }
+
+    JdbcStatementAdapter(PreparedStatement statement, String query, ColumnIndexCache columnIndexes) {
         if (statement == null) {
             throw new NullPointerException("Cannot initialize JdbcStatementAdapter with a null PreparedStatement");
         }
         this.statement = statement;
+        this.query = query;
+        this.columnIndexes = columnIndexes;
     }
 
     @Override
@@ -22,9 +32,71 @@ public class JdbcStatementAdapter implements DatabaseStatement {
         statement.setObject(index, value);
     }
 
+    @Override
+    public void setInt(int index, int value) throws SQLException {
+        statement.setInt(index, value);
+    }
+
+    @Override
+    public void setLong(int index, long value) throws SQLException {
+        statement.setLong(index, value);
+    }
+
+    @Override
+    public void setDouble(int index, double value) throws SQLException {
+        statement.setDouble(index, value);
+    }
+
+    @Override
+    public void setString(int index, String value) throws SQLException {
+        statement.setString(index, value);
+    }
+
+    @Override
+    public void setBytes(int index, byte[] value) throws SQLException {
+        statement.setBytes(index, value);
+    }
+
+    @Override
+    public void setNull(int index, int sqlType) throws SQLException {
+        statement.setNull(index, sqlType);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        statement.setFetchSize(rows);
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        statement.setQueryTimeout(seconds);
+        queryTimeoutSet = seconds != 0;
+    }
+
+    /**
+     * Removes a query timeout set by the previous user of a cached statement.
+     */
+    void clearQueryTimeout() throws SQLException {
+        if (queryTimeoutSet) {
+            setQueryTimeout(0);
+        }
+    }
+
+    public void clearParameters() throws SQLException {
+        statement.clearParameters();
+    }
+
+    public void clearBatch() throws SQLException {
+        statement.clearBatch();
+    }
+
     @Override
     public DatabaseResultSet executeQuery() throws SQLException {
-        return new JdbcResultSetAdapter(statement.executeQuery());
+        ResultSet resultSet = statement.executeQuery();
+        if (columnIndexes == null) {
+            return new JdbcResultSetAdapter(resultSet);
+        }
+        return new JdbcResultSetAdapter(resultSet, columnIndexes.resolve(query, resultSet.getMetaData()));
     }
 
     @Override
@@ -32,6 +104,21 @@ public class JdbcStatementAdapter implements DatabaseStatement {
         return statement.executeUpdate();
     }
 
+    @Override
+    public void addBatch() throws SQLException {
+        statement.addBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        return statement.executeBatch();
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        statement.cancel();
+    }
+
     @Override
     public void close() throws SQLException {
         statement.close();
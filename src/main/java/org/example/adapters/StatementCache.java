@@ -0,0 +1,124 @@
+package org.example.adapters;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, SQL-keyed LRU cache of prepared statements owned by a single {@link JdbcConnectionAdapter}.
+ * A statement is removed from the cache while it is checked out, so the same SQL can be prepared
+ * more than once concurrently without two callers sharing one {@code PreparedStatement}.
+ */
+class StatementCache {
+
+    private final Connection connection;
+    private final ColumnIndexCache columnIndexes;
+    private final int maxSize;
+    private final LinkedHashMap<String, CachedStatementAdapter> idle = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private boolean closed;
+
+    StatementCache(Connection connection, ColumnIndexCache columnIndexes, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Statement cache size must be positive");
+        }
+        this.connection = connection;
+        this.columnIndexes = columnIndexes;
+        this.maxSize = maxSize;
+    }
+
+    CachedStatementAdapter borrow(String query) throws SQLException {
+        synchronized (this) {
+            CachedStatementAdapter cached = idle.remove(query);
+            if (cached != null) {
+                cached.checkedOut = true;
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        return new CachedStatementAdapter(connection.prepareStatement(query), query, columnIndexes, this);
+    }
+
+    void release(CachedStatementAdapter statement) throws SQLException {
+        CachedStatementAdapter evicted = null;
+        synchronized (this) {
+            if (!statement.checkedOut) {
+                return;
+            }
+            statement.checkedOut = false;
+            if (!closed && !idle.containsKey(statement.getQuery())) {
+                try {
+                    statement.clearParameters();
+                    statement.clearBatch();
+                    statement.clearQueryTimeout();
+                } catch (SQLException e) {
+                    statement.closeStatement();
+                    throw e;
+                }
+                idle.put(statement.getQuery(), statement);
+                if (idle.size() > maxSize) {
+                    Iterator<CachedStatementAdapter> eldest = idle.values().iterator();
+                    evicted = eldest.next();
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+                statement = null;
+            }
+        }
+        if (statement != null) {
+            statement.closeStatement();
+        }
+        if (evicted != null) {
+            evicted.closeStatement();
+        }
+    }
+
+    void close() throws SQLException {
+        SQLException failure = null;
+        synchronized (this) {
+            closed = true;
+            for (Map.Entry<String, CachedStatementAdapter> entry : idle.entrySet()) {
+                try {
+                    entry.getValue().closeStatement();
+                } catch (SQLException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            idle.clear();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    synchronized int size() {
+        return idle.size();
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getEvictions() {
+        return evictions.get();
+    }
+
+}
@@ -0,0 +1,194 @@
+package org.example.bulk;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Loads many rows into one table. On PostgreSQL, rows are streamed through
+ * {@code COPY ... FROM STDIN (FORMAT csv)}, encoded straight into the copy buffer. On other
+ * databases they are inserted with multi-row {@code INSERT ... VALUES (...), (...)} statements,
+ * each carrying up to {@link #getInsertRowsPerStatement()} rows.
+ * <p>
+ * The loader does not manage transactions. In autocommit mode each COPY or INSERT statement commits
+ * on its own; run the load in a transaction to make it atomic.
+ * <p>
+ * Table and column names are written into the SQL verbatim, so the database applies its usual case
+ * folding to them. Each must be a plain identifier or a double-quoted one, and the table may be
+ * qualified with a schema; anything else is rejected rather than concatenated into the statement.
+ */
+public class BulkLoader {
+
+    public static final int DEFAULT_INSERT_ROWS_PER_STATEMENT = 500;
+
+    // PostgreSQL's wire protocol limit, which several other drivers share
+    private static final int MAX_PARAMETERS = 32_767;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String NAME = "(?:[A-Za-z_][A-Za-z0-9_$]*|\"(?:[^\"]|\"\")+\")";
+    private static final Pattern COLUMN = Pattern.compile(NAME);
+    private static final Pattern TABLE = Pattern.compile(NAME + "(?:\\." + NAME + "){0,2}");
+
+    private final DatabaseConnection connection;
+    private int insertRowsPerStatement = DEFAULT_INSERT_ROWS_PER_STATEMENT;
+    private boolean copyEnabled = true;
+
+    public BulkLoader(DatabaseConnection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        this.connection = connection;
+    }
+
+    public long load(String table, List<String> columns, Iterator<Object[]> rows) throws SQLException {
+        return load(table, columns, rows, Function.identity());
+    }
+
+    /**
+     * Loads every row of {@code rows}, using {@code values} to turn each into its column values in
+     * the order of {@code columns}. The array returned by {@code values} is not retained, so it may
+     * be reused from row to row. Returns the number of rows loaded.
+     */
+    public <T> long load(String table, List<String> columns, Iterator<? extends T> rows,
+                         Function<? super T, Object[]> values) throws SQLException {
+        if (table == null || table.isEmpty()) {
+            throw new IllegalArgumentException("Table cannot be empty");
+        }
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Columns cannot be empty");
+        }
+        if (rows == null || values == null) {
+            throw new IllegalArgumentException("Rows and value extractor cannot be null");
+        }
+        if (!TABLE.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+        for (String column : columns) {
+            if (column == null || !COLUMN.matcher(column).matches()) {
+                throw new IllegalArgumentException("Invalid column name: " + column);
+            }
+        }
+        if (copyEnabled && connection.isWrapperFor(PGConnection.class)) {
+            return copy(table, columns, rows, values);
+        }
+        return insert(table, columns, rows, values);
+    }
+
+    public int getInsertRowsPerStatement() {
+        return insertRowsPerStatement;
+    }
+
+    /**
+     * Sets the number of rows per {@code INSERT} statement when COPY is not available. The number is
+     * lowered if the statement would have more than 32767 parameters.
+     */
+    public void setInsertRowsPerStatement(int insertRowsPerStatement) {
+        if (insertRowsPerStatement <= 0) {
+            throw new IllegalArgumentException("Rows per statement must be positive");
+        }
+        this.insertRowsPerStatement = insertRowsPerStatement;
+    }
+
+    public boolean isCopyEnabled() {
+        return copyEnabled;
+    }
+
+    /**
+     * Disabling COPY makes PostgreSQL connections use multi-row inserts too.
+     */
+    public void setCopyEnabled(boolean copyEnabled) {
+        this.copyEnabled = copyEnabled;
+    }
+
+    private <T> long copy(String table, List<String> columns, Iterator<? extends T> rows,
+                          Function<? super T, Object[]> values) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)";
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+            CsvCopyEncoder encoder = new CsvCopyEncoder(copyIn::writeToCopy, COPY_BUFFER_SIZE);
+            while (rows.hasNext()) {
+                encoder.writeRow(checkWidth(values.apply(rows.next()), columns.size()));
+            }
+            encoder.flush();
+            return copyIn.endCopy();
+        } catch (SQLException | RuntimeException e) {
+            if (copyIn.isActive()) {
+                try {
+                    copyIn.cancelCopy();
+                } catch (SQLException cancelFailure) {
+                    e.addSuppressed(cancelFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private <T> long insert(String table, List<String> columns, Iterator<? extends T> rows,
+                            Function<? super T, Object[]> values) throws SQLException {
+        int width = columns.size();
+        int rowsPerStatement = Math.max(1, Math.min(insertRowsPerStatement, MAX_PARAMETERS / width));
+        String prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        // values are copied out of each row, since the extractor may reuse its array
+        Object[] chunk = new Object[rowsPerStatement * width];
+        DatabaseStatement full = null;
+        long total = 0;
+        try {
+            int pending = 0;
+            while (rows.hasNext()) {
+                System.arraycopy(checkWidth(values.apply(rows.next()), width), 0, chunk, pending * width, width);
+                if (++pending == rowsPerStatement) {
+                    if (full == null) {
+                        full = connection.prepareStatement(insertSql(prefix, width, rowsPerStatement));
+                    }
+                    total += execute(full, chunk, chunk.length);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                try (DatabaseStatement last = connection.prepareStatement(insertSql(prefix, width, pending))) {
+                    total += execute(last, chunk, pending * width);
+                }
+            }
+        } finally {
+            if (full != null) {
+                full.close();
+            }
+        }
+        return total;
+    }
+
+    private static int execute(DatabaseStatement statement, Object[] values, int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            statement.setParameter(i + 1, values[i]);
+        }
+        return statement.executeUpdate();
+    }
+
+    private static String insertSql(String prefix, int width, int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (width * 3 + 4));
+        sql.append(prefix);
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ", (");
+            for (int column = 0; column < width; column++) {
+                sql.append(column == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    private static Object[] checkWidth(Object[] values, int width) throws SQLException {
+        if (values == null || values.length != width) {
+            throw new SQLException("Row has " + (values == null ? 0 : values.length) + " values but "
+                    + width + " columns were given", "22023");
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,155 @@
+package org.example.bulk;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Encodes rows in PostgreSQL's {@code COPY ... (FORMAT csv)} text format straight into a byte
+ * buffer, handing it to a {@link Sink} whenever it fills. Integers and strings are written byte by
+ * byte rather than through an intermediate {@code String} per value.
+ * <p>
+ * {@code null} is written as an empty unquoted field, which COPY reads as {@code NULL}; strings are
+ * always quoted, so an empty string stays empty. Byte arrays use the {@code bytea} hex format.
+ */
+final class CsvCopyEncoder {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    @FunctionalInterface
+    interface Sink {
+        void write(byte[] data, int offset, int length) throws SQLException;
+    }
+
+    private final Sink sink;
+    private final byte[] buffer;
+    private int position;
+
+    CsvCopyEncoder(Sink sink, int bufferSize) {
+        if (bufferSize < 32) {
+            throw new IllegalArgumentException("Buffer size must be at least 32 bytes");
+        }
+        this.sink = sink;
+        this.buffer = new byte[bufferSize];
+    }
+
+    void writeRow(Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeValue(values[i]);
+        }
+        put((byte) '\n');
+    }
+
+    void flush() throws SQLException {
+        if (position > 0) {
+            sink.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void writeValue(Object value) throws SQLException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof String) {
+            writeQuoted((String) value);
+        } else if (value instanceof Boolean) {
+            writeAscii((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof byte[]) {
+            writeHex((byte[]) value);
+        } else if (value instanceof BigDecimal) {
+            writeQuoted(((BigDecimal) value).toPlainString());
+        } else {
+            writeQuoted(value.toString());
+        }
+    }
+
+    private void writeLong(long value) throws SQLException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private void writeQuoted(String value) throws SQLException {
+        put((byte) '"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            ensure(4);
+            if (c < 0x80) {
+                if (c == '"') {
+                    buffer[position++] = '"';
+                }
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xe0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        put((byte) '"');
+    }
+
+    private void writeHex(byte[] value) throws SQLException {
+        put((byte) '\\');
+        put((byte) 'x');
+        for (byte b : value) {
+            ensure(2);
+            buffer[position++] = HEX[(b >> 4) & 0xf];
+            buffer[position++] = HEX[b & 0xf];
+        }
+    }
+
+    private void writeAscii(byte[] bytes) throws SQLException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void put(byte b) throws SQLException {
+        ensure(1);
+        buffer[position++] = b;
+    }
+
+    private void ensure(int bytes) throws SQLException {
+        if (position + bytes > buffer.length) {
+            flush();
+        }
+    }
+
+}
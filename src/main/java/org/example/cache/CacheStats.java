@@ -0,0 +1,67 @@
+package org.example.cache;
+
+/**
+ * Point-in-time snapshot of a {@link ResultCache}'s counters and size.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+    private final int entryCount;
+    private final long estimatedBytes;
+
+    CacheStats(long hits, long misses, long evictions, long expirations, long invalidations,
+               int entryCount, long estimatedBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+        this.entryCount = entryCount;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", misses=" + misses + ", hitRatio=" + getHitRatio()
+                + ", entries=" + entryCount + ", estimatedBytes=" + estimatedBytes + ", evictions=" + evictions
+                + ", expirations=" + expirations + ", invalidations=" + invalidations + "}";
+    }
+
+}
@@ -0,0 +1,170 @@
+package org.example.cache;
+
+import org.example.Deadline;
+import org.example.QueryTimeoutException;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent executions of the same query. The first caller for a {@link QueryKey} runs
+ * the query; callers arriving with the same key while it is in flight wait for it and share its
+ * result instead of running their own. Once it completes the key is released, so the next caller
+ * runs the query again: nothing is cached beyond the in-flight window.
+ * <p>
+ * A failure is thrown to every caller that waited for it, each getting an exception of its own
+ * with the same message and SQLState and the original failure as its cause, so callers can add
+ * suppressed exceptions without affecting one another. Cancellations, timeouts and SQLState
+ * {@code 57014} are not thrown: the running caller's deadline need not apply to the waiting
+ * callers, so they run the query again instead, one of them on behalf of the rest. A waiting caller that is interrupted or whose own deadline passes stops
+ * waiting without affecting the running query.
+ * <p>
+ * Shared by any number of threads.
+ */
+public final class QueryCoalescer {
+
+    private final ConcurrentHashMap<QueryKey, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Returns the result of the execution of {@code key} in flight, or runs {@code loader} if there
+     * is none. Waiting for another caller's execution fails with a {@link QueryTimeoutException}
+     * once {@code deadline}, if not {@code null}, passes. The returned list must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> execute(QueryKey key, Deadline deadline, ResultCache.Loader<T> loader) throws SQLException {
+        if (key == null) {
+            throw new IllegalArgumentException("Query key cannot be null");
+        }
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        while (true) {
+            Flight flight = new Flight();
+            Flight running = flights.putIfAbsent(key, flight);
+            if (running == null) {
+                return lead(key, flight, loader);
+            }
+            List<?> shared = await(running, deadline);
+            if (shared != null) {
+                return (List<T>) shared;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of queries in flight.
+     */
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Returns the number of callers waiting for a query run by another caller.
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    /**
+     * Returns how many times a query was run.
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Returns how many callers were given the result, or the failure, of a query run by another
+     * caller.
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private <T> List<T> lead(QueryKey key, Flight flight, ResultCache.Loader<T> loader) throws SQLException {
+        executions.increment();
+        List<T> value;
+        try {
+            value = Collections.unmodifiableList(new ArrayList<>(loader.load()));
+        } catch (SQLException | RuntimeException | Error e) {
+            // release the key first, so callers that run the query again do not find this flight
+            flights.remove(key, flight);
+            flight.fail(e);
+            throw e;
+        }
+        flights.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    /**
+     * Waits for {@code flight} and returns its result, or {@code null} if it was cancelled and the
+     * query should be run again.
+     */
+    private List<?> await(Flight flight, Deadline deadline) throws SQLException {
+        waiting.incrementAndGet();
+        try {
+            if (deadline == null) {
+                flight.done.await();
+            } else if (!flight.done.await(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new QueryTimeoutException("Deadline expired while waiting for a coalesced query");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a coalesced query", "57014", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        Throwable failure = flight.failure;
+        if (failure == null) {
+            coalesced.increment();
+            return flight.value;
+        }
+        if (isCancellation(failure)) {
+            return null;
+        }
+        coalesced.increment();
+        if (failure instanceof SQLException) {
+            SQLException cause = (SQLException) failure;
+            throw new SQLException(cause.getMessage(), cause.getSQLState(), cause.getErrorCode(), cause);
+        }
+        if (failure instanceof RuntimeException) {
+            throw new RuntimeException(failure.getMessage(), failure);
+        }
+        throw (Error) failure;
+    }
+
+    private static boolean isCancellation(Throwable failure) {
+        return failure instanceof SQLTimeoutException
+                || (failure instanceof SQLException && "57014".equals(((SQLException) failure).getSQLState()));
+    }
+
+    private static final class Flight {
+
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile List<?> value;
+        volatile Throwable failure;
+
+        void complete(List<?> value) {
+            this.value = value;
+            done.countDown();
+        }
+
+        void fail(Throwable failure) {
+            this.failure = failure;
+            done.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.example.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identity of one query execution: SQL, bound parameters and the mapper that turns rows into
+ * results. Mappers are compared by identity, so only reused mapper instances (constants or
+ * non-capturing lambdas) produce matching keys. Byte array parameters are compared by content.
+ */
+public final class QueryKey {
+
+    private final String sql;
+    private final List<Object> parameters;
+    private final Object mapper;
+    private final int hash;
+
+    public QueryKey(String sql, List<Object> parameters, Object mapper) {
+        if (sql == null) {
+            throw new IllegalArgumentException("SQL cannot be null");
+        }
+        this.sql = sql;
+        this.parameters = parameters == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.mapper = mapper;
+        int h = sql.hashCode();
+        for (Object parameter : this.parameters) {
+            h = 31 * h + (parameter instanceof byte[] ? Arrays.hashCode((byte[]) parameter)
+                    : parameter == null ? 0 : parameter.hashCode());
+        }
+        this.hash = 31 * h + System.identityHashCode(mapper);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof QueryKey)) {
+            return false;
+        }
+        QueryKey key = (QueryKey) other;
+        if (hash != key.hash || mapper != key.mapper || !sql.equals(key.sql) || parameters.size() != key.parameters.size()) {
+            return false;
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            if (!Arrays.deepEquals(new Object[]{parameters.get(i)}, new Object[]{key.parameters.get(i)})) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryKey{sql=" + sql + ", parameters=" + parameters + "}";
+    }
+
+}
@@ -0,0 +1,303 @@
+package org.example.cache;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * LRU cache of query results bounded by entry count and by estimated size, with a time-to-live per
+ * entry. Every entry remembers the tables its SQL reads; {@link #invalidate(String)} with the SQL of
+ * a write drops the entries reading any table that SQL touches. A write whose tables cannot be
+ * determined drops everything, and a cached query whose tables cannot be determined is dropped by
+ * any write.
+ * <p>
+ * A result loaded while one of its tables is invalidated is returned to the caller but not cached,
+ * so a concurrent write never leaves a stale entry behind. Shared by any number of threads.
+ */
+public final class ResultCache {
+
+    private static final String ANY_TABLE = "*";
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final ToLongFunction<Object> weigher;
+
+    private final LinkedHashMap<QueryKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<QueryKey>> keysByTable = new HashMap<>();
+    private final Map<String, Long> tableVersions = new HashMap<>();
+    private long globalVersion;
+    private long estimatedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private ResultCache(Builder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.maxBytes = builder.maxBytes;
+        this.ttlNanos = builder.ttl.toNanos();
+        this.weigher = builder.weigher;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the cached result for {@code key}, or runs {@code loader} and caches what it returns.
+     * The returned list must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getOrLoad(QueryKey key, Loader<T> loader) throws SQLException {
+        Set<String> tables;
+        long[] versions;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt < 0) {
+                    hits.increment();
+                    return (List<T>) entry.value;
+                }
+                remove(key, entry);
+                expirations.increment();
+            }
+            tables = SqlTables.of(key.getSql());
+            if (tables.isEmpty()) {
+                tables = Set.of(ANY_TABLE);
+            }
+            versions = versions(tables);
+        }
+        misses.increment();
+        List<T> loaded = loader.load();
+        List<T> value = Collections.unmodifiableList(new ArrayList<>(loaded));
+        long weight = weigh(value);
+        synchronized (this) {
+            if (weight <= maxBytes && Arrays.equals(versions, versions(tables))) {
+                Entry previous = entries.get(key);
+                if (previous != null) {
+                    remove(key, previous);
+                }
+                entries.put(key, new Entry(value, tables, weight, System.nanoTime() + ttlNanos));
+                estimatedBytes += weight;
+                for (String table : tables) {
+                    keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+                }
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops every entry reading a table that {@code sql} touches.
+     */
+    public void invalidate(String sql) {
+        Set<String> tables = SqlTables.of(sql);
+        if (tables.isEmpty()) {
+            invalidateAll();
+            return;
+        }
+        synchronized (this) {
+            invalidateTables(tables);
+            invalidateTables(Set.of(ANY_TABLE));
+        }
+    }
+
+    public synchronized void invalidateTable(String table) {
+        invalidateTables(SqlTables.of("FROM " + table));
+        invalidateTables(Set.of(ANY_TABLE));
+    }
+
+    public synchronized void invalidateAll() {
+        globalVersion++;
+        invalidations.add(entries.size());
+        entries.clear();
+        keysByTable.clear();
+        estimatedBytes = 0;
+    }
+
+    public CacheStats getStats() {
+        int size;
+        long bytes;
+        synchronized (this) {
+            size = entries.size();
+            bytes = estimatedBytes;
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), invalidations.sum(),
+                size, bytes);
+    }
+
+    private void invalidateTables(Collection<String> tables) {
+        for (String table : tables) {
+            tableVersions.merge(table, 1L, Long::sum);
+            Set<QueryKey> keys = keysByTable.remove(table);
+            if (keys != null) {
+                for (QueryKey key : keys) {
+                    Entry entry = entries.get(key);
+                    if (entry != null) {
+                        remove(key, entry);
+                        invalidations.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    private long[] versions(Set<String> tables) {
+        long[] versions = new long[tables.size() + 1];
+        int i = 0;
+        for (String table : tables) {
+            versions[i++] = tableVersions.getOrDefault(table, 0L);
+        }
+        versions[i] = globalVersion;
+        return versions;
+    }
+
+    private void remove(QueryKey key, Entry entry) {
+        entries.remove(key);
+        estimatedBytes -= entry.weight;
+        for (String table : entry.tables) {
+            Set<QueryKey> keys = keysByTable.get(table);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByTable.remove(table);
+                }
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > maxEntries || estimatedBytes > maxBytes) {
+            Map.Entry<QueryKey, Entry> eldest = entries.entrySet().iterator().next();
+            remove(eldest.getKey(), eldest.getValue());
+            evictions.increment();
+        }
+    }
+
+    private long weigh(List<?> value) {
+        long weight = 64 + 8L * value.size();
+        for (Object element : value) {
+            weight += weigher.applyAsLong(element);
+        }
+        return weight;
+    }
+
+    /**
+     * Rough default size estimate for one result element, in bytes.
+     */
+    static long estimateSize(Object element) {
+        if (element == null) {
+            return 0;
+        }
+        if (element instanceof String) {
+            return 40 + ((String) element).length();
+        }
+        if (element instanceof byte[]) {
+            return 16 + ((byte[]) element).length;
+        }
+        if (element instanceof Number || element instanceof Boolean || element instanceof Character) {
+            return 16;
+        }
+        if (element instanceof Collection) {
+            long size = 40;
+            for (Object item : (Collection<?>) element) {
+                size += 8 + estimateSize(item);
+            }
+            return size;
+        }
+        return 128;
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    private static final class Entry {
+
+        final List<?> value;
+        final Set<String> tables;
+        final long weight;
+        final long expiresAt;
+
+        Entry(List<?> value, Set<String> tables, long weight, long expiresAt) {
+            this.value = value;
+            this.tables = tables;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    public static final class Builder {
+
+        private int maxEntries = 10_000;
+        private long maxBytes = 64L * 1024 * 1024;
+        private Duration ttl = Duration.ofMinutes(5);
+        private ToLongFunction<Object> weigher = ResultCache::estimateSize;
+
+        private Builder() {
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Bounds the total estimated size of cached results, as computed by the weigher.
+         */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Estimates the size in bytes of one element of a cached result. The default counts
+         * strings, byte arrays, boxed primitives and collections of them, and assumes 128 bytes for
+         * any other object.
+         */
+        public Builder weigher(ToLongFunction<Object> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        public ResultCache build() {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("Maximum entries must be positive");
+            }
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("Maximum bytes must be positive");
+            }
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("TTL must be positive");
+            }
+            if (weigher == null) {
+                throw new IllegalArgumentException("Weigher cannot be null");
+            }
+            return new ResultCache(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.example.cache;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Finds the tables a SQL statement reads or writes by looking at the names following
+ * {@code FROM}, {@code JOIN}, {@code INTO}, {@code UPDATE}, {@code TABLE}, {@code TRUNCATE} and
+ * {@code USING}. Names are lower-cased unless quoted. The scan is lexical, so it may over-report
+ * (an alias after a comma) but does not miss tables named in those positions.
+ */
+final class SqlTables {
+
+    private SqlTables() {
+    }
+
+    static Set<String> of(String sql) {
+        Set<String> tables = new LinkedHashSet<>();
+        int length = sql.length();
+        int i = 0;
+        boolean expectTable = false;
+        boolean inTableList = false;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                expectTable = false;
+                inTableList = false;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == ',') {
+                expectTable = inTableList;
+                i++;
+            } else if (Character.isLetter(c) || c == '_' || c == '"' || c == '`') {
+                StringBuilder name = new StringBuilder();
+                boolean quoted = false;
+                while (i < length) {
+                    char d = sql.charAt(i);
+                    if (d == '"' || d == '`') {
+                        int end = skipQuoted(sql, i, d);
+                        name.append(sql, i + 1, Math.max(i + 1, end - 1));
+                        quoted = true;
+                        i = end;
+                    } else if (Character.isLetterOrDigit(d) || d == '_' || d == '$' || d == '.') {
+                        name.append(d);
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                String word = quoted ? name.toString() : name.toString().toLowerCase(Locale.ROOT);
+                if (expectTable) {
+                    if (quoted || !isModifier(word)) {
+                        tables.add(word.substring(word.lastIndexOf('.') + 1));
+                        expectTable = false;
+                    }
+                    continue;
+                }
+                switch (quoted ? "" : word) {
+                    case "from":
+                    case "join":
+                    case "into":
+                    case "update":
+                    case "table":
+                    case "truncate":
+                    case "using":
+                        expectTable = true;
+                        inTableList = word.equals("from") || word.equals("join");
+                        break;
+                    case "where":
+                    case "set":
+                    case "values":
+                    case "group":
+                    case "order":
+                    case "limit":
+                    case "select":
+                        inTableList = false;
+                        break;
+                    default:
+                        break;
+                }
+            } else {
+                if (c == '(' || c == ')' || c == ';') {
+                    inTableList = false;
+                }
+                expectTable = false;
+                i++;
+            }
+        }
+        return tables;
+    }
+
+    private static boolean isModifier(String word) {
+        switch (word) {
+            case "if":
+            case "not":
+            case "exists":
+            case "only":
+            case "table":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+}
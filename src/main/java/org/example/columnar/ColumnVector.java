@@ -0,0 +1,102 @@
+package org.example.columnar;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Growable, single-column store filled row by row from a {@link DatabaseResultSet}. Nulls are
+ * tracked in a bitmap, so numeric vectors never box their values.
+ */
+public abstract class ColumnVector {
+
+    public enum Storage {
+        HEAP,
+        OFF_HEAP
+    }
+
+    static final int INITIAL_CAPACITY = 64;
+
+    private final String label;
+    private final int sqlType;
+    private long[] nulls = new long[1];
+    private boolean hasNulls;
+    int size;
+
+    ColumnVector(String label, int sqlType) {
+        this.label = label;
+        this.sqlType = sqlType;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * The {@link java.sql.Types} code reported by the driver for this column.
+     */
+    public int getSqlType() {
+        return sqlType;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        checkRow(row);
+        return hasNulls && (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Approximate number of bytes used by the column's values and null bitmap.
+     */
+    public abstract long estimatedBytes();
+
+    abstract void append(DatabaseResultSet rs, int columnIndex) throws SQLException;
+
+    void appendNullFlag(boolean isNull) {
+        int word = size >>> 6;
+        if (word == nulls.length) {
+            nulls = Arrays.copyOf(nulls, nulls.length * 2);
+        }
+        if (isNull) {
+            nulls[word] |= 1L << size;
+            hasNulls = true;
+        }
+    }
+
+    long nullBitmapBytes() {
+        return (long) nulls.length * Long.BYTES;
+    }
+
+    void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for column " + label + " with " + size + " rows");
+        }
+    }
+
+    static int grow(int capacity) {
+        int grown = capacity + (capacity >> 1) + 1;
+        if (grown < 0) {
+            throw new IllegalStateException("Column vector cannot hold more than " + Integer.MAX_VALUE + " bytes");
+        }
+        return grown;
+    }
+
+    /**
+     * Returns the grown capacity in bytes of an off-heap buffer of {@code capacity} bytes holding
+     * values of {@code valueBytes} each, which is limited to {@link Integer#MAX_VALUE} bytes.
+     */
+    static int growBytes(int capacity, int valueBytes) {
+        int maxValues = Integer.MAX_VALUE / valueBytes;
+        int values = capacity / valueBytes;
+        if (values >= maxValues) {
+            throw new IllegalStateException("Off-heap column vector cannot hold more than " + maxValues
+                    + " values of " + valueBytes + " bytes");
+        }
+        return Math.min(grow(values), maxValues) * valueBytes;
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.example.columnar;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Query result held column by column in primitive vectors rather than as one object per row.
+ * Integer columns are stored as {@code int}, {@code BIGINT} as {@code long}, floating point
+ * columns as {@code double}, and every other type as a dictionary-encoded string. That includes
+ * {@code DECIMAL} and {@code NUMERIC} columns, which a {@code double} could not hold exactly; their
+ * text converts back with {@link java.math.BigDecimal#BigDecimal(String)}.
+ */
+public final class ColumnarResult {
+
+    private final List<ColumnVector> columns;
+    private final int rowCount;
+
+    private ColumnarResult(List<ColumnVector> columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    public static ColumnarResult read(DatabaseResultSet rs, ColumnVector.Storage storage) throws SQLException {
+        int columnCount = rs.getColumnCount();
+        ColumnVector[] vectors = new ColumnVector[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            vectors[i] = createVector(rs.getColumnLabel(i + 1), rs.getColumnType(i + 1), storage);
+        }
+        int rowCount = 0;
+        while (rs.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                vectors[i].append(rs, i + 1);
+            }
+            rowCount++;
+        }
+        return new ColumnarResult(List.of(vectors), rowCount);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public List<ColumnVector> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param columnIndex 1-based column index, as in JDBC
+     */
+    public ColumnVector getColumn(int columnIndex) {
+        return columns.get(columnIndex - 1);
+    }
+
+    public ColumnVector getColumn(String label) {
+        for (ColumnVector column : columns) {
+            if (column.getLabel().equalsIgnoreCase(label)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("No column labelled " + label);
+    }
+
+    public IntColumnVector getIntColumn(String label) {
+        return cast(getColumn(label), IntColumnVector.class);
+    }
+
+    public LongColumnVector getLongColumn(String label) {
+        return cast(getColumn(label), LongColumnVector.class);
+    }
+
+    public DoubleColumnVector getDoubleColumn(String label) {
+        return cast(getColumn(label), DoubleColumnVector.class);
+    }
+
+    public StringColumnVector getStringColumn(String label) {
+        return cast(getColumn(label), StringColumnVector.class);
+    }
+
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (ColumnVector column : columns) {
+            bytes += column.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    private static ColumnVector createVector(String label, int sqlType, ColumnVector.Storage storage) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return new IntColumnVector(label, sqlType, storage);
+            case Types.BIGINT:
+                return new LongColumnVector(label, sqlType, storage);
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return new DoubleColumnVector(label, sqlType, storage);
+            default:
+                return new StringColumnVector(label, sqlType, storage);
+        }
+    }
+
+    private static <V extends ColumnVector> V cast(ColumnVector column, Class<V> type) {
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column " + column.getLabel() + " is stored as "
+                    + column.getClass().getSimpleName() + ", not " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+}
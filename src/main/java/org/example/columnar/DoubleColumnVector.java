@@ -0,0 +1,59 @@
+package org.example.columnar;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public final class DoubleColumnVector extends ColumnVector {
+
+    private double[] values;
+    private ByteBuffer buffer;
+
+    DoubleColumnVector(String label, int sqlType, Storage storage) {
+        super(label, sqlType);
+        if (storage == Storage.OFF_HEAP) {
+            buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY * Double.BYTES).order(ByteOrder.nativeOrder());
+        } else {
+            values = new double[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Returns the value in the given row, or {@code 0} if it is SQL NULL.
+     */
+    public double get(int row) {
+        checkRow(row);
+        return values != null ? values[row] : buffer.getDouble(row * Double.BYTES);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long valueBytes = values != null ? (long) values.length * Double.BYTES : buffer.capacity();
+        return valueBytes + nullBitmapBytes();
+    }
+
+    @Override
+    void append(DatabaseResultSet rs, int columnIndex) throws SQLException {
+        double value = rs.getDouble(columnIndex);
+        appendNullFlag(rs.wasNull());
+        if (values != null) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[size] = value;
+        } else {
+            if (size == buffer.capacity() / Double.BYTES) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(growBytes(buffer.capacity(), Double.BYTES)).order(ByteOrder.nativeOrder());
+                buffer.clear();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            buffer.putDouble(size * Double.BYTES, value);
+        }
+        size++;
+    }
+
+}
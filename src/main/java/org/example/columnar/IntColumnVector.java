@@ -0,0 +1,59 @@
+package org.example.columnar;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public final class IntColumnVector extends ColumnVector {
+
+    private int[] values;
+    private ByteBuffer buffer;
+
+    IntColumnVector(String label, int sqlType, Storage storage) {
+        super(label, sqlType);
+        if (storage == Storage.OFF_HEAP) {
+            buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY * Integer.BYTES).order(ByteOrder.nativeOrder());
+        } else {
+            values = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Returns the value in the given row, or {@code 0} if it is SQL NULL.
+     */
+    public int get(int row) {
+        checkRow(row);
+        return values != null ? values[row] : buffer.getInt(row * Integer.BYTES);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long valueBytes = values != null ? (long) values.length * Integer.BYTES : buffer.capacity();
+        return valueBytes + nullBitmapBytes();
+    }
+
+    @Override
+    void append(DatabaseResultSet rs, int columnIndex) throws SQLException {
+        int value = rs.getInt(columnIndex);
+        appendNullFlag(rs.wasNull());
+        if (values != null) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[size] = value;
+        } else {
+            if (size == buffer.capacity() / Integer.BYTES) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(growBytes(buffer.capacity(), Integer.BYTES)).order(ByteOrder.nativeOrder());
+                buffer.clear();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            buffer.putInt(size * Integer.BYTES, value);
+        }
+        size++;
+    }
+
+}
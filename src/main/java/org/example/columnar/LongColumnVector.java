@@ -0,0 +1,59 @@
+package org.example.columnar;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public final class LongColumnVector extends ColumnVector {
+
+    private long[] values;
+    private ByteBuffer buffer;
+
+    LongColumnVector(String label, int sqlType, Storage storage) {
+        super(label, sqlType);
+        if (storage == Storage.OFF_HEAP) {
+            buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY * Long.BYTES).order(ByteOrder.nativeOrder());
+        } else {
+            values = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Returns the value in the given row, or {@code 0} if it is SQL NULL.
+     */
+    public long get(int row) {
+        checkRow(row);
+        return values != null ? values[row] : buffer.getLong(row * Long.BYTES);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long valueBytes = values != null ? (long) values.length * Long.BYTES : buffer.capacity();
+        return valueBytes + nullBitmapBytes();
+    }
+
+    @Override
+    void append(DatabaseResultSet rs, int columnIndex) throws SQLException {
+        long value = rs.getLong(columnIndex);
+        appendNullFlag(rs.wasNull());
+        if (values != null) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[size] = value;
+        } else {
+            if (size == buffer.capacity() / Long.BYTES) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(growBytes(buffer.capacity(), Long.BYTES)).order(ByteOrder.nativeOrder());
+                buffer.clear();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            buffer.putLong(size * Long.BYTES, value);
+        }
+        size++;
+    }
+
+}
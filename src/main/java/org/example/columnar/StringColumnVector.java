@@ -0,0 +1,92 @@
+package org.example.columnar;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded string column: every distinct value is stored once and each row holds an
+ * {@code int} code into the dictionary, with {@code -1} marking SQL NULL.
+ */
+public final class StringColumnVector extends ColumnVector {
+
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private int[] values;
+    private ByteBuffer buffer;
+
+    StringColumnVector(String label, int sqlType, Storage storage) {
+        super(label, sqlType);
+        if (storage == Storage.OFF_HEAP) {
+            buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY * Integer.BYTES).order(ByteOrder.nativeOrder());
+        } else {
+            values = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    public String get(int row) {
+        int code = getCode(row);
+        return code < 0 ? null : dictionary.get(code);
+    }
+
+    /**
+     * Returns the dictionary code of the value in the given row, or {@code -1} if it is SQL NULL.
+     */
+    public int getCode(int row) {
+        checkRow(row);
+        return values != null ? values[row] : buffer.getInt(row * Integer.BYTES);
+    }
+
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    public String getDictionaryValue(int code) {
+        return dictionary.get(code);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long codeBytes = values != null ? (long) values.length * Integer.BYTES : buffer.capacity();
+        long dictionaryBytes = 0;
+        for (String value : dictionary) {
+            dictionaryBytes += 40L + value.length();
+        }
+        return codeBytes + dictionaryBytes + nullBitmapBytes();
+    }
+
+    @Override
+    void append(DatabaseResultSet rs, int columnIndex) throws SQLException {
+        String value = rs.getString(columnIndex);
+        appendNullFlag(value == null);
+        int code = value == null ? -1 : codes.computeIfAbsent(value, this::addToDictionary);
+        if (values != null) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[size] = code;
+        } else {
+            if (size == buffer.capacity() / Integer.BYTES) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(growBytes(buffer.capacity(), Integer.BYTES)).order(ByteOrder.nativeOrder());
+                buffer.clear();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            buffer.putInt(size * Integer.BYTES, code);
+        }
+        size++;
+    }
+
+    private Integer addToDictionary(String value) {
+        dictionary.add(value);
+        return dictionary.size() - 1;
+    }
+
+}
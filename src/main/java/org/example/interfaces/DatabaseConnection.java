@@ -1,9 +1,24 @@
 package org.example.interfaces;
 
 import java.sql.SQLException;
+import java.sql.Savepoint;
 
 public interface DatabaseConnection extends AutoCloseable {
     DatabaseStatement prepareStatement(String query) throws SQLException;
+    boolean getAutoCommit() throws SQLException;
+    void setAutoCommit(boolean autoCommit) throws SQLException;
+    void commit() throws SQLException;
+    void rollback() throws SQLException;
+    Savepoint setSavepoint(String name) throws SQLException;
+    void rollback(Savepoint savepoint) throws SQLException;
+    void releaseSavepoint(Savepoint savepoint) throws SQLException;
+    int getTransactionIsolation() throws SQLException;
+    void setTransactionIsolation(int level) throws SQLException;
+    boolean isReadOnly() throws SQLException;
+    void setReadOnly(boolean readOnly) throws SQLException;
     void close() throws SQLException;
     boolean isClosed() throws SQLException;
-}
\ No newline at end of file
+    boolean isValid(int timeoutSeconds) throws SQLException;
+    <T> T unwrap(Class<T> type) throws SQLException;
+    boolean isWrapperFor(Class<?> type) throws SQLException;
+}
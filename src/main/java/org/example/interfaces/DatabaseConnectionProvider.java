@@ -0,0 +1,8 @@
+package org.example.interfaces;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface DatabaseConnectionProvider {
+    DatabaseConnection getConnection() throws SQLException;
+}
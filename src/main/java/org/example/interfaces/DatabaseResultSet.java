@@ -1,9 +1,27 @@
 package org.example.interfaces;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
 
 public interface DatabaseResultSet extends AutoCloseable {
     boolean next() throws SQLException;
+    int getColumnCount() throws SQLException;
+    String getColumnLabel(int columnIndex) throws SQLException;
+    int getColumnType(int columnIndex) throws SQLException;
+    String getString(int columnIndex) throws SQLException;
     String getString(String columnLabel) throws SQLException;
+    int getInt(int columnIndex) throws SQLException;
+    int getInt(String columnLabel) throws SQLException;
+    long getLong(int columnIndex) throws SQLException;
+    long getLong(String columnLabel) throws SQLException;
+    double getDouble(int columnIndex) throws SQLException;
+    double getDouble(String columnLabel) throws SQLException;
+    boolean getBoolean(int columnIndex) throws SQLException;
+    boolean getBoolean(String columnLabel) throws SQLException;
+    byte[] getBytes(int columnIndex) throws SQLException;
+    byte[] getBytes(String columnLabel) throws SQLException;
+    Timestamp getTimestamp(int columnIndex) throws SQLException;
+    Timestamp getTimestamp(String columnLabel) throws SQLException;
+    boolean wasNull() throws SQLException;
     void close() throws SQLException;
-}
\ No newline at end of file
+}
@@ -4,7 +4,18 @@ import java.sql.SQLException;
 
 public interface DatabaseStatement extends AutoCloseable {
     void setParameter(int index, Object value) throws SQLException;
+    void setInt(int index, int value) throws SQLException;
+    void setLong(int index, long value) throws SQLException;
+    void setDouble(int index, double value) throws SQLException;
+    void setString(int index, String value) throws SQLException;
+    void setBytes(int index, byte[] value) throws SQLException;
+    void setNull(int index, int sqlType) throws SQLException;
+    void setFetchSize(int rows) throws SQLException;
+    void setQueryTimeout(int seconds) throws SQLException;
     DatabaseResultSet executeQuery() throws SQLException;
     int executeUpdate() throws SQLException;
+    void addBatch() throws SQLException;
+    int[] executeBatch() throws SQLException;
+    void cancel() throws SQLException;
     void close() throws SQLException;
 }
\ No newline at end of file
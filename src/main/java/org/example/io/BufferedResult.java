@@ -0,0 +1,218 @@
+package org.example.io;
+
+import org.example.JdbcWrapper;
+import org.example.UncheckedSQLException;
+import org.example.interfaces.DatabaseResultSet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Fully read query result held as encoded rows rather than mapped objects. Rows stay on heap up to
+ * a byte budget; once a result outgrows it, all of its rows are written to a temp file and read
+ * back through a read-only memory mapping, so large results live in the page cache rather than
+ * the Java heap.
+ * <p>
+ * The result is an unmodifiable list that maps a row each time it is read, so it can be iterated
+ * any number of times and read by several threads at once. Iterating maps every row through one
+ * reused result set view; {@link #get(int)} locates the row by skipping forward from the nearest
+ * of the checkpoints kept every 64 rows. Mapper failures are thrown as
+ * {@link UncheckedSQLException}.
+ * <p>
+ * Closing the result deletes its temp file. The mapping itself is released once the result is
+ * garbage collected.
+ */
+public final class BufferedResult<T> extends AbstractList<T> implements RandomAccess, AutoCloseable {
+
+    private final String[] labels;
+    private final int[] types;
+    private final JdbcWrapper.ResultSetMapper<T> mapper;
+    private final int rowCount;
+    private final long byteSize;
+    private final long[] checkpoints;
+    private final ByteBuffer[] segments;
+    private final int[] segmentCheckpoints;
+    private final long[] segmentOffsets;
+    private final FileChannel channel;
+    private volatile boolean closed;
+
+    private BufferedResult(String[] labels, int[] types, JdbcWrapper.ResultSetMapper<T> mapper,
+                           RowSpillWriter writer, ByteBuffer[] segments) {
+        this.labels = labels;
+        this.types = types;
+        this.mapper = mapper;
+        this.rowCount = writer.getRowCount();
+        this.byteSize = writer.getSize();
+        this.checkpoints = writer.getCheckpoints();
+        this.segments = segments;
+        this.segmentCheckpoints = writer.getSegmentCheckpoints();
+        this.segmentOffsets = new long[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            segmentOffsets[i] = checkpoints.length == 0 ? 0 : checkpoints[segmentCheckpoints[i]];
+        }
+        this.channel = writer.getChannel();
+    }
+
+    /**
+     * Reads the remaining rows of {@code rs}, spilling them to a temp file in {@code directory}
+     * (or the default temp directory when {@code null}) once they take more than
+     * {@code heapBudgetBytes}. The heap rows live in a single array, so budgets beyond the
+     * largest array size are treated as that size.
+     */
+    public static <T> BufferedResult<T> read(DatabaseResultSet rs, JdbcWrapper.ResultSetMapper<T> mapper,
+                                             long heapBudgetBytes, Path directory) throws SQLException {
+        return read(rs, mapper, heapBudgetBytes, directory, Integer.MAX_VALUE);
+    }
+
+    static <T> BufferedResult<T> read(DatabaseResultSet rs, JdbcWrapper.ResultSetMapper<T> mapper,
+                                      long heapBudgetBytes, Path directory, long maxSegmentBytes) throws SQLException {
+        if (mapper == null) {
+            throw new IllegalArgumentException("Mapper cannot be null");
+        }
+        if (heapBudgetBytes < 0) {
+            throw new IllegalArgumentException("Heap budget cannot be negative");
+        }
+        int columnCount = rs.getColumnCount();
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = rs.getColumnLabel(i + 1);
+            types[i] = rs.getColumnType(i + 1);
+        }
+        RowSpillWriter writer = new RowSpillWriter(heapBudgetBytes, directory, maxSegmentBytes);
+        try {
+            while (rs.next()) {
+                writer.append(rs, types);
+            }
+            ByteBuffer[] segments = writer.isSpilled()
+                    ? writer.mapSegments()
+                    : new ByteBuffer[]{writer.heapSegment()};
+            return new BufferedResult<>(labels, types, mapper, writer, segments);
+        } catch (IOException e) {
+            writer.discard();
+            throw new SQLException("Could not spill result to disk: " + e.getMessage(), e);
+        } catch (SQLException | RuntimeException | Error e) {
+            writer.discard();
+            throw e;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + index + " is out of range 0.." + (rowCount - 1));
+        }
+        checkOpen();
+        int checkpoint = index / RowSpillWriter.ROWS_PER_CHECKPOINT;
+        int segment = segmentOf(checkpoint);
+        ByteBuffer buffer = segments[segment];
+        int position = (int) (checkpoints[checkpoint] - segmentOffsets[segment]);
+        for (int skip = index % RowSpillWriter.ROWS_PER_CHECKPOINT; skip > 0; skip--) {
+            position += 4 + buffer.getInt(position);
+        }
+        BufferedRowResultSet row = new BufferedRowResultSet(labels, types);
+        row.position(buffer, position);
+        return map(row);
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        checkOpen();
+        return new Iterator<>() {
+
+            private final BufferedRowResultSet row = new BufferedRowResultSet(labels, types);
+            private int index;
+            private int segment;
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return index < rowCount;
+            }
+
+            @Override
+            public T next() {
+                if (index >= rowCount) {
+                    throw new NoSuchElementException();
+                }
+                checkOpen();
+                if (index % RowSpillWriter.ROWS_PER_CHECKPOINT == 0 && segment + 1 < segments.length
+                        && segmentCheckpoints[segment + 1] == index / RowSpillWriter.ROWS_PER_CHECKPOINT) {
+                    segment++;
+                    position = 0;
+                }
+                position = row.position(segments[segment], position);
+                index++;
+                return map(row);
+            }
+
+        };
+    }
+
+    /**
+     * Returns whether the rows were written to a temp file rather than kept on heap.
+     */
+    public boolean isSpilled() {
+        return channel != null;
+    }
+
+    /**
+     * Returns the size of the encoded rows, on heap or on disk.
+     */
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // the file is deleted on close regardless
+            }
+        }
+    }
+
+    private T map(BufferedRowResultSet row) {
+        try {
+            return mapper.map(row);
+        } catch (SQLException e) {
+            throw new UncheckedSQLException(e);
+        }
+    }
+
+    private int segmentOf(int checkpoint) {
+        int low = 0;
+        int high = segmentCheckpoints.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segmentCheckpoints[middle] <= checkpoint) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Result has been closed");
+        }
+    }
+
+}
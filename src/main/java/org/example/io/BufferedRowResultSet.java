@@ -0,0 +1,31 @@
+package org.example.io;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+/**
+ * View over one row of a {@link BufferedResult}, handed to the result's mapper. The result
+ * positions it; mappers only read the current row.
+ */
+final class BufferedRowResultSet extends EncodedResultSet {
+
+    BufferedRowResultSet(String[] labels, int[] types) {
+        super(labels, types);
+    }
+
+    /**
+     * Positions on the length-prefixed row at {@code position} and returns the position of the
+     * next row.
+     */
+    int position(ByteBuffer buffer, int position) {
+        int end = position + 4 + buffer.getInt(position);
+        moveTo(buffer, position + 4);
+        return end;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        throw new SQLException("Rows of a buffered result are positioned by the result", "24000");
+    }
+
+}
@@ -0,0 +1,267 @@
+package org.example.io;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+
+/**
+ * Result set over rows encoded with {@link ValueCodec}, one value per column in column order.
+ * Moving to a row only locates its column values; each getter decodes its value in place, and
+ * numeric getters read primitives without boxing. Subclasses decide where rows come from and call
+ * {@link #moveTo} to position on one.
+ */
+public abstract class EncodedResultSet implements DatabaseResultSet {
+
+    private final String[] labels;
+    private final int[] types;
+    private final int[] offsets;
+    private ByteBuffer buffer;
+    private boolean wasNull;
+    private boolean closed;
+
+    protected EncodedResultSet(String[] labels, int[] types) {
+        this.labels = labels;
+        this.types = types;
+        this.offsets = new int[labels.length];
+    }
+
+    /**
+     * Positions on the row whose first value starts at {@code position} in {@code buffer} and
+     * returns the position just past the row.
+     */
+    protected final int moveTo(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = position;
+            position = ValueCodec.next(buffer, position);
+        }
+        return position;
+    }
+
+    /**
+     * Leaves the current row, so getters fail until the next {@link #moveTo}.
+     */
+    protected final void clearRow() {
+        buffer = null;
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        checkOpen();
+        return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int columnIndex) throws SQLException {
+        checkOpen();
+        checkColumn(columnIndex);
+        return labels[columnIndex - 1];
+    }
+
+    @Override
+    public int getColumnType(int columnIndex) throws SQLException {
+        checkOpen();
+        checkColumn(columnIndex);
+        return types[columnIndex - 1];
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = ValueCodec.read(buffer, position(columnIndex));
+        wasNull = value == null;
+        if (value instanceof byte[]) {
+            return HexFormat.of().formatHex((byte[]) value);
+        }
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        int position = position(columnIndex);
+        if (buffer.get(position) == ValueCodec.INT) {
+            wasNull = false;
+            return buffer.getInt(position + 1);
+        }
+        return (int) getLong(columnIndex);
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        int position = position(columnIndex);
+        wasNull = false;
+        switch (buffer.get(position)) {
+            case ValueCodec.NULL:
+                wasNull = true;
+                return 0;
+            case ValueCodec.INT:
+                return buffer.getInt(position + 1);
+            case ValueCodec.LONG:
+                return buffer.getLong(position + 1);
+            case ValueCodec.DOUBLE:
+                return (long) buffer.getDouble(position + 1);
+            default:
+                return number(position).longValue();
+        }
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        int position = position(columnIndex);
+        wasNull = false;
+        switch (buffer.get(position)) {
+            case ValueCodec.NULL:
+                wasNull = true;
+                return 0;
+            case ValueCodec.INT:
+                return buffer.getInt(position + 1);
+            case ValueCodec.LONG:
+                return buffer.getLong(position + 1);
+            case ValueCodec.DOUBLE:
+                return buffer.getDouble(position + 1);
+            default:
+                return number(position).doubleValue();
+        }
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        int position = position(columnIndex);
+        byte tag = buffer.get(position);
+        if (tag == ValueCodec.BOOLEAN) {
+            wasNull = false;
+            return buffer.get(position + 1) != 0;
+        }
+        if (tag == ValueCodec.STRING) {
+            wasNull = false;
+            String text = ((String) ValueCodec.read(buffer, position)).trim();
+            if (text.equalsIgnoreCase("true")) {
+                return true;
+            }
+            if (text.equalsIgnoreCase("false")) {
+                return false;
+            }
+        }
+        return getDouble(columnIndex) != 0;
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        int position = position(columnIndex);
+        byte tag = buffer.get(position);
+        wasNull = tag == ValueCodec.NULL;
+        if (wasNull) {
+            return null;
+        }
+        if (tag != ValueCodec.BYTES) {
+            throw new SQLException("Column " + columnIndex + " does not hold binary data", "22018");
+        }
+        return (byte[]) ValueCodec.read(buffer, position);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        Object value = ValueCodec.read(buffer, position(columnIndex));
+        wasNull = value == null;
+        if (value == null || value instanceof Timestamp) {
+            return (Timestamp) value;
+        }
+        try {
+            return Timestamp.valueOf(value.toString().trim());
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Cannot convert " + value + " to a timestamp", "22018", e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        checkOpen();
+        return wasNull;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private int position(int columnIndex) throws SQLException {
+        checkOpen();
+        checkColumn(columnIndex);
+        if (buffer == null) {
+            throw new SQLException("No current row", "24000");
+        }
+        return offsets[columnIndex - 1];
+    }
+
+    private BigDecimal number(int position) throws SQLException {
+        Object value = ValueCodec.read(buffer, position);
+        if (value instanceof Boolean) {
+            return (Boolean) value ? BigDecimal.ONE : BigDecimal.ZERO;
+        }
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Cannot convert " + value + " to a number", "22018", e);
+        }
+    }
+
+    private int findColumn(String columnLabel) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column " + columnLabel + " not found", "42S22");
+    }
+
+    private void checkColumn(int columnIndex) throws SQLException {
+        if (columnIndex < 1 || columnIndex > labels.length) {
+            throw new SQLException("Column index " + columnIndex + " is out of range 1.." + labels.length, "07009");
+        }
+    }
+
+    protected final void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Result set is closed");
+        }
+    }
+
+}
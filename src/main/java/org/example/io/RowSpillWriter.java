@@ -0,0 +1,229 @@
+package org.example.io;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * Encodes rows for a {@link BufferedResult}. Each row is an {@code int} byte length followed by
+ * one {@link ValueCodec} value per column. Rows accumulate in a heap buffer until the next one
+ * would take it past the budget; from then on the heap rows and every later row are appended to a
+ * temp file through a {@link FileChannel}, which is memory-mapped once the result is complete.
+ * <p>
+ * The offset of every {@link #ROWS_PER_CHECKPOINT}th row is kept so any row can be found by
+ * skipping at most that many rows, without holding an offset per row in memory.
+ * <p>
+ * The heap buffer is a byte array, so a budget above {@link #MAX_HEAP_BYTES} is clamped to it;
+ * larger results spill rather than fail to grow the array.
+ */
+final class RowSpillWriter {
+
+    static final int ROWS_PER_CHECKPOINT = 64;
+
+    /**
+     * The largest array the JVM reliably allocates.
+     */
+    static final long MAX_HEAP_BYTES = Integer.MAX_VALUE - 8;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final long heapBudget;
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final RowBuffer row = new RowBuffer(256);
+    private RowBuffer heap = new RowBuffer(4096);
+    private FileChannel channel;
+    private ByteBuffer writeBuffer;
+    private long size;
+    private long[] checkpoints = new long[16];
+    private int rowCount;
+    private int[] segmentCheckpoints = {0};
+
+    RowSpillWriter(long heapBudget, Path directory, long maxSegmentBytes) {
+        this.heapBudget = Math.min(heapBudget, MAX_HEAP_BYTES);
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Encodes the current row of {@code rs}.
+     */
+    void append(DatabaseResultSet rs, int[] types) throws IOException, SQLException {
+        if (rowCount == Integer.MAX_VALUE) {
+            throw new SQLException("Result has more than " + Integer.MAX_VALUE + " rows");
+        }
+        row.reset();
+        for (int i = 0; i < types.length; i++) {
+            ValueCodec.writeColumn(row.data, rs, i + 1, types[i]);
+        }
+        if (rowCount % ROWS_PER_CHECKPOINT == 0) {
+            int checkpoint = rowCount / ROWS_PER_CHECKPOINT;
+            if (checkpoint == checkpoints.length) {
+                checkpoints = Arrays.copyOf(checkpoints, checkpoints.length * 2);
+            }
+            checkpoints[checkpoint] = size;
+        }
+        int length = row.size();
+        if (channel == null && heap.size() + 4L + length > heapBudget) {
+            spill();
+        }
+        if (channel == null) {
+            heap.data.writeInt(length);
+            heap.write(row.array(), 0, length);
+        } else {
+            write(length);
+        }
+        size += 4L + length;
+        rowCount++;
+    }
+
+    long getHeapBudget() {
+        return heapBudget;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    long[] getCheckpoints() {
+        return Arrays.copyOf(checkpoints, (rowCount + ROWS_PER_CHECKPOINT - 1) / ROWS_PER_CHECKPOINT);
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    int[] getSegmentCheckpoints() {
+        return segmentCheckpoints;
+    }
+
+    boolean isSpilled() {
+        return channel != null;
+    }
+
+    FileChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Returns the heap rows as the single segment of an unspilled result.
+     */
+    ByteBuffer heapSegment() {
+        return ByteBuffer.wrap(heap.array(), 0, heap.size());
+    }
+
+    /**
+     * Flushes the file and maps it in read-only segments no larger than the maximum segment size.
+     * Segments start on checkpoints, so every checkpoint's rows lie within one segment;
+     * {@link #getSegmentCheckpoints()} then returns the index of each segment's first checkpoint.
+     */
+    ByteBuffer[] mapSegments() throws IOException {
+        flush();
+        long[] starts = getCheckpoints();
+        int[] first = new int[Math.max(1, starts.length)];
+        long[] offsets = new long[first.length];
+        int segments = 1;
+        for (int i = 1; i < starts.length; i++) {
+            long end = i + 1 < starts.length ? starts[i + 1] : size;
+            if (end - offsets[segments - 1] > maxSegmentBytes) {
+                first[segments] = i;
+                offsets[segments] = starts[i];
+                segments++;
+            }
+        }
+        ByteBuffer[] mapped = new ByteBuffer[segments];
+        for (int i = 0; i < segments; i++) {
+            long end = i + 1 < segments ? offsets[i + 1] : size;
+            if (end - offsets[i] > Integer.MAX_VALUE) {
+                throw new IOException("Rows " + (first[i] * ROWS_PER_CHECKPOINT) + " to "
+                        + ((first[i] + 1) * ROWS_PER_CHECKPOINT - 1) + " are too large to map");
+            }
+            mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, offsets[i], end - offsets[i]);
+        }
+        segmentCheckpoints = Arrays.copyOf(first, segments);
+        return mapped;
+    }
+
+    /**
+     * Closes and deletes the temp file, if the writer spilled.
+     */
+    void discard() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // the file is deleted on close regardless
+            }
+        }
+    }
+
+    private void spill() throws IOException {
+        Path file = directory == null
+                ? Files.createTempFile("jdbc-result", ".rows")
+                : Files.createTempFile(directory, "jdbc-result", ".rows");
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ByteBuffer rows = heapSegment();
+        while (rows.hasRemaining()) {
+            channel.write(rows);
+        }
+        heap = null;
+        writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    }
+
+    private void write(int length) throws IOException {
+        if (writeBuffer.remaining() < 4 + length) {
+            flush();
+        }
+        writeBuffer.putInt(length);
+        if (length <= writeBuffer.remaining()) {
+            writeBuffer.put(row.array(), 0, length);
+        } else {
+            flush();
+            ByteBuffer large = ByteBuffer.wrap(row.array(), 0, length);
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        if (writeBuffer == null) {
+            return;
+        }
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    private static final class RowBuffer extends ByteArrayOutputStream {
+
+        final DataOutputStream data = new DataOutputStream(this);
+
+        RowBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+    }
+
+}
@@ -0,0 +1,283 @@
+package org.example.io;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Compact binary encoding of the values that flow through the {@code Database*} interfaces. Each
+ * value is a one-byte tag followed by a fixed-width or length-prefixed payload, so a reader can
+ * decode or skip values in place in a {@link ByteBuffer}, including a memory-mapped one, without
+ * copying the surrounding data.
+ * <p>
+ * Integers, longs, doubles, booleans, strings, byte arrays and timestamps round-trip exactly;
+ * {@link BigDecimal} and {@link BigInteger} are written as decimal strings and any other type as
+ * its {@code toString()}.
+ */
+public final class ValueCodec {
+
+    public static final byte NULL = 0;
+    public static final byte INT = 1;
+    public static final byte LONG = 2;
+    public static final byte DOUBLE = 3;
+    public static final byte BOOLEAN = 4;
+    public static final byte STRING = 5;
+    public static final byte BYTES = 6;
+    public static final byte TIMESTAMP = 7;
+    public static final byte DECIMAL = 8;
+
+    private ValueCodec() {
+    }
+
+    public static void write(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeInt(out, ((Number) value).intValue());
+        } else if (value instanceof Long) {
+            writeLong(out, (Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            writeDouble(out, ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            writeBoolean(out, (Boolean) value);
+        } else if (value instanceof byte[]) {
+            writeBytes(out, (byte[]) value);
+        } else if (value instanceof java.util.Date) {
+            Timestamp timestamp = value instanceof Timestamp
+                    ? (Timestamp) value
+                    : new Timestamp(((java.util.Date) value).getTime());
+            writeTimestamp(out, timestamp);
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            writeText(out, DECIMAL, value.toString());
+        } else {
+            writeText(out, STRING, value.toString());
+        }
+    }
+
+    public static void writeNull(DataOutput out) throws IOException {
+        out.writeByte(NULL);
+    }
+
+    public static void writeInt(DataOutput out, int value) throws IOException {
+        out.writeByte(INT);
+        out.writeInt(value);
+    }
+
+    public static void writeLong(DataOutput out, long value) throws IOException {
+        out.writeByte(LONG);
+        out.writeLong(value);
+    }
+
+    public static void writeDouble(DataOutput out, double value) throws IOException {
+        out.writeByte(DOUBLE);
+        out.writeDouble(value);
+    }
+
+    public static void writeBoolean(DataOutput out, boolean value) throws IOException {
+        out.writeByte(BOOLEAN);
+        out.writeBoolean(value);
+    }
+
+    public static void writeBytes(DataOutput out, byte[] value) throws IOException {
+        out.writeByte(BYTES);
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    public static void writeTimestamp(DataOutput out, Timestamp value) throws IOException {
+        out.writeByte(TIMESTAMP);
+        out.writeLong(value.getTime());
+        out.writeInt(value.getNanos());
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        writeText(out, STRING, value);
+    }
+
+    /**
+     * Writes a decimal number given in its string form, such as {@code ResultSet.getString} returns
+     * for a {@code NUMERIC} column.
+     */
+    public static void writeDecimal(DataOutput out, String value) throws IOException {
+        writeText(out, DECIMAL, value);
+    }
+
+    /**
+     * Writes the current row's value of {@code column}, read with the getter that matches its SQL
+     * type so numeric columns are copied without boxing.
+     */
+    public static void writeColumn(DataOutput out, DatabaseResultSet rs, int column, int sqlType)
+            throws IOException, SQLException {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER: {
+                int value = rs.getInt(column);
+                if (rs.wasNull()) {
+                    writeNull(out);
+                } else {
+                    writeInt(out, value);
+                }
+                break;
+            }
+            case Types.BIGINT: {
+                long value = rs.getLong(column);
+                if (rs.wasNull()) {
+                    writeNull(out);
+                } else {
+                    writeLong(out, value);
+                }
+                break;
+            }
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE: {
+                double value = rs.getDouble(column);
+                if (rs.wasNull()) {
+                    writeNull(out);
+                } else {
+                    writeDouble(out, value);
+                }
+                break;
+            }
+            case Types.BIT:
+            case Types.BOOLEAN: {
+                boolean value = rs.getBoolean(column);
+                if (rs.wasNull()) {
+                    writeNull(out);
+                } else {
+                    writeBoolean(out, value);
+                }
+                break;
+            }
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB: {
+                byte[] value = rs.getBytes(column);
+                if (value == null) {
+                    writeNull(out);
+                } else {
+                    writeBytes(out, value);
+                }
+                break;
+            }
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE: {
+                Timestamp value = rs.getTimestamp(column);
+                if (value == null) {
+                    writeNull(out);
+                } else {
+                    writeTimestamp(out, value);
+                }
+                break;
+            }
+            case Types.DECIMAL:
+            case Types.NUMERIC: {
+                String value = rs.getString(column);
+                if (value == null) {
+                    writeNull(out);
+                } else {
+                    writeDecimal(out, value);
+                }
+                break;
+            }
+            default: {
+                String value = rs.getString(column);
+                if (value == null) {
+                    writeNull(out);
+                } else {
+                    writeString(out, value);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Decodes the value starting at the absolute {@code position} without moving the buffer.
+     */
+    public static Object read(ByteBuffer buffer, int position) {
+        byte tag = buffer.get(position);
+        switch (tag) {
+            case NULL:
+                return null;
+            case INT:
+                return buffer.getInt(position + 1);
+            case LONG:
+                return buffer.getLong(position + 1);
+            case DOUBLE:
+                return buffer.getDouble(position + 1);
+            case BOOLEAN:
+                return buffer.get(position + 1) != 0;
+            case STRING:
+                return readText(buffer, position);
+            case DECIMAL:
+                return new BigDecimal(readText(buffer, position));
+            case BYTES: {
+                byte[] bytes = new byte[buffer.getInt(position + 1)];
+                buffer.get(position + 5, bytes);
+                return bytes;
+            }
+            case TIMESTAMP: {
+                Timestamp timestamp = new Timestamp(buffer.getLong(position + 1));
+                timestamp.setNanos(buffer.getInt(position + 9));
+                return timestamp;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag + " at position " + position);
+        }
+    }
+
+    /**
+     * Returns the absolute position just past the value starting at {@code position}.
+     */
+    public static int next(ByteBuffer buffer, int position) {
+        byte tag = buffer.get(position);
+        switch (tag) {
+            case NULL:
+                return position + 1;
+            case INT:
+                return position + 5;
+            case LONG:
+            case DOUBLE:
+                return position + 9;
+            case BOOLEAN:
+                return position + 2;
+            case STRING:
+            case DECIMAL:
+            case BYTES:
+                return position + 5 + buffer.getInt(position + 1);
+            case TIMESTAMP:
+                return position + 13;
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag + " at position " + position);
+        }
+    }
+
+    private static void writeText(DataOutput out, byte tag, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(tag);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readText(ByteBuffer buffer, int position) {
+        int length = buffer.getInt(position + 1);
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + position + 5, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 5, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,29 @@
+package org.example.limit;
+
+/**
+ * Additive increase, multiplicative decrease. The limit grows by one for each statement that
+ * completes within the latency threshold while the limiter is at least half used, and shrinks by
+ * the backoff ratio for each statement that overruns the threshold or fails from overload.
+ */
+final class AimdLimit implements LimitAlgorithm {
+
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    AimdLimit(long latencyThresholdNanos, double backoffRatio) {
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public double update(double limit, int inFlight, long rttNanos, boolean dropped) {
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            return Math.floor(limit * backoffRatio);
+        }
+        if (inFlight * 2 >= limit) {
+            return limit + 1;
+        }
+        return limit;
+    }
+
+}
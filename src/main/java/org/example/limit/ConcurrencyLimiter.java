@@ -0,0 +1,337 @@
+package org.example.limit;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of statements in flight across every connection it wraps, and adapts the cap to
+ * how the database copes. A statement holds a permit from the moment it executes until its update
+ * returns or its result set is closed. Its round-trip time, until the update or query returns, is
+ * fed to the limit algorithm, which lowers the limit as latency rises or statements fail from
+ * overload and raises it again when the database keeps up.
+ * <p>
+ * A statement executed while the limit is reached waits up to the maximum queue wait for a permit,
+ * or fails at once when that is zero, with a {@link SQLTransientException} in SQLState
+ * {@code 53400}. Overloaded callers are turned away quickly instead of piling more work onto a
+ * database that is already falling behind.
+ * <p>
+ * Result sets hold their permit until closed, so streamed results that stay open count against
+ * the limit for as long as they are read, but the time the caller spends reading them is not
+ * taken for database latency.
+ */
+public final class ConcurrencyLimiter {
+
+    public enum Algorithm {
+        AIMD,
+        GRADIENT
+    }
+
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxQueueWaitNanos;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    private ConcurrencyLimiter(Builder builder) {
+        this.algorithm = builder.algorithm == Algorithm.AIMD
+                ? new AimdLimit(builder.latencyThreshold.toNanos(), builder.backoffRatio)
+                : new GradientLimit();
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.maxQueueWaitNanos = builder.maxQueueWait.toNanos();
+        this.clock = builder.clock;
+        this.limit = builder.initialLimit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a connection whose statements are subject to this limiter.
+     */
+    public DatabaseConnection wrap(DatabaseConnection connection) {
+        return new LimitedConnection(connection, this);
+    }
+
+    /**
+     * Returns a provider whose connections are subject to this limiter, for example to put the
+     * limiter in front of a {@link org.example.pool.ConnectionPool}.
+     */
+    public DatabaseConnectionProvider wrap(DatabaseConnectionProvider provider) {
+        if (provider == null) {
+            throw new IllegalArgumentException("Connection provider cannot be null");
+        }
+        return () -> wrap(provider.getConnection());
+    }
+
+    /**
+     * Returns the current limit on statements in flight.
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of callers waiting for a permit.
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many statements were rejected because no permit became available in time.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns how many statements failed in a way that signals overload, such as a timeout.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns whether {@code e} suggests the database is overloaded rather than that the statement
+     * itself is wrong: timeouts, cancellations, exhausted resources and transient connection
+     * failures.
+     */
+    static boolean isOverload(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTimeoutException
+                || e instanceof SQLTransientConnectionException
+                || (state != null && (state.equals("57014") || state.startsWith("53")));
+    }
+
+    /**
+     * Takes a permit, waiting up to the maximum queue wait for one.
+     */
+    Permit acquire() throws SQLException {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                waitForPermit();
+            }
+            inFlight++;
+            return new Permit(clock.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void waitForPermit() throws SQLException {
+        long remaining = maxQueueWaitNanos;
+        waiting++;
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    rejected.incrementAndGet();
+                    throw new SQLTransientException("Concurrency limit of " + (int) limit + " reached", "53400");
+                }
+                remaining = permitReleased.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a statement permit", "57014", e);
+        } finally {
+            waiting--;
+        }
+    }
+
+    private void release(long rttNanos, boolean overload, boolean sample) {
+        lock.lock();
+        try {
+            if (overload) {
+                dropped.incrementAndGet();
+            }
+            if (sample || overload) {
+                double updated = algorithm.update(limit, inFlight, rttNanos, overload);
+                limit = Math.max(minLimit, Math.min(maxLimit, updated));
+            }
+            inFlight--;
+            if (inFlight < (int) limit) {
+                permitReleased.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One statement's claim on the limiter. Releasing is idempotent, so a result set and its
+     * statement can both release the same permit on close.
+     */
+    final class Permit {
+
+        private final long start;
+        private long rttNanos = -1;
+        private boolean released;
+
+        private Permit(long start) {
+            this.start = start;
+        }
+
+        /**
+         * Records the round-trip time as of now, for a query whose result set keeps the permit
+         * while it is read.
+         */
+        synchronized void measured() {
+            if (rttNanos < 0) {
+                rttNanos = clock.getAsLong() - start;
+            }
+        }
+
+        /**
+         * Releases the permit after the statement succeeded, feeding its round-trip time to the
+         * limit algorithm.
+         */
+        void release() {
+            release(null);
+        }
+
+        /**
+         * Releases the permit after the statement failed with {@code failure}; only failures that
+         * signal overload affect the limit.
+         */
+        synchronized void release(SQLException failure) {
+            if (released) {
+                return;
+            }
+            released = true;
+            boolean overload = failure != null && isOverload(failure);
+            long rtt = rttNanos >= 0 ? rttNanos : clock.getAsLong() - start;
+            ConcurrencyLimiter.this.release(rtt, overload, failure == null);
+        }
+
+    }
+
+    public static final class Builder {
+
+        private Algorithm algorithm = Algorithm.GRADIENT;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private Duration maxQueueWait = Duration.ZERO;
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+        private double backoffRatio = 0.9;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {
+        }
+
+        public Builder algorithm(Algorithm algorithm) {
+            this.algorithm = algorithm;
+            return this;
+        }
+
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public Builder minLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Sets how long a statement waits for a permit before it is rejected;
+         * {@link Duration#ZERO} rejects it at once.
+         */
+        public Builder maxQueueWait(Duration maxQueueWait) {
+            this.maxQueueWait = maxQueueWait;
+            return this;
+        }
+
+        /**
+         * Sets the round-trip time above which {@link Algorithm#AIMD} backs off.
+         */
+        public Builder latencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the factor {@link Algorithm#AIMD} multiplies the limit by when it backs off.
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public ConcurrencyLimiter build() {
+            if (algorithm == null) {
+                throw new IllegalArgumentException("Algorithm cannot be null");
+            }
+            if (minLimit <= 0) {
+                throw new IllegalArgumentException("Minimum limit must be positive");
+            }
+            if (maxLimit < minLimit) {
+                throw new IllegalArgumentException("Maximum limit cannot be less than the minimum limit");
+            }
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("Initial limit must be between the minimum and maximum limits");
+            }
+            if (maxQueueWait == null || maxQueueWait.isNegative()) {
+                throw new IllegalArgumentException("Maximum queue wait cannot be negative");
+            }
+            if (latencyThreshold == null || latencyThreshold.isNegative() || latencyThreshold.isZero()) {
+                throw new IllegalArgumentException("Latency threshold must be positive");
+            }
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+            }
+            return new ConcurrencyLimiter(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.example.limit;
+
+/**
+ * Gradient limit in the style of TCP Vegas: compares a long-term average of the round-trip time,
+ * the database's latency when it is not queueing, with each new sample. While samples stay near
+ * the average and at least half the limit is in use, the limit grows by roughly its square root,
+ * the headroom allowed for queueing; as samples rise above the tolerated multiple of the average
+ * the limit shrinks in proportion, down to half per sample. Changes are smoothed so a single
+ * outlier moves the limit only partly.
+ * <p>
+ * When the database recovers and samples fall far below the average, the average decays towards
+ * them instead of holding the limit down with a stale baseline.
+ */
+final class GradientLimit implements LimitAlgorithm {
+
+    private static final int LONG_WINDOW = 600;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_GRADIENT = 0.5;
+
+    private double longRttNanos;
+    private int samples;
+
+    @Override
+    public double update(double limit, int inFlight, long rttNanos, boolean dropped) {
+        if (dropped) {
+            return smooth(limit, limit * DROP_GRADIENT);
+        }
+        double rtt = Math.max(1, rttNanos);
+        if (samples < LONG_WINDOW) {
+            samples++;
+        }
+        longRttNanos = samples == 1 ? rtt : longRttNanos + (rtt - longRttNanos) / samples;
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(DROP_GRADIENT, Math.min(1.0, TOLERANCE * longRttNanos / rtt));
+        if (gradient == 1.0 && inFlight * 2 < limit) {
+            // too little load to tell whether a higher limit would be used
+            return limit;
+        }
+        return smooth(limit, limit * gradient + Math.sqrt(limit));
+    }
+
+    private static double smooth(double limit, double target) {
+        return limit * (1 - SMOOTHING) + target * SMOOTHING;
+    }
+
+}
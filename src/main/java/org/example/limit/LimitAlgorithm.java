@@ -0,0 +1,18 @@
+package org.example.limit;
+
+/**
+ * Computes a new concurrency limit from each completed statement. Calls are serialized by the
+ * {@link ConcurrencyLimiter}, so implementations need no synchronization of their own.
+ */
+interface LimitAlgorithm {
+
+    /**
+     * @param limit    the current limit
+     * @param inFlight statements in flight when this one completed, itself included
+     * @param rttNanos how long the statement held its permit
+     * @param dropped  whether the statement failed in a way that signals overload
+     * @return the new limit, before clamping to the limiter's bounds
+     */
+    double update(double limit, int inFlight, long rttNanos, boolean dropped);
+
+}
@@ -0,0 +1,23 @@
+package org.example.limit;
+
+import org.example.adapters.DelegatingConnection;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+
+final class LimitedConnection extends DelegatingConnection {
+
+    private final ConcurrencyLimiter limiter;
+
+    LimitedConnection(DatabaseConnection delegate, ConcurrencyLimiter limiter) {
+        super(delegate);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        return new LimitedStatement(delegate().prepareStatement(query), limiter);
+    }
+
+}
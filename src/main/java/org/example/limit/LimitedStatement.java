@@ -0,0 +1,121 @@
+package org.example.limit;
+
+import org.example.adapters.DelegatingResultSet;
+import org.example.adapters.DelegatingStatement;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+
+/**
+ * Takes a permit for each execution. Updates and batches release it when they return; queries
+ * record their round-trip time when they return and hand the permit to their result set, which
+ * releases it when closed. Closing the statement releases a permit still held by an unclosed
+ * result set.
+ */
+final class LimitedStatement extends DelegatingStatement {
+
+    private final ConcurrencyLimiter limiter;
+    private ConcurrencyLimiter.Permit open;
+
+    LimitedStatement(DatabaseStatement delegate, ConcurrencyLimiter limiter) {
+        super(delegate);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public DatabaseResultSet executeQuery() throws SQLException {
+        releaseOpen();
+        ConcurrencyLimiter.Permit permit = limiter.acquire();
+        DatabaseResultSet resultSet;
+        try {
+            resultSet = delegate().executeQuery();
+        } catch (SQLException e) {
+            permit.release(e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            permit.release();
+            throw e;
+        }
+        permit.measured();
+        open = permit;
+        return new LimitedResultSet(resultSet, permit);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        ConcurrencyLimiter.Permit permit = limiter.acquire();
+        int count;
+        try {
+            count = delegate().executeUpdate();
+        } catch (SQLException e) {
+            permit.release(e);
+            throw e;
+        } finally {
+            permit.release();
+        }
+        return count;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        ConcurrencyLimiter.Permit permit = limiter.acquire();
+        int[] counts;
+        try {
+            counts = delegate().executeBatch();
+        } catch (SQLException e) {
+            permit.release(e);
+            throw e;
+        } finally {
+            permit.release();
+        }
+        return counts;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            super.close();
+        } finally {
+            releaseOpen();
+        }
+    }
+
+    private void releaseOpen() {
+        if (open != null) {
+            open.release();
+            open = null;
+        }
+    }
+
+    private static final class LimitedResultSet extends DelegatingResultSet {
+
+        private final ConcurrencyLimiter.Permit permit;
+
+        LimitedResultSet(DatabaseResultSet delegate, ConcurrencyLimiter.Permit permit) {
+            super(delegate);
+            this.permit = permit;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            try {
+                return delegate().next();
+            } catch (SQLException e) {
+                permit.release(e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                super.close();
+            } finally {
+                permit.release();
+            }
+        }
+
+    }
+
+}
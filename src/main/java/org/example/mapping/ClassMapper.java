@@ -0,0 +1,272 @@
+package org.example.mapping;
+
+import org.example.JdbcWrapper;
+import org.example.interfaces.DatabaseResultSet;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mapper for one record or JavaBean class. For every result shape (column labels and types) it
+ * composes a single method handle that reads each mapped column by ordinal with the matching typed
+ * getter and constructs the object, so mapping a row involves no reflection, name lookups or
+ * boxing of primitive properties.
+ * <p>
+ * Record components must all have a column; bean properties without one are left unset. Names
+ * match case-insensitively and ignoring underscores, so {@code first_name} maps to
+ * {@code firstName}.
+ * <p>
+ * Shared by any number of threads. Each thread keeps the plan of the result set it last mapped,
+ * referenced weakly so the mapper does not keep result sets reachable, and rows after the first
+ * skip the metadata lookup. Plans for the most recently used result shapes are kept.
+ */
+final class ClassMapper<T> implements JdbcWrapper.ResultSetMapper<T> {
+
+    private static final int MAX_SHAPES = 64;
+    private static final MethodType PLAN_TYPE = MethodType.methodType(Object.class, DatabaseResultSet.class);
+
+    private final Class<T> type;
+    private final boolean record;
+    private final MethodHandle constructor;
+    private final List<Property> properties;
+    private final Map<Shape, MethodHandle> plans = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Shape, MethodHandle> eldest) {
+            return size() > MAX_SHAPES;
+        }
+    };
+    private final ThreadLocal<Bound> last = new ThreadLocal<>();
+
+    ClassMapper(Class<T> type) {
+        this.type = type;
+        this.record = type.isRecord();
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName(), e);
+        }
+        List<Property> found = new ArrayList<>();
+        try {
+            if (record) {
+                RecordComponent[] components = type.getRecordComponents();
+                Class<?>[] parameterTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    parameterTypes[i] = components[i].getType();
+                    found.add(new Property(components[i].getName(), components[i].getType(), null));
+                }
+                constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+            } else {
+                if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                    throw new IllegalArgumentException(type.getName() + " is not a concrete class");
+                }
+                constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+                for (Method method : type.getMethods()) {
+                    if (isSetter(method)) {
+                        String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
+                        found.add(new Property(name, method.getParameterTypes()[0], lookup.unreflect(method)));
+                    }
+                }
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " has no " + (record ? "canonical" : "public no-argument")
+                    + " constructor", e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName(), e);
+        }
+        for (Property property : found) {
+            if (!ColumnReaders.isSupported(property.type)) {
+                throw new IllegalArgumentException("Unsupported type " + property.type.getName() + " for "
+                        + type.getSimpleName() + "." + property.name);
+            }
+        }
+        this.properties = List.copyOf(found);
+    }
+
+    @Override
+    public T map(DatabaseResultSet rs) throws SQLException {
+        Bound bound = last.get();
+        if (bound == null || bound.resultSet.get() != rs) {
+            bound = new Bound(rs, plan(rs));
+            last.set(bound);
+        }
+        return invoke(bound.plan, rs);
+    }
+
+    /**
+     * Returns a mapper for one query, confined to the calling thread, which works out the plan on
+     * the first row and reuses it for the rest of the result set.
+     */
+    JdbcWrapper.ResultSetMapper<T> forQuery() {
+        return new QueryMapper();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T invoke(MethodHandle plan, DatabaseResultSet rs) throws SQLException {
+        try {
+            return (T) (Object) plan.invokeExact(rs);
+        } catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Could not map row to " + type.getName(), e);
+        }
+    }
+
+    private MethodHandle plan(DatabaseResultSet rs) throws SQLException {
+        int count = rs.getColumnCount();
+        String[] labels = new String[count];
+        int[] types = new int[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = rs.getColumnLabel(i + 1);
+            types[i] = rs.getColumnType(i + 1);
+        }
+        Shape shape = new Shape(labels, types);
+        MethodHandle plan;
+        synchronized (plans) {
+            plan = plans.get(shape);
+        }
+        if (plan == null) {
+            plan = compile(labels);
+            synchronized (plans) {
+                plans.put(shape, plan);
+            }
+        }
+        return plan;
+    }
+
+    private MethodHandle compile(String[] labels) throws SQLException {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = labels.length - 1; i >= 0; i--) {
+            ordinals.put(normalize(labels[i]), i + 1);
+        }
+        MethodHandle plan;
+        if (record) {
+            MethodHandle[] readers = new MethodHandle[properties.size()];
+            for (int i = 0; i < readers.length; i++) {
+                Property property = properties.get(i);
+                Integer ordinal = ordinals.get(normalize(property.name));
+                if (ordinal == null) {
+                    throw new SQLException("Result has no column for " + type.getSimpleName() + "." + property.name, "42703");
+                }
+                readers[i] = ColumnReaders.reader(property.type, ordinal);
+            }
+            plan = MethodHandles.filterArguments(constructor, 0, readers);
+            plan = MethodHandles.permuteArguments(plan, MethodType.methodType(type, DatabaseResultSet.class), new int[readers.length]);
+        } else {
+            // (T, rs)T applying every setter, folded so they run in declaration order
+            MethodHandle apply = MethodHandles.dropArguments(MethodHandles.identity(type), 1, DatabaseResultSet.class);
+            for (int i = properties.size() - 1; i >= 0; i--) {
+                Property property = properties.get(i);
+                Integer ordinal = ordinals.get(normalize(property.name));
+                if (ordinal != null) {
+                    MethodHandle setter = MethodHandles.filterArguments(property.setter, 1,
+                            ColumnReaders.reader(property.type, ordinal));
+                    apply = MethodHandles.foldArguments(apply, setter);
+                }
+            }
+            plan = MethodHandles.foldArguments(apply, MethodHandles.dropArguments(constructor, 0, DatabaseResultSet.class));
+        }
+        return plan.asType(PLAN_TYPE);
+    }
+
+    private static boolean isSetter(Method method) {
+        return method.getName().length() > 3 && method.getName().startsWith("set")
+                && method.getParameterCount() == 1 && method.getReturnType() == void.class
+                && !Modifier.isStatic(method.getModifiers());
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Property {
+
+        final String name;
+        final Class<?> type;
+        final MethodHandle setter;
+
+        Property(String name, Class<?> type, MethodHandle setter) {
+            this.name = name;
+            this.type = type;
+            this.setter = setter;
+        }
+
+    }
+
+    private static final class Shape {
+
+        private final String[] labels;
+        private final int[] types;
+        private final int hash;
+
+        Shape(String[] labels, int[] types) {
+            this.labels = labels;
+            this.types = types;
+            this.hash = 31 * Arrays.hashCode(labels) + Arrays.hashCode(types);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Shape)) {
+                return false;
+            }
+            Shape other = (Shape) o;
+            return Arrays.equals(labels, other.labels) && Arrays.equals(types, other.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * The plan for the result set a thread mapped last.
+     */
+    private static final class Bound {
+
+        final WeakReference<DatabaseResultSet> resultSet;
+        final MethodHandle plan;
+
+        Bound(DatabaseResultSet resultSet, MethodHandle plan) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.plan = plan;
+        }
+
+    }
+
+    /**
+     * Keeps the plan for the result set it last mapped, so rows after the first skip the metadata
+     * lookup.
+     */
+    private final class QueryMapper implements JdbcWrapper.ResultSetMapper<T> {
+
+        private DatabaseResultSet resultSet;
+        private MethodHandle plan;
+
+        @Override
+        public T map(DatabaseResultSet rs) throws SQLException {
+            if (rs != resultSet) {
+                plan = plan(rs);
+                resultSet = rs;
+            }
+            return invoke(plan, rs);
+        }
+
+    }
+
+}
@@ -0,0 +1,137 @@
+package org.example.mapping;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Method handles reading one column of a {@link DatabaseResultSet} as a given Java type. Primitive
+ * types call the primitive getters directly; boxed types turn SQL {@code NULL} into {@code null}.
+ */
+final class ColumnReaders {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private ColumnReaders() {
+    }
+
+    static boolean isSupported(Class<?> type) {
+        return type.isPrimitive() && type != char.class && type != byte.class && type != void.class
+                || type.isEnum()
+                || type == Integer.class || type == Long.class || type == Double.class || type == Boolean.class
+                || type == Short.class || type == Float.class || type == String.class || type == byte[].class
+                || type == Timestamp.class || type == Instant.class || type == LocalDateTime.class
+                || type == LocalDate.class || type == BigDecimal.class;
+    }
+
+    /**
+     * Returns a handle of type {@code (DatabaseResultSet)type} reading column {@code column}.
+     */
+    static MethodHandle reader(Class<?> type, int column) {
+        try {
+            MethodHandle handle;
+            if (type == int.class || type == long.class || type == double.class || type == boolean.class) {
+                String name = "get" + Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1);
+                handle = LOOKUP.findVirtual(DatabaseResultSet.class, name, MethodType.methodType(type, int.class));
+            } else if (type == String.class) {
+                handle = LOOKUP.findVirtual(DatabaseResultSet.class, "getString", MethodType.methodType(String.class, int.class));
+            } else if (type == byte[].class) {
+                handle = LOOKUP.findVirtual(DatabaseResultSet.class, "getBytes", MethodType.methodType(byte[].class, int.class));
+            } else if (type == Timestamp.class) {
+                handle = LOOKUP.findVirtual(DatabaseResultSet.class, "getTimestamp", MethodType.methodType(Timestamp.class, int.class));
+            } else if (type.isEnum()) {
+                handle = LOOKUP.findStatic(ColumnReaders.class, "getEnum",
+                        MethodType.methodType(Enum.class, DatabaseResultSet.class, int.class, Class.class));
+                handle = MethodHandles.insertArguments(handle, 2, type);
+            } else {
+                String name = "get" + (type.isPrimitive()
+                        ? Character.toUpperCase(type.getName().charAt(0)) + type.getName().substring(1) + "Value"
+                        : type.getSimpleName());
+                handle = LOOKUP.findStatic(ColumnReaders.class, name, MethodType.methodType(type, DatabaseResultSet.class, int.class));
+            }
+            return MethodHandles.insertArguments(handle, 1, column).asType(MethodType.methodType(type, DatabaseResultSet.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unsupported column type: " + type.getName(), e);
+        }
+    }
+
+    static short getShortValue(DatabaseResultSet rs, int column) throws SQLException {
+        return (short) rs.getInt(column);
+    }
+
+    static float getFloatValue(DatabaseResultSet rs, int column) throws SQLException {
+        return (float) rs.getDouble(column);
+    }
+
+    static Integer getInteger(DatabaseResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static Long getLong(DatabaseResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static Double getDouble(DatabaseResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static Boolean getBoolean(DatabaseResultSet rs, int column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static Short getShort(DatabaseResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : (short) value;
+    }
+
+    static Float getFloat(DatabaseResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : (float) value;
+    }
+
+    static Instant getInstant(DatabaseResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : value.toInstant();
+    }
+
+    static LocalDateTime getLocalDateTime(DatabaseResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    static LocalDate getLocalDate(DatabaseResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : value.toLocalDateTime().toLocalDate();
+    }
+
+    static BigDecimal getBigDecimal(DatabaseResultSet rs, int column) throws SQLException {
+        String value = rs.getString(column);
+        return value == null ? null : new BigDecimal(value.trim());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Enum getEnum(DatabaseResultSet rs, int column, Class type) throws SQLException {
+        String value = rs.getString(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("No " + type.getSimpleName() + " constant named " + value, "22018", e);
+        }
+    }
+
+}
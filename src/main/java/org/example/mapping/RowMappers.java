@@ -0,0 +1,55 @@
+package org.example.mapping;
+
+import org.example.JdbcWrapper;
+
+/**
+ * Built-in row mappers for records and JavaBeans.
+ */
+public final class RowMappers {
+
+    private static final ClassValue<ClassMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected ClassMapper<?> computeValue(Class<?> type) {
+            return new ClassMapper<>(type);
+        }
+    };
+
+    private RowMappers() {
+    }
+
+    /**
+     * Returns the mapper for {@code type}, built on first use and shared afterwards. A record is
+     * created through its canonical constructor; any other class through its no-argument
+     * constructor and public setters. Columns are matched to properties by name, and the binding
+     * is worked out once per result shape. Supported property types are the primitives except
+     * {@code char} and {@code byte}, their wrappers, {@code String}, {@code byte[]},
+     * {@code BigDecimal}, {@code Timestamp}, {@code Instant}, {@code LocalDateTime},
+     * {@code LocalDate} and enums, which are read by name.
+     *
+     * @throws IllegalArgumentException if {@code type} cannot be constructed or has a property of
+     *                                  an unsupported type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JdbcWrapper.ResultSetMapper<T> of(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        return (JdbcWrapper.ResultSetMapper<T>) MAPPERS.get(type);
+    }
+
+    /**
+     * Returns a mapper for {@code type} to use for a single query on one thread. It works out the
+     * binding from the first row and reuses it for the rest of the result set, like the shared
+     * mapper of {@link #of(Class)}, but without the shared mapper's per-thread lookup.
+     *
+     * @throws IllegalArgumentException as {@link #of(Class)}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JdbcWrapper.ResultSetMapper<T> forQuery(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        return ((ClassMapper<T>) MAPPERS.get(type)).forQuery();
+    }
+
+}
@@ -0,0 +1,15 @@
+package org.example.memory;
+
+final class Column {
+
+    final String name;
+    final ColumnType type;
+    final boolean notNull;
+
+    Column(String name, ColumnType type, boolean notNull) {
+        this.name = name;
+        this.type = type;
+        this.notNull = notNull;
+    }
+
+}
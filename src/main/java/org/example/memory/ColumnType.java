@@ -0,0 +1,171 @@
+package org.example.memory;
+
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Column types supported by {@link InMemoryDatabase}. Every stored value is converted to the
+ * column's Java type on write, so comparisons and indexes never see mixed types.
+ */
+enum ColumnType {
+
+    INTEGER(Types.INTEGER),
+    BIGINT(Types.BIGINT),
+    DOUBLE(Types.DOUBLE),
+    VARCHAR(Types.VARCHAR),
+    BOOLEAN(Types.BOOLEAN),
+    TIMESTAMP(Types.TIMESTAMP),
+    VARBINARY(Types.VARBINARY);
+
+    final int sqlType;
+
+    ColumnType(int sqlType) {
+        this.sqlType = sqlType;
+    }
+
+    static ColumnType fromName(String name) throws SQLException {
+        switch (name.toUpperCase(Locale.ROOT)) {
+            case "INT":
+            case "INTEGER":
+            case "SMALLINT":
+            case "TINYINT":
+                return INTEGER;
+            case "BIGINT":
+                return BIGINT;
+            case "DOUBLE":
+            case "FLOAT":
+            case "REAL":
+            case "DECIMAL":
+            case "NUMERIC":
+                return DOUBLE;
+            case "VARCHAR":
+            case "CHAR":
+            case "CHARACTER":
+            case "TEXT":
+            case "CLOB":
+                return VARCHAR;
+            case "BOOLEAN":
+            case "BOOL":
+            case "BIT":
+                return BOOLEAN;
+            case "TIMESTAMP":
+            case "DATETIME":
+                return TIMESTAMP;
+            case "BINARY":
+            case "VARBINARY":
+            case "BLOB":
+            case "BYTEA":
+                return VARBINARY;
+            default:
+                throw new SQLException("Unsupported column type " + name, "42000");
+        }
+    }
+
+    Object coerce(Object value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            switch (this) {
+                case INTEGER:
+                    if (value instanceof Integer) {
+                        return value;
+                    }
+                    return Math.toIntExact(toLong(value));
+                case BIGINT:
+                    if (value instanceof Long) {
+                        return value;
+                    }
+                    return toLong(value);
+                case DOUBLE:
+                    if (value instanceof Double) {
+                        return value;
+                    }
+                    if (value instanceof Number) {
+                        return ((Number) value).doubleValue();
+                    }
+                    return Double.parseDouble(value.toString().trim());
+                case VARCHAR:
+                    return value.toString();
+                case BOOLEAN:
+                    if (value instanceof Boolean) {
+                        return value;
+                    }
+                    if (value instanceof Number) {
+                        return ((Number) value).doubleValue() != 0;
+                    }
+                    return parseBoolean(value.toString());
+                case TIMESTAMP:
+                    if (value instanceof Timestamp) {
+                        return value;
+                    }
+                    if (value instanceof java.util.Date) {
+                        return new Timestamp(((java.util.Date) value).getTime());
+                    }
+                    if (value instanceof LocalDateTime) {
+                        return Timestamp.valueOf((LocalDateTime) value);
+                    }
+                    if (value instanceof Instant) {
+                        return Timestamp.from((Instant) value);
+                    }
+                    return Timestamp.valueOf(value.toString().trim());
+                case VARBINARY:
+                    if (value instanceof byte[]) {
+                        return value;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (RuntimeException e) {
+            throw new SQLDataException("Cannot convert " + value + " to " + this, "22018", e);
+        }
+        throw new SQLDataException("Cannot convert " + value.getClass().getName() + " to " + this, "22018");
+    }
+
+    /**
+     * Compares two non-null values already coerced to this type.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    int compare(Object left, Object right) {
+        if (this == VARBINARY) {
+            return Arrays.compare((byte[]) left, (byte[]) right);
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            if (number != Math.rint(number)) {
+                throw new NumberFormatException("Not an integer: " + value);
+            }
+            return (long) number;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return Long.parseLong(value.toString().trim());
+    }
+
+    private static boolean parseBoolean(String value) {
+        String text = value.trim();
+        if (text.equalsIgnoreCase("true") || text.equals("1")) {
+            return true;
+        }
+        if (text.equalsIgnoreCase("false") || text.equals("0")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+
+}
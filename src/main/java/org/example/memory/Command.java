@@ -0,0 +1,40 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+
+/**
+ * A parsed statement. Commands are immutable and shared by every statement prepared with the same
+ * SQL; per-execution state lives in the parameter array passed in.
+ */
+abstract class Command {
+
+    final int parameterCount;
+
+    Command(int parameterCount) {
+        this.parameterCount = parameterCount;
+    }
+
+    boolean isQuery() {
+        return false;
+    }
+
+    InMemoryResultSet executeQuery(InMemoryDatabase database, Object[] parameters) throws SQLException {
+        throw new SQLException("Statement does not return a result set", "07000");
+    }
+
+    /**
+     * Applies the command, recording every row change in {@code changes} so the caller can revert it.
+     */
+    int executeUpdate(InMemoryDatabase database, Object[] parameters, UndoLog changes) throws SQLException {
+        throw new SQLException("Query cannot be executed as an update", "07000");
+    }
+
+    static long toLong(Operand operand, Object[] parameters, String clause) throws SQLException {
+        Object value = ColumnType.BIGINT.coerce(operand.value(parameters));
+        if (value == null || (Long) value < 0) {
+            throw new SQLException(clause + " must be a non-negative number", "22023");
+        }
+        return (Long) value;
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.util.concurrent.locks.Lock;
+
+final class CreateIndexCommand extends Command {
+
+    private final String indexName;
+    private final String tableName;
+    private final String column;
+    private final boolean unique;
+    private final boolean hash;
+
+    CreateIndexCommand(String indexName, String tableName, String column, boolean unique, boolean hash) {
+        super(0);
+        this.indexName = indexName;
+        this.tableName = tableName;
+        this.column = column;
+        this.unique = unique;
+        this.hash = hash;
+    }
+
+    @Override
+    int executeUpdate(InMemoryDatabase database, Object[] parameters, UndoLog changes) throws SQLException {
+        Table table = database.table(tableName);
+        Lock lock = table.lock.writeLock();
+        lock.lock();
+        try {
+            int position = table.columnPosition(column);
+            ColumnType type = table.columns[position].type;
+            if (type == ColumnType.VARBINARY) {
+                throw new SQLException("Binary columns cannot be indexed", "42000");
+            }
+            String name = indexName != null ? indexName : "IDX_" + tableName + "_" + table.columns[position].name;
+            if (table.hasIndex(name)) {
+                throw new SQLException("Index " + name + " already exists", "42S11");
+            }
+            table.addIndex(hash ? new HashIndex(name, position, unique) : new SortedIndex(name, position, unique, type));
+        } finally {
+            lock.unlock();
+        }
+        return 0;
+    }
+
+}
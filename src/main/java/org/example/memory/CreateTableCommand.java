@@ -0,0 +1,44 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.util.List;
+
+final class CreateTableCommand extends Command {
+
+    private final String tableName;
+    private final Column[] columns;
+    private final String primaryKey;
+    private final List<String> uniqueColumns;
+    private final boolean ifNotExists;
+
+    CreateTableCommand(String tableName, Column[] columns, String primaryKey, List<String> uniqueColumns,
+                       boolean ifNotExists) {
+        super(0);
+        this.tableName = tableName;
+        this.columns = columns;
+        this.primaryKey = primaryKey;
+        this.uniqueColumns = List.copyOf(uniqueColumns);
+        this.ifNotExists = ifNotExists;
+    }
+
+    @Override
+    int executeUpdate(InMemoryDatabase database, Object[] parameters, UndoLog changes) throws SQLException {
+        Table table = new Table(tableName, columns.clone());
+        if (primaryKey != null) {
+            int position = table.columnPosition(primaryKey);
+            if (columns[position].type == ColumnType.VARBINARY) {
+                throw new SQLException("Binary columns cannot be used as a primary key", "42000");
+            }
+            table.addIndex(new HashIndex("PRIMARY_KEY_" + tableName, position, true));
+        }
+        for (String column : uniqueColumns) {
+            int position = table.columnPosition(column);
+            if (!column.equals(primaryKey)) {
+                table.addIndex(new HashIndex("UNIQUE_" + tableName + "_" + column, position, true));
+            }
+        }
+        database.addTable(table, ifNotExists);
+        return 0;
+    }
+
+}
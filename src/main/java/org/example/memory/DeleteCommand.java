@@ -0,0 +1,36 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+final class DeleteCommand extends Command {
+
+    private final String tableName;
+    private final List<Predicate> where;
+
+    DeleteCommand(int parameterCount, String tableName, List<Predicate> where) {
+        super(parameterCount);
+        this.tableName = tableName;
+        this.where = where;
+    }
+
+    @Override
+    int executeUpdate(InMemoryDatabase database, Object[] parameters, UndoLog changes) throws SQLException {
+        Table table = database.table(tableName);
+        Filter filter = Filter.bind(where, table, parameters);
+        Lock lock = table.lock.writeLock();
+        lock.lock();
+        try {
+            RowIdList matches = filter.matchingRows(table);
+            for (int i = 0; i < matches.size(); i++) {
+                int rowId = matches.get(i);
+                changes.deleted(table, rowId, table.delete(rowId, changes.owner()));
+            }
+            return matches.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
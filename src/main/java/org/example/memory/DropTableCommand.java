@@ -0,0 +1,22 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+
+final class DropTableCommand extends Command {
+
+    private final String tableName;
+    private final boolean ifExists;
+
+    DropTableCommand(String tableName, boolean ifExists) {
+        super(0);
+        this.tableName = tableName;
+        this.ifExists = ifExists;
+    }
+
+    @Override
+    int executeUpdate(InMemoryDatabase database, Object[] parameters, UndoLog changes) throws SQLException {
+        database.dropTable(tableName, ifExists);
+        return 0;
+    }
+
+}
@@ -0,0 +1,200 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A {@code WHERE} clause bound to a table and to one execution's parameter values. Operand values
+ * are converted to the column type once, so matching a row only compares values.
+ */
+final class Filter {
+
+    private static final Filter MATCH_ALL = new Filter(new int[0], new Predicate.Kind[0], new Object[0][], new ColumnType[0]);
+
+    private final int[] positions;
+    private final Predicate.Kind[] kinds;
+    private final Object[][] values;
+    private final ColumnType[] types;
+
+    private Filter(int[] positions, Predicate.Kind[] kinds, Object[][] values, ColumnType[] types) {
+        this.positions = positions;
+        this.kinds = kinds;
+        this.values = values;
+        this.types = types;
+    }
+
+    static Filter bind(List<Predicate> predicates, Table table, Object[] parameters) throws SQLException {
+        if (predicates.isEmpty()) {
+            return MATCH_ALL;
+        }
+        int count = predicates.size();
+        int[] positions = new int[count];
+        Predicate.Kind[] kinds = new Predicate.Kind[count];
+        Object[][] values = new Object[count][];
+        ColumnType[] types = new ColumnType[count];
+        for (int i = 0; i < count; i++) {
+            Predicate predicate = predicates.get(i);
+            positions[i] = table.columnPosition(predicate.column);
+            kinds[i] = predicate.kind;
+            types[i] = table.columns[positions[i]].type;
+            values[i] = new Object[predicate.operands.length];
+            for (int j = 0; j < predicate.operands.length; j++) {
+                values[i][j] = predicate.operands[j].value(parameters, types[i]);
+            }
+        }
+        return new Filter(positions, kinds, values, types);
+    }
+
+    boolean matches(Object[] row) {
+        for (int i = 0; i < positions.length; i++) {
+            if (!matches(i, row[positions[i]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Uses an index to narrow down the rows that can match, preferring equality lookups over range
+     * scans. Returns the candidate row ids in ascending order without duplicates, or {@code null}
+     * if no index applies and the whole table has to be scanned.
+     */
+    RowIdList candidates(Table table) {
+        for (int i = 0; i < positions.length; i++) {
+            Index index = table.equalityIndex(positions[i]);
+            if (index == null) {
+                continue;
+            }
+            if (kinds[i] == Predicate.Kind.EQ) {
+                return sorted(index.lookup(values[i][0]));
+            }
+            if (kinds[i] == Predicate.Kind.IN) {
+                RowIdList rows = new RowIdList(values[i].length);
+                for (Object key : values[i]) {
+                    RowIdList matches = index.lookup(key);
+                    if (matches != null) {
+                        rows.addAll(matches);
+                    }
+                }
+                return sorted(rows);
+            }
+        }
+        for (int i = 0; i < positions.length; i++) {
+            SortedIndex index = table.sortedIndex(positions[i]);
+            if (index == null) {
+                continue;
+            }
+            if (isRange(kinds[i]) && (values[i][0] == null || (kinds[i] == Predicate.Kind.BETWEEN && values[i][1] == null))) {
+                // comparisons with NULL never match
+                return new RowIdList(0);
+            }
+            RowIdList rows = new RowIdList();
+            switch (kinds[i]) {
+                case LT:
+                    index.range(null, false, values[i][0], false, rows);
+                    break;
+                case LE:
+                    index.range(null, false, values[i][0], true, rows);
+                    break;
+                case GT:
+                    index.range(values[i][0], false, null, false, rows);
+                    break;
+                case GE:
+                    index.range(values[i][0], true, null, false, rows);
+                    break;
+                case BETWEEN:
+                    index.range(values[i][0], true, values[i][1], true, rows);
+                    break;
+                default:
+                    continue;
+            }
+            return sorted(rows);
+        }
+        return null;
+    }
+
+    /**
+     * Collects the ids of all matching rows up front, so an update cannot revisit rows it has moved
+     * within an index. The caller holds the table lock.
+     */
+    RowIdList matchingRows(Table table) {
+        RowIdList candidates = candidates(table);
+        RowIdList matches = new RowIdList();
+        int end = candidates == null ? table.rowIdLimit() : candidates.size();
+        for (int i = 0; i < end; i++) {
+            int rowId = candidates == null ? i : candidates.get(i);
+            Object[] row = table.row(rowId);
+            if (row != null && matches(row)) {
+                matches.add(rowId);
+            }
+        }
+        return matches;
+    }
+
+    private boolean matches(int predicate, Object value) {
+        Predicate.Kind kind = kinds[predicate];
+        if (kind == Predicate.Kind.IS_NULL) {
+            return value == null;
+        }
+        if (kind == Predicate.Kind.IS_NOT_NULL) {
+            return value != null;
+        }
+        if (value == null) {
+            return false;
+        }
+        Object[] operands = values[predicate];
+        ColumnType type = types[predicate];
+        if (kind == Predicate.Kind.IN) {
+            for (Object operand : operands) {
+                if (operand != null && type.compare(value, operand) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (operands[0] == null) {
+            return false;
+        }
+        int comparison = type.compare(value, operands[0]);
+        switch (kind) {
+            case EQ:
+                return comparison == 0;
+            case NE:
+                return comparison != 0;
+            case LT:
+                return comparison < 0;
+            case LE:
+                return comparison <= 0;
+            case GT:
+                return comparison > 0;
+            case GE:
+                return comparison >= 0;
+            case BETWEEN:
+                return operands[1] != null && comparison >= 0 && type.compare(value, operands[1]) <= 0;
+            default:
+                throw new IllegalStateException("Unexpected predicate " + kind);
+        }
+    }
+
+    private static boolean isRange(Predicate.Kind kind) {
+        return kind == Predicate.Kind.LT || kind == Predicate.Kind.LE || kind == Predicate.Kind.GT
+                || kind == Predicate.Kind.GE || kind == Predicate.Kind.BETWEEN;
+    }
+
+    private static RowIdList sorted(RowIdList rows) {
+        if (rows == null) {
+            return new RowIdList(0);
+        }
+        RowIdList copy = new RowIdList(rows.size());
+        copy.addAll(rows);
+        copy.sort();
+        RowIdList distinct = new RowIdList(copy.size());
+        for (int i = 0; i < copy.size(); i++) {
+            if (i == 0 || copy.get(i) != copy.get(i - 1)) {
+                distinct.add(copy.get(i));
+            }
+        }
+        return distinct;
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.example.memory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class HashIndex extends Index {
+
+    private final Map<Object, RowIdList> postings = new HashMap<>();
+
+    HashIndex(String name, int column, boolean unique) {
+        super(name, column, unique);
+    }
+
+    @Override
+    void add(Object key, int rowId) {
+        if (key != null) {
+            postings.computeIfAbsent(key, k -> new RowIdList(1)).add(rowId);
+        }
+    }
+
+    @Override
+    void remove(Object key, int rowId) {
+        if (key == null) {
+            return;
+        }
+        RowIdList rows = postings.get(key);
+        if (rows != null && rows.remove(rowId) && rows.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    @Override
+    RowIdList lookup(Object key) {
+        return key == null ? null : postings.get(key);
+    }
+
+}
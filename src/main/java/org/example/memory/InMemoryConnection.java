@@ -0,0 +1,215 @@
+package org.example.memory;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection to an {@link InMemoryDatabase}. Outside autocommit mode every change is added to the
+ * connection's undo log until commit, rollback or close; closing with pending changes rolls them
+ * back. Until then the changed rows stay locked against changes by other connections. Savepoints
+ * mark a position in that log. The isolation level is recorded but not enforced, since every
+ * statement sees the latest committed and uncommitted changes; read-only connections reject
+ * changes.
+ */
+final class InMemoryConnection implements DatabaseConnection {
+
+    private final InMemoryDatabase database;
+    private final UndoLog transaction = new UndoLog(this);
+    private final List<InMemorySavepoint> savepoints = new ArrayList<>();
+    private boolean autoCommit = true;
+    private int isolation = Connection.TRANSACTION_READ_COMMITTED;
+    private boolean readOnly;
+    private int nextSavepointId = 1;
+    private volatile boolean closed;
+
+    InMemoryConnection(InMemoryDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        checkOpen();
+        return new InMemoryStatement(this, database, database.parse(query));
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        checkOpen();
+        return autoCommit;
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        checkOpen();
+        if (autoCommit && !this.autoCommit) {
+            transaction.clear();
+            savepoints.clear();
+        }
+        this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen();
+        transaction.clear();
+        savepoints.clear();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen();
+        transaction.undo();
+        transaction.clear();
+        savepoints.clear();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        checkOpen();
+        if (autoCommit) {
+            throw new SQLException("Savepoints cannot be set in autocommit mode", "3B001");
+        }
+        InMemorySavepoint savepoint = new InMemorySavepoint(nextSavepointId++, name, transaction.size());
+        savepoints.add(savepoint);
+        return savepoint;
+    }
+
+    /**
+     * Reverts the changes made after {@code savepoint}, which stays valid; savepoints set after it
+     * are released.
+     */
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        int index = indexOf(savepoint);
+        InMemorySavepoint active = savepoints.get(index);
+        transaction.undoTo(active.mark);
+        savepoints.subList(index + 1, savepoints.size()).clear();
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        int index = indexOf(savepoint);
+        savepoints.subList(index, savepoints.size()).clear();
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        checkOpen();
+        return isolation;
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        checkOpen();
+        switch (level) {
+            case Connection.TRANSACTION_READ_UNCOMMITTED:
+            case Connection.TRANSACTION_READ_COMMITTED:
+            case Connection.TRANSACTION_REPEATABLE_READ:
+            case Connection.TRANSACTION_SERIALIZABLE:
+                isolation = level;
+                break;
+            default:
+                throw new SQLException("Unsupported transaction isolation level: " + level, "HY024");
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        checkOpen();
+        return readOnly;
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen();
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        transaction.undo();
+        transaction.clear();
+        savepoints.clear();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isValid(int timeoutSeconds) throws SQLException {
+        if (timeoutSeconds < 0) {
+            throw new SQLException("Timeout cannot be negative");
+        }
+        return !closed;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new SQLException("Connection does not wrap " + type.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return type.isInstance(this);
+    }
+
+    /**
+     * Takes ownership of the changes made by one successfully executed statement.
+     */
+    void changed(UndoLog changes) {
+        if (autoCommit) {
+            changes.clear();
+        } else {
+            transaction.addAll(changes);
+        }
+    }
+
+    /**
+     * Takes ownership of the row locks of a statement that failed and reverted its changes. Inside a
+     * transaction they are kept until it ends, as the rows may have been changed earlier in it.
+     */
+    void reverted(UndoLog changes) {
+        if (autoCommit) {
+            changes.clear();
+        } else {
+            transaction.addLocks(changes);
+        }
+    }
+
+    void checkWritable() throws SQLException {
+        if (readOnly) {
+            throw new SQLException("Connection is read-only", "25006");
+        }
+    }
+
+    private int indexOf(Savepoint savepoint) throws SQLException {
+        checkOpen();
+        int index = savepoints.indexOf(savepoint);
+        if (index < 0) {
+            throw new SQLException("Savepoint is not active on this connection", "3B001");
+        }
+        return index;
+    }
+
+    void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection is closed", "08003");
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.example.memory;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fast in-process database behind the {@code Database*} interfaces, meant as a test double for code
+ * written against {@link DatabaseConnectionProvider}. It understands the SQL subset described in
+ * {@link SqlParser}, keeps rows in memory with optional hash and sorted indexes, and parses each
+ * distinct SQL string once.
+ * <p>
+ * Tables are guarded by read/write locks, so statements are atomic and many readers run in
+ * parallel. Transactions are undo-logged per connection: rollback restores every row a transaction
+ * touched, but uncommitted changes are visible to other connections (read uncommitted) and DDL is
+ * not transactional. Rows a transaction changed are write-locked until it ends; another connection
+ * changing them, or reusing a unique key they held, fails with SQLState {@code 40001}.
+ */
+public class InMemoryDatabase implements DatabaseConnectionProvider {
+
+    private static final int MAX_CACHED_COMMANDS = 1024;
+
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    private final Map<String, Command> commands = new ConcurrentHashMap<>();
+
+    @Override
+    public DatabaseConnection getConnection() {
+        return new InMemoryConnection(this);
+    }
+
+    /**
+     * Returns the number of rows currently stored in the table, including uncommitted changes.
+     */
+    public int rowCount(String tableName) throws SQLException {
+        Table table = table(tableName);
+        table.lock.readLock().lock();
+        try {
+            return table.rowCount();
+        } finally {
+            table.lock.readLock().unlock();
+        }
+    }
+
+    Command parse(String sql) throws SQLException {
+        Command command = commands.get(sql);
+        if (command == null) {
+            command = SqlParser.parse(sql);
+            if (commands.size() >= MAX_CACHED_COMMANDS) {
+                commands.clear();
+            }
+            commands.put(sql, command);
+        }
+        return command;
+    }
+
+    Table table(String name) throws SQLException {
+        Table table = tables.get(name);
+        if (table == null) {
+            table = tables.get(name.toUpperCase(Locale.ROOT));
+        }
+        if (table == null) {
+            throw new SQLException("Table " + name + " not found", "42S02");
+        }
+        return table;
+    }
+
+    void addTable(Table table, boolean ifNotExists) throws SQLException {
+        if (tables.putIfAbsent(table.name, table) != null && !ifNotExists) {
+            throw new SQLException("Table " + table.name + " already exists", "42S01");
+        }
+    }
+
+    void dropTable(String name, boolean ifExists) throws SQLException {
+        if (tables.remove(name) == null && !ifExists) {
+            throw new SQLException("Table " + name + " not found", "42S02");
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.example.memory;
+
+import org.example.interfaces.DatabaseResultSet;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Result set over rows materialized by a query. Rows are shared with the table rather than copied;
+ * {@code projection} maps each result column to its position in the row.
+ */
+final class InMemoryResultSet implements DatabaseResultSet {
+
+    private final String[] labels;
+    private final int[] types;
+    private final List<Object[]> rows;
+    private final int[] projection;
+    private int cursor = -1;
+    private Object[] current;
+    private boolean wasNull;
+    private boolean closed;
+
+    /**
+     * @param projection row position of each result column, or {@code null} if rows hold exactly the
+     *                   result columns
+     */
+    InMemoryResultSet(String[] labels, int[] types, List<Object[]> rows, int[] projection) {
+        this.labels = labels;
+        this.types = types;
+        this.rows = rows;
+        this.projection = projection;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        checkOpen();
+        if (cursor + 1 < rows.size()) {
+            current = rows.get(++cursor);
+            return true;
+        }
+        cursor = rows.size();
+        current = null;
+        return false;
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        checkOpen();
+        return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int columnIndex) throws SQLException {
+        checkOpen();
+        checkColumn(columnIndex);
+        return labels[columnIndex - 1];
+    }
+
+    @Override
+    public int getColumnType(int columnIndex) throws SQLException {
+        checkOpen();
+        checkColumn(columnIndex);
+        return types[columnIndex - 1];
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number ? ((Number) value).intValue() : (Integer) ColumnType.INTEGER.coerce(value);
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number ? ((Number) value).longValue() : (Long) ColumnType.BIGINT.coerce(value);
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof Number ? ((Number) value).doubleValue() : (Double) ColumnType.DOUBLE.coerce(value);
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value != null && (Boolean) ColumnType.BOOLEAN.coerce(value);
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : ((byte[]) ColumnType.VARBINARY.coerce(value)).clone();
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : (Timestamp) ((Timestamp) ColumnType.TIMESTAMP.coerce(value)).clone();
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        checkOpen();
+        return wasNull;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        current = null;
+    }
+
+    private Object value(int columnIndex) throws SQLException {
+        checkOpen();
+        checkColumn(columnIndex);
+        if (current == null) {
+            throw new SQLException("No current row", "24000");
+        }
+        Object value = current[projection == null ? columnIndex - 1 : projection[columnIndex - 1]];
+        wasNull = value == null;
+        return value;
+    }
+
+    private int findColumn(String columnLabel) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equals(columnLabel)) {
+                return i + 1;
+            }
+        }
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column " + columnLabel + " not found", "42S22");
+    }
+
+    private void checkColumn(int columnIndex) throws SQLException {
+        if (columnIndex < 1 || columnIndex > labels.length) {
+            throw new SQLException("Column index " + columnIndex + " is out of range 1.." + labels.length, "07009");
+        }
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Result set is closed", "24000");
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Savepoint of an {@link InMemoryConnection}: the length of the transaction's undo log when it was
+ * set.
+ */
+final class InMemorySavepoint implements Savepoint {
+
+    final int mark;
+    private final int id;
+    private final String name;
+
+    InMemorySavepoint(int id, String name, int mark) {
+        this.id = id;
+        this.name = name;
+        this.mark = mark;
+    }
+
+    @Override
+    public int getSavepointId() throws SQLException {
+        if (name != null) {
+            throw new SQLException("Savepoint is named", "3B001");
+        }
+        return id;
+    }
+
+    @Override
+    public String getSavepointName() throws SQLException {
+        if (name == null) {
+            throw new SQLException("Savepoint is not named", "3B001");
+        }
+        return name;
+    }
+
+}
@@ -0,0 +1,160 @@
+package org.example.memory;
+
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Statement over a parsed {@link Command}. Each execution is atomic: a failing statement reverts the
+ * rows it already changed before the exception propagates.
+ */
+final class InMemoryStatement implements DatabaseStatement {
+
+    private final InMemoryConnection connection;
+    private final InMemoryDatabase database;
+    private final Command command;
+    private final Object[] parameters;
+    private final List<Object[]> batch = new ArrayList<>();
+    private boolean closed;
+
+    InMemoryStatement(InMemoryConnection connection, InMemoryDatabase database, Command command) {
+        this.connection = connection;
+        this.database = database;
+        this.command = command;
+        this.parameters = new Object[command.parameterCount];
+        Arrays.fill(parameters, Operand.UNSET);
+    }
+
+    @Override
+    public void setParameter(int index, Object value) throws SQLException {
+        checkOpen();
+        if (index < 1 || index > parameters.length) {
+            throw new SQLException("Parameter index " + index + " is out of range 1.." + parameters.length, "07009");
+        }
+        parameters[index - 1] = value;
+    }
+
+    @Override
+    public void setInt(int index, int value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setLong(int index, long value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setDouble(int index, double value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setString(int index, String value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setBytes(int index, byte[] value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setNull(int index, int sqlType) throws SQLException {
+        setParameter(index, null);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        checkOpen();
+        if (rows < 0) {
+            throw new SQLException("Fetch size cannot be negative");
+        }
+        // results are already in memory
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        checkOpen();
+        if (seconds < 0) {
+            throw new SQLException("Query timeout cannot be negative");
+        }
+        // statements run to completion without blocking, so they cannot overrun
+    }
+
+    @Override
+    public DatabaseResultSet executeQuery() throws SQLException {
+        checkOpen();
+        return command.executeQuery(database, parameters);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        checkOpen();
+        return update(parameters);
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        checkOpen();
+        batch.add(parameters.clone());
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        checkOpen();
+        int[] counts = new int[batch.size()];
+        try {
+            for (int i = 0; i < counts.length; i++) {
+                try {
+                    counts[i] = update(batch.get(i));
+                } catch (SQLException e) {
+                    throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
+                            Arrays.copyOf(counts, i), e);
+                }
+            }
+        } finally {
+            batch.clear();
+        }
+        return counts;
+    }
+
+    @Override
+    public void cancel() {
+        // statements run to completion without blocking, so there is nothing to interrupt
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        batch.clear();
+    }
+
+    private int update(Object[] values) throws SQLException {
+        connection.checkWritable();
+        UndoLog changes = new UndoLog(connection);
+        int count;
+        try {
+            count = command.executeUpdate(database, values, changes);
+        } catch (SQLException | RuntimeException e) {
+            changes.undo();
+            connection.reverted(changes);
+            throw e;
+        }
+        connection.changed(changes);
+        return count;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Statement is closed", "HY010");
+        }
+        connection.checkOpen();
+    }
+
+}
@@ -0,0 +1,28 @@
+package org.example.memory;
+
+/**
+ * Secondary structure mapping the value of one column to the ids of the rows holding it.
+ * NULL keys are never matched by a lookup, so unique indexes allow any number of NULLs.
+ */
+abstract class Index {
+
+    final String name;
+    final int column;
+    final boolean unique;
+
+    Index(String name, int column, boolean unique) {
+        this.name = name;
+        this.column = column;
+        this.unique = unique;
+    }
+
+    abstract void add(Object key, int rowId);
+
+    abstract void remove(Object key, int rowId);
+
+    /**
+     * Returns the rows whose key equals {@code key}, or {@code null} if there are none.
+     */
+    abstract RowIdList lookup(Object key);
+
+}
@@ -0,0 +1,54 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+final class InsertCommand extends Command {
+
+    private final String tableName;
+    private final List<String> columns;
+    private final List<Operand[]> rows;
+
+    /**
+     * @param columns target columns, or {@code null} for every column in table order
+     */
+    InsertCommand(int parameterCount, String tableName, List<String> columns, List<Operand[]> rows) {
+        super(parameterCount);
+        this.tableName = tableName;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    @Override
+    int executeUpdate(InMemoryDatabase database, Object[] parameters, UndoLog changes) throws SQLException {
+        Table table = database.table(tableName);
+        int[] positions = new int[columns == null ? table.columns.length : columns.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = columns == null ? i : table.columnPosition(columns.get(i));
+        }
+        Object[][] values = new Object[rows.size()][];
+        for (int r = 0; r < values.length; r++) {
+            Operand[] operands = rows.get(r);
+            if (operands.length != positions.length) {
+                throw new SQLException("Column count does not match value count", "21S01");
+            }
+            Object[] row = new Object[table.columns.length];
+            for (int i = 0; i < positions.length; i++) {
+                row[positions[i]] = operands[i].value(parameters, table.columns[positions[i]].type);
+            }
+            values[r] = row;
+        }
+        Lock lock = table.lock.writeLock();
+        lock.lock();
+        try {
+            for (Object[] row : values) {
+                changes.inserted(table, table.insert(row, changes.owner()));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return values.length;
+    }
+
+}
@@ -0,0 +1,46 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+
+/**
+ * A literal or a {@code ?} placeholder appearing in a statement.
+ */
+final class Operand {
+
+    /**
+     * Marks a parameter slot that has not been bound yet; a bound SQL NULL is plain {@code null}.
+     */
+    static final Object UNSET = new Object();
+
+    private final int parameterIndex;
+    private final Object literal;
+
+    private Operand(int parameterIndex, Object literal) {
+        this.parameterIndex = parameterIndex;
+        this.literal = literal;
+    }
+
+    static Operand parameter(int parameterIndex) {
+        return new Operand(parameterIndex, null);
+    }
+
+    static Operand literal(Object value) {
+        return new Operand(-1, value);
+    }
+
+    Object value(Object[] parameters) throws SQLException {
+        if (parameterIndex < 0) {
+            return literal;
+        }
+        Object value = parameters[parameterIndex];
+        if (value == UNSET) {
+            throw new SQLException("Parameter " + (parameterIndex + 1) + " is not set", "07001");
+        }
+        return value;
+    }
+
+    Object value(Object[] parameters, ColumnType type) throws SQLException {
+        return type.coerce(value(parameters));
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.example.memory;
+
+/**
+ * One term of a {@code WHERE} clause; a clause is the conjunction of its predicates.
+ */
+final class Predicate {
+
+    enum Kind {
+        EQ, NE, LT, LE, GT, GE, IS_NULL, IS_NOT_NULL, IN, BETWEEN
+    }
+
+    final String column;
+    final Kind kind;
+    final Operand[] operands;
+
+    Predicate(String column, Kind kind, Operand... operands) {
+        this.column = column;
+        this.kind = kind;
+        this.operands = operands;
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.example.memory;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of row ids without boxing, used for index postings and candidate rows.
+ */
+final class RowIdList {
+
+    private int[] ids;
+    private int size;
+
+    RowIdList() {
+        this(4);
+    }
+
+    RowIdList(int capacity) {
+        ids = new int[Math.max(1, capacity)];
+    }
+
+    void add(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    void addAll(RowIdList other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.ids[i]);
+        }
+    }
+
+    boolean remove(int id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                ids[i] = ids[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void sort() {
+        Arrays.sort(ids, 0, size);
+    }
+
+}
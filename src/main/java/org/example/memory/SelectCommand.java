@@ -0,0 +1,232 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+final class SelectCommand extends Command {
+
+    static final class Item {
+
+        final String column;
+        final String alias;
+
+        Item(String column, String alias) {
+            this.column = column;
+            this.alias = alias;
+        }
+
+    }
+
+    static final class Order {
+
+        final String column;
+        final boolean descending;
+
+        Order(String column, boolean descending) {
+            this.column = column;
+            this.descending = descending;
+        }
+
+    }
+
+    private static final class Projection {
+
+        final Table table;
+        final int[] positions;
+        final String[] labels;
+        final int[] types;
+
+        Projection(Table table, int[] positions, String[] labels, int[] types) {
+            this.table = table;
+            this.positions = positions;
+            this.labels = labels;
+            this.types = types;
+        }
+
+    }
+
+    private final String tableName;
+    private final List<Item> items;
+    private final boolean count;
+    private final String countAlias;
+    private final List<Predicate> where;
+    private final List<Order> orderBy;
+    private final Operand limit;
+    private final Operand offset;
+    private volatile Projection projection;
+
+    /**
+     * @param items selected columns, or {@code null} for {@code *}
+     */
+    SelectCommand(int parameterCount, String tableName, List<Item> items, boolean count, String countAlias,
+                  List<Predicate> where, List<Order> orderBy, Operand limit, Operand offset) {
+        super(parameterCount);
+        this.tableName = tableName;
+        this.items = items;
+        this.count = count;
+        this.countAlias = countAlias;
+        this.where = where;
+        this.orderBy = orderBy;
+        this.limit = limit;
+        this.offset = offset;
+    }
+
+    @Override
+    boolean isQuery() {
+        return true;
+    }
+
+    @Override
+    InMemoryResultSet executeQuery(InMemoryDatabase database, Object[] parameters) throws SQLException {
+        Table table = database.table(tableName);
+        Filter filter = Filter.bind(where, table, parameters);
+        long skip = offset == null ? 0 : toLong(offset, parameters, "OFFSET");
+        long max = limit == null ? Long.MAX_VALUE : toLong(limit, parameters, "LIMIT");
+        if (count) {
+            return new InMemoryResultSet(new String[]{countAlias}, new int[]{Types.BIGINT},
+                    List.<Object[]>of(new Object[]{count(table, filter)}), null);
+        }
+        Projection projection = projection(table);
+        int[] orderPositions = new int[orderBy.size()];
+        for (int i = 0; i < orderPositions.length; i++) {
+            orderPositions[i] = table.columnPosition(orderBy.get(i).column);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        boolean sorted = false;
+        Lock lock = table.lock.readLock();
+        lock.lock();
+        try {
+            RowIdList candidates = filter.candidates(table);
+            SortedIndex orderIndex = orderPositions.length == 1 ? table.sortedIndex(orderPositions[0]) : null;
+            if (candidates == null && orderIndex != null) {
+                scanInOrder(table, orderIndex, orderBy.get(0).descending, filter, skip, max, rows);
+                sorted = true;
+            } else if (candidates != null) {
+                for (int i = 0; i < candidates.size(); i++) {
+                    Object[] row = table.row(candidates.get(i));
+                    if (row != null && filter.matches(row)) {
+                        rows.add(row);
+                    }
+                }
+            } else {
+                for (int rowId = 0, end = table.rowIdLimit(); rowId < end; rowId++) {
+                    Object[] row = table.row(rowId);
+                    if (row != null && filter.matches(row)) {
+                        rows.add(row);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!sorted && orderPositions.length > 0) {
+            rows.sort(comparator(table, orderPositions));
+        }
+        int from = (int) Math.min(skip, rows.size());
+        int to = (int) Math.min(rows.size(), from + Math.min(max, Integer.MAX_VALUE));
+        if (from > 0 || to < rows.size()) {
+            rows = rows.subList(from, to);
+        }
+        return new InMemoryResultSet(projection.labels, projection.types, rows, projection.positions);
+    }
+
+    private long count(Table table, Filter filter) {
+        Lock lock = table.lock.readLock();
+        lock.lock();
+        try {
+            RowIdList candidates = filter.candidates(table);
+            if (candidates == null && where.isEmpty()) {
+                return table.rowCount();
+            }
+            long matches = 0;
+            int end = candidates == null ? table.rowIdLimit() : candidates.size();
+            for (int i = 0; i < end; i++) {
+                Object[] row = table.row(candidates == null ? i : candidates.get(i));
+                if (row != null && filter.matches(row)) {
+                    matches++;
+                }
+            }
+            return matches;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void scanInOrder(Table table, SortedIndex index, boolean descending, Filter filter,
+                                    long skip, long max, List<Object[]> rows) {
+        long wanted = max == Long.MAX_VALUE ? Long.MAX_VALUE : skip + max;
+        if (!descending && !collect(table, index.nullRows(), filter, wanted, rows)) {
+            return;
+        }
+        for (RowIdList rowIds : index.ordered(descending)) {
+            if (!collect(table, rowIds, filter, wanted, rows)) {
+                return;
+            }
+        }
+        if (descending) {
+            collect(table, index.nullRows(), filter, wanted, rows);
+        }
+    }
+
+    private static boolean collect(Table table, RowIdList rowIds, Filter filter, long wanted, List<Object[]> rows) {
+        for (int i = 0; i < rowIds.size(); i++) {
+            if (rows.size() >= wanted) {
+                return false;
+            }
+            Object[] row = table.row(rowIds.get(i));
+            if (filter.matches(row)) {
+                rows.add(row);
+            }
+        }
+        return rows.size() < wanted;
+    }
+
+    private Comparator<Object[]> comparator(Table table, int[] positions) {
+        return (left, right) -> {
+            for (int i = 0; i < positions.length; i++) {
+                Object a = left[positions[i]];
+                Object b = right[positions[i]];
+                int comparison;
+                if (a == null || b == null) {
+                    comparison = a == null ? (b == null ? 0 : -1) : 1;
+                } else {
+                    comparison = table.columns[positions[i]].type.compare(a, b);
+                }
+                if (comparison != 0) {
+                    return orderBy.get(i).descending ? -comparison : comparison;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private Projection projection(Table table) throws SQLException {
+        Projection current = projection;
+        if (current != null && current.table == table) {
+            return current;
+        }
+        int size = items == null ? table.columns.length : items.size();
+        int[] positions = new int[size];
+        String[] labels = new String[size];
+        int[] types = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (items == null) {
+                positions[i] = i;
+                labels[i] = table.columns[i].name;
+            } else {
+                Item item = items.get(i);
+                positions[i] = table.columnPosition(item.column);
+                labels[i] = item.alias != null ? item.alias : table.columns[positions[i]].name;
+            }
+            types[i] = table.columns[positions[i]].type.sqlType;
+        }
+        current = new Projection(table, positions, labels, types);
+        projection = current;
+        return current;
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.example.memory;
+
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index kept in key order, answering range predicates and {@code ORDER BY} on its column without
+ * sorting. Rows with a NULL key are kept apart and sort before every other value.
+ */
+final class SortedIndex extends Index {
+
+    private final TreeMap<Object, RowIdList> postings;
+    private final RowIdList nullRows = new RowIdList();
+
+    SortedIndex(String name, int column, boolean unique, ColumnType type) {
+        super(name, column, unique);
+        this.postings = new TreeMap<>(type::compare);
+    }
+
+    @Override
+    void add(Object key, int rowId) {
+        if (key == null) {
+            nullRows.add(rowId);
+        } else {
+            postings.computeIfAbsent(key, k -> new RowIdList(1)).add(rowId);
+        }
+    }
+
+    @Override
+    void remove(Object key, int rowId) {
+        if (key == null) {
+            nullRows.remove(rowId);
+            return;
+        }
+        RowIdList rows = postings.get(key);
+        if (rows != null && rows.remove(rowId) && rows.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    @Override
+    RowIdList lookup(Object key) {
+        return key == null ? null : postings.get(key);
+    }
+
+    /**
+     * Collects the rows whose key lies in the given range; a {@code null} bound is open.
+     */
+    void range(Object lower, boolean lowerInclusive, Object upper, boolean upperInclusive, RowIdList out) {
+        NavigableMap<Object, RowIdList> slice;
+        if (lower != null && upper != null) {
+            if (postings.comparator().compare(lower, upper) > 0) {
+                return;
+            }
+            slice = postings.subMap(lower, lowerInclusive, upper, upperInclusive);
+        } else if (lower != null) {
+            slice = postings.tailMap(lower, lowerInclusive);
+        } else if (upper != null) {
+            slice = postings.headMap(upper, upperInclusive);
+        } else {
+            slice = postings;
+        }
+        for (RowIdList rows : slice.values()) {
+            out.addAll(rows);
+        }
+    }
+
+    Collection<RowIdList> ordered(boolean descending) {
+        return descending ? postings.descendingMap().values() : postings.values();
+    }
+
+    RowIdList nullRows() {
+        return nullRows;
+    }
+
+}
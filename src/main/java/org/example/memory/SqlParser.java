@@ -0,0 +1,610 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recursive-descent parser for the SQL subset understood by {@link InMemoryDatabase}:
+ * <pre>
+ * SELECT * | COUNT(*) [AS alias] | column [AS alias], ... FROM table [[AS] alias]
+ *     [WHERE condition] [ORDER BY column [ASC | DESC], ...] [LIMIT n] [OFFSET n]
+ * INSERT INTO table [(column, ...)] VALUES (value, ...), ...
+ * UPDATE table SET column = value, ... [WHERE condition]
+ * DELETE FROM table [WHERE condition]
+ * CREATE TABLE [IF NOT EXISTS] table (column type [PRIMARY KEY] [NOT NULL] [UNIQUE], ... [, PRIMARY KEY (column)])
+ * CREATE [UNIQUE] [HASH] INDEX [name] ON table (column)
+ * DROP TABLE [IF EXISTS] table
+ * </pre>
+ * A condition is one or more predicates joined by {@code AND}: {@code column op value} with
+ * {@code =, <>, !=, <, <=, >, >=}, {@code column IS [NOT] NULL}, {@code column IN (value, ...)} and
+ * {@code column BETWEEN value AND value}. Values are literals or {@code ?} placeholders. Unquoted
+ * identifiers are case-insensitive.
+ */
+final class SqlParser {
+
+    private enum TokenType {
+        WORD, QUOTED, STRING, NUMBER, PARAMETER, SYMBOL, END
+    }
+
+    private static final class Token {
+
+        final TokenType type;
+        final String text;
+        final int position;
+
+        Token(TokenType type, String text, int position) {
+            this.type = type;
+            this.text = text;
+            this.position = position;
+        }
+
+    }
+
+    private final String sql;
+    private final List<Token> tokens;
+    private int index;
+    private int parameterCount;
+
+    private SqlParser(String sql) throws SQLException {
+        this.sql = sql;
+        this.tokens = tokenize(sql);
+    }
+
+    static Command parse(String sql) throws SQLException {
+        if (sql == null) {
+            throw new SQLException("SQL cannot be null", "42000");
+        }
+        SqlParser parser = new SqlParser(sql);
+        Command command = parser.statement();
+        parser.acceptSymbol(";");
+        if (parser.peek().type != TokenType.END) {
+            throw parser.syntaxError("end of statement");
+        }
+        return command;
+    }
+
+    private Command statement() throws SQLException {
+        if (acceptWord("SELECT")) {
+            return select();
+        }
+        if (acceptWord("INSERT")) {
+            return insert();
+        }
+        if (acceptWord("UPDATE")) {
+            return update();
+        }
+        if (acceptWord("DELETE")) {
+            return delete();
+        }
+        if (acceptWord("CREATE")) {
+            return create();
+        }
+        if (acceptWord("DROP")) {
+            expectWord("TABLE");
+            boolean ifExists = acceptWords("IF", "EXISTS");
+            return new DropTableCommand(identifier(), ifExists);
+        }
+        throw syntaxError("SELECT, INSERT, UPDATE, DELETE, CREATE or DROP");
+    }
+
+    private Command select() throws SQLException {
+        List<SelectCommand.Item> items = null;
+        boolean count = false;
+        String countAlias = "COUNT(*)";
+        if (acceptSymbol("*")) {
+            // all columns
+        } else if (peekWord("COUNT") && peek(1).text.equals("(")) {
+            index++;
+            expectSymbol("(");
+            expectSymbol("*");
+            expectSymbol(")");
+            count = true;
+            String alias = alias();
+            if (alias != null) {
+                countAlias = alias;
+            }
+        } else {
+            items = new ArrayList<>();
+            do {
+                String column = columnReference();
+                items.add(new SelectCommand.Item(column, alias()));
+            } while (acceptSymbol(","));
+        }
+        expectWord("FROM");
+        String table = identifier();
+        alias();
+        List<Predicate> where = acceptWord("WHERE") ? conditions() : List.of();
+        List<SelectCommand.Order> orderBy = new ArrayList<>();
+        if (acceptWord("ORDER")) {
+            expectWord("BY");
+            do {
+                String column = columnReference();
+                boolean descending = acceptWord("DESC");
+                if (!descending) {
+                    acceptWord("ASC");
+                }
+                orderBy.add(new SelectCommand.Order(column, descending));
+            } while (acceptSymbol(","));
+        }
+        Operand limit = null;
+        Operand offset = null;
+        for (int i = 0; i < 2; i++) {
+            if (limit == null && acceptWord("LIMIT")) {
+                limit = operand();
+            } else if (offset == null && acceptWord("OFFSET")) {
+                offset = operand();
+            }
+        }
+        return new SelectCommand(parameterCount, table, items, count, countAlias, where, orderBy, limit, offset);
+    }
+
+    private Command insert() throws SQLException {
+        expectWord("INTO");
+        String table = identifier();
+        List<String> columns = null;
+        if (acceptSymbol("(")) {
+            columns = new ArrayList<>();
+            do {
+                columns.add(columnReference());
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+        }
+        expectWord("VALUES");
+        List<Operand[]> rows = new ArrayList<>();
+        do {
+            expectSymbol("(");
+            List<Operand> values = new ArrayList<>();
+            do {
+                values.add(operand());
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+            rows.add(values.toArray(new Operand[0]));
+        } while (acceptSymbol(","));
+        return new InsertCommand(parameterCount, table, columns, rows);
+    }
+
+    private Command update() throws SQLException {
+        String table = identifier();
+        alias();
+        expectWord("SET");
+        List<String> columns = new ArrayList<>();
+        List<Operand> values = new ArrayList<>();
+        do {
+            columns.add(columnReference());
+            expectSymbol("=");
+            values.add(operand());
+        } while (acceptSymbol(","));
+        List<Predicate> where = acceptWord("WHERE") ? conditions() : List.of();
+        return new UpdateCommand(parameterCount, table, columns, values, where);
+    }
+
+    private Command delete() throws SQLException {
+        expectWord("FROM");
+        String table = identifier();
+        alias();
+        List<Predicate> where = acceptWord("WHERE") ? conditions() : List.of();
+        return new DeleteCommand(parameterCount, table, where);
+    }
+
+    private Command create() throws SQLException {
+        if (acceptWord("TABLE")) {
+            return createTable();
+        }
+        boolean unique = acceptWord("UNIQUE");
+        boolean hash = acceptWord("HASH");
+        expectWord("INDEX");
+        String name = peekWord("ON") ? null : identifier();
+        expectWord("ON");
+        String table = identifier();
+        expectSymbol("(");
+        String column = columnReference();
+        if (acceptSymbol(",")) {
+            throw unsupported("Multi-column indexes");
+        }
+        expectSymbol(")");
+        return new CreateIndexCommand(name, table, column, unique, hash);
+    }
+
+    private Command createTable() throws SQLException {
+        boolean ifNotExists = acceptWords("IF", "NOT", "EXISTS");
+        String table = identifier();
+        expectSymbol("(");
+        List<Column> columns = new ArrayList<>();
+        List<String> uniqueColumns = new ArrayList<>();
+        String primaryKey = null;
+        do {
+            if (acceptWord("CONSTRAINT")) {
+                identifier();
+            }
+            if (acceptWord("PRIMARY")) {
+                expectWord("KEY");
+                expectSymbol("(");
+                String column = identifier();
+                if (acceptSymbol(",")) {
+                    throw unsupported("Composite primary keys");
+                }
+                expectSymbol(")");
+                primaryKey = setPrimaryKey(primaryKey, column);
+                continue;
+            }
+            String name = identifier();
+            ColumnType type = columnType();
+            boolean notNull = false;
+            while (true) {
+                if (acceptWord("PRIMARY")) {
+                    expectWord("KEY");
+                    primaryKey = setPrimaryKey(primaryKey, name);
+                } else if (acceptWord("NOT")) {
+                    expectWord("NULL");
+                    notNull = true;
+                } else if (acceptWord("NULL")) {
+                    notNull = false;
+                } else if (acceptWord("UNIQUE")) {
+                    uniqueColumns.add(name);
+                } else {
+                    break;
+                }
+            }
+            columns.add(new Column(name, type, notNull));
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        if (primaryKey != null) {
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                if (column.name.equals(primaryKey)) {
+                    columns.set(i, new Column(column.name, column.type, true));
+                }
+            }
+        }
+        return new CreateTableCommand(table, columns.toArray(new Column[0]), primaryKey, uniqueColumns, ifNotExists);
+    }
+
+    private String setPrimaryKey(String current, String column) throws SQLException {
+        if (current != null) {
+            throw unsupported("Composite primary keys");
+        }
+        return column;
+    }
+
+    private ColumnType columnType() throws SQLException {
+        Token token = peek();
+        if (token.type != TokenType.WORD) {
+            throw syntaxError("column type");
+        }
+        index++;
+        String name = token.text;
+        if (name.equals("DOUBLE")) {
+            acceptWord("PRECISION");
+        } else if (name.equals("CHARACTER")) {
+            acceptWord("VARYING");
+        }
+        if (acceptSymbol("(")) {
+            expect(TokenType.NUMBER, "length");
+            if (acceptSymbol(",")) {
+                expect(TokenType.NUMBER, "scale");
+            }
+            expectSymbol(")");
+        }
+        if (name.equals("TIMESTAMP") && (acceptWord("WITHOUT") || acceptWord("WITH"))) {
+            expectWord("TIME");
+            expectWord("ZONE");
+        }
+        return ColumnType.fromName(name);
+    }
+
+    private List<Predicate> conditions() throws SQLException {
+        List<Predicate> predicates = new ArrayList<>();
+        conditions(predicates);
+        return predicates;
+    }
+
+    private void conditions(List<Predicate> predicates) throws SQLException {
+        do {
+            if (acceptSymbol("(")) {
+                conditions(predicates);
+                expectSymbol(")");
+            } else {
+                predicates.add(predicate());
+            }
+        } while (acceptWord("AND"));
+        if (peekWord("OR")) {
+            throw unsupported("OR conditions");
+        }
+    }
+
+    private Predicate predicate() throws SQLException {
+        String column = columnReference();
+        if (acceptWord("IS")) {
+            boolean not = acceptWord("NOT");
+            expectWord("NULL");
+            return new Predicate(column, not ? Predicate.Kind.IS_NOT_NULL : Predicate.Kind.IS_NULL);
+        }
+        if (acceptWord("IN")) {
+            expectSymbol("(");
+            List<Operand> values = new ArrayList<>();
+            do {
+                values.add(operand());
+            } while (acceptSymbol(","));
+            expectSymbol(")");
+            return new Predicate(column, Predicate.Kind.IN, values.toArray(new Operand[0]));
+        }
+        if (acceptWord("BETWEEN")) {
+            Operand lower = operand();
+            expectWord("AND");
+            return new Predicate(column, Predicate.Kind.BETWEEN, lower, operand());
+        }
+        if (peekWord("NOT")) {
+            throw unsupported("NOT conditions");
+        }
+        Token token = peek();
+        Predicate.Kind kind;
+        switch (token.type == TokenType.SYMBOL ? token.text : "") {
+            case "=":
+                kind = Predicate.Kind.EQ;
+                break;
+            case "<>":
+            case "!=":
+                kind = Predicate.Kind.NE;
+                break;
+            case "<":
+                kind = Predicate.Kind.LT;
+                break;
+            case "<=":
+                kind = Predicate.Kind.LE;
+                break;
+            case ">":
+                kind = Predicate.Kind.GT;
+                break;
+            case ">=":
+                kind = Predicate.Kind.GE;
+                break;
+            default:
+                throw syntaxError("comparison operator");
+        }
+        index++;
+        return new Predicate(column, kind, operand());
+    }
+
+    private Operand operand() throws SQLException {
+        Token token = peek();
+        switch (token.type) {
+            case PARAMETER:
+                index++;
+                return Operand.parameter(parameterCount++);
+            case STRING:
+                index++;
+                return Operand.literal(token.text);
+            case NUMBER:
+                index++;
+                return Operand.literal(number(token.text));
+            case SYMBOL:
+                if (token.text.equals("-") && peek(1).type == TokenType.NUMBER) {
+                    index += 2;
+                    return Operand.literal(number("-" + peek(-1).text));
+                }
+                break;
+            case WORD:
+                if (acceptWord("NULL")) {
+                    return Operand.literal(null);
+                }
+                if (acceptWord("TRUE")) {
+                    return Operand.literal(Boolean.TRUE);
+                }
+                if (acceptWord("FALSE")) {
+                    return Operand.literal(Boolean.FALSE);
+                }
+                if (peekWord("TIMESTAMP") && peek(1).type == TokenType.STRING) {
+                    index += 2;
+                    return Operand.literal(peek(-1).text);
+                }
+                break;
+            default:
+                break;
+        }
+        throw syntaxError("value or ?");
+    }
+
+    private static Object number(String text) {
+        if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                // too large for a long
+            }
+        }
+        return Double.parseDouble(text);
+    }
+
+    private String alias() throws SQLException {
+        if (acceptWord("AS")) {
+            return identifier();
+        }
+        Token token = peek();
+        if (token.type == TokenType.QUOTED || (token.type == TokenType.WORD && !isClauseKeyword(token.text))) {
+            index++;
+            return token.text;
+        }
+        return null;
+    }
+
+    private static boolean isClauseKeyword(String word) {
+        switch (word) {
+            case "FROM":
+            case "WHERE":
+            case "ORDER":
+            case "LIMIT":
+            case "OFFSET":
+            case "SET":
+            case "AND":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private String columnReference() throws SQLException {
+        String name = identifier();
+        if (acceptSymbol(".")) {
+            // a single table is in scope, so the qualifier adds nothing
+            name = identifier();
+        }
+        return name;
+    }
+
+    private String identifier() throws SQLException {
+        Token token = peek();
+        if (token.type != TokenType.WORD && token.type != TokenType.QUOTED) {
+            throw syntaxError("identifier");
+        }
+        index++;
+        return token.text;
+    }
+
+    private Token peek() {
+        return peek(0);
+    }
+
+    private Token peek(int offset) {
+        int position = Math.min(index + offset, tokens.size() - 1);
+        return tokens.get(position);
+    }
+
+    private boolean peekWord(String word) {
+        Token token = peek();
+        return token.type == TokenType.WORD && token.text.equals(word);
+    }
+
+    private boolean acceptWord(String word) {
+        if (peekWord(word)) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptWords(String... words) throws SQLException {
+        if (!acceptWord(words[0])) {
+            return false;
+        }
+        for (int i = 1; i < words.length; i++) {
+            expectWord(words[i]);
+        }
+        return true;
+    }
+
+    private void expectWord(String word) throws SQLException {
+        if (!acceptWord(word)) {
+            throw syntaxError(word);
+        }
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        Token token = peek();
+        if (token.type == TokenType.SYMBOL && token.text.equals(symbol)) {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectSymbol(String symbol) throws SQLException {
+        if (!acceptSymbol(symbol)) {
+            throw syntaxError("\"" + symbol + "\"");
+        }
+    }
+
+    private void expect(TokenType type, String description) throws SQLException {
+        if (peek().type != type) {
+            throw syntaxError(description);
+        }
+        index++;
+    }
+
+    private SQLException syntaxError(String expected) {
+        return new SQLSyntaxErrorException("Syntax error in SQL statement \"" + sql + "\" at position "
+                + peek().position + "; expected " + expected, "42000");
+    }
+
+    private SQLException unsupported(String feature) {
+        return new SQLFeatureNotSupportedException(feature + " are not supported by the in-memory database: " + sql, "0A000");
+    }
+
+    private static List<Token> tokenize(String sql) throws SQLException {
+        List<Token> tokens = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.WORD, sql.substring(start, i).toUpperCase(Locale.ROOT), start));
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(sql.charAt(i + 1)))) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                if (i < length && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+                    i++;
+                    if (i < length && (sql.charAt(i) == '+' || sql.charAt(i) == '-')) {
+                        i++;
+                    }
+                    while (i < length && Character.isDigit(sql.charAt(i))) {
+                        i++;
+                    }
+                }
+                tokens.add(new Token(TokenType.NUMBER, sql.substring(start, i), start));
+            } else if (c == '\'' || c == '"') {
+                StringBuilder text = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new SQLSyntaxErrorException("Unterminated " + (c == '\'' ? "string literal" : "quoted identifier")
+                                + " in SQL statement \"" + sql + "\"", "42000");
+                    }
+                    char next = sql.charAt(i++);
+                    if (next == c) {
+                        if (i < length && sql.charAt(i) == c) {
+                            text.append(c);
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        text.append(next);
+                    }
+                }
+                tokens.add(new Token(c == '\'' ? TokenType.STRING : TokenType.QUOTED, text.toString(), start));
+            } else if (c == '?') {
+                tokens.add(new Token(TokenType.PARAMETER, "?", start));
+                i++;
+            } else {
+                String two = i + 1 < length ? sql.substring(i, i + 2) : "";
+                if (two.equals("<=") || two.equals(">=") || two.equals("<>") || two.equals("!=")) {
+                    tokens.add(new Token(TokenType.SYMBOL, two, start));
+                    i += 2;
+                } else if ("(),*=<>;.-".indexOf(c) >= 0) {
+                    tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c), start));
+                    i++;
+                } else {
+                    throw new SQLSyntaxErrorException("Unexpected character '" + c + "' at position " + i
+                            + " in SQL statement \"" + sql + "\"", "42000");
+                }
+            }
+        }
+        tokens.add(new Token(TokenType.END, "", length));
+        return tokens;
+    }
+
+}
@@ -0,0 +1,248 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rows of one table, addressed by a stable row id, plus the indexes kept on them. Rows are
+ * immutable arrays replaced on update, so a result set can keep references to rows it has read
+ * without holding the table lock. Callers must hold {@link #lock} while using any method.
+ * <p>
+ * Changes take row-level write locks for their owner, the connection making them: until the owner
+ * releases them at the end of its transaction, other owners can neither change a locked row nor
+ * take a unique key value that one of its locked rows held before, which a rollback would put back.
+ * Such conflicts fail with SQLState {@code 40001}.
+ */
+final class Table {
+
+    final String name;
+    final Column[] columns;
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> columnPositions = new HashMap<>();
+    private final ArrayList<Object[]> rows = new ArrayList<>();
+    private final List<Index> indexes = new ArrayList<>();
+    private final HashIndex[] hashIndexes;
+    private final SortedIndex[] sortedIndexes;
+    private final Map<Integer, Object> rowOwners = new HashMap<>();
+    private final Map<Index, Map<Object, Object>> reservedKeys = new HashMap<>();
+    private int liveRows;
+
+    Table(String name, Column[] columns) {
+        this.name = name;
+        this.columns = columns;
+        this.hashIndexes = new HashIndex[columns.length];
+        this.sortedIndexes = new SortedIndex[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnPositions.put(columns[i].name, i);
+        }
+    }
+
+    int columnPosition(String column) throws SQLException {
+        Integer position = columnPositions.get(column);
+        if (position == null) {
+            position = columnPositions.get(column.toUpperCase(Locale.ROOT));
+        }
+        if (position == null) {
+            throw new SQLException("Column " + column + " not found in table " + name, "42S22");
+        }
+        return position;
+    }
+
+    void addIndex(Index index) throws SQLException {
+        for (int rowId = 0; rowId < rows.size(); rowId++) {
+            Object[] row = rows.get(rowId);
+            if (row != null) {
+                Object key = row[index.column];
+                if (index.unique && index.lookup(key) != null) {
+                    throw duplicateKey(index, key);
+                }
+                index.add(key, rowId);
+            }
+        }
+        indexes.add(index);
+        if (index instanceof HashIndex && hashIndexes[index.column] == null) {
+            hashIndexes[index.column] = (HashIndex) index;
+        } else if (index instanceof SortedIndex && sortedIndexes[index.column] == null) {
+            sortedIndexes[index.column] = (SortedIndex) index;
+        }
+    }
+
+    boolean hasIndex(String indexName) {
+        for (Index index : indexes) {
+            if (index.name.equals(indexName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an index able to answer equality lookups on the column, preferring a hash index.
+     */
+    Index equalityIndex(int column) {
+        return hashIndexes[column] != null ? hashIndexes[column] : sortedIndexes[column];
+    }
+
+    SortedIndex sortedIndex(int column) {
+        return sortedIndexes[column];
+    }
+
+    int insert(Object[] row, Object owner) throws SQLException {
+        checkConstraints(row, -1, owner);
+        int rowId = rows.size();
+        rows.add(row);
+        index(row, rowId);
+        liveRows++;
+        rowOwners.put(rowId, owner);
+        return rowId;
+    }
+
+    Object[] update(int rowId, Object[] row, Object owner) throws SQLException {
+        checkRowLock(rowId, owner);
+        checkConstraints(row, rowId, owner);
+        Object[] old = rows.get(rowId);
+        unindex(old, rowId);
+        rows.set(rowId, row);
+        index(row, rowId);
+        lock(rowId, old, owner);
+        return old;
+    }
+
+    Object[] delete(int rowId, Object owner) throws SQLException {
+        checkRowLock(rowId, owner);
+        Object[] old = remove(rowId);
+        if (old != null) {
+            lock(rowId, old, owner);
+        }
+        return old;
+    }
+
+    /**
+     * Puts back a previous version of a row without checking constraints, for rollback.
+     */
+    void replace(int rowId, Object[] row) {
+        unindex(rows.get(rowId), rowId);
+        rows.set(rowId, row);
+        index(row, rowId);
+    }
+
+    /**
+     * Removes a row without checking locks, for rollback of its insert.
+     */
+    Object[] remove(int rowId) {
+        Object[] old = rows.get(rowId);
+        if (old != null) {
+            unindex(old, rowId);
+            rows.set(rowId, null);
+            liveRows--;
+        }
+        return old;
+    }
+
+    void restore(int rowId, Object[] row) {
+        rows.set(rowId, row);
+        index(row, rowId);
+        liveRows++;
+    }
+
+    /**
+     * Releases the lock {@code owner} holds on a row, and the unique key values of
+     * {@code previous}, the version of the row it replaced, if any.
+     */
+    void unlock(int rowId, Object[] previous, Object owner) {
+        rowOwners.remove(rowId, owner);
+        if (previous != null) {
+            for (Index index : indexes) {
+                Map<Object, Object> reserved = reservedKeys.get(index);
+                if (reserved != null) {
+                    reserved.remove(previous[index.column], owner);
+                }
+            }
+        }
+    }
+
+    Object[] row(int rowId) {
+        return rows.get(rowId);
+    }
+
+    /**
+     * Upper bound (exclusive) of row ids, including deleted rows.
+     */
+    int rowIdLimit() {
+        return rows.size();
+    }
+
+    int rowCount() {
+        return liveRows;
+    }
+
+    private void checkConstraints(Object[] row, int rowId, Object owner) throws SQLException {
+        for (int i = 0; i < columns.length; i++) {
+            if (row[i] == null && columns[i].notNull) {
+                throw new SQLIntegrityConstraintViolationException(
+                        "NULL not allowed for column " + columns[i].name + " in table " + name, "23502");
+            }
+        }
+        for (Index index : indexes) {
+            if (index.unique) {
+                Map<Object, Object> reserved = reservedKeys.get(index);
+                Object holder = reserved == null ? null : reserved.get(row[index.column]);
+                if (holder != null && holder != owner) {
+                    throw locked();
+                }
+                RowIdList existing = index.lookup(row[index.column]);
+                if (existing != null && (existing.size() > 1 || existing.get(0) != rowId)) {
+                    throw duplicateKey(index, row[index.column]);
+                }
+            }
+        }
+    }
+
+    private void checkRowLock(int rowId, Object owner) throws SQLException {
+        Object holder = rowOwners.get(rowId);
+        if (holder != null && holder != owner) {
+            throw locked();
+        }
+    }
+
+    private void lock(int rowId, Object[] previous, Object owner) {
+        rowOwners.put(rowId, owner);
+        for (Index index : indexes) {
+            Object key = previous[index.column];
+            if (index.unique && key != null) {
+                reservedKeys.computeIfAbsent(index, i -> new HashMap<>()).putIfAbsent(key, owner);
+            }
+        }
+    }
+
+    private SQLException locked() {
+        return new SQLTransactionRollbackException("Row of table " + name
+                + " is locked by another transaction", "40001");
+    }
+
+    private SQLException duplicateKey(Index index, Object key) {
+        return new SQLIntegrityConstraintViolationException("Duplicate key " + key + " violates unique index "
+                + index.name + " on table " + name, "23505");
+    }
+
+    private void index(Object[] row, int rowId) {
+        for (Index index : indexes) {
+            index.add(row[index.column], rowId);
+        }
+    }
+
+    private void unindex(Object[] row, int rowId) {
+        for (Index index : indexes) {
+            index.remove(row[index.column], rowId);
+        }
+    }
+
+}
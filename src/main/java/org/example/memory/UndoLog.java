@@ -0,0 +1,131 @@
+package org.example.memory;
+
+import java.util.ArrayList;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Row changes that can be reverted, newest last. Statements use one to stay atomic, and a
+ * connection outside autocommit mode collects them into one per transaction.
+ * <p>
+ * Every change holds a row lock for the log's owner until {@link #clear()}, including changes
+ * already reverted by {@link #undoTo(int)}: the row may have been changed before the savepoint too.
+ */
+final class UndoLog {
+
+    private static final int INSERTED = 0;
+    private static final int UPDATED = 1;
+    private static final int DELETED = 2;
+
+    private final Object owner;
+    private final ArrayList<Entry> entries = new ArrayList<>();
+    private final ArrayList<Entry> locks = new ArrayList<>();
+
+    UndoLog(Object owner) {
+        this.owner = owner;
+    }
+
+    Object owner() {
+        return owner;
+    }
+
+    void inserted(Table table, int rowId) {
+        add(new Entry(INSERTED, table, rowId, null));
+    }
+
+    void updated(Table table, int rowId, Object[] previous) {
+        add(new Entry(UPDATED, table, rowId, previous));
+    }
+
+    void deleted(Table table, int rowId, Object[] previous) {
+        add(new Entry(DELETED, table, rowId, previous));
+    }
+
+    void addAll(UndoLog other) {
+        entries.addAll(other.entries);
+        locks.addAll(other.locks);
+    }
+
+    /**
+     * Takes over the row locks of {@code other}, whose changes have been reverted.
+     */
+    void addLocks(UndoLog other) {
+        locks.addAll(other.locks);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Forgets every change and releases the row locks they hold.
+     */
+    void clear() {
+        for (Entry entry : locks) {
+            Lock lock = entry.table.lock.writeLock();
+            lock.lock();
+            try {
+                entry.table.unlock(entry.rowId, entry.row, owner);
+            } finally {
+                lock.unlock();
+            }
+        }
+        locks.clear();
+        entries.clear();
+    }
+
+    /**
+     * Reverts every change made after the first {@code mark} entries, newest first.
+     */
+    void undoTo(int mark) {
+        for (int i = entries.size() - 1; i >= mark; i--) {
+            Entry entry = entries.remove(i);
+            Lock lock = entry.table.lock.writeLock();
+            lock.lock();
+            try {
+                switch (entry.kind) {
+                    case INSERTED:
+                        entry.table.remove(entry.rowId);
+                        break;
+                    case UPDATED:
+                        entry.table.replace(entry.rowId, entry.row);
+                        break;
+                    default:
+                        entry.table.restore(entry.rowId, entry.row);
+                        break;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    void undo() {
+        undoTo(0);
+    }
+
+    private void add(Entry entry) {
+        entries.add(entry);
+        locks.add(entry);
+    }
+
+    private static final class Entry {
+
+        final int kind;
+        final Table table;
+        final int rowId;
+        final Object[] row;
+
+        Entry(int kind, Table table, int rowId, Object[] row) {
+            this.kind = kind;
+            this.table = table;
+            this.rowId = rowId;
+            this.row = row;
+        }
+
+    }
+
+}
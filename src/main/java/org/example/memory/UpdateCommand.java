@@ -0,0 +1,50 @@
+package org.example.memory;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+final class UpdateCommand extends Command {
+
+    private final String tableName;
+    private final List<String> columns;
+    private final List<Operand> values;
+    private final List<Predicate> where;
+
+    UpdateCommand(int parameterCount, String tableName, List<String> columns, List<Operand> values, List<Predicate> where) {
+        super(parameterCount);
+        this.tableName = tableName;
+        this.columns = columns;
+        this.values = values;
+        this.where = where;
+    }
+
+    @Override
+    int executeUpdate(InMemoryDatabase database, Object[] parameters, UndoLog changes) throws SQLException {
+        Table table = database.table(tableName);
+        int[] positions = new int[columns.size()];
+        Object[] newValues = new Object[columns.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = table.columnPosition(columns.get(i));
+            newValues[i] = values.get(i).value(parameters, table.columns[positions[i]].type);
+        }
+        Filter filter = Filter.bind(where, table, parameters);
+        Lock lock = table.lock.writeLock();
+        lock.lock();
+        try {
+            RowIdList matches = filter.matchingRows(table);
+            for (int i = 0; i < matches.size(); i++) {
+                int rowId = matches.get(i);
+                Object[] row = table.row(rowId).clone();
+                for (int j = 0; j < positions.length; j++) {
+                    row[positions[j]] = newValues[j];
+                }
+                changes.updated(table, rowId, table.update(rowId, row, changes.owner()));
+            }
+            return matches.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.example.metrics;
+
+import org.example.adapters.DelegatingConnection;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+
+final class InstrumentedConnection extends DelegatingConnection {
+
+    private final QueryMetrics registry;
+
+    InstrumentedConnection(DatabaseConnection delegate, QueryMetrics registry) {
+        super(delegate);
+        this.registry = registry;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        if (query == null) {
+            return delegate().prepareStatement(null);
+        }
+        StatementMetrics metrics = registry.metricsFor(query);
+        long start = System.nanoTime();
+        DatabaseStatement statement;
+        try {
+            statement = delegate().prepareStatement(query);
+        } catch (SQLException | RuntimeException e) {
+            metrics.errors.increment();
+            throw e;
+        } finally {
+            metrics.prepare.record(System.nanoTime() - start);
+        }
+        return new InstrumentedStatement(statement, metrics);
+    }
+
+}
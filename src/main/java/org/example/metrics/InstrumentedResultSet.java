@@ -0,0 +1,58 @@
+package org.example.metrics;
+
+import org.example.adapters.DelegatingResultSet;
+import org.example.interfaces.DatabaseResultSet;
+
+import java.sql.SQLException;
+
+/**
+ * Accumulates fetch time and row count locally and publishes them once, when the rows are
+ * exhausted or the result set is closed.
+ */
+final class InstrumentedResultSet extends DelegatingResultSet {
+
+    private final StatementMetrics metrics;
+    private long fetchNanos;
+    private long rows;
+    private boolean published;
+
+    InstrumentedResultSet(DatabaseResultSet delegate, StatementMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        long start = System.nanoTime();
+        boolean hasRow;
+        try {
+            hasRow = delegate().next();
+        } catch (SQLException | RuntimeException e) {
+            metrics.errors.increment();
+            throw e;
+        } finally {
+            fetchNanos += System.nanoTime() - start;
+        }
+        if (hasRow) {
+            rows++;
+        } else {
+            publish();
+        }
+        return hasRow;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        publish();
+        delegate().close();
+    }
+
+    private void publish() {
+        if (!published) {
+            published = true;
+            metrics.fetch.record(fetchNanos);
+            metrics.rowsFetched.add(rows);
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.example.metrics;
+
+import org.example.adapters.DelegatingStatement;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+
+final class InstrumentedStatement extends DelegatingStatement {
+
+    private final StatementMetrics metrics;
+
+    InstrumentedStatement(DatabaseStatement delegate, StatementMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public DatabaseResultSet executeQuery() throws SQLException {
+        long start = System.nanoTime();
+        DatabaseResultSet resultSet;
+        try {
+            resultSet = delegate().executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            metrics.errors.increment();
+            throw e;
+        } finally {
+            metrics.execute.record(System.nanoTime() - start);
+        }
+        return new InstrumentedResultSet(resultSet, metrics);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        long start = System.nanoTime();
+        int count;
+        try {
+            count = delegate().executeUpdate();
+        } catch (SQLException | RuntimeException e) {
+            metrics.errors.increment();
+            throw e;
+        } finally {
+            metrics.execute.record(System.nanoTime() - start);
+        }
+        metrics.rowsUpdated.add(count);
+        return count;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        long start = System.nanoTime();
+        int[] counts;
+        try {
+            counts = delegate().executeBatch();
+        } catch (SQLException | RuntimeException e) {
+            metrics.errors.increment();
+            throw e;
+        } finally {
+            metrics.execute.record(System.nanoTime() - start);
+        }
+        long updated = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                updated += count;
+            }
+        }
+        metrics.rowsUpdated.add(updated);
+        return counts;
+    }
+
+}
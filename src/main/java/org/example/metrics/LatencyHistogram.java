@@ -0,0 +1,95 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets: values below 64 ns are counted
+ * exactly and larger values fall into 32 sub-buckets per power of two, so every reported
+ * percentile is within about 3% of the recorded value. Values above roughly two minutes are
+ * counted in the top bucket.
+ * <p>
+ * Recording is a single atomic increment on one of a few per-thread stripes plus two cheap
+ * updates for the sum and extremes, and never allocates.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int MAX_MAGNITUDE = 36;
+    private static final long MAX_TRACKABLE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final int STRIPES = Math.min(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        stripes[(int) Thread.currentThread().getId() & (STRIPES - 1)].getAndIncrement(bucketIndex(value));
+        totalNanos.add(value);
+        long min = minNanos.get();
+        while (value < min && !minNanos.compareAndSet(min, value)) {
+            min = minNanos.get();
+        }
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Copies the current counts; with {@code reset} the copied counts are removed from the
+     * histogram, so consecutive snapshots cover disjoint intervals.
+     */
+    public LatencySnapshot snapshot(boolean reset) {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long bucket = reset ? stripe.getAndSet(i, 0) : stripe.get(i);
+                counts[i] += bucket;
+                count += bucket;
+            }
+        }
+        long total = reset ? totalNanos.sumThenReset() : totalNanos.sum();
+        long min = reset ? minNanos.getAndSet(Long.MAX_VALUE) : minNanos.get();
+        long max = reset ? maxNanos.getAndSet(0) : maxNanos.get();
+        return new LatencySnapshot(counts, count, total, count == 0 ? 0 : min, max);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        long clamped = Math.min(value, MAX_TRACKABLE);
+        int magnitude = 63 - Long.numberOfLeadingZeros(clamped);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + (int) ((clamped >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the largest value counted in the bucket.
+     */
+    static long highestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int group = (index - LINEAR_LIMIT) / SUB_BUCKETS;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        int shift = group + 1;
+        return ((long) (SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+    }
+
+}
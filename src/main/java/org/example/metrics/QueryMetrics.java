@@ -0,0 +1,60 @@
+package org.example.metrics;
+
+import org.example.interfaces.DatabaseConnection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of per-statement metrics. Connections wrapped by {@link #instrument(DatabaseConnection)}
+ * record prepare, execute and fetch latency, errors and row counts against the normalised form of
+ * each SQL string, so statements that differ only in literals or whitespace share one entry.
+ * <p>
+ * The normalised form is computed once per distinct SQL string; after that, recording costs a map
+ * lookup per prepared statement and a few atomic increments per execution.
+ */
+public final class QueryMetrics {
+
+    private static final int MAX_CACHED_SQL = 10_000;
+
+    private final Map<String, StatementMetrics> bySql = new ConcurrentHashMap<>();
+    private final Map<String, StatementMetrics> byNormalizedSql = new ConcurrentHashMap<>();
+
+    public DatabaseConnection instrument(DatabaseConnection connection) {
+        return new InstrumentedConnection(connection, this);
+    }
+
+    public List<StatementStats> snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Returns the metrics of every statement seen so far, those with the most total execution time
+     * first. With {@code reset}, the counts returned are cleared, so consecutive snapshots cover
+     * disjoint intervals.
+     */
+    public List<StatementStats> snapshot(boolean reset) {
+        List<StatementStats> stats = new ArrayList<>(byNormalizedSql.size());
+        for (StatementMetrics metrics : byNormalizedSql.values()) {
+            stats.add(metrics.snapshot(reset));
+        }
+        stats.sort(Comparator.comparingLong((StatementStats s) -> s.getExecuteLatency().getTotalNanos()).reversed());
+        return stats;
+    }
+
+    StatementMetrics metricsFor(String sql) {
+        StatementMetrics metrics = bySql.get(sql);
+        if (metrics == null) {
+            metrics = byNormalizedSql.computeIfAbsent(SqlNormalizer.normalize(sql), StatementMetrics::new);
+            if (bySql.size() >= MAX_CACHED_SQL) {
+                bySql.clear();
+            }
+            bySql.put(sql, metrics);
+        }
+        return metrics;
+    }
+
+}
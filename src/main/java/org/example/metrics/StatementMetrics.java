@@ -0,0 +1,29 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for one normalised SQL string.
+ */
+final class StatementMetrics {
+
+    final String sql;
+    final LatencyHistogram prepare = new LatencyHistogram();
+    final LatencyHistogram execute = new LatencyHistogram();
+    final LatencyHistogram fetch = new LatencyHistogram();
+    final LongAdder errors = new LongAdder();
+    final LongAdder rowsFetched = new LongAdder();
+    final LongAdder rowsUpdated = new LongAdder();
+
+    StatementMetrics(String sql) {
+        this.sql = sql;
+    }
+
+    StatementStats snapshot(boolean reset) {
+        return new StatementStats(sql, prepare.snapshot(reset), execute.snapshot(reset), fetch.snapshot(reset),
+                reset ? errors.sumThenReset() : errors.sum(),
+                reset ? rowsFetched.sumThenReset() : rowsFetched.sum(),
+                reset ? rowsUpdated.sumThenReset() : rowsUpdated.sum());
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.example.metrics;
+
+/**
+ * Snapshot of the metrics recorded for one normalised SQL string. Fetch latency is the time spent
+ * in {@code next()} over a whole result set, recorded once per result set.
+ */
+public final class StatementStats {
+
+    private final String sql;
+    private final LatencySnapshot prepareLatency;
+    private final LatencySnapshot executeLatency;
+    private final LatencySnapshot fetchLatency;
+    private final long errors;
+    private final long rowsFetched;
+    private final long rowsUpdated;
+
+    StatementStats(String sql, LatencySnapshot prepareLatency, LatencySnapshot executeLatency,
+                   LatencySnapshot fetchLatency, long errors, long rowsFetched, long rowsUpdated) {
+        this.sql = sql;
+        this.prepareLatency = prepareLatency;
+        this.executeLatency = executeLatency;
+        this.fetchLatency = fetchLatency;
+        this.errors = errors;
+        this.rowsFetched = rowsFetched;
+        this.rowsUpdated = rowsUpdated;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutions() {
+        return executeLatency.getCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public LatencySnapshot getPrepareLatency() {
+        return prepareLatency;
+    }
+
+    public LatencySnapshot getExecuteLatency() {
+        return executeLatency;
+    }
+
+    public LatencySnapshot getFetchLatency() {
+        return fetchLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementStats{sql=" + sql + ", executions=" + getExecutions() + ", errors=" + errors
+                + ", rowsFetched=" + rowsFetched + ", rowsUpdated=" + rowsUpdated
+                + ", execute=" + executeLatency + ", fetch=" + fetchLatency + "}";
+    }
+
+}
@@ -0,0 +1,415 @@
+package org.example.pool;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pool of {@link DatabaseConnection}s created by a {@link DatabaseConnectionProvider}.
+ * <p>
+ * Borrowing first tries the connection the calling thread used last, then scans the pool from a
+ * random offset, claiming an idle connection by compare-and-set. Only when the pool is exhausted
+ * does a borrower park, waiting for a returning thread to hand a connection over directly. Closing
+ * a borrowed connection returns it to the pool.
+ */
+public class ConnectionPool implements DatabaseConnectionProvider, AutoCloseable {
+
+    static final int UNCHANGED_ISOLATION = -1;
+
+    private final DatabaseConnectionProvider factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final int validationTimeoutSeconds;
+    private final boolean validateOnBorrow;
+
+    private final CopyOnWriteArrayList<PoolEntry> entries = new CopyOnWriteArrayList<>();
+    private final AtomicInteger totalSize = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final SynchronousQueue<PoolEntry> handoff = new SynchronousQueue<>(true);
+    private final ThreadLocal<PoolEntry> lastUsed = new ThreadLocal<>();
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    private ConnectionPool(Builder builder) throws SQLException {
+        this.factory = builder.factory;
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.borrowTimeoutNanos = builder.borrowTimeout.toNanos();
+        this.idleTimeoutNanos = builder.idleTimeout.toNanos();
+        this.validationTimeoutSeconds = (int) Math.max(1, builder.validationTimeout.toSeconds());
+        this.validateOnBorrow = builder.validateOnBorrow;
+        fillToMinimum();
+        long period = builder.housekeepingPeriod.toNanos();
+        if (period > 0) {
+            housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.NANOSECONDS);
+        } else {
+            housekeeper = null;
+        }
+    }
+
+    public static Builder builder(DatabaseConnectionProvider factory) {
+        return new Builder(factory);
+    }
+
+    @Override
+    public DatabaseConnection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        PoolEntry entry = acquire(start);
+        activeCount.incrementAndGet();
+        recordWait(System.nanoTime() - start);
+        return new PooledConnection(this, entry);
+    }
+
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(maxSize, totalSize.get(), activeCount.get(), waiters.get(),
+                borrowCount.sum(), timeoutCount.sum(), totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        SQLException failure = null;
+        for (PoolEntry entry : entries) {
+            if (entry.remove()) {
+                try {
+                    destroy(entry);
+                } catch (SQLException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    void release(PoolEntry entry, boolean autoCommitChanged, int originalIsolation, Boolean originalReadOnly)
+            throws SQLException {
+        activeCount.decrementAndGet();
+        boolean reset = autoCommitChanged || originalIsolation != UNCHANGED_ISOLATION || originalReadOnly != null;
+        if (reset && !closed) {
+            try {
+                if (autoCommitChanged) {
+                    entry.connection.rollback();
+                    entry.connection.setAutoCommit(true);
+                }
+                if (originalIsolation != UNCHANGED_ISOLATION) {
+                    entry.connection.setTransactionIsolation(originalIsolation);
+                }
+                if (originalReadOnly != null) {
+                    entry.connection.setReadOnly(originalReadOnly);
+                }
+            } catch (SQLException e) {
+                entry.markRemoved();
+                destroy(entry);
+                throw e;
+            }
+        }
+        if (closed) {
+            entry.markRemoved();
+            destroy(entry);
+            return;
+        }
+        entry.markIdle();
+        lastUsed.set(entry);
+        for (int spins = 0; waiters.get() > 0; spins++) {
+            if (entry.getState() != PoolEntry.IDLE || handoff.offer(entry)) {
+                return;
+            }
+            if ((spins & 0xff) == 0xff) {
+                LockSupport.parkNanos(10_000);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout while keeping at least
+     * the minimum pool size, then tops the pool back up to the minimum.
+     */
+    void housekeep() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PoolEntry entry : entries) {
+            if (totalSize.get() <= minSize) {
+                break;
+            }
+            if (now - entry.getLastReturnedNanos() > idleTimeoutNanos && entry.remove()) {
+                try {
+                    destroy(entry);
+                } catch (SQLException e) {
+                    // the connection is discarded either way
+                }
+            }
+        }
+        try {
+            fillToMinimum();
+        } catch (SQLException e) {
+            // retried on the next run
+        }
+    }
+
+    private PoolEntry acquire(long start) throws SQLException {
+        long deadline = start + borrowTimeoutNanos;
+        while (true) {
+            PoolEntry entry = reserveIdle();
+            if (entry == null) {
+                entry = create(PoolEntry.IN_USE);
+                if (entry != null) {
+                    return entry;
+                }
+            } else if (validate(entry)) {
+                return entry;
+            } else {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                timeoutCount.increment();
+                throw new SQLTransientConnectionException("Timed out after "
+                        + TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos) + " ms waiting for a connection; " + getMetrics());
+            }
+            waiters.incrementAndGet();
+            try {
+                // A connection may have been returned between the scan above and registering as a waiter.
+                entry = reserveIdle();
+                if (entry == null) {
+                    entry = handoff.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (entry != null && !entry.reserve()) {
+                        entry = null;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            } finally {
+                waiters.decrementAndGet();
+            }
+            if (closed) {
+                if (entry != null) {
+                    entry.markRemoved();
+                    destroy(entry);
+                }
+                throw new SQLException("Connection pool is closed");
+            }
+            if (entry != null && validate(entry)) {
+                return entry;
+            }
+        }
+    }
+
+    private PoolEntry reserveIdle() {
+        PoolEntry preferred = lastUsed.get();
+        if (preferred != null && preferred.reserve()) {
+            return preferred;
+        }
+        List<PoolEntry> snapshot = entries;
+        int size = snapshot.size();
+        if (size == 0) {
+            return null;
+        }
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            PoolEntry entry;
+            try {
+                entry = snapshot.get((offset + i) % size);
+            } catch (IndexOutOfBoundsException e) {
+                // an entry was removed concurrently
+                return null;
+            }
+            if (entry.reserve()) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private PoolEntry create(int initialState) throws SQLException {
+        int size;
+        do {
+            size = totalSize.get();
+            if (size >= maxSize) {
+                return null;
+            }
+        } while (!totalSize.compareAndSet(size, size + 1));
+        DatabaseConnection connection;
+        try {
+            connection = factory.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            totalSize.decrementAndGet();
+            throw e;
+        }
+        if (connection == null) {
+            totalSize.decrementAndGet();
+            throw new SQLException("Connection factory returned null");
+        }
+        PoolEntry entry = new PoolEntry(connection, initialState);
+        entries.add(entry);
+        return entry;
+    }
+
+    private boolean validate(PoolEntry entry) {
+        if (!validateOnBorrow) {
+            return true;
+        }
+        try {
+            if (entry.connection.isValid(validationTimeoutSeconds)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            // treated as an invalid connection
+        }
+        entry.markRemoved();
+        try {
+            destroy(entry);
+        } catch (SQLException e) {
+            // the connection is discarded either way
+        }
+        return false;
+    }
+
+    private void destroy(PoolEntry entry) throws SQLException {
+        if (entries.remove(entry)) {
+            totalSize.decrementAndGet();
+        }
+        if (lastUsed.get() == entry) {
+            lastUsed.remove();
+        }
+        entry.connection.close();
+    }
+
+    private void fillToMinimum() throws SQLException {
+        while (!closed && totalSize.get() < minSize) {
+            PoolEntry entry = create(PoolEntry.IDLE);
+            if (entry == null) {
+                return;
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        borrowCount.increment();
+        totalWaitNanos.add(waitNanos);
+        long max = maxWaitNanos.get();
+        while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = maxWaitNanos.get();
+        }
+    }
+
+    public static final class Builder {
+
+        private final DatabaseConnectionProvider factory;
+        private int minSize = 0;
+        private int maxSize = 10;
+        private Duration borrowTimeout = Duration.ofSeconds(30);
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration validationTimeout = Duration.ofSeconds(5);
+        private Duration housekeepingPeriod = Duration.ofSeconds(30);
+        private boolean validateOnBorrow = true;
+
+        private Builder(DatabaseConnectionProvider factory) {
+            if (factory == null) {
+                throw new IllegalArgumentException("Connection factory cannot be null");
+            }
+            this.factory = factory;
+        }
+
+        public Builder minSize(int minSize) {
+            this.minSize = minSize;
+            return this;
+        }
+
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder borrowTimeout(Duration borrowTimeout) {
+            this.borrowTimeout = borrowTimeout;
+            return this;
+        }
+
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        public Builder validationTimeout(Duration validationTimeout) {
+            this.validationTimeout = validationTimeout;
+            return this;
+        }
+
+        public Builder validateOnBorrow(boolean validateOnBorrow) {
+            this.validateOnBorrow = validateOnBorrow;
+            return this;
+        }
+
+        /**
+         * How often idle connections are evicted and the pool is refilled; {@link Duration#ZERO}
+         * disables the background housekeeper.
+         */
+        public Builder housekeepingPeriod(Duration housekeepingPeriod) {
+            this.housekeepingPeriod = housekeepingPeriod;
+            return this;
+        }
+
+        public ConnectionPool build() throws SQLException {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("Maximum pool size must be positive");
+            }
+            if (minSize < 0 || minSize > maxSize) {
+                throw new IllegalArgumentException("Minimum pool size must be between 0 and the maximum size");
+            }
+            if (borrowTimeout == null || borrowTimeout.isNegative()
+                    || idleTimeout == null || idleTimeout.isNegative()
+                    || validationTimeout == null || validationTimeout.isNegative()
+                    || housekeepingPeriod == null || housekeepingPeriod.isNegative()) {
+                throw new IllegalArgumentException("Pool timeouts cannot be null or negative");
+            }
+            return new ConnectionPool(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.example.pool;
+
+import org.example.interfaces.DatabaseConnection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A physical connection owned by a {@link ConnectionPool}. Ownership changes hands by
+ * compare-and-set on {@link #state}, so borrowing never takes a lock.
+ */
+final class PoolEntry {
+
+    static final int IDLE = 0;
+    static final int IN_USE = 1;
+    static final int REMOVED = -1;
+
+    final DatabaseConnection connection;
+    private final AtomicInteger state;
+    private volatile long lastReturnedNanos;
+
+    PoolEntry(DatabaseConnection connection, int initialState) {
+        this.connection = connection;
+        this.state = new AtomicInteger(initialState);
+        this.lastReturnedNanos = System.nanoTime();
+    }
+
+    boolean reserve() {
+        return state.get() == IDLE && state.compareAndSet(IDLE, IN_USE);
+    }
+
+    boolean remove() {
+        return state.compareAndSet(IDLE, REMOVED);
+    }
+
+    void markIdle() {
+        lastReturnedNanos = System.nanoTime();
+        state.set(IDLE);
+    }
+
+    void markRemoved() {
+        state.set(REMOVED);
+    }
+
+    int getState() {
+        return state.get();
+    }
+
+    long getLastReturnedNanos() {
+        return lastReturnedNanos;
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.example.pool;
+
+/**
+ * Point-in-time snapshot of a {@link ConnectionPool}'s size, borrow wait times and saturation.
+ */
+public final class PoolMetrics {
+
+    private final int maxSize;
+    private final int totalConnections;
+    private final int activeConnections;
+    private final int waitingThreads;
+    private final long borrowCount;
+    private final long timeoutCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    PoolMetrics(int maxSize, int totalConnections, int activeConnections, int waitingThreads,
+                long borrowCount, long timeoutCount, long totalWaitNanos, long maxWaitNanos) {
+        this.maxSize = maxSize;
+        this.totalConnections = totalConnections;
+        this.activeConnections = activeConnections;
+        this.waitingThreads = waitingThreads;
+        this.borrowCount = borrowCount;
+        this.timeoutCount = timeoutCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return Math.max(0, totalConnections - activeConnections);
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public double getAverageWaitNanos() {
+        return borrowCount == 0 ? 0 : (double) totalWaitNanos / borrowCount;
+    }
+
+    /**
+     * Fraction of the maximum pool size currently lent out; {@code 1.0} means borrowers have to wait.
+     */
+    public double getSaturation() {
+        return (double) activeConnections / maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{total=" + totalConnections + ", active=" + activeConnections
+                + ", waiting=" + waitingThreads + ", max=" + maxSize + ", borrows=" + borrowCount
+                + ", timeouts=" + timeoutCount + ", maxWaitNanos=" + maxWaitNanos + "}";
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.example.pool;
+
+import org.example.adapters.DelegatingConnection;
+import org.example.interfaces.DatabaseConnection;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle given to one borrower of a pooled connection. Closing the handle returns the
+ * physical connection to the pool; the handle cannot be used afterwards. Transaction settings the
+ * borrower changed are restored first, so the next borrower starts from the pool's defaults.
+ */
+final class PooledConnection extends DelegatingConnection {
+
+    private final ConnectionPool pool;
+    private final PoolEntry entry;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private boolean autoCommitChanged;
+    private int originalIsolation = ConnectionPool.UNCHANGED_ISOLATION;
+    private Boolean originalReadOnly;
+
+    PooledConnection(ConnectionPool pool, PoolEntry entry) {
+        super(entry.connection);
+        this.pool = pool;
+        this.entry = entry;
+    }
+
+    @Override
+    protected DatabaseConnection delegate() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection has already been returned to the pool");
+        }
+        return entry.connection;
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        delegate().setAutoCommit(autoCommit);
+        autoCommitChanged = !autoCommit;
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        DatabaseConnection connection = delegate();
+        if (originalIsolation == ConnectionPool.UNCHANGED_ISOLATION) {
+            originalIsolation = connection.getTransactionIsolation();
+        }
+        connection.setTransactionIsolation(level);
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        DatabaseConnection connection = delegate();
+        if (originalReadOnly == null) {
+            originalReadOnly = connection.isReadOnly();
+        }
+        connection.setReadOnly(readOnly);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed.compareAndSet(false, true)) {
+            pool.release(entry, autoCommitChanged, originalIsolation, originalReadOnly);
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed.get() || entry.connection.isClosed();
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.example.replay;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+import org.example.io.ValueCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A capture file written by {@link CaptureWriter}, memory-mapped for replay. Opening the file
+ * indexes its records by SQL and parameters; the rows themselves stay in the mapping and are decoded
+ * in place as a replayed result set is read.
+ * <p>
+ * Connections returned by {@link #getConnection()} answer each statement with the recorded outcome
+ * for the same SQL and parameters (bound with the same Java types), in recording order; once a
+ * connection has used up the recordings for a statement, the last one is repeated. A trailing
+ * record cut short by a crash while recording is ignored. Captures are limited to 2 GB.
+ */
+public final class Capture implements DatabaseConnectionProvider, AutoCloseable {
+
+    static final class Interaction {
+
+        final int body;
+        final boolean failed;
+
+        Interaction(int body, boolean failed) {
+            this.body = body;
+            this.failed = failed;
+        }
+
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final Map<InteractionKey, Interaction[]> interactions;
+    private final int interactionCount;
+
+    private Capture(FileChannel channel, ByteBuffer buffer, Map<InteractionKey, Interaction[]> interactions,
+                    int interactionCount) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.interactions = interactions;
+        this.interactionCount = interactionCount;
+    }
+
+    public static Capture open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Capture " + path + " is larger than 2 GB");
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < CaptureFormat.HEADER_SIZE || buffer.getInt(0) != CaptureFormat.MAGIC) {
+                throw new IOException(path + " is not a capture file");
+            }
+            if (buffer.getShort(4) != CaptureFormat.VERSION) {
+                throw new IOException("Unsupported capture version " + buffer.getShort(4) + " in " + path);
+            }
+            Map<InteractionKey, List<Interaction>> index = new HashMap<>();
+            int count = 0;
+            int position = CaptureFormat.HEADER_SIZE;
+            int limit = buffer.limit();
+            while (position <= limit - 4) {
+                int start = position + 4;
+                int length = buffer.getInt(position);
+                if (length < 2 || length > limit - start) {
+                    break;
+                }
+                byte kind = buffer.get(start);
+                boolean failed = buffer.get(start + 1) != 0;
+                int cursor = start + 2;
+                String sql = (String) ValueCodec.read(buffer, cursor);
+                cursor = ValueCodec.next(buffer, cursor);
+                byte[] parameters = new byte[buffer.getInt(cursor)];
+                buffer.get(cursor + 4, parameters);
+                cursor += 4 + parameters.length;
+                index.computeIfAbsent(new InteractionKey(kind, sql, parameters), key -> new ArrayList<>())
+                        .add(new Interaction(cursor, failed));
+                count++;
+                position = start + length;
+            }
+            Map<InteractionKey, Interaction[]> interactions = new HashMap<>(index.size() * 2);
+            index.forEach((key, list) -> interactions.put(key, list.toArray(new Interaction[0])));
+            return new Capture(channel, buffer, interactions, count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public DatabaseConnection getConnection() {
+        return new ReplayConnection(this);
+    }
+
+    /**
+     * Returns the number of recorded statement executions.
+     */
+    public int getInteractionCount() {
+        return interactionCount;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released once it is no longer reachable, so result sets
+     * still being replayed stay readable.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    Interaction[] interactions(InteractionKey key) {
+        return interactions.get(key);
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.example.replay;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Layout of a capture file. After a six-byte header (magic, version) the file is a sequence of
+ * length-prefixed records, one per executed statement:
+ * <pre>
+ * int    length of the rest of the record
+ * byte   kind: QUERY, UPDATE or BATCH
+ * byte   1 if the execution failed
+ * value  SQL string
+ * int    length of the parameter section, followed by the section itself
+ * ...    body
+ * </pre>
+ * The parameter section of a query or update is the parameter count followed by the values; for a
+ * batch it is the row count followed by each row's section. A failure body holds the SQL state,
+ * message and vendor code. A successful query body holds the column count, each column's label and
+ * SQL type, the row count and then the rows' values; an update body holds the update count and a
+ * batch body the number of counts followed by the counts. Values use {@link org.example.io.ValueCodec}.
+ */
+final class CaptureFormat {
+
+    static final int MAGIC = 0x4A575243;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 6;
+
+    static final byte QUERY = 1;
+    static final byte UPDATE = 2;
+    static final byte BATCH = 3;
+
+    private CaptureFormat() {
+    }
+
+    static String kindName(byte kind) {
+        switch (kind) {
+            case QUERY:
+                return "query";
+            case UPDATE:
+                return "update";
+            default:
+                return "batch";
+        }
+    }
+
+    static void setParameter(List<Object> parameters, int index, Object value) throws SQLException {
+        if (index < 1) {
+            throw new SQLException("Parameter index must be positive");
+        }
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, value);
+    }
+
+    static byte[] encodeParameters(List<Object> parameters) {
+        RecordBuffer buffer = new RecordBuffer();
+        buffer.writeInt(parameters.size());
+        for (Object parameter : parameters) {
+            buffer.writeValue(parameter);
+        }
+        return buffer.toByteArray();
+    }
+
+    static byte[] encodeBatch(List<byte[]> rows) {
+        RecordBuffer buffer = new RecordBuffer();
+        buffer.writeInt(rows.size());
+        for (byte[] row : rows) {
+            buffer.write(row, 0, row.length);
+        }
+        return buffer.toByteArray();
+    }
+
+    static RecordBuffer start(byte kind, boolean failed, String sql, byte[] parameters) {
+        RecordBuffer buffer = new RecordBuffer();
+        buffer.writeByte(kind);
+        buffer.writeByte(failed ? 1 : 0);
+        buffer.writeValue(sql);
+        buffer.writeInt(parameters.length);
+        buffer.write(parameters, 0, parameters.length);
+        return buffer;
+    }
+
+    static RecordBuffer failure(byte kind, String sql, byte[] parameters, SQLException exception) {
+        RecordBuffer buffer = start(kind, true, sql, parameters);
+        buffer.writeValue(exception.getSQLState());
+        buffer.writeValue(exception.getMessage());
+        buffer.writeInt(exception.getErrorCode());
+        return buffer;
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.example.replay;
+
+import org.example.interfaces.DatabaseConnection;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+
+/**
+ * Append-only writer of a capture file. Connections wrapped by {@link #record(DatabaseConnection)}
+ * append one record per executed statement; a query is appended once its result set is exhausted
+ * or closed. Writers are safe to share between connections and threads.
+ */
+public final class CaptureWriter implements AutoCloseable {
+
+    private final DataOutputStream out;
+    private boolean closed;
+
+    private CaptureWriter(DataOutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates the capture file, replacing any existing file at {@code path}.
+     */
+    public static CaptureWriter create(Path path) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), 1 << 16));
+        out.writeInt(CaptureFormat.MAGIC);
+        out.writeShort(CaptureFormat.VERSION);
+        return new CaptureWriter(out);
+    }
+
+    /**
+     * Returns a connection that forwards to {@code connection} and records every statement it runs.
+     */
+    public DatabaseConnection record(DatabaseConnection connection) {
+        return new RecordingConnection(connection, this);
+    }
+
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            out.close();
+        }
+    }
+
+    synchronized void append(RecordBuffer... parts) throws SQLException {
+        if (closed) {
+            throw new SQLException("Capture writer is closed");
+        }
+        int length = 0;
+        for (RecordBuffer part : parts) {
+            length += part.size();
+        }
+        try {
+            out.writeInt(length);
+            for (RecordBuffer part : parts) {
+                part.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to write capture record", e);
+        }
+    }
+
+}
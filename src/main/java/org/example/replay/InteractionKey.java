@@ -0,0 +1,39 @@
+package org.example.replay;
+
+import java.util.Arrays;
+
+/**
+ * Identifies recorded executions by statement kind, SQL and encoded parameters.
+ */
+final class InteractionKey {
+
+    private final byte kind;
+    private final String sql;
+    private final byte[] parameters;
+    private final int hash;
+
+    InteractionKey(byte kind, String sql, byte[] parameters) {
+        this.kind = kind;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.hash = 31 * (31 * kind + sql.hashCode()) + Arrays.hashCode(parameters);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof InteractionKey)) {
+            return false;
+        }
+        InteractionKey key = (InteractionKey) other;
+        return kind == key.kind && hash == key.hash && sql.equals(key.sql) && Arrays.equals(parameters, key.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
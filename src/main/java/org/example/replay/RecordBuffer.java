@@ -0,0 +1,41 @@
+package org.example.replay;
+
+import org.example.io.ValueCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * In-memory buffer for one capture record, written to the file in a single append.
+ */
+final class RecordBuffer extends ByteArrayOutputStream {
+
+    private final DataOutputStream data = new DataOutputStream(this);
+
+    RecordBuffer() {
+        super(256);
+    }
+
+    void writeByte(int value) {
+        write(value);
+    }
+
+    void writeInt(int value) {
+        try {
+            data.writeInt(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeValue(Object value) {
+        try {
+            ValueCodec.write(data, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.example.replay;
+
+import org.example.adapters.DelegatingConnection;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+
+final class RecordingConnection extends DelegatingConnection {
+
+    private final CaptureWriter writer;
+
+    RecordingConnection(DatabaseConnection delegate, CaptureWriter writer) {
+        super(delegate);
+        this.writer = writer;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        return new RecordingStatement(delegate().prepareStatement(query), writer, query);
+    }
+
+}
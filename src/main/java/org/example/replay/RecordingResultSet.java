@@ -0,0 +1,115 @@
+package org.example.replay;
+
+import org.example.adapters.DelegatingResultSet;
+import org.example.interfaces.DatabaseResultSet;
+
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Copies every row the caller moves to into the capture, reading each column with the getter that
+ * matches its SQL type. The query record is appended once the rows are exhausted or the result set
+ * is closed; rows the caller never reached are not recorded.
+ */
+final class RecordingResultSet extends DelegatingResultSet {
+
+    private final CaptureWriter writer;
+    private final String sql;
+    private final byte[] parameters;
+    private final String[] labels;
+    private final int[] types;
+    private final RecordBuffer rows = new RecordBuffer();
+    private int rowCount;
+    private boolean finished;
+
+    RecordingResultSet(DatabaseResultSet delegate, CaptureWriter writer, String sql, byte[] parameters) throws SQLException {
+        super(delegate);
+        this.writer = writer;
+        this.sql = sql;
+        this.parameters = parameters;
+        int columnCount = delegate.getColumnCount();
+        this.labels = new String[columnCount];
+        this.types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = delegate.getColumnLabel(i + 1);
+            types[i] = delegate.getColumnType(i + 1);
+        }
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        boolean hasRow = delegate().next();
+        if (hasRow) {
+            for (int i = 0; i < types.length; i++) {
+                rows.writeValue(read(i + 1, types[i]));
+            }
+            rowCount++;
+        } else {
+            finish();
+        }
+        return hasRow;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            finish();
+        } finally {
+            delegate().close();
+        }
+    }
+
+    private Object read(int column, int type) throws SQLException {
+        DatabaseResultSet resultSet = delegate();
+        Object value;
+        switch (type) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                value = resultSet.getInt(column);
+                break;
+            case Types.BIGINT:
+                value = resultSet.getLong(column);
+                break;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                value = resultSet.getDouble(column);
+                break;
+            case Types.BIT:
+            case Types.BOOLEAN:
+                value = resultSet.getBoolean(column);
+                break;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                value = resultSet.getBytes(column);
+                break;
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                value = resultSet.getTimestamp(column);
+                break;
+            default:
+                value = resultSet.getString(column);
+                break;
+        }
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private void finish() throws SQLException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        RecordBuffer record = CaptureFormat.start(CaptureFormat.QUERY, false, sql, parameters);
+        record.writeInt(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            record.writeValue(labels[i]);
+            record.writeInt(types[i]);
+        }
+        record.writeInt(rowCount);
+        writer.append(record, rows);
+    }
+
+}
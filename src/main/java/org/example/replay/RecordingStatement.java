@@ -0,0 +1,127 @@
+package org.example.replay;
+
+import org.example.adapters.DelegatingStatement;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+final class RecordingStatement extends DelegatingStatement {
+
+    private final CaptureWriter writer;
+    private final String sql;
+    private final List<Object> parameters = new ArrayList<>();
+    private final List<byte[]> batch = new ArrayList<>();
+
+    RecordingStatement(DatabaseStatement delegate, CaptureWriter writer, String sql) {
+        super(delegate);
+        this.writer = writer;
+        this.sql = sql;
+    }
+
+    @Override
+    public void setParameter(int index, Object value) throws SQLException {
+        delegate().setParameter(index, value);
+        CaptureFormat.setParameter(parameters, index, value);
+    }
+
+    @Override
+    public void setInt(int index, int value) throws SQLException {
+        delegate().setInt(index, value);
+        CaptureFormat.setParameter(parameters, index, value);
+    }
+
+    @Override
+    public void setLong(int index, long value) throws SQLException {
+        delegate().setLong(index, value);
+        CaptureFormat.setParameter(parameters, index, value);
+    }
+
+    @Override
+    public void setDouble(int index, double value) throws SQLException {
+        delegate().setDouble(index, value);
+        CaptureFormat.setParameter(parameters, index, value);
+    }
+
+    @Override
+    public void setString(int index, String value) throws SQLException {
+        delegate().setString(index, value);
+        CaptureFormat.setParameter(parameters, index, value);
+    }
+
+    @Override
+    public void setBytes(int index, byte[] value) throws SQLException {
+        delegate().setBytes(index, value);
+        CaptureFormat.setParameter(parameters, index, value);
+    }
+
+    @Override
+    public void setNull(int index, int sqlType) throws SQLException {
+        delegate().setNull(index, sqlType);
+        CaptureFormat.setParameter(parameters, index, null);
+    }
+
+    @Override
+    public DatabaseResultSet executeQuery() throws SQLException {
+        byte[] key = CaptureFormat.encodeParameters(parameters);
+        DatabaseResultSet resultSet;
+        try {
+            resultSet = delegate().executeQuery();
+        } catch (SQLException e) {
+            throw recordFailure(CaptureFormat.QUERY, key, e);
+        }
+        return new RecordingResultSet(resultSet, writer, sql, key);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        byte[] key = CaptureFormat.encodeParameters(parameters);
+        int count;
+        try {
+            count = delegate().executeUpdate();
+        } catch (SQLException e) {
+            throw recordFailure(CaptureFormat.UPDATE, key, e);
+        }
+        RecordBuffer record = CaptureFormat.start(CaptureFormat.UPDATE, false, sql, key);
+        record.writeInt(count);
+        writer.append(record);
+        return count;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        delegate().addBatch();
+        batch.add(CaptureFormat.encodeParameters(parameters));
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        byte[] key = CaptureFormat.encodeBatch(batch);
+        batch.clear();
+        int[] counts;
+        try {
+            counts = delegate().executeBatch();
+        } catch (SQLException e) {
+            throw recordFailure(CaptureFormat.BATCH, key, e);
+        }
+        RecordBuffer record = CaptureFormat.start(CaptureFormat.BATCH, false, sql, key);
+        record.writeInt(counts.length);
+        for (int count : counts) {
+            record.writeInt(count);
+        }
+        writer.append(record);
+        return counts;
+    }
+
+    private SQLException recordFailure(byte kind, byte[] key, SQLException failure) {
+        try {
+            writer.append(CaptureFormat.failure(kind, sql, key, failure));
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+        return failure;
+    }
+
+}
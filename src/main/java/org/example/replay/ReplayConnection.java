@@ -0,0 +1,167 @@
+package org.example.replay;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection answering statements from a {@link Capture}. Transaction calls are accepted and have
+ * no effect, since the recorded outcomes already reflect them.
+ */
+final class ReplayConnection implements DatabaseConnection {
+
+    private final Capture capture;
+    private final Map<InteractionKey, Integer> replayed = new HashMap<>();
+    private boolean autoCommit = true;
+    private int isolation = Connection.TRANSACTION_READ_COMMITTED;
+    private boolean readOnly;
+    private int savepoints;
+    private volatile boolean closed;
+
+    ReplayConnection(Capture capture) {
+        this.capture = capture;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        checkOpen();
+        if (query == null) {
+            throw new SQLException("Query cannot be null");
+        }
+        return new ReplayStatement(this, capture.buffer(), query);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        checkOpen();
+        return autoCommit;
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        checkOpen();
+        this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        checkOpen();
+        int id = ++savepoints;
+        return new Savepoint() {
+            @Override
+            public int getSavepointId() throws SQLException {
+                if (name != null) {
+                    throw new SQLException("Savepoint is named");
+                }
+                return id;
+            }
+
+            @Override
+            public String getSavepointName() throws SQLException {
+                if (name == null) {
+                    throw new SQLException("Savepoint is not named");
+                }
+                return name;
+            }
+        };
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        checkOpen();
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        checkOpen();
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        checkOpen();
+        return isolation;
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        checkOpen();
+        isolation = level;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        checkOpen();
+        return readOnly;
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen();
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isValid(int timeoutSeconds) throws SQLException {
+        if (timeoutSeconds < 0) {
+            throw new SQLException("Timeout cannot be negative");
+        }
+        return !closed;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new SQLException("Connection does not wrap " + type.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return type.isInstance(this);
+    }
+
+    synchronized Capture.Interaction next(byte kind, String sql, byte[] parameters) throws SQLException {
+        checkOpen();
+        InteractionKey key = new InteractionKey(kind, sql, parameters);
+        Capture.Interaction[] recorded = capture.interactions(key);
+        if (recorded == null) {
+            throw new SQLException("No recorded " + CaptureFormat.kindName(kind) + " for \"" + sql
+                    + "\" with the bound parameters");
+        }
+        int count = replayed.merge(key, 1, Integer::sum);
+        return recorded[Math.min(count, recorded.length) - 1];
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection is closed");
+        }
+    }
+
+}
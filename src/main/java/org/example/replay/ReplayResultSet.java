@@ -0,0 +1,53 @@
+package org.example.replay;
+
+import org.example.io.EncodedResultSet;
+import org.example.io.ValueCodec;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+/**
+ * Result set reading recorded rows straight out of the capture mapping.
+ */
+final class ReplayResultSet extends EncodedResultSet {
+
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private int row = -1;
+    private int nextRow;
+
+    private ReplayResultSet(ByteBuffer buffer, String[] labels, int[] types, int position) {
+        super(labels, types);
+        this.buffer = buffer;
+        this.rowCount = buffer.getInt(position);
+        this.nextRow = position + 4;
+    }
+
+    static ReplayResultSet read(ByteBuffer buffer, int position) {
+        int columnCount = buffer.getInt(position);
+        position += 4;
+        String[] labels = new String[columnCount];
+        int[] types = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = (String) ValueCodec.read(buffer, position);
+            position = ValueCodec.next(buffer, position);
+            types[i] = buffer.getInt(position);
+            position += 4;
+        }
+        return new ReplayResultSet(buffer, labels, types, position);
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        checkOpen();
+        if (row + 1 >= rowCount) {
+            row = rowCount;
+            clearRow();
+            return false;
+        }
+        row++;
+        nextRow = moveTo(buffer, nextRow);
+        return true;
+    }
+
+}
@@ -0,0 +1,140 @@
+package org.example.replay;
+
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.example.io.ValueCodec;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+final class ReplayStatement implements DatabaseStatement {
+
+    private final ReplayConnection connection;
+    private final ByteBuffer buffer;
+    private final String sql;
+    private final List<Object> parameters = new ArrayList<>();
+    private final List<byte[]> batch = new ArrayList<>();
+    private boolean closed;
+
+    ReplayStatement(ReplayConnection connection, ByteBuffer buffer, String sql) {
+        this.connection = connection;
+        this.buffer = buffer;
+        this.sql = sql;
+    }
+
+    @Override
+    public void setParameter(int index, Object value) throws SQLException {
+        checkOpen();
+        CaptureFormat.setParameter(parameters, index, value);
+    }
+
+    @Override
+    public void setInt(int index, int value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setLong(int index, long value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setDouble(int index, double value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setString(int index, String value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setBytes(int index, byte[] value) throws SQLException {
+        setParameter(index, value);
+    }
+
+    @Override
+    public void setNull(int index, int sqlType) throws SQLException {
+        setParameter(index, null);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        checkOpen();
+        if (rows < 0) {
+            throw new SQLException("Fetch size cannot be negative");
+        }
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        checkOpen();
+        if (seconds < 0) {
+            throw new SQLException("Query timeout cannot be negative");
+        }
+    }
+
+    @Override
+    public DatabaseResultSet executeQuery() throws SQLException {
+        int body = replay(CaptureFormat.QUERY, CaptureFormat.encodeParameters(parameters));
+        return ReplayResultSet.read(buffer, body);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        int body = replay(CaptureFormat.UPDATE, CaptureFormat.encodeParameters(parameters));
+        return buffer.getInt(body);
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        checkOpen();
+        batch.add(CaptureFormat.encodeParameters(parameters));
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        byte[] key = CaptureFormat.encodeBatch(batch);
+        batch.clear();
+        int body = replay(CaptureFormat.BATCH, key);
+        int[] counts = new int[buffer.getInt(body)];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buffer.getInt(body + 4 + 4 * i);
+        }
+        return counts;
+    }
+
+    @Override
+    public void cancel() {
+        // replayed executions complete immediately
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        batch.clear();
+    }
+
+    private int replay(byte kind, byte[] key) throws SQLException {
+        checkOpen();
+        Capture.Interaction interaction = connection.next(kind, sql, key);
+        if (interaction.failed) {
+            int position = interaction.body;
+            String sqlState = (String) ValueCodec.read(buffer, position);
+            position = ValueCodec.next(buffer, position);
+            String message = (String) ValueCodec.read(buffer, position);
+            position = ValueCodec.next(buffer, position);
+            throw new SQLException(message, sqlState, buffer.getInt(position));
+        }
+        return interaction.body;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Statement is closed");
+        }
+    }
+
+}
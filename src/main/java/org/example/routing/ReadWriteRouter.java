@@ -0,0 +1,203 @@
+package org.example.routing;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits reads from writes across a primary database and its read replicas. Connections handed out
+ * by the router send queries to a replica and updates, batches and everything inside a
+ * transaction to the primary, borrowing connections from the corresponding providers (typically
+ * {@link org.example.pool.ConnectionPool}s) as needed.
+ * <p>
+ * A replica is chosen by the fewest outstanding queries or by the lowest latency estimate, an
+ * exponentially weighted moving average scaled by the queries in flight. A replica that fails with
+ * a connection error {@code failureThreshold} times in a row is ejected for the ejection period
+ * and then tried again; the failed query moves on to another replica, or to the primary when none
+ * is left. After a connection writes, its reads go to the primary for the read-your-writes window,
+ * so it sees its own changes despite replication lag.
+ */
+public class ReadWriteRouter implements DatabaseConnectionProvider {
+
+    public enum Selection {
+        LEAST_OUTSTANDING,
+        LATENCY_EWMA
+    }
+
+    private final DatabaseConnectionProvider primary;
+    private final Replica[] replicas;
+    private final Selection selection;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final long readYourWritesNanos;
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    private ReadWriteRouter(Builder builder) {
+        this.primary = builder.primary;
+        this.replicas = new Replica[builder.replicas.size()];
+        for (int i = 0; i < replicas.length; i++) {
+            replicas[i] = new Replica(builder.replicas.get(i));
+        }
+        this.selection = builder.selection;
+        this.failureThreshold = builder.failureThreshold;
+        this.ejectionNanos = builder.ejectionPeriod.toNanos();
+        this.readYourWritesNanos = builder.readYourWritesWindow.toNanos();
+    }
+
+    public static Builder builder(DatabaseConnectionProvider primary) {
+        return new Builder(primary);
+    }
+
+    /**
+     * Returns a routing connection. It borrows a primary connection on first use and keeps it until
+     * closed; replica connections are borrowed per query and returned when its result set closes.
+     */
+    @Override
+    public DatabaseConnection getConnection() {
+        return new RoutingConnection(this);
+    }
+
+    public int getReplicaCount() {
+        return replicas.length;
+    }
+
+    /**
+     * Returns the number of replicas not currently ejected.
+     */
+    public int getAvailableReplicaCount() {
+        long now = System.nanoTime();
+        int available = 0;
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    DatabaseConnectionProvider primary() {
+        return primary;
+    }
+
+    long readYourWritesNanos() {
+        return readYourWritesNanos;
+    }
+
+    /**
+     * Returns the best available replica not in {@code excluded}, or {@code null} if there is none.
+     * Ties go to the replica after the one the previous selection started from.
+     */
+    Replica select(Set<Replica> excluded) {
+        long now = System.nanoTime();
+        int start = Math.floorMod(nextStart.getAndIncrement(), Math.max(1, replicas.length));
+        Replica best = null;
+        double bestScore = 0;
+        for (int i = 0; i < replicas.length; i++) {
+            Replica replica = replicas[(start + i) % replicas.length];
+            if ((excluded != null && excluded.contains(replica)) || !replica.isAvailable(now)) {
+                continue;
+            }
+            double score = replica.score(selection);
+            if (best == null || score < bestScore) {
+                best = replica;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    void failed(Replica replica) {
+        replica.failed(System.nanoTime(), failureThreshold, ejectionNanos);
+    }
+
+    /**
+     * Returns whether {@code e} means the replica could not be reached, as opposed to a problem with
+     * the query itself.
+     */
+    static boolean isConnectionFailure(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransientConnectionException
+                || e instanceof SQLNonTransientConnectionException
+                || e instanceof SQLRecoverableException
+                || (state != null && state.startsWith("08"));
+    }
+
+    public static final class Builder {
+
+        private final DatabaseConnectionProvider primary;
+        private final List<DatabaseConnectionProvider> replicas = new ArrayList<>();
+        private Selection selection = Selection.LEAST_OUTSTANDING;
+        private int failureThreshold = 1;
+        private Duration ejectionPeriod = Duration.ofSeconds(30);
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        private Builder(DatabaseConnectionProvider primary) {
+            if (primary == null) {
+                throw new IllegalArgumentException("Primary connection provider cannot be null");
+            }
+            this.primary = primary;
+        }
+
+        public Builder replica(DatabaseConnectionProvider replica) {
+            if (replica == null) {
+                throw new IllegalArgumentException("Replica connection provider cannot be null");
+            }
+            replicas.add(replica);
+            return this;
+        }
+
+        public Builder selection(Selection selection) {
+            this.selection = selection;
+            return this;
+        }
+
+        /**
+         * Sets how many consecutive connection failures eject a replica.
+         */
+        public Builder failureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        public Builder ejectionPeriod(Duration ejectionPeriod) {
+            this.ejectionPeriod = ejectionPeriod;
+            return this;
+        }
+
+        /**
+         * Sets how long a connection keeps reading from the primary after it writes;
+         * {@link Duration#ZERO} sends reads outside transactions to replicas right away.
+         */
+        public Builder readYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+            return this;
+        }
+
+        public ReadWriteRouter build() {
+            if (selection == null) {
+                throw new IllegalArgumentException("Selection cannot be null");
+            }
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException("Failure threshold must be positive");
+            }
+            if (ejectionPeriod == null || ejectionPeriod.isNegative()) {
+                throw new IllegalArgumentException("Ejection period cannot be negative");
+            }
+            if (readYourWritesWindow == null || readYourWritesWindow.isNegative()) {
+                throw new IllegalArgumentException("Read-your-writes window cannot be negative");
+            }
+            return new ReadWriteRouter(this);
+        }
+
+    }
+
+}
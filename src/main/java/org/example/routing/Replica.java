@@ -0,0 +1,59 @@
+package org.example.routing;
+
+import org.example.interfaces.DatabaseConnectionProvider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load and health of one read replica.
+ */
+final class Replica {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    final DatabaseConnectionProvider provider;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile double latencyNanos;
+    private volatile long ejectedUntil;
+    private volatile boolean ejected;
+    private int failures;
+
+    Replica(DatabaseConnectionProvider provider) {
+        this.provider = provider;
+    }
+
+    boolean isAvailable(long now) {
+        return !ejected || now - ejectedUntil >= 0;
+    }
+
+    double score(ReadWriteRouter.Selection selection) {
+        int inFlight = outstanding.get();
+        if (selection == ReadWriteRouter.Selection.LEAST_OUTSTANDING) {
+            return inFlight;
+        }
+        return latencyNanos * (inFlight + 1);
+    }
+
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    void finished() {
+        outstanding.decrementAndGet();
+    }
+
+    synchronized void succeeded(long latency) {
+        failures = 0;
+        ejected = false;
+        double current = latencyNanos;
+        latencyNanos = current == 0 ? latency : current + EWMA_WEIGHT * (latency - current);
+    }
+
+    synchronized void failed(long now, int threshold, long ejectionNanos) {
+        if (++failures >= threshold) {
+            ejectedUntil = now + ejectionNanos;
+            ejected = true;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.example.routing;
+
+import org.example.adapters.DelegatingResultSet;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+
+/**
+ * Result of a query run on a replica. Closing it also closes the replica statement, returns the
+ * replica connection and ends the query's outstanding count.
+ */
+final class ReplicaResultSet extends DelegatingResultSet {
+
+    private final DatabaseStatement statement;
+    private final DatabaseConnection connection;
+    private final Replica replica;
+    private boolean closed;
+
+    ReplicaResultSet(DatabaseResultSet delegate, DatabaseStatement statement, DatabaseConnection connection, Replica replica) {
+        super(delegate);
+        this.statement = statement;
+        this.connection = connection;
+        this.replica = replica;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            super.close();
+        } finally {
+            try {
+                statement.close();
+            } finally {
+                try {
+                    connection.close();
+                } finally {
+                    replica.finished();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package org.example.routing;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Connection handed out by a {@link ReadWriteRouter}. Transaction control and session settings
+ * apply to the primary connection, which is borrowed on first use.
+ */
+final class RoutingConnection implements DatabaseConnection {
+
+    private final ReadWriteRouter router;
+    private DatabaseConnection primary;
+    private boolean autoCommit = true;
+    private boolean wrote;
+    private long lastWrite;
+    private volatile boolean closed;
+
+    RoutingConnection(ReadWriteRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public DatabaseStatement prepareStatement(String query) throws SQLException {
+        checkOpen();
+        if (query == null) {
+            throw new SQLException("Query cannot be null");
+        }
+        return new RoutingStatement(this, router, query);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        checkOpen();
+        return autoCommit;
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        if (!autoCommit || primary != null) {
+            primary().setAutoCommit(autoCommit);
+        }
+        this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen();
+        if (primary != null) {
+            primary.commit();
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen();
+        if (primary != null) {
+            primary.rollback();
+        }
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return primary().setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        primary().rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        primary().releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return primary().getTransactionIsolation();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        primary().setTransactionIsolation(level);
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return primary().isReadOnly();
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        primary().setReadOnly(readOnly);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (primary != null) {
+            primary.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isValid(int timeoutSeconds) throws SQLException {
+        if (timeoutSeconds < 0) {
+            throw new SQLException("Timeout cannot be negative");
+        }
+        return !closed && (primary == null || primary.isValid(timeoutSeconds));
+    }
+
+    /**
+     * Unwraps to the primary connection only once it has been borrowed, so that probing for a
+     * driver type does not pin a primary connection to a connection that only reads.
+     */
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        checkOpen();
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        if (primary == null) {
+            throw new SQLException("Connection does not wrap " + type.getName());
+        }
+        return primary.unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) throws SQLException {
+        checkOpen();
+        return type.isInstance(this) || (primary != null && primary.isWrapperFor(type));
+    }
+
+    DatabaseConnection primary() throws SQLException {
+        checkOpen();
+        if (primary == null) {
+            primary = router.primary().getConnection();
+        }
+        return primary;
+    }
+
+    /**
+     * Returns whether reads must see this connection's own changes: inside a transaction, or
+     * within the read-your-writes window after a write.
+     */
+    boolean readsFromPrimary() {
+        return !autoCommit || (wrote && System.nanoTime() - lastWrite < router.readYourWritesNanos());
+    }
+
+    void written() {
+        wrote = true;
+        lastWrite = System.nanoTime();
+    }
+
+    void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection is closed", "08003");
+        }
+    }
+
+}
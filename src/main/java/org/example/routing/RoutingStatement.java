@@ -0,0 +1,243 @@
+package org.example.routing;
+
+import org.example.Parameters;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Statement whose target is chosen when it runs: queries go to a replica unless the connection
+ * must read from the primary, everything else goes to the primary. Parameters are held until then.
+ */
+final class RoutingStatement implements DatabaseStatement {
+
+    private final RoutingConnection connection;
+    private final ReadWriteRouter router;
+    private final String query;
+    private final Parameters parameters = new Parameters();
+    private int fetchSize;
+    private int queryTimeout;
+    private DatabaseStatement primaryStatement;
+    private DatabaseResultSet replicaResultSet;
+    private volatile DatabaseStatement running;
+    private boolean closed;
+
+    RoutingStatement(RoutingConnection connection, ReadWriteRouter router, String query) {
+        this.connection = connection;
+        this.router = router;
+        this.query = query;
+    }
+
+    @Override
+    public void setParameter(int index, Object value) throws SQLException {
+        checkIndex(index).setObject(index, value);
+    }
+
+    @Override
+    public void setInt(int index, int value) throws SQLException {
+        checkIndex(index).setInt(index, value);
+    }
+
+    @Override
+    public void setLong(int index, long value) throws SQLException {
+        checkIndex(index).setLong(index, value);
+    }
+
+    @Override
+    public void setDouble(int index, double value) throws SQLException {
+        checkIndex(index).setDouble(index, value);
+    }
+
+    @Override
+    public void setString(int index, String value) throws SQLException {
+        checkIndex(index).setString(index, value);
+    }
+
+    @Override
+    public void setBytes(int index, byte[] value) throws SQLException {
+        checkIndex(index).setBytes(index, value);
+    }
+
+    @Override
+    public void setNull(int index, int sqlType) throws SQLException {
+        checkIndex(index).setNull(index, sqlType);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        checkOpen();
+        if (rows < 0) {
+            throw new SQLException("Fetch size cannot be negative");
+        }
+        fetchSize = rows;
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        checkOpen();
+        if (seconds < 0) {
+            throw new SQLException("Query timeout cannot be negative");
+        }
+        queryTimeout = seconds;
+    }
+
+    @Override
+    public DatabaseResultSet executeQuery() throws SQLException {
+        checkOpen();
+        closeReplicaResultSet();
+        if (connection.readsFromPrimary()) {
+            return run(primaryStatement()).executeQuery();
+        }
+        Set<Replica> failed = null;
+        for (Replica replica = router.select(null); replica != null; replica = router.select(failed)) {
+            try {
+                replicaResultSet = queryReplica(replica);
+                return replicaResultSet;
+            } catch (SQLException e) {
+                if (!ReadWriteRouter.isConnectionFailure(e)) {
+                    throw e;
+                }
+                router.failed(replica);
+                if (failed == null) {
+                    failed = new HashSet<>();
+                }
+                failed.add(replica);
+            }
+        }
+        return run(primaryStatement()).executeQuery();
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        checkOpen();
+        int count = run(primaryStatement()).executeUpdate();
+        connection.written();
+        return count;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        checkOpen();
+        run(primaryStatement()).addBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        checkOpen();
+        DatabaseStatement statement = primaryStatement();
+        if (queryTimeout > 0) {
+            statement.setQueryTimeout(queryTimeout);
+        }
+        running = statement;
+        int[] counts = statement.executeBatch();
+        connection.written();
+        return counts;
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        DatabaseStatement statement = running;
+        if (statement != null) {
+            statement.cancel();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+        running = null;
+        try {
+            closeReplicaResultSet();
+        } finally {
+            if (primaryStatement != null) {
+                DatabaseStatement statement = primaryStatement;
+                primaryStatement = null;
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * Closes the result set of the previous replica query, if still open, returning its replica
+     * connection, as running the statement again or closing it closes its current result set.
+     */
+    private void closeReplicaResultSet() throws SQLException {
+        if (replicaResultSet != null) {
+            DatabaseResultSet resultSet = replicaResultSet;
+            replicaResultSet = null;
+            resultSet.close();
+        }
+    }
+
+    private DatabaseResultSet queryReplica(Replica replica) throws SQLException {
+        replica.started();
+        long started = System.nanoTime();
+        DatabaseConnection replicaConnection = null;
+        DatabaseStatement statement = null;
+        try {
+            replicaConnection = replica.provider.getConnection();
+            statement = replicaConnection.prepareStatement(query);
+            DatabaseResultSet resultSet = run(statement).executeQuery();
+            replica.succeeded(System.nanoTime() - started);
+            return new ReplicaResultSet(resultSet, statement, replicaConnection, replica);
+        } catch (SQLException | RuntimeException e) {
+            running = null;
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+                if (replicaConnection != null) {
+                    replicaConnection.close();
+                }
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            } finally {
+                replica.finished();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Binds the parameters, fetch size and query timeout to {@code statement} and records it as
+     * running.
+     */
+    private DatabaseStatement run(DatabaseStatement statement) throws SQLException {
+        if (fetchSize > 0) {
+            statement.setFetchSize(fetchSize);
+        }
+        if (queryTimeout > 0) {
+            statement.setQueryTimeout(queryTimeout);
+        }
+        parameters.bind(statement);
+        running = statement;
+        return statement;
+    }
+
+    private DatabaseStatement primaryStatement() throws SQLException {
+        if (primaryStatement == null) {
+            primaryStatement = connection.primary().prepareStatement(query);
+        }
+        return primaryStatement;
+    }
+
+    private Parameters checkIndex(int index) throws SQLException {
+        checkOpen();
+        if (index < 1) {
+            throw new SQLException("Parameter index must be positive", "07009");
+        }
+        return parameters;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Statement is closed", "HY010");
+        }
+        connection.checkOpen();
+    }
+
+}
@@ -0,0 +1,210 @@
+package org.example;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+import org.example.interfaces.DatabaseStatement;
+import org.example.memory.InMemoryDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncJdbcWrapperTest {
+
+    @Mock
+    private DatabaseConnectionProvider provider;
+
+    @Mock
+    private DatabaseConnection connection;
+
+    @Mock
+    private DatabaseStatement statement;
+
+    @Test
+    void testExecuteQueryAsync_ReturnsMappedRows() {
+        assertDoesNotThrow(() -> {
+            InMemoryDatabase database = new InMemoryDatabase();
+            try (AsyncJdbcWrapper wrapper = new AsyncJdbcWrapper(database, 4)) {
+                wrapper.executeUpdateAsync("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(20))", List.of()).get();
+                List<CompletableFuture<Integer>> inserts = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    inserts.add(wrapper.executeUpdateAsync("INSERT INTO users VALUES (?, ?)", List.of(i, "user" + i)));
+                }
+                CompletableFuture.allOf(inserts.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+                List<String> names = wrapper.executeQueryAsync("SELECT name FROM users WHERE id = ?", List.of(7),
+                        rs -> rs.getString("name")).get(10, TimeUnit.SECONDS);
+                assertEquals(List.of("user7"), names);
+                assertEquals(0, wrapper.getActiveCount());
+            }
+        });
+    }
+
+    @Test
+    void testExecuteUpdateAsync_LimitsConcurrency() {
+        assertDoesNotThrow(() -> {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            when(provider.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeUpdate()).thenAnswer(invocation -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return 1;
+            });
+            try (AsyncJdbcWrapper wrapper = new AsyncJdbcWrapper(provider, 3)) {
+                List<CompletableFuture<Integer>> futures = new ArrayList<>();
+                for (int i = 0; i < 30; i++) {
+                    futures.add(wrapper.executeUpdateAsync("UPDATE t SET x = 1", List.of()));
+                }
+                for (CompletableFuture<Integer> future : futures) {
+                    assertEquals(1, future.get(10, TimeUnit.SECONDS));
+                }
+            }
+            assertTrue(peak.get() <= 3, "More statements ran concurrently than allowed: " + peak.get());
+            verify(connection, times(30)).close();
+        });
+    }
+
+    @Test
+    void testCancel_CancelsRunningStatement() {
+        assertDoesNotThrow(() -> {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch cancelled = new CountDownLatch(1);
+            when(provider.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeQuery()).thenAnswer(invocation -> {
+                started.countDown();
+                cancelled.await(10, TimeUnit.SECONDS);
+                throw new SQLException("canceling statement due to user request", "57014");
+            });
+            doAnswer(invocation -> {
+                cancelled.countDown();
+                return null;
+            }).when(statement).cancel();
+            try (AsyncJdbcWrapper wrapper = new AsyncJdbcWrapper(provider, 1)) {
+                CompletableFuture<List<String>> future = wrapper.executeQueryAsync("SELECT pg_sleep(60)", List.of(),
+                        rs -> rs.getString(1));
+                assertTrue(started.await(10, TimeUnit.SECONDS));
+
+                assertTrue(future.cancel(true));
+
+                assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                verify(statement).cancel();
+                verify(statement, timeout(10_000)).close();
+                verify(connection, timeout(10_000)).close();
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQueryAsync_PropagatesFailure() {
+        assertDoesNotThrow(() -> {
+            when(provider.getConnection()).thenThrow(new SQLException("Database unavailable"));
+            try (AsyncJdbcWrapper wrapper = new AsyncJdbcWrapper(provider, 2)) {
+                CompletableFuture<List<String>> future = wrapper.executeQueryAsync("SELECT 1", List.of(), rs -> rs.getString(1));
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+                assertEquals("Database unavailable", exception.getCause().getMessage());
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQueryAsync_MapperError_FailsFuture() {
+        assertDoesNotThrow(() -> {
+            InMemoryDatabase database = new InMemoryDatabase();
+            try (AsyncJdbcWrapper wrapper = new AsyncJdbcWrapper(database, 2)) {
+                wrapper.executeUpdateAsync("CREATE TABLE users (id INT PRIMARY KEY)", List.of()).get(10, TimeUnit.SECONDS);
+                wrapper.executeUpdateAsync("INSERT INTO users VALUES (1)", List.of()).get(10, TimeUnit.SECONDS);
+                AssertionError error = new AssertionError("Unexpected row");
+
+                CompletableFuture<List<Integer>> future = wrapper.executeQueryAsync("SELECT id FROM users", List.of(), rs -> {
+                    throw error;
+                });
+
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+                assertSame(error, exception.getCause());
+                assertEquals(0, wrapper.getActiveCount());
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQueryPartitionedAsync_MergesPartitionsInOrder() {
+        assertDoesNotThrow(() -> {
+            InMemoryDatabase database = new InMemoryDatabase();
+            try (AsyncJdbcWrapper wrapper = new AsyncJdbcWrapper(database, 4)) {
+                wrapper.executeUpdateAsync("CREATE TABLE events (id INT PRIMARY KEY, score INT)", List.of()).get();
+                for (int i = 0; i < 100; i++) {
+                    wrapper.executeUpdateAsync("INSERT INTO events VALUES (?, ?)", List.of(i, (i * 37) % 100)).get();
+                }
+                List<QueryPartition> partitions = QueryPartition.keyRanges(
+                        "SELECT score FROM events WHERE score > ? AND id >= ? AND id < ? ORDER BY score", List.of(-1), 0, 100, 4);
+
+                List<Integer> unordered = wrapper.executeQueryPartitionedAsync(partitions, rs -> rs.getInt("score"))
+                        .get(10, TimeUnit.SECONDS);
+                List<Integer> ordered = wrapper.executeQueryPartitionedAsync(partitions, rs -> rs.getInt("score"),
+                        Comparator.<Integer>naturalOrder()).get(10, TimeUnit.SECONDS);
+
+                assertEquals(100, unordered.size());
+                List<Integer> expected = new ArrayList<>(unordered);
+                expected.sort(null);
+                assertEquals(expected, ordered);
+                assertEquals(0, wrapper.getActiveCount());
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQueryPartitionedAsync_FailedPartitionFailsScan() {
+        assertDoesNotThrow(() -> {
+            InMemoryDatabase database = new InMemoryDatabase();
+            try (AsyncJdbcWrapper wrapper = new AsyncJdbcWrapper(database, 2)) {
+                wrapper.executeUpdateAsync("CREATE TABLE events (id INT PRIMARY KEY)", List.of()).get();
+                List<QueryPartition> partitions = List.of(
+                        new QueryPartition("SELECT id FROM events", List.of()),
+                        new QueryPartition("SELECT id FROM missing", List.of()));
+
+                CompletableFuture<List<Integer>> future = wrapper.executeQueryPartitionedAsync(partitions, rs -> rs.getInt(1));
+
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(SQLException.class, exception.getCause());
+            }
+        });
+    }
+
+    @Test
+    void testKeyRanges_CoversRangeWithoutGaps() {
+        List<QueryPartition> partitions = QueryPartition.keyRanges("SELECT * FROM t WHERE id >= ? AND id < ?",
+                List.of(), 10, 20, 3);
+
+        assertEquals(3, partitions.size());
+        assertEquals(List.of(10L, 14L), partitions.get(0).getParameters());
+        assertEquals(List.of(14L, 17L), partitions.get(1).getParameters());
+        assertEquals(List.of(17L, 20L), partitions.get(2).getParameters());
+        assertEquals(1, QueryPartition.keyRanges("SELECT 1", List.of(), 5, 6, 8).size());
+    }
+
+    @Test
+    void testConstructor_InvalidConcurrency_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new AsyncJdbcWrapper(provider, 0));
+        assertEquals("Maximum concurrency must be positive", exception.getMessage());
+    }
+
+}
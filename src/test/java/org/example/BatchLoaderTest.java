@@ -0,0 +1,184 @@
+package org.example;
+
+import org.example.adapters.DelegatingConnection;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.example.memory.InMemoryDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchLoaderTest {
+
+    private static final String LOOKUP = "SELECT id, name FROM users WHERE id IN (?)";
+
+    @Mock
+    private DatabaseConnectionProvider provider;
+
+    @Mock
+    private DatabaseConnection connection;
+
+    @Mock
+    private DatabaseStatement statement;
+
+    @Mock
+    private DatabaseResultSet resultSet;
+
+    @Test
+    void testLoad_BatchesLookupsIntoInListQueries() {
+        assertDoesNotThrow(() -> {
+            InMemoryDatabase database = new InMemoryDatabase();
+            try (DatabaseConnection setup = database.getConnection()) {
+                JdbcWrapper wrapper = new JdbcWrapper(setup);
+                wrapper.executeUpdate("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(20))", List.of());
+                for (int i = 0; i < 50; i++) {
+                    wrapper.executeUpdate("INSERT INTO users VALUES (?, ?)", List.of(i, "user" + i));
+                }
+            }
+            Set<String> statements = ConcurrentHashMap.newKeySet();
+            DatabaseConnectionProvider recording = () -> new DelegatingConnection(database.getConnection()) {
+                @Override
+                public DatabaseStatement prepareStatement(String query) throws SQLException {
+                    statements.add(query);
+                    return super.prepareStatement(query);
+                }
+            };
+            try (AsyncJdbcWrapper async = new AsyncJdbcWrapper(recording, 4);
+                 BatchLoader<Integer, String> names = BatchLoader.builder(async, LOOKUP,
+                                 rs -> rs.getInt("id"), rs -> rs.getString("name"))
+                         .maxBatchSize(16)
+                         .batchWindow(Duration.ofMillis(200))
+                         .build()) {
+                List<CompletableFuture<String>> futures = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                    futures.add(names.load(i));
+                }
+                CompletableFuture<String> missing = names.load(999);
+                CompletableFuture<String> missingAgain = names.load(999);
+                assertNotSame(missing, missingAgain);
+
+                for (int i = 0; i < 40; i++) {
+                    assertEquals("user" + i, futures.get(i).get(10, TimeUnit.SECONDS));
+                }
+                assertNull(missing.get(10, TimeUnit.SECONDS));
+                assertNull(missingAgain.get(10, TimeUnit.SECONDS));
+                assertEquals(3, names.getBatchCount());
+                assertEquals(0, names.getPendingCount());
+                // the last batch of 9 keys is padded to the same 16 placeholders as the full ones
+                assertEquals(1, statements.size());
+            }
+        });
+    }
+
+    @Test
+    void testLoad_QueryFailure_FailsEveryFutureOfBatch() {
+        assertDoesNotThrow(() -> {
+            SQLException failure = new SQLException("Table USERS not found", "42S02");
+            when(provider.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenThrow(failure);
+            try (AsyncJdbcWrapper async = new AsyncJdbcWrapper(provider, 2);
+                 BatchLoader<Integer, String> names = BatchLoader.builder(async, LOOKUP,
+                         rs -> rs.getInt("id"), rs -> rs.getString("name")).batchWindow(Duration.ofHours(1)).build()) {
+                CompletableFuture<String> first = names.load(1);
+                CompletableFuture<String> second = names.load(2);
+                names.dispatch();
+
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+                assertSame(failure, exception.getCause());
+                exception = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+                assertSame(failure, exception.getCause());
+                assertEquals(1, names.getBatchCount());
+            }
+        });
+    }
+
+    @Test
+    void testLoad_AllFuturesCancelled_BatchIsNotSent() {
+        assertDoesNotThrow(() -> {
+            try (AsyncJdbcWrapper async = new AsyncJdbcWrapper(provider, 2)) {
+                BatchLoader<Integer, String> names = BatchLoader.builder(async, LOOKUP,
+                        rs -> rs.getInt("id"), rs -> rs.getString("name")).batchWindow(Duration.ofHours(1)).build();
+                names.load(1).cancel(true);
+                names.close();
+
+                assertEquals(0, names.getBatchCount());
+                assertThrows(IllegalStateException.class, () -> names.load(2));
+            }
+            verifyNoInteractions(provider);
+        });
+    }
+
+    @Test
+    void testLoad_SameKeyCallersHaveIndependentFutures() {
+        assertDoesNotThrow(() -> {
+            when(provider.getConnection()).thenReturn(connection);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, false);
+            when(resultSet.getInt("id")).thenReturn(1);
+            when(resultSet.getString("name")).thenReturn("user1");
+            try (AsyncJdbcWrapper async = new AsyncJdbcWrapper(provider, 2);
+                 BatchLoader<Integer, String> names = BatchLoader.builder(async, LOOKUP,
+                         rs -> rs.getInt("id"), rs -> rs.getString("name")).batchWindow(Duration.ofHours(1)).build()) {
+                CompletableFuture<String> cancelled = names.load(1);
+                CompletableFuture<String> overridden = names.load(1);
+                CompletableFuture<String> waiting = names.load(1);
+                cancelled.cancel(true);
+                overridden.complete("bogus");
+                names.dispatch();
+
+                assertEquals("user1", waiting.get(10, TimeUnit.SECONDS));
+                assertEquals("bogus", overridden.get());
+                assertEquals(1, names.getBatchCount());
+            }
+            verify(statement).executeQuery();
+        });
+    }
+
+    @Test
+    void testLoad_AllCallersOfKeyCancelled_KeyIsNotSent() {
+        assertDoesNotThrow(() -> {
+            try (AsyncJdbcWrapper async = new AsyncJdbcWrapper(provider, 2)) {
+                BatchLoader<Integer, String> names = BatchLoader.builder(async, LOOKUP,
+                        rs -> rs.getInt("id"), rs -> rs.getString("name")).batchWindow(Duration.ofHours(1)).build();
+                CompletableFuture<String> first = names.load(1);
+                CompletableFuture<String> second = names.load(1);
+                first.cancel(true);
+                assertEquals(1, names.getPendingCount());
+                second.cancel(true);
+                names.close();
+
+                assertEquals(0, names.getBatchCount());
+            }
+            verifyNoInteractions(provider);
+        });
+    }
+
+    @Test
+    void testBuild_QueryWithoutInList_ThrowsException() {
+        try (AsyncJdbcWrapper async = new AsyncJdbcWrapper(provider, 1)) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> BatchLoader.builder(async, "SELECT id, name FROM users WHERE id = ?",
+                            rs -> rs.getInt("id"), rs -> rs.getString("name")).build());
+            assertEquals("Query must have one IN (?) list and no other parameters", exception.getMessage());
+        }
+    }
+
+}
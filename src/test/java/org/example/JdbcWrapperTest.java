@@ -1,17 +1,34 @@
 package org.example;
 
+import org.example.adapters.JdbcConnectionAdapter;
+import org.example.columnar.ColumnarResult;
 import org.example.interfaces.DatabaseConnection;
 import org.example.interfaces.DatabaseResultSet;
 import org.example.interfaces.DatabaseStatement;
+import org.example.memory.InMemoryDatabase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -125,4 +142,606 @@ public class JdbcWrapperTest {
         });
     }
 
+    @Test
+    void testExecuteQueryStream_ReleasesResourcesWhenExhausted() {
+        String query = "SELECT * FROM users WHERE id > ?";
+        List<Object> parameters = Arrays.asList(1);
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, true, false);
+            when(resultSet.getString("name")).thenReturn("John Doe", "Alice Smith");
+            jdbcWrapper.setFetchSize(500);
+
+            List<String> names = jdbcWrapper.executeQueryStream(query, parameters, rs -> rs.getString("name"))
+                    .collect(Collectors.toList());
+
+            assertEquals(Arrays.asList("John Doe", "Alice Smith"), names);
+            verify(statement).setFetchSize(500);
+            verify(statement).setParameter(1, 1);
+            verify(resultSet).close();
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testExecuteQueryStream_ReleasesResourcesWhenClosedEarly() {
+        String query = "SELECT * FROM users";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true);
+            when(resultSet.getString("name")).thenReturn("John Doe");
+
+            try (Stream<String> names = jdbcWrapper.executeQueryStream(query, null, rs -> rs.getString("name"))) {
+                assertEquals("John Doe", names.findFirst().orElseThrow());
+            }
+
+            verify(resultSet, times(1)).next();
+            verify(resultSet).close();
+            verify(statement).close();
+            verify(statement, never()).setFetchSize(anyInt());
+        });
+    }
+
+    @Test
+    void testExecuteQueryStream_SQLExceptionWhileConsuming_ThrowsUnchecked() {
+        String query = "SELECT * FROM users";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenThrow(new SQLException("Fetch error"));
+
+            Stream<String> names = jdbcWrapper.executeQueryStream(query, null, rs -> rs.getString("name"));
+            UncheckedSQLException exception = assertThrows(UncheckedSQLException.class, () -> names.count());
+            assertEquals("Fetch error", exception.getCause().getMessage());
+            verify(resultSet).close();
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testExecuteQueryStream_MapperThrowsRuntimeException_ReleasesResources() {
+        String query = "SELECT * FROM users";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true);
+            IllegalStateException failure = new IllegalStateException("Unexpected row");
+
+            Stream<String> names = jdbcWrapper.executeQueryStream(query, null, rs -> {
+                throw failure;
+            });
+            assertSame(failure, assertThrows(IllegalStateException.class, () -> names.count()));
+            verify(resultSet).close();
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testExecuteQueryStream_ExecuteFails_ClosesStatement() {
+        String query = "SELECT * FROM users";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenThrow(new SQLException("Query error"));
+
+            SQLException exception = assertThrows(SQLException.class, () -> jdbcWrapper.executeQueryStream(query, null, rs -> rs.getString("name")));
+            assertEquals("Query error", exception.getMessage());
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testSetFetchSize_Negative_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> jdbcWrapper.setFetchSize(-1));
+        assertEquals("Fetch size cannot be negative", exception.getMessage());
+    }
+
+    @Test
+    void testExecuteBatch_SplitsRowsIntoChunks() {
+        String query = "INSERT INTO users (id, name) VALUES (?, ?)";
+        List<List<Object>> rows = Arrays.asList(
+                Arrays.asList(1, "John Doe"),
+                Arrays.asList(2, "Alice Smith"),
+                Arrays.asList(3, "Bob Jones"));
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeBatch()).thenReturn(new int[]{1, 1}, new int[]{1});
+
+            int[] counts = jdbcWrapper.executeBatch(query, rows, 2, false);
+
+            assertArrayEquals(new int[]{1, 1, 1}, counts);
+            verify(statement, times(3)).addBatch();
+            verify(statement, times(2)).executeBatch();
+            verify(statement).setParameter(1, 3);
+            verify(statement).setParameter(2, "Bob Jones");
+            verify(statement).close();
+            verify(connection, never()).commit();
+        });
+    }
+
+    @Test
+    void testExecuteBatch_TransactionalCommitsEachChunk() {
+        String query = "UPDATE users SET name = ? WHERE id = ?";
+        List<List<Object>> rows = Arrays.asList(
+                Arrays.asList("Jane Doe", 1),
+                Arrays.asList("Alice Jones", 2));
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(connection.getAutoCommit()).thenReturn(true);
+            when(statement.executeBatch()).thenReturn(new int[]{1}, new int[]{0});
+
+            int[] counts = jdbcWrapper.executeBatch(query, rows, 1, true);
+
+            assertArrayEquals(new int[]{1, 0}, counts);
+            verify(connection).setAutoCommit(false);
+            verify(connection, times(2)).commit();
+            verify(connection).setAutoCommit(true);
+        });
+    }
+
+    @Test
+    void testExecuteBatch_TransactionalFailureRollsBackChunk() {
+        String query = "UPDATE users SET name = ? WHERE id = ?";
+        List<List<Object>> rows = List.of(Arrays.asList("Jane Doe", 1));
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(connection.getAutoCommit()).thenReturn(true);
+            when(statement.executeBatch()).thenThrow(new SQLException("Batch error"));
+
+            SQLException exception = assertThrows(SQLException.class, () -> jdbcWrapper.executeBatch(query, rows, 10, true));
+            assertEquals("Batch error", exception.getMessage());
+            verify(connection).rollback();
+            verify(connection, never()).commit();
+            verify(connection).setAutoCommit(true);
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testExecuteQuery_TypedParametersUseTypedSetters() {
+        assertDoesNotThrow(() -> {
+            String query = "SELECT name FROM users WHERE id = ? AND tenant = ? AND region = ?";
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, false);
+            when(resultSet.getString("name")).thenReturn("John Doe");
+            Parameters parameters = new Parameters().setLong(1, 42L).setInt(2, 7).setNull(3, Types.VARCHAR);
+
+            List<String> results = jdbcWrapper.executeQueryWith(query, parameters, rs -> rs.getString("name"));
+
+            assertEquals(List.of("John Doe"), results);
+            verify(statement).setLong(1, 42L);
+            verify(statement).setInt(2, 7);
+            verify(statement).setNull(3, Types.VARCHAR);
+            verify(statement, never()).setParameter(anyInt(), any());
+            assertEquals(Arrays.asList(42L, 7, null), parameters.toList());
+        });
+    }
+
+    @Test
+    void testExecuteQueryAndUpdate_NullParameters_BindNothing() {
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, false);
+            when(resultSet.getString("name")).thenReturn("John Doe");
+            when(statement.executeUpdate()).thenReturn(3);
+
+            assertEquals(List.of("John Doe"), jdbcWrapper.executeQuery("SELECT name FROM users", null, rs -> rs.getString("name")));
+            assertEquals(3, jdbcWrapper.executeUpdate("DELETE FROM users", null));
+
+            verify(statement, never()).setParameter(anyInt(), any());
+            verify(statement, times(2)).close();
+        });
+    }
+
+    @Test
+    void testExecuteUpdate_UnsetParameter_ThrowsException() {
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            Parameters parameters = new Parameters().setString(2, "x");
+
+            SQLException exception = assertThrows(SQLException.class,
+                    () -> jdbcWrapper.executeUpdateWith("UPDATE users SET a = ?, b = ?", parameters));
+
+            assertEquals("Parameter 1 has not been set", exception.getMessage());
+            verify(statement, never()).executeUpdate();
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testForEachRow_ReusesOneRowView() {
+        assertDoesNotThrow(() -> {
+            String query = "SELECT amount FROM payments";
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, true, true, false);
+            when(resultSet.getLong(1)).thenReturn(10L, 20L, 30L);
+            List<DatabaseRow> views = new ArrayList<>();
+            long[] total = new long[1];
+
+            long count = jdbcWrapper.forEachRow(query, null, row -> {
+                views.add(row);
+                total[0] += row.getLong(1);
+            });
+
+            assertEquals(3, count);
+            assertEquals(60, total[0]);
+            assertTrue(views.stream().allMatch(view -> view == views.get(0)));
+            assertThrows(SQLException.class, () -> views.get(0).getLong(1));
+            verify(resultSet).close();
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testReduce_FoldsRowsIntoAccumulator() {
+        assertDoesNotThrow(() -> {
+            String query = "SELECT amount FROM payments WHERE status = ?";
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, true, false);
+            when(resultSet.getDouble("amount")).thenReturn(1.5, 2.5);
+
+            double[] sum = jdbcWrapper.reduce(query, List.of("paid"), new double[1], (acc, row) -> {
+                acc[0] += row.getDouble("amount");
+                return acc;
+            });
+
+            assertEquals(4.0, sum[0]);
+            verify(statement).setParameter(1, "paid");
+        });
+    }
+
+    @Test
+    void testInTransaction_CommitsOnceAndRestoresSettings() {
+        assertDoesNotThrow(() -> {
+            when(connection.getAutoCommit()).thenReturn(true);
+            when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeUpdate()).thenReturn(1);
+            TransactionOptions options = TransactionOptions.builder()
+                    .isolation(Connection.TRANSACTION_SERIALIZABLE).readOnly(true).build();
+
+            int updated = jdbcWrapper.inTransaction(options, wrapper ->
+                    wrapper.executeUpdate("UPDATE a SET x = 1", List.of()) + wrapper.executeUpdate("UPDATE b SET x = 1", List.of()));
+
+            assertEquals(2, updated);
+            InOrder inOrder = inOrder(connection);
+            inOrder.verify(connection).setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            inOrder.verify(connection).setReadOnly(true);
+            inOrder.verify(connection).setAutoCommit(false);
+            inOrder.verify(connection).commit();
+            inOrder.verify(connection).setAutoCommit(true);
+            inOrder.verify(connection).setReadOnly(false);
+            inOrder.verify(connection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            verify(connection, never()).rollback();
+        });
+    }
+
+    @Test
+    void testInTransaction_RetriesSerializationFailure() {
+        assertDoesNotThrow(() -> {
+            when(connection.getAutoCommit()).thenReturn(true);
+            AtomicInteger attempts = new AtomicInteger();
+            TransactionOptions options = TransactionOptions.builder().retryBackoff(Duration.ZERO).build();
+
+            String result = jdbcWrapper.inTransaction(options, wrapper -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new SQLException("could not serialize access", "40001");
+                }
+                return "done";
+            });
+
+            assertEquals("done", result);
+            assertEquals(3, attempts.get());
+            verify(connection, times(2)).rollback();
+            verify(connection).commit();
+        });
+    }
+
+    @Test
+    void testIsRetryable_CauseCycle_Terminates() {
+        SQLException first = new SQLException("Outer failure", "HY000");
+        RuntimeException second = new RuntimeException("Wrapped failure");
+        first.initCause(second);
+        second.initCause(first);
+        SQLException deadlock = new SQLException("Deadlock detected", "40P01");
+        RuntimeException wrapper = new RuntimeException("Wrapped deadlock", deadlock);
+        deadlock.initCause(wrapper);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertFalse(JdbcWrapper.isRetryable(first));
+            assertTrue(JdbcWrapper.isRetryable(wrapper));
+        });
+    }
+
+    @Test
+    void testInTransaction_NonRetryableFailureRollsBack() {
+        assertDoesNotThrow(() -> {
+            when(connection.getAutoCommit()).thenReturn(true);
+            AtomicInteger attempts = new AtomicInteger();
+
+            SQLException exception = assertThrows(SQLException.class, () -> jdbcWrapper.inTransaction(wrapper -> {
+                attempts.incrementAndGet();
+                throw new SQLException("duplicate key", "23505");
+            }));
+
+            assertEquals("23505", exception.getSQLState());
+            assertEquals(1, attempts.get());
+            verify(connection).rollback();
+            verify(connection, never()).commit();
+            verify(connection).setAutoCommit(true);
+        });
+    }
+
+    @Test
+    void testInTransaction_NestedCallRollsBackToSavepoint() {
+        assertDoesNotThrow(() -> {
+            InMemoryDatabase database = new InMemoryDatabase();
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                wrapper.executeUpdate("CREATE TABLE users (id INT PRIMARY KEY)", List.of());
+
+                wrapper.inTransaction(outer -> {
+                    outer.executeUpdate("INSERT INTO users VALUES (1)", List.of());
+                    assertThrows(SQLException.class, () -> outer.inTransaction(inner -> {
+                        inner.executeUpdate("INSERT INTO users VALUES (2)", List.of());
+                        return inner.executeUpdate("INSERT INTO users VALUES (1)", List.of());
+                    }));
+                    return null;
+                });
+
+                assertEquals(List.of(1), wrapper.executeQuery("SELECT id FROM users", List.of(), rs -> rs.getInt(1)));
+            }
+        });
+    }
+
+    @Test
+    void testExecuteBatch_DefaultsToConfiguredBatchSize() {
+        String query = "DELETE FROM users WHERE id = ?";
+        List<List<Object>> rows = Arrays.asList(List.of(1), List.of(2), List.of(3));
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeBatch()).thenReturn(new int[]{1, 1, 1});
+
+            int[] counts = jdbcWrapper.executeBatch(query, rows);
+
+            assertArrayEquals(new int[]{1, 1, 1}, counts);
+            verify(statement, times(1)).executeBatch();
+        });
+    }
+
+    @Test
+    void testExecuteBatch_InvalidChunkSize_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> jdbcWrapper.executeBatch("DELETE FROM users", List.of(), 0, false));
+        assertEquals("Chunk size must be positive", exception.getMessage());
+    }
+
+    @Test
+    void testExecuteQueryColumnar_ReadsColumnsAndClosesResources() {
+        String query = "SELECT age FROM users WHERE age > ?";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.getColumnCount()).thenReturn(1);
+            when(resultSet.getColumnLabel(1)).thenReturn("AGE");
+            when(resultSet.getColumnType(1)).thenReturn(Types.INTEGER);
+            when(resultSet.next()).thenReturn(true, true, false);
+            when(resultSet.getInt(1)).thenReturn(25, 30);
+
+            ColumnarResult result = jdbcWrapper.executeQueryColumnar(query, Arrays.asList(20));
+
+            assertEquals(2, result.getRowCount());
+            assertEquals(30, result.getIntColumn("age").get(1));
+            verify(statement).setParameter(1, 20);
+            verify(resultSet).close();
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testExecuteQuery_Timeout_CancelsStatementDuringIteration() {
+        String query = "SELECT * FROM events";
+        assertDoesNotThrow(() -> {
+            CountDownLatch cancelled = new CountDownLatch(1);
+            when(connection.prepareStatement(query)).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true).thenAnswer(invocation -> {
+                assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                throw new SQLException("canceling statement due to user request", "57014");
+            });
+            when(resultSet.getInt(1)).thenReturn(1);
+            doAnswer(invocation -> {
+                cancelled.countDown();
+                return null;
+            }).when(statement).cancel();
+
+            QueryTimeoutException exception = assertThrows(QueryTimeoutException.class,
+                    () -> jdbcWrapper.executeQuery(query, List.of(), rs -> rs.getInt(1), Duration.ofMillis(100)));
+
+            assertEquals("57014", exception.getSQLState());
+            verify(statement).setQueryTimeout(1);
+            verify(statement).cancel();
+            verify(resultSet).close();
+            verify(statement).close();
+            assertNull(jdbcWrapper.getDeadline());
+        });
+    }
+
+    @Test
+    void testExecuteUpdate_Timeout_BlockedCancelDoesNotDelayOtherDeadlines() {
+        assertDoesNotThrow(() -> {
+            DatabaseConnection otherConnection = mock(DatabaseConnection.class);
+            DatabaseStatement slowStatement = mock(DatabaseStatement.class);
+            DatabaseStatement otherStatement = mock(DatabaseStatement.class);
+            CountDownLatch slowCancelling = new CountDownLatch(1);
+            CountDownLatch otherCancelled = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(connection.prepareStatement("UPDATE a SET x = 1")).thenReturn(slowStatement);
+            when(otherConnection.prepareStatement("UPDATE b SET x = 1")).thenReturn(otherStatement);
+            when(slowStatement.executeUpdate()).thenAnswer(invocation -> {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+                throw new SQLException("canceling statement due to user request", "57014");
+            });
+            doAnswer(invocation -> {
+                slowCancelling.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+                return null;
+            }).when(slowStatement).cancel();
+            when(otherStatement.executeUpdate()).thenAnswer(invocation -> {
+                assertTrue(otherCancelled.await(10, TimeUnit.SECONDS));
+                throw new SQLException("canceling statement due to user request", "57014");
+            });
+            doAnswer(invocation -> {
+                otherCancelled.countDown();
+                return null;
+            }).when(otherStatement).cancel();
+
+            CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> assertThrows(QueryTimeoutException.class,
+                    () -> jdbcWrapper.executeUpdate("UPDATE a SET x = 1", List.of(), Duration.ofMillis(50))));
+            assertTrue(slowCancelling.await(10, TimeUnit.SECONDS));
+            try (JdbcWrapper other = new JdbcWrapper(otherConnection)) {
+                assertThrows(QueryTimeoutException.class,
+                        () -> other.executeUpdate("UPDATE b SET x = 1", List.of(), Duration.ofMillis(50)));
+            } finally {
+                release.countDown();
+            }
+            slow.get(10, TimeUnit.SECONDS);
+        });
+    }
+
+    @Test
+    void testDeadline_FiringWhileStatementCloses_CancelFinishesBeforeRelease() {
+        assertDoesNotThrow(() -> {
+            CountDownLatch cancelling = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger cancelsReturned = new AtomicInteger();
+            when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            doAnswer(invocation -> {
+                cancelling.countDown();
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+                cancelsReturned.incrementAndGet();
+                return null;
+            }).when(statement).cancel();
+            doAnswer(invocation -> {
+                assertEquals(1, cancelsReturned.get(), "Statement was released while it was being cancelled");
+                return null;
+            }).when(statement).close();
+
+            DatabaseConnection deadlineConnection = new DeadlineConnection(connection, Deadline.after(Duration.ofMillis(50)));
+            DatabaseStatement deadlineStatement = deadlineConnection.prepareStatement("SELECT 1");
+            DatabaseResultSet rows = deadlineStatement.executeQuery();
+            assertTrue(cancelling.await(10, TimeUnit.SECONDS));
+
+            CompletableFuture<Void> closing = CompletableFuture.runAsync(() -> assertDoesNotThrow(() -> {
+                rows.close();
+                deadlineStatement.close();
+            }));
+            Thread.sleep(100);
+            assertFalse(closing.isDone(), "Closing should wait for the cancellation in progress");
+            release.countDown();
+            closing.get(10, TimeUnit.SECONDS);
+
+            verify(statement).cancel();
+            verify(statement).close();
+        });
+    }
+
+    @Test
+    void testWithDeadline_ExpiredDeadline_FailsWithoutPreparing() {
+        assertDoesNotThrow(() -> {
+            Deadline deadline = Deadline.after(Duration.ZERO);
+
+            assertThrows(QueryTimeoutException.class, () -> jdbcWrapper.withDeadline(deadline,
+                    wrapper -> wrapper.executeUpdate("UPDATE users SET age = 1", List.of())));
+
+            verify(connection, never()).prepareStatement(anyString());
+        });
+    }
+
+    @Test
+    void testWithDeadline_NestedScopeKeepsEarlierDeadline() {
+        assertDoesNotThrow(() -> {
+            Deadline outer = Deadline.after(Duration.ofSeconds(5));
+
+            Deadline inner = jdbcWrapper.withDeadline(outer,
+                    wrapper -> wrapper.withTimeout(Duration.ofHours(1), JdbcWrapper::getDeadline));
+
+            assertSame(outer, inner);
+            assertNull(jdbcWrapper.getDeadline());
+        });
+    }
+
+    @Test
+    void testWithTimeout_CancelsSlowQueryOnDatabase() {
+        assertDoesNotThrow(() -> {
+            try (Connection h2 = DriverManager.getConnection("jdbc:h2:mem:deadline", "sa", "");
+                 JdbcWrapper wrapper = new JdbcWrapper(new JdbcConnectionAdapter(h2))) {
+                long start = System.nanoTime();
+
+                assertThrows(QueryTimeoutException.class, () -> wrapper.executeQuery(
+                        "SELECT SUM(X) FROM SYSTEM_RANGE(1, 100000000000)", List.of(), rs -> rs.getLong(1),
+                        Duration.ofMillis(200)));
+
+                assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5);
+                assertEquals(List.of(1), wrapper.executeQuery("SELECT 1", List.of(), rs -> rs.getInt(1)));
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQueryIn_PadsListToBucketSize() {
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement("SELECT name FROM users WHERE id IN (?, ?, ?, ?) ORDER BY id"))
+                    .thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true, true, true, false);
+            when(resultSet.getString("name")).thenReturn("Alice", "Bob", "Carol");
+
+            List<String> names = jdbcWrapper.executeQueryIn("SELECT name FROM users WHERE id in (?) ORDER BY id",
+                    List.of(1, 2, 3, 2), rs -> rs.getString("name"));
+
+            assertEquals(List.of("Alice", "Bob", "Carol"), names);
+            InOrder inOrder = inOrder(statement);
+            inOrder.verify(statement).setParameter(1, 1);
+            inOrder.verify(statement).setParameter(2, 2);
+            inOrder.verify(statement).setParameter(3, 3);
+            inOrder.verify(statement).setParameter(4, 3);
+            assertEquals(List.of(), jdbcWrapper.executeQueryIn("SELECT name FROM users WHERE id IN (?)", List.of(),
+                    rs -> rs.getString("name")));
+            assertThrows(IllegalArgumentException.class, () -> jdbcWrapper.executeQueryIn(
+                    "SELECT name FROM users WHERE id IN (?) AND age > ?", List.of(1), rs -> rs.getString("name")));
+        });
+    }
+
+    @Test
+    void testExecuteQueryIn_PostgreSql_BindsArray() {
+        assertDoesNotThrow(() -> {
+            when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+            when(connection.prepareStatement("SELECT name FROM users WHERE id = ANY(?)")).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(resultSet);
+
+            assertEquals(List.of(), jdbcWrapper.executeQueryIn("SELECT name FROM users WHERE id IN (?)",
+                    List.of(7L, 8L), rs -> rs.getString("name")));
+
+            ArgumentCaptor<Object> array = ArgumentCaptor.forClass(Object.class);
+            verify(statement).setParameter(eq(1), array.capture());
+            assertArrayEquals(new Long[]{7L, 8L}, (Long[]) array.getValue());
+        });
+    }
+
+    @Test
+    void testExecuteQueryIn_NotInList_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> jdbcWrapper.executeQueryIn("SELECT name FROM users WHERE id NOT IN (?)", List.of(7L, 8L),
+                        rs -> rs.getString("name")));
+
+        assertEquals("NOT IN (?) lists are not supported", exception.getMessage());
+        verifyNoInteractions(connection);
+    }
+
 }
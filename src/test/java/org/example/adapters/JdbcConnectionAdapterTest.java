@@ -23,6 +23,9 @@ public class JdbcConnectionAdapterTest {
     @Mock
     private PreparedStatement preparedStatement;
 
+    @Mock
+    private PreparedStatement otherPreparedStatement;
+
     private JdbcConnectionAdapter connectionAdapter;
 
     @BeforeEach
@@ -69,6 +72,139 @@ public class JdbcConnectionAdapterTest {
         });
     }
 
+    @Test
+    void testIsValid_DelegatesToConnection() {
+        assertDoesNotThrow(() -> {
+            when(connection.isValid(5)).thenReturn(true);
+            assertTrue(connectionAdapter.isValid(5));
+            verify(connection).isValid(5);
+        });
+    }
+
+    @Test
+    void testTransactionMethods_DelegateToConnection() {
+        assertDoesNotThrow(() -> {
+            when(connection.getAutoCommit()).thenReturn(true);
+            assertTrue(connectionAdapter.getAutoCommit());
+            connectionAdapter.setAutoCommit(false);
+            connectionAdapter.commit();
+            connectionAdapter.rollback();
+            verify(connection).setAutoCommit(false);
+            verify(connection).commit();
+            verify(connection).rollback();
+        });
+    }
+
+    @Test
+    void testStatementCache_ReusesStatementAfterClose() {
+        String query = "SELECT * FROM users WHERE id = ?";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+            JdbcConnectionAdapter adapter = new JdbcConnectionAdapter(connection, 4);
+
+            DatabaseStatement first = adapter.prepareStatement(query);
+            first.close();
+            DatabaseStatement second = adapter.prepareStatement(query);
+
+            assertSame(first, second, "Closed statement should be handed out again");
+            verify(connection, times(1)).prepareStatement(query);
+            verify(preparedStatement).clearParameters();
+            verify(preparedStatement, never()).close();
+            assertEquals(1, adapter.getStatementCacheHits());
+            assertEquals(1, adapter.getStatementCacheMisses());
+        });
+    }
+
+    @Test
+    void testStatementCache_ResetsQueryTimeoutOnRelease() {
+        String query = "SELECT * FROM users WHERE id = ?";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+            JdbcConnectionAdapter adapter = new JdbcConnectionAdapter(connection, 4);
+
+            DatabaseStatement first = adapter.prepareStatement(query);
+            first.setQueryTimeout(5);
+            first.close();
+            adapter.prepareStatement(query).close();
+
+            verify(preparedStatement).setQueryTimeout(5);
+            verify(preparedStatement, times(1)).setQueryTimeout(0);
+        });
+    }
+
+    @Test
+    void testStatementCache_ConcurrentCheckoutPreparesSeparateStatements() {
+        String query = "SELECT * FROM users";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(preparedStatement, otherPreparedStatement);
+            JdbcConnectionAdapter adapter = new JdbcConnectionAdapter(connection, 4);
+
+            DatabaseStatement first = adapter.prepareStatement(query);
+            DatabaseStatement second = adapter.prepareStatement(query);
+            first.close();
+            second.close();
+
+            assertNotSame(first, second);
+            assertEquals(1, adapter.getStatementCacheSize());
+            verify(otherPreparedStatement).close();
+        });
+    }
+
+    @Test
+    void testStatementCache_DoubleCloseIsIgnored() {
+        String query = "SELECT * FROM users";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+            JdbcConnectionAdapter adapter = new JdbcConnectionAdapter(connection, 4);
+
+            DatabaseStatement statement = adapter.prepareStatement(query);
+            statement.close();
+            statement.close();
+
+            assertEquals(1, adapter.getStatementCacheSize());
+            verify(preparedStatement, never()).close();
+        });
+    }
+
+    @Test
+    void testStatementCache_EvictsLeastRecentlyUsed() {
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement("SELECT 1")).thenReturn(preparedStatement);
+            when(connection.prepareStatement("SELECT 2")).thenReturn(otherPreparedStatement);
+            JdbcConnectionAdapter adapter = new JdbcConnectionAdapter(connection, 1);
+
+            adapter.prepareStatement("SELECT 1").close();
+            adapter.prepareStatement("SELECT 2").close();
+
+            assertEquals(1, adapter.getStatementCacheSize());
+            assertEquals(1, adapter.getStatementCacheEvictions());
+            verify(preparedStatement).close();
+            verify(otherPreparedStatement, never()).close();
+        });
+    }
+
+    @Test
+    void testStatementCache_CloseClosesCachedStatements() {
+        String query = "SELECT * FROM users";
+        assertDoesNotThrow(() -> {
+            when(connection.prepareStatement(query)).thenReturn(preparedStatement);
+            JdbcConnectionAdapter adapter = new JdbcConnectionAdapter(connection, 4);
+
+            adapter.prepareStatement(query).close();
+            adapter.close();
+
+            verify(preparedStatement).close();
+            verify(connection).close();
+            assertEquals(0, adapter.getStatementCacheSize());
+        });
+    }
+
+    @Test
+    void testConstructor_NegativeStatementCacheSize_ThrowsException() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> new JdbcConnectionAdapter(connection, -1));
+        assertEquals("Statement cache size cannot be negative", thrown.getMessage());
+    }
+
     //TODO these tests just need a little work to fix them
 //    @Test
 //    void testPrepareStatement_SQLException_Propagates() {
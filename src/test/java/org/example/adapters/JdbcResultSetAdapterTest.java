@@ -7,7 +7,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,6 +21,9 @@ public class JdbcResultSetAdapterTest {
     @Mock
     private ResultSet resultSet;
 
+    @Mock
+    private ResultSetMetaData metaData;
+
     private JdbcResultSetAdapter resultSetAdapter;
 
     @BeforeEach
@@ -46,6 +52,115 @@ public class JdbcResultSetAdapterTest {
         });
     }
 
+    @Test
+    void testTypedGettersByIndex_DelegateToResultSet() {
+        Timestamp created = new Timestamp(0);
+        byte[] payload = {1, 2};
+        assertDoesNotThrow(() -> {
+            when(resultSet.getString(1)).thenReturn("John Doe");
+            when(resultSet.getInt(2)).thenReturn(25);
+            when(resultSet.getLong(3)).thenReturn(7L);
+            when(resultSet.getDouble(4)).thenReturn(1.5);
+            when(resultSet.getBoolean(5)).thenReturn(true);
+            when(resultSet.getBytes(6)).thenReturn(payload);
+            when(resultSet.getTimestamp(7)).thenReturn(created);
+
+            assertEquals("John Doe", resultSetAdapter.getString(1));
+            assertEquals(25, resultSetAdapter.getInt(2));
+            assertEquals(7L, resultSetAdapter.getLong(3));
+            assertEquals(1.5, resultSetAdapter.getDouble(4));
+            assertTrue(resultSetAdapter.getBoolean(5));
+            assertSame(payload, resultSetAdapter.getBytes(6));
+            assertSame(created, resultSetAdapter.getTimestamp(7));
+        });
+    }
+
+    @Test
+    void testTypedGettersByLabel_DelegateToResultSet() {
+        Timestamp created = new Timestamp(0);
+        byte[] payload = {1, 2};
+        assertDoesNotThrow(() -> {
+            when(resultSet.getInt("age")).thenReturn(25);
+            when(resultSet.getLong("id")).thenReturn(7L);
+            when(resultSet.getDouble("score")).thenReturn(1.5);
+            when(resultSet.getBoolean("active")).thenReturn(true);
+            when(resultSet.getBytes("payload")).thenReturn(payload);
+            when(resultSet.getTimestamp("created")).thenReturn(created);
+
+            assertEquals(25, resultSetAdapter.getInt("age"));
+            assertEquals(7L, resultSetAdapter.getLong("id"));
+            assertEquals(1.5, resultSetAdapter.getDouble("score"));
+            assertTrue(resultSetAdapter.getBoolean("active"));
+            assertSame(payload, resultSetAdapter.getBytes("payload"));
+            assertSame(created, resultSetAdapter.getTimestamp("created"));
+        });
+    }
+
+    @Test
+    void testLabelGetters_WithColumnIndex_UseOrdinals() {
+        assertDoesNotThrow(() -> {
+            when(metaData.getColumnCount()).thenReturn(2);
+            when(metaData.getColumnLabel(1)).thenReturn("ID");
+            when(metaData.getColumnLabel(2)).thenReturn("AGE");
+            when(metaData.getColumnType(anyInt())).thenReturn(Types.INTEGER);
+            when(resultSet.getInt(2)).thenReturn(25);
+            when(resultSet.findColumn("missing")).thenThrow(new SQLException("Column not found"));
+            JdbcResultSetAdapter adapter = new JdbcResultSetAdapter(resultSet, ColumnIndex.of(metaData));
+
+            assertEquals(2, adapter.getColumnCount());
+            assertEquals("AGE", adapter.getColumnLabel(2));
+            assertEquals(Types.INTEGER, adapter.getColumnType(2));
+            assertEquals(25, adapter.getInt("age"));
+            assertEquals(25, adapter.getInt("AGE"));
+            SQLException thrown = assertThrows(SQLException.class, () -> adapter.getInt("missing"));
+            assertEquals("Column not found", thrown.getMessage());
+            verify(resultSet, never()).getInt("age");
+        });
+    }
+
+    @Test
+    void testColumnIndexCache_RenamedColumns_RebuildsIndex() {
+        assertDoesNotThrow(() -> {
+            ColumnIndexCache cache = new ColumnIndexCache(ColumnIndexCache.DEFAULT_MAX_SIZE);
+            when(metaData.getColumnCount()).thenReturn(2);
+            when(metaData.getColumnType(anyInt())).thenReturn(Types.VARCHAR);
+            when(metaData.getColumnLabel(1)).thenReturn("FIRST_NAME", "FIRST_NAME", "LAST_NAME");
+            when(metaData.getColumnLabel(2)).thenReturn("LAST_NAME", "LAST_NAME", "FIRST_NAME");
+
+            ColumnIndex before = cache.resolve("SELECT * FROM users", metaData);
+            assertSame(before, cache.resolve("SELECT * FROM users", metaData));
+            ColumnIndex after = cache.resolve("SELECT * FROM users", metaData);
+
+            assertNotSame(before, after);
+            assertEquals(1, before.indexOf("first_name"));
+            assertEquals(2, after.indexOf("first_name"));
+        });
+    }
+
+    @Test
+    void testColumnMetadata_WithoutColumnIndex_UsesResultSetMetaData() {
+        assertDoesNotThrow(() -> {
+            when(resultSet.getMetaData()).thenReturn(metaData);
+            when(metaData.getColumnCount()).thenReturn(3);
+            when(metaData.getColumnLabel(1)).thenReturn("ID");
+            when(metaData.getColumnType(1)).thenReturn(Types.BIGINT);
+
+            assertEquals(3, resultSetAdapter.getColumnCount());
+            assertEquals("ID", resultSetAdapter.getColumnLabel(1));
+            assertEquals(Types.BIGINT, resultSetAdapter.getColumnType(1));
+        });
+    }
+
+    @Test
+    void testWasNull_DelegatesToResultSet() {
+        assertDoesNotThrow(() -> {
+            when(resultSet.getInt(1)).thenReturn(0);
+            when(resultSet.wasNull()).thenReturn(true);
+            assertEquals(0, resultSetAdapter.getInt(1));
+            assertTrue(resultSetAdapter.wasNull());
+        });
+    }
+
     @Test
     void testClose_DelegatesToResultSet() {
         assertDoesNotThrow(() -> {
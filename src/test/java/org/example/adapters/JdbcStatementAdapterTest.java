@@ -10,7 +10,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +26,9 @@ public class JdbcStatementAdapterTest {
     @Mock
     private ResultSet resultSet;
 
+    @Mock
+    private ResultSetMetaData metaData;
+
     private JdbcStatementAdapter statementAdapter;
 
     @BeforeEach
@@ -45,6 +50,22 @@ public class JdbcStatementAdapterTest {
         });
     }
 
+    @Test
+    void testSetFetchSize_DelegatesToPreparedStatement() {
+        assertDoesNotThrow(() -> {
+            statementAdapter.setFetchSize(100);
+            verify(preparedStatement).setFetchSize(100);
+        });
+    }
+
+    @Test
+    void testClearParameters_DelegatesToPreparedStatement() {
+        assertDoesNotThrow(() -> {
+            statementAdapter.clearParameters();
+            verify(preparedStatement).clearParameters();
+        });
+    }
+
     @Test
     void testExecuteQuery_ReturnsJdbcResultSetAdapter() {
         assertDoesNotThrow(() -> {
@@ -55,6 +76,51 @@ public class JdbcStatementAdapterTest {
         });
     }
 
+    @Test
+    void testExecuteQuery_ColumnIndexResolvedOncePerQueryShape() {
+        String query = "SELECT id, name FROM users";
+        ColumnIndexCache columnIndexes = new ColumnIndexCache(ColumnIndexCache.DEFAULT_MAX_SIZE);
+        JdbcStatementAdapter adapter = new JdbcStatementAdapter(preparedStatement, query, columnIndexes);
+        assertDoesNotThrow(() -> {
+            when(preparedStatement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.getMetaData()).thenReturn(metaData);
+            when(metaData.getColumnCount()).thenReturn(2);
+            when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
+            when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+            when(metaData.getColumnLabel(1)).thenReturn("ID");
+            when(metaData.getColumnLabel(2)).thenReturn("NAME");
+            when(resultSet.getString(2)).thenReturn("John Doe");
+
+            adapter.executeQuery();
+            DatabaseResultSet second = adapter.executeQuery();
+
+            assertEquals("John Doe", second.getString("name"));
+            // read once to build the index and once to validate it for the second result
+            verify(metaData, times(2)).getColumnLabel(2);
+            verify(resultSet, never()).getString("name");
+            assertEquals(1, columnIndexes.size());
+        });
+    }
+
+    @Test
+    void testExecuteQuery_ColumnIndexRebuiltWhenColumnTypesChange() {
+        String query = "SELECT * FROM users";
+        ColumnIndexCache columnIndexes = new ColumnIndexCache(ColumnIndexCache.DEFAULT_MAX_SIZE);
+        JdbcStatementAdapter adapter = new JdbcStatementAdapter(preparedStatement, query, columnIndexes);
+        assertDoesNotThrow(() -> {
+            when(preparedStatement.executeQuery()).thenReturn(resultSet);
+            when(resultSet.getMetaData()).thenReturn(metaData);
+            when(metaData.getColumnCount()).thenReturn(1);
+            when(metaData.getColumnType(1)).thenReturn(Types.INTEGER, Types.BIGINT);
+            when(metaData.getColumnLabel(1)).thenReturn("ID");
+
+            adapter.executeQuery();
+            adapter.executeQuery();
+
+            verify(metaData, times(2)).getColumnLabel(1);
+        });
+    }
+
     @Test
     void testExecuteUpdate_DelegatesToPreparedStatement() {
         assertDoesNotThrow(() -> {
@@ -65,6 +131,42 @@ public class JdbcStatementAdapterTest {
         });
     }
 
+    @Test
+    void testExecuteBatch_DelegatesToPreparedStatement() {
+        assertDoesNotThrow(() -> {
+            when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 1});
+            statementAdapter.addBatch();
+            statementAdapter.addBatch();
+            assertArrayEquals(new int[]{1, 1}, statementAdapter.executeBatch());
+            verify(preparedStatement, times(2)).addBatch();
+            verify(preparedStatement).executeBatch();
+        });
+    }
+
+    @Test
+    void testTypedSetters_DelegateToPreparedStatement() {
+        assertDoesNotThrow(() -> {
+            statementAdapter.setInt(1, 7);
+            statementAdapter.setLong(2, 8L);
+            statementAdapter.setString(3, "x");
+            statementAdapter.setNull(4, Types.BIGINT);
+
+            verify(preparedStatement).setInt(1, 7);
+            verify(preparedStatement).setLong(2, 8L);
+            verify(preparedStatement).setString(3, "x");
+            verify(preparedStatement).setNull(4, Types.BIGINT);
+            verify(preparedStatement, never()).setObject(anyInt(), any());
+        });
+    }
+
+    @Test
+    void testCancel_DelegatesToPreparedStatement() {
+        assertDoesNotThrow(() -> {
+            statementAdapter.cancel();
+            verify(preparedStatement).cancel();
+        });
+    }
+
     @Test
     void testClose_DelegatesToPreparedStatement() {
         assertDoesNotThrow(() -> {
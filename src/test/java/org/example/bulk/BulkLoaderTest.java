@@ -0,0 +1,159 @@
+package org.example.bulk;
+
+import org.example.JdbcWrapper;
+import org.example.interfaces.DatabaseConnection;
+import org.example.memory.InMemoryDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkLoaderTest {
+
+    @Mock
+    private DatabaseConnection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    @Test
+    void testEncoder_WritesCsvFields() {
+        assertDoesNotThrow(() -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CsvCopyEncoder encoder = new CsvCopyEncoder(out::write, 32);
+
+            encoder.writeRow(new Object[]{1, Long.MIN_VALUE, -42L, null, ""});
+            encoder.writeRow(new Object[]{"say \"hi\", ok", "héllo €😀", true, new byte[]{0x0f, (byte) 0xa0}, 1.5});
+            encoder.flush();
+
+            assertEquals("1,-9223372036854775808,-42,,\"\"\n"
+                            + "\"say \"\"hi\"\", ok\",\"héllo €😀\",true,\\x0fa0,\"1.5\"\n",
+                    out.toString(StandardCharsets.UTF_8));
+        });
+    }
+
+    @Test
+    void testLoad_PostgresConnectionUsesCopy() {
+        assertDoesNotThrow(() -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+            when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+            when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+            when(copyManager.copyIn("COPY users (id, name) FROM STDIN (FORMAT csv)")).thenReturn(copyIn);
+            doAnswer(invocation -> {
+                out.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+                return null;
+            }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+            when(copyIn.endCopy()).thenReturn(2L);
+
+            long loaded = new BulkLoader(connection).load("users", List.of("id", "name"),
+                    List.of(new Object[]{1, "Alice"}, new Object[]{2, null}).iterator());
+
+            assertEquals(2, loaded);
+            assertEquals("1,\"Alice\"\n2,\n", out.toString(StandardCharsets.UTF_8));
+            verify(connection, never()).prepareStatement(anyString());
+        });
+    }
+
+    @Test
+    void testLoad_FailedCopyIsCancelled() {
+        assertDoesNotThrow(() -> {
+            when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+            when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+            when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+            when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+            when(copyIn.isActive()).thenReturn(true);
+
+            SQLException exception = assertThrows(SQLException.class, () -> new BulkLoader(connection)
+                    .load("users", List.of("id", "name"), List.<Object[]>of(new Object[]{1}).iterator()));
+
+            assertEquals("Row has 1 values but 2 columns were given", exception.getMessage());
+            verify(copyIn).cancelCopy();
+            verify(copyIn, never()).endCopy();
+        });
+    }
+
+    @Test
+    void testLoad_OtherDatabasesUseMultiRowInserts() {
+        assertDoesNotThrow(() -> {
+            InMemoryDatabase database = new InMemoryDatabase();
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                wrapper.executeUpdate("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(20))", List.of());
+                Object[] reused = new Object[2];
+                List<Integer> ids = new ArrayList<>();
+                IntStream.range(0, 1234).forEach(ids::add);
+                wrapper.setBatchSize(100);
+
+                long loaded = wrapper.executeBulkLoad("users", List.of("id", "name"), ids.iterator(), id -> {
+                    reused[0] = id;
+                    reused[1] = "user" + id;
+                    return reused;
+                });
+
+                assertEquals(1234, loaded);
+                assertEquals(1234, database.rowCount("users"));
+                assertEquals(List.of("user0", "user1233"), wrapper.executeQuery(
+                        "SELECT name FROM users WHERE id IN (0, 1233) ORDER BY id", List.of(), rs -> rs.getString(1)));
+            }
+        });
+    }
+
+    @Test
+    void testLoad_InvalidIdentifiers_ThrowsException() {
+        BulkLoader loader = new BulkLoader(connection);
+        List<Object[]> rows = List.<Object[]>of(new Object[]{1});
+
+        IllegalArgumentException table = assertThrows(IllegalArgumentException.class,
+                () -> loader.load("users; DROP TABLE users", List.of("id"), rows.iterator()));
+        IllegalArgumentException column = assertThrows(IllegalArgumentException.class,
+                () -> loader.load("users", List.of("id) VALUES (1); --"), rows.iterator()));
+
+        assertEquals("Invalid table name: users; DROP TABLE users", table.getMessage());
+        assertEquals("Invalid column name: id) VALUES (1); --", column.getMessage());
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    void testLoad_QualifiedAndQuotedIdentifiers_UsedVerbatim() {
+        assertDoesNotThrow(() -> {
+            when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+            when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+            when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+            when(copyManager.copyIn("COPY app.\"User Events\" (id, \"Kind\") FROM STDIN (FORMAT csv)")).thenReturn(copyIn);
+            when(copyIn.endCopy()).thenReturn(1L);
+
+            long loaded = new BulkLoader(connection).load("app.\"User Events\"", List.of("id", "\"Kind\""),
+                    List.<Object[]>of(new Object[]{1, "click"}).iterator());
+
+            assertEquals(1, loaded);
+        });
+    }
+
+    @Test
+    void testSetInsertRowsPerStatement_InvalidValue_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new BulkLoader(connection).setInsertRowsPerStatement(0));
+        assertEquals("Rows per statement must be positive", exception.getMessage());
+    }
+
+}
@@ -0,0 +1,215 @@
+package org.example.cache;
+
+import org.example.JdbcWrapper;
+import org.example.QueryTimeoutException;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryCoalescerTest {
+
+    private static final JdbcWrapper.ResultSetMapper<String> NAME = rs -> rs.getString("name");
+    private static final QueryKey KEY = new QueryKey("SELECT name FROM users WHERE id = ?", List.of(1), NAME);
+
+    @Mock
+    private DatabaseConnection connection;
+
+    @Mock
+    private DatabaseStatement statement;
+
+    @Mock
+    private DatabaseResultSet resultSet;
+
+    private final QueryCoalescer coalescer = new QueryCoalescer();
+
+    /**
+     * Starts {@code callers} executions of {@link #KEY}, the first of which runs {@code loader}, and
+     * returns once the rest are waiting for it.
+     */
+    private List<CompletableFuture<List<String>>> startCallers(int callers, CountDownLatch started,
+                                                               ResultCache.Loader<String> loader) throws Exception {
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        futures.add(CompletableFuture.supplyAsync(() -> execute(loader)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> execute(loader)));
+        }
+        while (coalescer.getWaitingCount() < callers - 1) {
+            Thread.sleep(1);
+        }
+        return futures;
+    }
+
+    private static void block(CountDownLatch finish) throws SQLException {
+        try {
+            assertTrue(finish.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private List<String> execute(ResultCache.Loader<String> loader) {
+        try {
+            return coalescer.execute(KEY, null, loader);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneExecution() {
+        assertDoesNotThrow(() -> {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            AtomicInteger loads = new AtomicInteger();
+            List<CompletableFuture<List<String>>> futures = startCallers(8, started, () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                block(finish);
+                return List.of("Alice");
+            });
+            finish.countDown();
+
+            for (CompletableFuture<List<String>> future : futures) {
+                assertEquals(List.of("Alice"), future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, coalescer.getExecutionCount());
+            assertEquals(7, coalescer.getCoalescedCount());
+            assertEquals(0, coalescer.getInFlightCount());
+
+            coalescer.execute(KEY, null, () -> List.of("Bob"));
+            assertEquals(2, coalescer.getExecutionCount());
+        });
+    }
+
+    @Test
+    void testExecute_FailureIsThrownToEveryWaitingCaller() {
+        assertDoesNotThrow(() -> {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            SQLException failure = new SQLException("Table USERS not found", "42S02");
+            List<CompletableFuture<List<String>>> futures = startCallers(4, started, () -> {
+                started.countDown();
+                block(finish);
+                throw failure;
+            });
+            finish.countDown();
+
+            ExecutionException leader = assertThrows(ExecutionException.class, () -> futures.get(0).get(10, TimeUnit.SECONDS));
+            assertSame(failure, leader.getCause().getCause());
+            Set<Throwable> thrown = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (CompletableFuture<List<String>> future : futures.subList(1, futures.size())) {
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+                SQLException waiter = (SQLException) exception.getCause().getCause();
+                assertNotSame(failure, waiter);
+                assertSame(failure, waiter.getCause());
+                assertEquals("Table USERS not found", waiter.getMessage());
+                assertEquals("42S02", waiter.getSQLState());
+                assertTrue(thrown.add(waiter), "Waiting callers should not share an exception");
+            }
+            assertEquals(1, coalescer.getExecutionCount());
+            assertEquals(0, coalescer.getInFlightCount());
+        });
+    }
+
+    @Test
+    void testExecute_CancelledExecution_WaitingCallersRunAgain() {
+        assertDoesNotThrow(() -> {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            AtomicInteger loads = new AtomicInteger();
+            List<CompletableFuture<List<String>>> futures = startCallers(2, started, () -> {
+                if (loads.incrementAndGet() == 1) {
+                    started.countDown();
+                    block(finish);
+                    throw new QueryTimeoutException("Statement did not finish before its deadline");
+                }
+                return List.of("Alice");
+            });
+            finish.countDown();
+
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> futures.get(0).get(10, TimeUnit.SECONDS));
+            assertInstanceOf(QueryTimeoutException.class, exception.getCause().getCause());
+            assertEquals(List.of("Alice"), futures.get(1).get(10, TimeUnit.SECONDS));
+            assertEquals(2, loads.get());
+            assertEquals(0, coalescer.getCoalescedCount());
+        });
+    }
+
+    @Test
+    void testExecuteQuery_CoalescesAcrossWrappersOutsideTransactions() {
+        assertDoesNotThrow(() -> {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            when(connection.getAutoCommit()).thenReturn(true);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeQuery()).thenAnswer(invocation -> {
+                started.countDown();
+                assertTrue(finish.await(10, TimeUnit.SECONDS));
+                return resultSet;
+            });
+            when(resultSet.next()).thenReturn(true, false);
+            when(resultSet.getString("name")).thenReturn("Alice");
+
+            List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                wrapper.setQueryCoalescer(coalescer);
+                futures.add(CompletableFuture.supplyAsync(() -> query(wrapper)));
+                if (i == 0) {
+                    assertTrue(started.await(10, TimeUnit.SECONDS));
+                }
+            }
+            while (coalescer.getWaitingCount() < 3) {
+                Thread.sleep(1);
+            }
+            finish.countDown();
+
+            List<List<String>> results = new ArrayList<>();
+            for (CompletableFuture<List<String>> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+                assertEquals(List.of("Alice"), results.get(results.size() - 1));
+            }
+            assertNotSame(results.get(0), results.get(1));
+            verify(statement, times(1)).executeQuery();
+
+            when(connection.getAutoCommit()).thenReturn(false);
+            JdbcWrapper wrapper = new JdbcWrapper(connection);
+            wrapper.setQueryCoalescer(coalescer);
+            when(resultSet.next()).thenReturn(true, false);
+            assertEquals(List.of("Alice"), query(wrapper));
+            assertEquals(1, coalescer.getExecutionCount());
+        });
+    }
+
+    private static List<String> query(JdbcWrapper wrapper) {
+        try {
+            return wrapper.executeQuery("SELECT name FROM users WHERE id = ?", List.of(1), NAME);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package org.example.cache;
+
+import org.example.JdbcWrapper;
+import org.example.adapters.JdbcConnectionAdapter;
+import org.example.interfaces.DatabaseConnection;
+import org.example.memory.InMemoryDatabase;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    private static final JdbcWrapper.ResultSetMapper<String> NAME = rs -> rs.getString("name");
+
+    @Test
+    void testExecuteQuery_ServesRepeatedLookupsFromCache() {
+        assertDoesNotThrow(() -> {
+            ResultCache cache = ResultCache.builder().build();
+            try (DatabaseConnection connection = new InMemoryDatabase().getConnection()) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                wrapper.executeUpdate("CREATE TABLE countries (code VARCHAR(2) PRIMARY KEY, name VARCHAR(50))", List.of());
+                wrapper.executeUpdate("INSERT INTO countries VALUES ('DE', 'Germany'), ('FR', 'France')", List.of());
+                wrapper.setResultCache(cache);
+
+                for (int i = 0; i < 9; i++) {
+                    assertEquals(List.of("Germany"), wrapper.executeQuery("SELECT name FROM countries WHERE code = ?", List.of("DE"), NAME));
+                }
+                assertEquals(List.of("France"), wrapper.executeQuery("SELECT name FROM countries WHERE code = ?", List.of("FR"), NAME));
+
+                wrapper.executeUpdate("UPDATE countries SET name = ? WHERE code = ?", List.of("Deutschland", "DE"));
+
+                assertEquals(List.of("Deutschland"), wrapper.executeQuery("SELECT name FROM countries WHERE code = ?", List.of("DE"), NAME));
+            }
+            CacheStats stats = cache.getStats();
+            assertEquals(8, stats.getHits());
+            assertEquals(3, stats.getMisses());
+            assertEquals(2, stats.getInvalidations());
+            assertEquals(8.0 / 11, stats.getHitRatio(), 1e-9);
+        });
+    }
+
+    @Test
+    void testExecuteQuery_InsideTransaction_BypassesSharedCache() {
+        assertDoesNotThrow(() -> {
+            ResultCache cache = ResultCache.builder().build();
+            String url = "jdbc:h2:mem:cache_transaction;DB_CLOSE_DELAY=-1";
+            try (JdbcWrapper w1 = new JdbcWrapper(new JdbcConnectionAdapter(DriverManager.getConnection(url, "sa", "")));
+                 JdbcWrapper w2 = new JdbcWrapper(new JdbcConnectionAdapter(DriverManager.getConnection(url, "sa", "")))) {
+                w1.executeUpdate("CREATE TABLE settings (id INT PRIMARY KEY, name VARCHAR(20))", List.of());
+                w1.executeUpdate("INSERT INTO settings VALUES (1, 'old')", List.of());
+                w1.setResultCache(cache);
+                w2.setResultCache(cache);
+
+                w1.inTransaction(wrapper -> {
+                    wrapper.executeUpdate("UPDATE settings SET name = 'dirty' WHERE id = 1", List.of());
+                    assertEquals(List.of("dirty"), wrapper.executeQuery("SELECT name FROM settings WHERE id = ?", List.of(1), NAME));
+                    assertEquals(List.of("old"), w2.executeQuery("SELECT name FROM settings WHERE id = ?", List.of(1), NAME));
+                    wrapper.executeUpdate("UPDATE settings SET name = 'new' WHERE id = 1", List.of());
+                    return null;
+                });
+
+                assertEquals(List.of("new"), w2.executeQuery("SELECT name FROM settings WHERE id = ?", List.of(1), NAME));
+                assertEquals(2, cache.getStats().getMisses());
+            }
+        });
+    }
+
+    @Test
+    void testGetOrLoad_EvictsLeastRecentlyUsedBeyondBounds() {
+        assertDoesNotThrow(() -> {
+            ResultCache cache = ResultCache.builder().maxEntries(2).build();
+            AtomicInteger loads = new AtomicInteger();
+            ResultCache.Loader<String> loader = () -> {
+                loads.incrementAndGet();
+                return List.of("value");
+            };
+            QueryKey a = new QueryKey("SELECT a FROM t", List.of(), NAME);
+            QueryKey b = new QueryKey("SELECT b FROM t", List.of(), NAME);
+            QueryKey c = new QueryKey("SELECT c FROM t", List.of(), NAME);
+            cache.getOrLoad(a, loader);
+            cache.getOrLoad(b, loader);
+            cache.getOrLoad(a, loader);
+            cache.getOrLoad(c, loader);
+            cache.getOrLoad(a, loader);
+            cache.getOrLoad(b, loader);
+
+            assertEquals(4, loads.get());
+            assertEquals(2, cache.getStats().getEntryCount());
+            assertEquals(2, cache.getStats().getEvictions());
+        });
+    }
+
+    @Test
+    void testGetOrLoad_RespectsByteBoundAndTtl() {
+        assertDoesNotThrow(() -> {
+            ResultCache cache = ResultCache.builder().maxBytes(1_000).ttl(Duration.ofMillis(500)).build();
+            QueryKey large = new QueryKey("SELECT blob FROM t", List.of(), NAME);
+            cache.getOrLoad(large, () -> List.of(new byte[2_000]));
+            assertEquals(0, cache.getStats().getEntryCount());
+
+            QueryKey small = new QueryKey("SELECT name FROM t WHERE id = ?", List.of(1), NAME);
+            cache.getOrLoad(small, () -> List.of("x"));
+            cache.getOrLoad(small, () -> List.of("x"));
+            assertEquals(1, cache.getStats().getHits());
+            Thread.sleep(600);
+            cache.getOrLoad(small, () -> List.of("y"));
+            assertEquals(1, cache.getStats().getExpirations());
+        });
+    }
+
+    @Test
+    void testGetOrLoad_DoesNotCacheResultInvalidatedWhileLoading() {
+        assertDoesNotThrow(() -> {
+            ResultCache cache = ResultCache.builder().build();
+            QueryKey key = new QueryKey("SELECT name FROM users", List.of(), NAME);
+            cache.getOrLoad(key, () -> {
+                cache.invalidate("DELETE FROM users WHERE id = 1");
+                return List.of("stale");
+            });
+            assertEquals(0, cache.getStats().getEntryCount());
+        });
+    }
+
+    @Test
+    void testQueryKey_ComparesByteArraysByContent() {
+        assertEquals(new QueryKey("SELECT 1", List.of(new byte[]{1, 2}), NAME),
+                new QueryKey("SELECT 1", List.of(new byte[]{1, 2}), NAME));
+        JdbcWrapper.ResultSetMapper<String> other = rs -> "other";
+        assertNotEquals(new QueryKey("SELECT 1", List.of(1), NAME), new QueryKey("SELECT 1", List.of(1), other));
+    }
+
+    @Test
+    void testSqlTables_FindsReadAndWrittenTables() {
+        assertEquals(Set.of("orders", "customers", "items"), SqlTables.of(
+                "SELECT o.id FROM public.orders o JOIN customers c ON c.id = o.customer_id, items i WHERE i.name = 'from x'"));
+        assertEquals(Set.of("users"), SqlTables.of("INSERT INTO users (id) VALUES (?)"));
+        assertEquals(Set.of("users"), SqlTables.of("update Users set name = ?"));
+        assertEquals(Set.of("Audit Log"), SqlTables.of("DELETE FROM \"Audit Log\""));
+        assertEquals(Set.of("t"), SqlTables.of("CREATE TABLE IF NOT EXISTS t (id INT)"));
+        assertEquals(Set.of(), SqlTables.of("VACUUM"));
+    }
+
+}
@@ -0,0 +1,140 @@
+package org.example.columnar;
+
+import org.example.interfaces.DatabaseResultSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ColumnarResultTest {
+
+    @Mock
+    private DatabaseResultSet resultSet;
+
+    private void stubUsers(int rows) throws Exception {
+        when(resultSet.getColumnCount()).thenReturn(4);
+        when(resultSet.getColumnLabel(1)).thenReturn("ID");
+        when(resultSet.getColumnLabel(2)).thenReturn("VISITS");
+        when(resultSet.getColumnLabel(3)).thenReturn("SCORE");
+        when(resultSet.getColumnLabel(4)).thenReturn("CITY");
+        when(resultSet.getColumnType(1)).thenReturn(Types.INTEGER);
+        when(resultSet.getColumnType(2)).thenReturn(Types.BIGINT);
+        when(resultSet.getColumnType(3)).thenReturn(Types.DOUBLE);
+        when(resultSet.getColumnType(4)).thenReturn(Types.VARCHAR);
+        int[] row = {0};
+        when(resultSet.next()).thenAnswer(invocation -> row[0]++ < rows);
+        when(resultSet.getInt(1)).thenAnswer(invocation -> row[0]);
+        when(resultSet.getLong(2)).thenAnswer(invocation -> row[0] * 1_000_000_000L);
+        when(resultSet.getDouble(3)).thenAnswer(invocation -> row[0] % 3 == 0 ? 0.0 : row[0] / 2.0);
+        when(resultSet.wasNull()).thenAnswer(invocation -> false);
+        when(resultSet.getString(4)).thenAnswer(invocation -> row[0] % 5 == 0 ? null : "city-" + (row[0] % 2));
+    }
+
+    @Test
+    void testRead_HeapStorage_FillsTypedVectors() {
+        assertReadFillsTypedVectors(ColumnVector.Storage.HEAP);
+    }
+
+    @Test
+    void testRead_OffHeapStorage_FillsTypedVectors() {
+        assertReadFillsTypedVectors(ColumnVector.Storage.OFF_HEAP);
+    }
+
+    private void assertReadFillsTypedVectors(ColumnVector.Storage storage) {
+        assertDoesNotThrow(() -> {
+            stubUsers(1000);
+
+            ColumnarResult result = ColumnarResult.read(resultSet, storage);
+
+            assertEquals(1000, result.getRowCount());
+            assertEquals(4, result.getColumnCount());
+            IntColumnVector ids = result.getIntColumn("id");
+            LongColumnVector visits = result.getLongColumn("visits");
+            DoubleColumnVector scores = result.getDoubleColumn("score");
+            StringColumnVector cities = result.getStringColumn("city");
+            assertEquals(1, ids.get(0));
+            assertEquals(1000, ids.get(999));
+            assertEquals(999_000_000_000L, visits.get(998));
+            assertEquals(2.0, scores.get(3));
+            assertEquals("city-1", cities.get(0));
+            assertEquals("city-0", cities.get(1));
+            assertNull(cities.get(4));
+            assertTrue(cities.isNull(4));
+            assertEquals(-1, cities.getCode(4));
+            assertEquals(2, cities.getDictionarySize());
+            assertFalse(ids.isNull(4));
+        });
+    }
+
+    @Test
+    void testRead_TracksNumericNulls() {
+        assertDoesNotThrow(() -> {
+            when(resultSet.getColumnCount()).thenReturn(1);
+            when(resultSet.getColumnLabel(1)).thenReturn("AGE");
+            when(resultSet.getColumnType(1)).thenReturn(Types.INTEGER);
+            when(resultSet.next()).thenReturn(true, true, false);
+            when(resultSet.getInt(1)).thenReturn(25, 0);
+            when(resultSet.wasNull()).thenReturn(false, true);
+
+            IntColumnVector ages = ColumnarResult.read(resultSet, ColumnVector.Storage.HEAP).getIntColumn("AGE");
+
+            assertEquals(2, ages.size());
+            assertFalse(ages.isNull(0));
+            assertTrue(ages.isNull(1));
+            assertEquals(0, ages.get(1));
+        });
+    }
+
+    @Test
+    void testRead_DecimalColumn_KeepsExactValue() {
+        assertDoesNotThrow(() -> {
+            when(resultSet.getColumnCount()).thenReturn(1);
+            when(resultSet.getColumnLabel(1)).thenReturn("BALANCE");
+            when(resultSet.getColumnType(1)).thenReturn(Types.DECIMAL);
+            when(resultSet.next()).thenReturn(true, true, false);
+            when(resultSet.getString(1)).thenReturn("12345678901234567.89", (String) null);
+
+            StringColumnVector balances = ColumnarResult.read(resultSet, ColumnVector.Storage.HEAP).getStringColumn("BALANCE");
+
+            assertEquals(new BigDecimal("12345678901234567.89"), new BigDecimal(balances.get(0)));
+            assertTrue(balances.isNull(1));
+            verify(resultSet, never()).getDouble(anyInt());
+        });
+    }
+
+    @Test
+    void testGrowBytes_LimitsOffHeapCapacity() {
+        assertEquals(97 * Long.BYTES, ColumnVector.growBytes(64 * Long.BYTES, Long.BYTES));
+        int maxValues = Integer.MAX_VALUE / Long.BYTES;
+        assertEquals(maxValues * Long.BYTES, ColumnVector.growBytes((maxValues - 1) * Long.BYTES, Long.BYTES));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> ColumnVector.growBytes(maxValues * Long.BYTES, Long.BYTES));
+        assertEquals("Off-heap column vector cannot hold more than " + maxValues + " values of 8 bytes",
+                exception.getMessage());
+    }
+
+    @Test
+    void testGetColumn_WrongVectorType_ThrowsException() {
+        assertDoesNotThrow(() -> {
+            when(resultSet.getColumnCount()).thenReturn(1);
+            when(resultSet.getColumnLabel(1)).thenReturn("NAME");
+            when(resultSet.getColumnType(1)).thenReturn(Types.VARCHAR);
+            when(resultSet.next()).thenReturn(false);
+
+            ColumnarResult result = ColumnarResult.read(resultSet, ColumnVector.Storage.HEAP);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> result.getIntColumn("NAME"));
+            assertEquals("Column NAME is stored as StringColumnVector, not IntColumnVector", exception.getMessage());
+            assertThrows(IndexOutOfBoundsException.class, () -> result.getStringColumn("NAME").get(0));
+        });
+    }
+
+}
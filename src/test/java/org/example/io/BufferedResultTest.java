@@ -0,0 +1,139 @@
+package org.example.io;
+
+import org.example.interfaces.DatabaseResultSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BufferedResultTest {
+
+    @Mock
+    private DatabaseResultSet resultSet;
+
+    @TempDir
+    Path directory;
+
+    private void stubUsers(int rows) throws Exception {
+        when(resultSet.getColumnCount()).thenReturn(3);
+        when(resultSet.getColumnLabel(1)).thenReturn("ID");
+        when(resultSet.getColumnLabel(2)).thenReturn("VISITS");
+        when(resultSet.getColumnLabel(3)).thenReturn("NAME");
+        when(resultSet.getColumnType(1)).thenReturn(Types.INTEGER);
+        when(resultSet.getColumnType(2)).thenReturn(Types.BIGINT);
+        when(resultSet.getColumnType(3)).thenReturn(Types.VARCHAR);
+        int[] row = {0};
+        when(resultSet.next()).thenAnswer(invocation -> row[0]++ < rows);
+        when(resultSet.getInt(1)).thenAnswer(invocation -> row[0]);
+        when(resultSet.getLong(2)).thenAnswer(invocation -> row[0] * 1_000_000_000L);
+        when(resultSet.wasNull()).thenAnswer(invocation -> false);
+        when(resultSet.getString(3)).thenAnswer(invocation -> row[0] % 5 == 0 ? null : "user-" + row[0]);
+    }
+
+    private static String describe(DatabaseResultSet rs) throws SQLException {
+        return rs.getInt("id") + ":" + rs.getLong("visits") + ":" + rs.getString("name");
+    }
+
+    private static String expected(int id) {
+        return id + ":" + id * 1_000_000_000L + ":" + (id % 5 == 0 ? null : "user-" + id);
+    }
+
+    @Test
+    void testRead_WithinBudget_KeepsRowsOnHeap() {
+        assertDoesNotThrow(() -> {
+            stubUsers(200);
+
+            try (BufferedResult<String> result = BufferedResult.read(resultSet, BufferedResultTest::describe,
+                    1 << 20, directory)) {
+                assertFalse(result.isSpilled());
+                assertEquals(200, result.size());
+                assertEquals(expected(1), result.get(0));
+                assertEquals(expected(130), result.get(129));
+                assertEquals(new ArrayList<>(result), new ArrayList<>(result));
+                try (var files = Files.list(directory)) {
+                    assertEquals(0, files.count());
+                }
+            }
+        });
+    }
+
+    @Test
+    void testRead_BudgetBeyondArrayLimit_IsClamped() {
+        assertDoesNotThrow(() -> {
+            stubUsers(10);
+
+            assertEquals(RowSpillWriter.MAX_HEAP_BYTES,
+                    new RowSpillWriter(Long.MAX_VALUE, directory, Integer.MAX_VALUE).getHeapBudget());
+            try (BufferedResult<String> result = BufferedResult.read(resultSet, BufferedResultTest::describe,
+                    Long.MAX_VALUE, directory)) {
+                assertFalse(result.isSpilled());
+                assertEquals(10, result.size());
+                assertEquals(expected(10), result.get(9));
+            }
+        });
+    }
+
+    @Test
+    void testRead_OverBudget_SpillsAndDeletesFileOnClose() {
+        assertDoesNotThrow(() -> {
+            stubUsers(1000);
+
+            BufferedResult<String> result = BufferedResult.read(resultSet, BufferedResultTest::describe, 1024, directory);
+
+            assertTrue(result.isSpilled());
+            assertTrue(result.getByteSize() > 1024);
+            List<String> rows = new ArrayList<>();
+            for (String row : result) {
+                rows.add(row);
+            }
+            assertEquals(1000, rows.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(expected(i + 1), rows.get(i));
+            }
+            assertEquals(expected(777), result.get(776));
+            assertEquals(rows, new ArrayList<>(result));
+
+            result.close();
+
+            try (var files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> result.get(0));
+            assertEquals("Result has been closed", exception.getMessage());
+        });
+    }
+
+    @Test
+    void testRead_SpilledAcrossSegments_ReadsEveryRow() {
+        assertDoesNotThrow(() -> {
+            stubUsers(2000);
+
+            try (BufferedResult<String> result = BufferedResult.read(resultSet, BufferedResultTest::describe,
+                    0, directory, 4096)) {
+                assertTrue(result.isSpilled());
+                int id = 0;
+                for (String row : result) {
+                    assertEquals(expected(++id), row);
+                }
+                assertEquals(2000, id);
+                for (int i = 0; i < 2000; i += 61) {
+                    assertEquals(expected(i + 1), result.get(i));
+                }
+                assertThrows(IndexOutOfBoundsException.class, () -> result.get(2000));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,213 @@
+package org.example.limit;
+
+import org.example.JdbcWrapper;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimiterTest {
+
+    @Mock
+    private DatabaseConnection connection;
+
+    @Mock
+    private DatabaseStatement statement;
+
+    @Mock
+    private DatabaseResultSet resultSet;
+
+    /**
+     * Simulated time, so the fake database can be slowed down without sleeping.
+     */
+    private final long[] now = {0};
+    private final long[] queryLatency = {0};
+
+    private void stubDatabase() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            now[0] += queryLatency[0];
+            return resultSet;
+        });
+    }
+
+    /**
+     * Runs {@code rounds} rounds of up to {@code concurrency} overlapping queries, each taking
+     * {@code latencyMillis}, without exceeding the limiter's current limit.
+     */
+    private void runLoad(ConcurrencyLimiter limiter, DatabaseConnection limited, int concurrency, int rounds,
+                         long latencyMillis) throws SQLException {
+        queryLatency[0] = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        for (int round = 0; round < rounds; round++) {
+            List<DatabaseResultSet> open = new ArrayList<>();
+            for (int i = Math.min(concurrency, limiter.getLimit()); i > 0; i--) {
+                open.add(limited.prepareStatement("SELECT 1").executeQuery());
+            }
+            for (DatabaseResultSet rs : open) {
+                rs.close();
+            }
+        }
+    }
+
+    @Test
+    void testGradient_LimitFollowsLatency() {
+        assertDoesNotThrow(() -> {
+            stubDatabase();
+            ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                    .initialLimit(10)
+                    .maxLimit(100)
+                    .clock(() -> now[0])
+                    .build();
+            DatabaseConnection limited = limiter.wrap(connection);
+
+            runLoad(limiter, limited, 40, 50, 10);
+            int fastLimit = limiter.getLimit();
+            assertTrue(fastLimit > 20, "Limit should grow while latency is steady: " + fastLimit);
+
+            runLoad(limiter, limited, 40, 10, 100);
+            int slowLimit = limiter.getLimit();
+            assertTrue(slowLimit < fastLimit / 2, "Limit should shrink as latency rises: " + slowLimit);
+            assertEquals(0, limiter.getInFlight());
+        });
+    }
+
+    @Test
+    void testAimd_BacksOffOnSlowAndFailedStatements() {
+        assertDoesNotThrow(() -> {
+            stubDatabase();
+            ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                    .algorithm(ConcurrencyLimiter.Algorithm.AIMD)
+                    .initialLimit(10)
+                    .latencyThreshold(Duration.ofMillis(50))
+                    .backoffRatio(0.5)
+                    .clock(() -> now[0])
+                    .build();
+            DatabaseConnection limited = limiter.wrap(connection);
+
+            runLoad(limiter, limited, 10, 1, 10);
+            assertEquals(14, limiter.getLimit());
+
+            runLoad(limiter, limited, 1, 1, 80);
+            assertEquals(7, limiter.getLimit());
+
+            when(statement.executeUpdate()).thenThrow(new SQLTimeoutException("Query timed out", "57014"));
+            assertThrows(SQLTimeoutException.class, () -> limited.prepareStatement("UPDATE t SET x = 1").executeUpdate());
+            assertEquals(3, limiter.getLimit());
+            assertEquals(1, limiter.getDroppedCount());
+        });
+    }
+
+    @Test
+    void testAimd_SlowConsumerIsNotTakenForSlowDatabase() {
+        assertDoesNotThrow(() -> {
+            stubDatabase();
+            ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                    .algorithm(ConcurrencyLimiter.Algorithm.AIMD)
+                    .initialLimit(10)
+                    .latencyThreshold(Duration.ofMillis(50))
+                    .clock(() -> now[0])
+                    .build();
+            DatabaseConnection limited = limiter.wrap(connection);
+            queryLatency[0] = TimeUnit.MILLISECONDS.toNanos(10);
+
+            DatabaseResultSet rows = limited.prepareStatement("SELECT 1").executeQuery();
+            now[0] += TimeUnit.SECONDS.toNanos(5);
+            assertEquals(1, limiter.getInFlight());
+            rows.close();
+
+            assertEquals(10, limiter.getLimit());
+            assertEquals(0, limiter.getInFlight());
+        });
+    }
+
+    @Test
+    void testExecute_AtLimit_FailsFast() {
+        assertDoesNotThrow(() -> {
+            stubDatabase();
+            ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                    .initialLimit(2)
+                    .minLimit(2)
+                    .maxLimit(2)
+                    .build();
+            JdbcWrapper wrapper = new JdbcWrapper(limiter.wrap(connection));
+            DatabaseConnection limited = limiter.wrap(connection);
+            DatabaseResultSet first = limited.prepareStatement("SELECT 1").executeQuery();
+            DatabaseResultSet second = limited.prepareStatement("SELECT 1").executeQuery();
+
+            SQLTransientException exception = assertThrows(SQLTransientException.class,
+                    () -> wrapper.executeQuery("SELECT 1", List.of(), rs -> rs.getInt(1)));
+            assertEquals("53400", exception.getSQLState());
+            assertEquals(1, limiter.getRejectedCount());
+
+            first.close();
+            assertEquals(List.of(), wrapper.executeQuery("SELECT 1", List.of(), rs -> rs.getInt(1)));
+            second.close();
+            assertEquals(0, limiter.getInFlight());
+        });
+    }
+
+    @Test
+    void testExecute_AtLimit_QueuesUntilDeadline() {
+        assertDoesNotThrow(() -> {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeUpdate()).thenAnswer(invocation -> {
+                started.countDown();
+                assertTrue(finish.await(10, TimeUnit.SECONDS));
+                return 1;
+            }).thenReturn(1);
+            ConcurrencyLimiter limiter = ConcurrencyLimiter.builder()
+                    .initialLimit(1)
+                    .maxLimit(1)
+                    .maxQueueWait(Duration.ofSeconds(10))
+                    .build();
+            JdbcWrapper wrapper = new JdbcWrapper(limiter.wrap(connection));
+
+            CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> update(wrapper));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(() -> update(wrapper));
+            while (limiter.getWaiting() == 0) {
+                Thread.sleep(1);
+            }
+            finish.countDown();
+
+            assertEquals(1, slow.get(10, TimeUnit.SECONDS));
+            assertEquals(1, queued.get(10, TimeUnit.SECONDS));
+            assertEquals(0, limiter.getRejectedCount());
+        });
+    }
+
+    private static int update(JdbcWrapper wrapper) {
+        try {
+            return wrapper.executeUpdate("UPDATE t SET x = 1", List.of());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void testBuild_InvalidLimits_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ConcurrencyLimiter.builder().initialLimit(500).build());
+        assertEquals("Initial limit must be between the minimum and maximum limits", exception.getMessage());
+    }
+
+}
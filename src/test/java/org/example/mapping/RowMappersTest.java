@@ -0,0 +1,191 @@
+package org.example.mapping;
+
+import org.example.JdbcWrapper;
+import org.example.adapters.DelegatingResultSet;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.example.memory.InMemoryDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowMappersTest {
+
+    enum Status { ACTIVE, DISABLED }
+
+    record User(long id, String firstName, Integer age, double score, boolean admin, Status status) {
+    }
+
+    record Summary(String firstName, long id) {
+    }
+
+    public static class UserBean {
+
+        private long id;
+        private String firstName;
+        private Integer age;
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public void setUnmapped(String ignored) {
+            throw new AssertionError("Properties without a column must not be set");
+        }
+
+    }
+
+    record Unsupported(Object value) {
+    }
+
+    private InMemoryDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new InMemoryDatabase();
+        assertDoesNotThrow(() -> {
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                wrapper.executeUpdate("CREATE TABLE users (id BIGINT PRIMARY KEY, first_name VARCHAR(20), age INT, "
+                        + "score DOUBLE, admin BOOLEAN, status VARCHAR(10))", List.of());
+                wrapper.executeUpdate("INSERT INTO users VALUES (1, 'Alice', 30, 1.5, TRUE, 'ACTIVE'), "
+                        + "(2, 'Bob', NULL, 2.5, FALSE, 'DISABLED')", List.of());
+            }
+        });
+    }
+
+    @Test
+    void testOf_MapsRecordByColumnName() {
+        assertDoesNotThrow(() -> {
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                List<User> users = wrapper.executeQueryAs("SELECT * FROM users ORDER BY id", List.of(), User.class);
+
+                assertEquals(List.of(new User(1, "Alice", 30, 1.5, true, Status.ACTIVE),
+                        new User(2, "Bob", null, 2.5, false, Status.DISABLED)), users);
+            }
+        });
+    }
+
+    @Test
+    void testOf_RebindsWhenColumnOrderChanges() {
+        assertDoesNotThrow(() -> {
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                List<Summary> first = wrapper.executeQueryAs("SELECT id, first_name FROM users WHERE id = 1", List.of(), Summary.class);
+                List<Summary> second = wrapper.executeQueryAs("SELECT first_name, id FROM users WHERE id = 2", List.of(), Summary.class);
+
+                assertEquals(List.of(new Summary("Alice", 1)), first);
+                assertEquals(List.of(new Summary("Bob", 2)), second);
+            }
+        });
+    }
+
+    @Test
+    void testOf_MapsBeanThroughSetters() {
+        assertDoesNotThrow(() -> {
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                List<UserBean> users = wrapper.executeQueryAs("SELECT id, first_name, age FROM users ORDER BY id",
+                        List.of(), UserBean.class);
+
+                assertEquals(2, users.size());
+                assertEquals(1, users.get(0).id);
+                assertEquals("Alice", users.get(0).firstName);
+                assertEquals(30, users.get(0).age);
+                assertNull(users.get(1).age);
+            }
+        });
+    }
+
+    @Test
+    void testOf_MissingRecordColumn_ThrowsException() {
+        assertDoesNotThrow(() -> {
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                SQLException exception = assertThrows(SQLException.class,
+                        () -> wrapper.executeQueryAs("SELECT id FROM users", List.of(), Summary.class));
+                assertEquals("Result has no column for Summary.firstName", exception.getMessage());
+            }
+        });
+    }
+
+    @Test
+    void testOf_ReturnsSharedMapper() {
+        assertSame(RowMappers.of(User.class), RowMappers.of(User.class));
+    }
+
+    @Test
+    void testOf_SharedMapperMapsInterleavedResultShapes() {
+        assertDoesNotThrow(() -> {
+            JdbcWrapper.ResultSetMapper<Summary> mapper = RowMappers.of(Summary.class);
+            try (DatabaseConnection connection = database.getConnection();
+                 DatabaseStatement byId = connection.prepareStatement("SELECT id, first_name FROM users ORDER BY id");
+                 DatabaseStatement byName = connection.prepareStatement("SELECT first_name, id FROM users ORDER BY id");
+                 DatabaseResultSet first = byId.executeQuery();
+                 DatabaseResultSet second = byName.executeQuery()) {
+                for (Summary expected : List.of(new Summary("Alice", 1), new Summary("Bob", 2))) {
+                    assertTrue(first.next());
+                    assertTrue(second.next());
+                    assertEquals(expected, mapper.map(first));
+                    assertEquals(expected, mapper.map(second));
+                }
+            }
+        });
+    }
+
+    @Test
+    void testOf_SharedMapperReadsMetadataOncePerResultSet() {
+        assertDoesNotThrow(() -> {
+            AtomicInteger metadataReads = new AtomicInteger();
+            try (DatabaseConnection connection = database.getConnection();
+                 DatabaseStatement statement = connection.prepareStatement("SELECT id, first_name FROM users ORDER BY id");
+                 DatabaseResultSet rows = new DelegatingResultSet(statement.executeQuery()) {
+                     @Override
+                     public int getColumnCount() throws SQLException {
+                         metadataReads.incrementAndGet();
+                         return super.getColumnCount();
+                     }
+                 }) {
+                JdbcWrapper.ResultSetMapper<Summary> mapper = RowMappers.of(Summary.class);
+                List<Summary> summaries = new ArrayList<>();
+                while (rows.next()) {
+                    summaries.add(mapper.map(rows));
+                }
+
+                assertEquals(List.of(new Summary("Alice", 1), new Summary("Bob", 2)), summaries);
+                assertEquals(1, metadataReads.get());
+            }
+        });
+    }
+
+    @Test
+    void testForQuery_ReturnsMapperPerQuery() {
+        assertDoesNotThrow(() -> {
+            assertNotSame(RowMappers.forQuery(Summary.class), RowMappers.forQuery(Summary.class));
+            try (JdbcWrapper wrapper = new JdbcWrapper(database.getConnection())) {
+                List<Summary> summaries = wrapper.executeQuery("SELECT first_name, id FROM users ORDER BY id", List.of(),
+                        RowMappers.forQuery(Summary.class));
+                assertEquals(List.of(new Summary("Alice", 1), new Summary("Bob", 2)), summaries);
+            }
+        });
+    }
+
+    @Test
+    void testOf_UnsupportedPropertyType_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> RowMappers.of(Unsupported.class));
+        assertEquals("Unsupported type java.lang.Object for Unsupported.value", exception.getMessage());
+    }
+
+}
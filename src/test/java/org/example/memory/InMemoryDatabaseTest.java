@@ -0,0 +1,365 @@
+package org.example.memory;
+
+import org.example.JdbcWrapper;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Savepoint;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryDatabaseTest {
+
+    private InMemoryDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new InMemoryDatabase();
+        assertDoesNotThrow(() -> {
+            execute("CREATE TABLE users (id INT PRIMARY KEY, name VARCHAR(100) NOT NULL, age INT, email VARCHAR(255) UNIQUE)");
+            execute("INSERT INTO users (id, name, age, email) VALUES (1, 'Alice', 30, 'alice@example.com'), "
+                    + "(2, 'Bob', 25, NULL), (3, 'Carol', 35, 'carol@example.com')");
+        });
+    }
+
+    private int execute(String sql, Object... parameters) throws SQLException {
+        try (DatabaseConnection connection = database.getConnection();
+             DatabaseStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setParameter(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private List<String> names(DatabaseConnection connection, String sql, Object... parameters) throws SQLException {
+        JdbcWrapper wrapper = new JdbcWrapper(connection);
+        return wrapper.executeQuery(sql, Arrays.asList(parameters), rs -> rs.getString("name"));
+    }
+
+    private List<String> names(String sql, Object... parameters) throws SQLException {
+        try (DatabaseConnection connection = database.getConnection()) {
+            return names(connection, sql, parameters);
+        }
+    }
+
+    @Test
+    void testExecuteQuery_ReturnsTypedColumns() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection();
+                 DatabaseStatement statement = connection.prepareStatement("SELECT id, name AS user_name, age FROM users WHERE id = ?")) {
+                statement.setParameter(1, 2);
+                DatabaseResultSet resultSet = statement.executeQuery();
+
+                assertEquals(3, resultSet.getColumnCount());
+                assertEquals("USER_NAME", resultSet.getColumnLabel(2));
+                assertEquals(Types.INTEGER, resultSet.getColumnType(1));
+                assertTrue(resultSet.next());
+                assertEquals(2L, resultSet.getLong("id"));
+                assertEquals("Bob", resultSet.getString("user_name"));
+                assertEquals(25, resultSet.getInt(3));
+                assertFalse(resultSet.wasNull());
+                assertFalse(resultSet.next());
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQuery_FiltersOrdersAndLimits() {
+        assertDoesNotThrow(() -> {
+            assertEquals(List.of("Carol", "Alice"), names("SELECT * FROM users WHERE age >= ? ORDER BY age DESC", 30));
+            assertEquals(List.of("Bob", "Alice"), names("SELECT name FROM users ORDER BY age LIMIT 2"));
+            assertEquals(List.of("Alice"), names("SELECT name FROM users ORDER BY id LIMIT ? OFFSET ?", 1, 0));
+            assertEquals(List.of("Bob"), names("SELECT name FROM users WHERE email IS NULL"));
+            assertEquals(List.of("Alice", "Carol"), names("SELECT u.name FROM users u WHERE u.id IN (1, 3) ORDER BY u.id"));
+            assertEquals(List.of("Bob", "Alice"), names("SELECT name FROM users WHERE age BETWEEN 20 AND 30 AND name <> 'Carol' ORDER BY age"));
+        });
+    }
+
+    @Test
+    void testExecuteQuery_UsesIndexesWithSameResults() {
+        assertDoesNotThrow(() -> {
+            execute("CREATE INDEX ON users (age)");
+            execute("CREATE HASH INDEX idx_users_name ON users (name)");
+
+            assertEquals(List.of("Bob", "Alice", "Carol"), names("SELECT name FROM users ORDER BY age"));
+            assertEquals(List.of("Carol", "Alice"), names("SELECT name FROM users ORDER BY age DESC LIMIT 2"));
+            assertEquals(List.of("Alice", "Carol"), names("SELECT name FROM users WHERE age > ? ORDER BY id", 25));
+            assertEquals(List.of("Bob"), names("SELECT name FROM users WHERE name = ?", "Bob"));
+        });
+    }
+
+    @Test
+    void testExecuteQuery_CountsRows() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection()) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                List<Long> counts = wrapper.executeQuery("SELECT COUNT(*) AS total FROM users WHERE age < ?",
+                        List.of(33), rs -> rs.getLong("total"));
+                assertEquals(List.of(2L), counts);
+            }
+        });
+    }
+
+    @Test
+    void testExecuteUpdate_UpdatesAndDeletesRows() {
+        assertDoesNotThrow(() -> {
+            assertEquals(2, execute("UPDATE users SET age = ? WHERE age >= ?", 40, 30));
+            assertEquals(List.of("Alice", "Carol"), names("SELECT name FROM users WHERE age = 40 ORDER BY name"));
+            assertEquals(1, execute("DELETE FROM users WHERE id = ?", 2));
+            assertEquals(2, database.rowCount("users"));
+        });
+    }
+
+    @Test
+    void testExecuteUpdate_ConstraintViolationLeavesTableUnchanged() {
+        assertDoesNotThrow(() -> {
+            SQLException duplicate = assertThrows(SQLIntegrityConstraintViolationException.class,
+                    () -> execute("INSERT INTO users (id, name) VALUES (4, 'Dave'), (1, 'Eve')"));
+            assertEquals("23505", duplicate.getSQLState());
+            SQLException notNull = assertThrows(SQLIntegrityConstraintViolationException.class,
+                    () -> execute("UPDATE users SET name = NULL WHERE id = 1"));
+            assertEquals("23502", notNull.getSQLState());
+
+            assertEquals(3, database.rowCount("users"));
+            assertEquals(List.of("Alice"), names("SELECT name FROM users WHERE id = 1"));
+        });
+    }
+
+    @Test
+    void testRollback_RevertsTransaction() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection()) {
+                connection.setAutoCommit(false);
+                try (DatabaseStatement statement = connection.prepareStatement("INSERT INTO users (id, name) VALUES (?, ?)")) {
+                    statement.setParameter(1, 4);
+                    statement.setParameter(2, "Dave");
+                    statement.executeUpdate();
+                }
+                try (DatabaseStatement statement = connection.prepareStatement("UPDATE users SET name = 'Zed' WHERE id = 1")) {
+                    statement.executeUpdate();
+                }
+                try (DatabaseStatement statement = connection.prepareStatement("DELETE FROM users WHERE id = 2")) {
+                    statement.executeUpdate();
+                }
+                assertEquals(List.of("Zed", "Carol", "Dave"), names(connection, "SELECT name FROM users ORDER BY id"));
+
+                connection.rollback();
+
+                assertEquals(List.of("Alice", "Bob", "Carol"), names(connection, "SELECT name FROM users ORDER BY id"));
+                assertEquals(List.of("Bob"), names(connection, "SELECT name FROM users WHERE id = 2"));
+            }
+        });
+    }
+
+    @Test
+    void testRollback_ToSavepointKeepsEarlierChanges() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection()) {
+                connection.setAutoCommit(false);
+                try (DatabaseStatement statement = connection.prepareStatement("UPDATE users SET name = 'Zed' WHERE id = 1")) {
+                    statement.executeUpdate();
+                }
+                Savepoint savepoint = connection.setSavepoint("before_delete");
+                try (DatabaseStatement statement = connection.prepareStatement("DELETE FROM users WHERE id > 1")) {
+                    statement.executeUpdate();
+                }
+
+                connection.rollback(savepoint);
+                connection.commit();
+
+                assertEquals(List.of("Zed", "Bob", "Carol"), names(connection, "SELECT name FROM users ORDER BY id"));
+                assertThrows(SQLException.class, () -> connection.rollback(savepoint));
+            }
+        });
+    }
+
+    private static int execute(DatabaseConnection connection, String sql) throws SQLException {
+        try (DatabaseStatement statement = connection.prepareStatement(sql)) {
+            return statement.executeUpdate();
+        }
+    }
+
+    @Test
+    void testRollback_RowDeletedByOtherConnection_IsLocked() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection a = database.getConnection(); DatabaseConnection b = database.getConnection()) {
+                a.setAutoCommit(false);
+                execute(a, "UPDATE users SET name = 'Zed' WHERE id = 2");
+
+                SQLException exception = assertThrows(SQLException.class, () -> execute(b, "DELETE FROM users WHERE id = 2"));
+                assertEquals("40001", exception.getSQLState());
+
+                a.rollback();
+                assertEquals(List.of("Bob"), names("SELECT name FROM users WHERE id = 2"));
+                assertEquals(1, execute(b, "DELETE FROM users WHERE id = 2"));
+            }
+        });
+    }
+
+    @Test
+    void testRollback_KeyDeletedAndReinsertedByOtherConnection_IsLocked() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection a = database.getConnection(); DatabaseConnection b = database.getConnection()) {
+                a.setAutoCommit(false);
+                execute(a, "DELETE FROM users WHERE id = 2");
+
+                SQLException exception = assertThrows(SQLException.class,
+                        () -> execute(b, "INSERT INTO users (id, name) VALUES (2, 'Eve')"));
+                assertEquals("40001", exception.getSQLState());
+                exception = assertThrows(SQLException.class, () -> execute(b, "UPDATE users SET id = 2 WHERE id = 3"));
+                assertEquals("40001", exception.getSQLState());
+
+                a.rollback();
+                assertEquals(List.of("Bob"), names("SELECT name FROM users WHERE id = 2"));
+                assertEquals(3, database.rowCount("users"));
+
+                execute(a, "DELETE FROM users WHERE id = 2");
+                a.commit();
+                assertEquals(1, execute(b, "INSERT INTO users (id, name) VALUES (2, 'Eve')"));
+                assertEquals(List.of("Eve"), names("SELECT name FROM users WHERE id = 2"));
+            }
+        });
+    }
+
+    @Test
+    void testExecuteUpdate_ReadOnlyConnection_ThrowsException() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection()) {
+                connection.setReadOnly(true);
+                try (DatabaseStatement statement = connection.prepareStatement("DELETE FROM users")) {
+                    SQLException exception = assertThrows(SQLException.class, statement::executeUpdate);
+                    assertEquals("25006", exception.getSQLState());
+                }
+                assertEquals(List.of("Alice", "Bob", "Carol"), names(connection, "SELECT name FROM users ORDER BY id"));
+            }
+        });
+    }
+
+    @Test
+    void testClose_RollsBackUncommittedChanges() {
+        assertDoesNotThrow(() -> {
+            DatabaseConnection connection = database.getConnection();
+            connection.setAutoCommit(false);
+            try (DatabaseStatement statement = connection.prepareStatement("DELETE FROM users")) {
+                assertEquals(3, statement.executeUpdate());
+            }
+            connection.commit();
+            try (DatabaseStatement statement = connection.prepareStatement("INSERT INTO users (id, name) VALUES (9, 'Ivan')")) {
+                statement.executeUpdate();
+            }
+            connection.close();
+
+            assertEquals(0, database.rowCount("users"));
+            assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT * FROM users"));
+        });
+    }
+
+    @Test
+    void testExecuteBatch_ThroughJdbcWrapper() {
+        assertDoesNotThrow(() -> {
+            List<List<Object>> rows = new ArrayList<>();
+            for (int i = 10; i < 110; i++) {
+                rows.add(List.of(i, "user" + i, i % 50));
+            }
+            try (DatabaseConnection connection = database.getConnection()) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                int[] counts = wrapper.executeBatch("INSERT INTO users (id, name, age) VALUES (?, ?, ?)", rows, 30, true);
+
+                assertEquals(100, counts.length);
+                assertTrue(connection.getAutoCommit());
+            }
+            assertEquals(103, database.rowCount("users"));
+        });
+    }
+
+    @Test
+    void testExecuteBatch_FailureReportsCompletedCounts() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection();
+                 DatabaseStatement statement = connection.prepareStatement("INSERT INTO users (id, name) VALUES (?, ?)")) {
+                statement.setParameter(1, 4);
+                statement.setParameter(2, "Dave");
+                statement.addBatch();
+                statement.setParameter(1, 1);
+                statement.addBatch();
+
+                BatchUpdateException exception = assertThrows(BatchUpdateException.class, statement::executeBatch);
+                assertArrayEquals(new int[]{1}, exception.getUpdateCounts());
+            }
+        });
+    }
+
+    @Test
+    void testPrepareStatement_InvalidSql_ThrowsException() {
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection()) {
+                SQLException syntax = assertThrows(SQLSyntaxErrorException.class,
+                        () -> connection.prepareStatement("SELECT FROM users"));
+                assertEquals("42000", syntax.getSQLState());
+                SQLException missingTable = assertThrows(SQLException.class,
+                        () -> connection.prepareStatement("SELECT * FROM missing").executeQuery());
+                assertEquals("42S02", missingTable.getSQLState());
+                SQLException unset = assertThrows(SQLException.class,
+                        () -> connection.prepareStatement("SELECT * FROM users WHERE id = ?").executeQuery());
+                assertEquals("07001", unset.getSQLState());
+            }
+        });
+    }
+
+    @Test
+    void testConcurrentWritersAndReaders() {
+        assertDoesNotThrow(() -> {
+            execute("CREATE TABLE events (id BIGINT PRIMARY KEY, kind VARCHAR(10))");
+            execute("CREATE INDEX ON events (kind)");
+            int threads = 8;
+            int perThread = 500;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        try (DatabaseConnection connection = database.getConnection();
+                             DatabaseStatement insert = connection.prepareStatement("INSERT INTO events VALUES (?, ?)");
+                             DatabaseStatement count = connection.prepareStatement("SELECT COUNT(*) FROM events WHERE kind = ?")) {
+                            for (int i = 0; i < perThread; i++) {
+                                insert.setParameter(1, (long) thread * perThread + i);
+                                insert.setParameter(2, "k" + thread);
+                                insert.executeUpdate();
+                            }
+                            count.setParameter(1, "k" + thread);
+                            try (DatabaseResultSet resultSet = count.executeQuery()) {
+                                assertTrue(resultSet.next());
+                                assertEquals(perThread, resultSet.getLong(1));
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(threads * perThread, database.rowCount("events"));
+        });
+    }
+
+}
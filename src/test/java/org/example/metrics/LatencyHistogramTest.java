@@ -0,0 +1,53 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketIndex_CoversTrackableRange() {
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+        assertEquals(63, LatencyHistogram.bucketIndex(63));
+        assertEquals(64, LatencyHistogram.bucketIndex(64));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+        for (long value = 1; value < 100_000_000_000L; value = value * 3 + 1) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestValue(index);
+            assertTrue(highest >= value, "bucket upper bound below value " + value);
+            assertTrue(highest - value <= value / 32, "bucket too wide for value " + value);
+        }
+    }
+
+    @Test
+    void testSnapshot_ReportsPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot(false);
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMinNanos());
+        assertEquals(1_000_000, snapshot.getMaxNanos());
+        assertEquals(500_500.0, snapshot.getMeanNanos());
+        assertEquals(500_000, snapshot.getP50Nanos(), 500_000 / 32.0);
+        assertEquals(990_000, snapshot.getP99Nanos(), 990_000 / 32.0);
+        assertEquals(1_000_000, snapshot.getP999Nanos(), 1_000_000 / 32.0);
+    }
+
+    @Test
+    void testSnapshot_ResetClearsRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5_000);
+
+        assertEquals(1, histogram.snapshot(true).getCount());
+        LatencySnapshot empty = histogram.snapshot(false);
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getP99Nanos());
+        assertEquals(0, empty.getMaxNanos());
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.example.metrics;
+
+import org.example.JdbcWrapper;
+import org.example.interfaces.DatabaseConnection;
+import org.example.memory.InMemoryDatabase;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryMetricsTest {
+
+    @Test
+    void testInstrument_RecordsPerNormalizedStatement() {
+        assertDoesNotThrow(() -> {
+            QueryMetrics metrics = new QueryMetrics();
+            try (DatabaseConnection connection = metrics.instrument(new InMemoryDatabase().getConnection())) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                wrapper.executeUpdate("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(20))", List.of());
+                wrapper.executeBatch("INSERT INTO items VALUES (?, ?)", List.of(List.of(1, "a"), List.of(2, "b"), List.of(3, "c")));
+                wrapper.executeQuery("SELECT name FROM items WHERE id IN (1, 2)", List.of(), rs -> rs.getString(1));
+                wrapper.executeQuery("SELECT name  FROM items WHERE id IN (?, ?, ?)", List.of(1, 2, 3), rs -> rs.getString(1));
+                assertThrows(SQLException.class, () -> wrapper.executeUpdate("INSERT INTO items VALUES (1, 'dup')", List.of()));
+            }
+
+            List<StatementStats> stats = metrics.snapshot();
+            StatementStats select = find(stats, "SELECT name FROM items WHERE id IN (?)");
+            assertEquals(2, select.getExecutions());
+            assertEquals(5, select.getRowsFetched());
+            assertEquals(2, select.getFetchLatency().getCount());
+            assertEquals(2, select.getPrepareLatency().getCount());
+            assertTrue(select.getExecuteLatency().getP99Nanos() > 0);
+
+            StatementStats insert = find(stats, "INSERT INTO items VALUES (?, ?)");
+            assertEquals(2, insert.getExecutions());
+            assertEquals(3, insert.getRowsUpdated());
+            assertEquals(1, insert.getErrors());
+        });
+    }
+
+    @Test
+    void testSnapshot_ResetOnRead() {
+        assertDoesNotThrow(() -> {
+            QueryMetrics metrics = new QueryMetrics();
+            try (DatabaseConnection connection = metrics.instrument(new InMemoryDatabase().getConnection())) {
+                new JdbcWrapper(connection).executeUpdate("CREATE TABLE t (id INT)", List.of());
+            }
+
+            assertEquals(1, metrics.snapshot(true).get(0).getExecutions());
+            assertEquals(0, metrics.snapshot(false).get(0).getExecutions());
+        });
+    }
+
+    @Test
+    void testNormalize_ReplacesLiteralsAndWhitespace() {
+        assertEquals("SELECT * FROM t1 WHERE a = ? AND b = ? AND c IN (?)",
+                SqlNormalizer.normalize("SELECT *\n  FROM t1 -- comment\n WHERE a = 'it''s' AND b = 42.5 AND c IN (1,2, 3)"));
+        assertEquals("SELECT \"Col 1\" FROM t WHERE x = ?", SqlNormalizer.normalize("SELECT \"Col 1\" FROM t WHERE x = ?"));
+    }
+
+    private static StatementStats find(List<StatementStats> stats, String sql) {
+        return stats.stream().filter(s -> s.getSql().equals(sql)).findFirst()
+                .orElseThrow(() -> new AssertionError("No stats for " + sql + " in " + stats));
+    }
+
+}
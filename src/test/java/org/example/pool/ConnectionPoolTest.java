@@ -0,0 +1,257 @@
+package org.example.pool;
+
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionPoolTest {
+
+    @Mock
+    private DatabaseConnectionProvider factory;
+
+    @Mock
+    private DatabaseConnection connection;
+
+    @Mock
+    private DatabaseConnection otherConnection;
+
+    private ConnectionPool.Builder poolBuilder() {
+        return ConnectionPool.builder(factory)
+                .validateOnBorrow(false)
+                .housekeepingPeriod(Duration.ZERO);
+    }
+
+    @Test
+    void testGetConnection_ReusesReturnedConnection() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection);
+            try (ConnectionPool pool = poolBuilder().maxSize(2).build()) {
+                DatabaseConnection first = pool.getConnection();
+                first.close();
+                DatabaseConnection second = pool.getConnection();
+                second.close();
+
+                verify(factory, times(1)).getConnection();
+                verify(connection, never()).close();
+                assertEquals(1, pool.getMetrics().getTotalConnections());
+                assertEquals(2, pool.getMetrics().getBorrowCount());
+            }
+            verify(connection).close();
+        });
+    }
+
+    @Test
+    void testGetConnection_ReturnedHandleCannotBeUsed() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection);
+            try (ConnectionPool pool = poolBuilder().build()) {
+                DatabaseConnection pooled = pool.getConnection();
+                pooled.close();
+
+                assertTrue(pooled.isClosed());
+                SQLException exception = assertThrows(SQLException.class, () -> pooled.prepareStatement("SELECT 1"));
+                assertEquals("Connection has already been returned to the pool", exception.getMessage());
+                verify(connection, never()).prepareStatement(anyString());
+            }
+        });
+    }
+
+    @Test
+    void testGetConnection_ExhaustedPoolTimesOut() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection);
+            try (ConnectionPool pool = poolBuilder().maxSize(1).borrowTimeout(Duration.ofMillis(50)).build()) {
+                DatabaseConnection held = pool.getConnection();
+
+                assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+                PoolMetrics metrics = pool.getMetrics();
+                assertEquals(1, metrics.getTimeoutCount());
+                assertEquals(1.0, metrics.getSaturation());
+                held.close();
+            }
+        });
+    }
+
+    @Test
+    void testGetConnection_WaiterReceivesReturnedConnection() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try (ConnectionPool pool = poolBuilder().maxSize(1).borrowTimeout(Duration.ofSeconds(5)).build()) {
+                DatabaseConnection held = pool.getConnection();
+                Future<DatabaseConnection> waiter = executor.submit(pool::getConnection);
+                while (pool.getMetrics().getWaitingThreads() == 0) {
+                    Thread.sleep(1);
+                }
+                held.close();
+
+                DatabaseConnection handedOver = waiter.get(5, TimeUnit.SECONDS);
+                assertFalse(handedOver.isClosed());
+                assertTrue(pool.getMetrics().getMaxWaitNanos() > 0);
+                handedOver.close();
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+    }
+
+    @Test
+    void testGetConnection_InvalidConnectionIsReplaced() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection, otherConnection);
+            when(connection.isValid(anyInt())).thenReturn(false);
+            try (ConnectionPool pool = ConnectionPool.builder(factory).minSize(1).maxSize(1)
+                    .housekeepingPeriod(Duration.ZERO).build()) {
+                DatabaseConnection pooled = pool.getConnection();
+                pooled.prepareStatement("SELECT 1");
+
+                verify(connection).close();
+                verify(otherConnection).prepareStatement("SELECT 1");
+                pooled.close();
+            }
+        });
+    }
+
+    @Test
+    void testRelease_RestoresAutoCommit() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection);
+            try (ConnectionPool pool = poolBuilder().build()) {
+                DatabaseConnection pooled = pool.getConnection();
+                pooled.setAutoCommit(false);
+                pooled.close();
+
+                verify(connection).rollback();
+                verify(connection).setAutoCommit(true);
+            }
+        });
+    }
+
+    @Test
+    void testRelease_RestoresIsolationAndReadOnly() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection);
+            when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+            try (ConnectionPool pool = poolBuilder().build()) {
+                DatabaseConnection pooled = pool.getConnection();
+                pooled.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                pooled.setReadOnly(true);
+                pooled.close();
+
+                verify(connection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                verify(connection).setReadOnly(false);
+                verify(connection, never()).rollback();
+            }
+        });
+    }
+
+    @Test
+    void testHousekeep_EvictsIdleConnectionsAboveMinimum() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection, otherConnection);
+            try (ConnectionPool pool = poolBuilder().minSize(1).maxSize(2).idleTimeout(Duration.ZERO).build()) {
+                DatabaseConnection first = pool.getConnection();
+                DatabaseConnection second = pool.getConnection();
+                first.close();
+                second.close();
+                assertEquals(2, pool.getMetrics().getTotalConnections());
+
+                pool.housekeep();
+
+                assertEquals(1, pool.getMetrics().getTotalConnections());
+                assertEquals(0, pool.getMetrics().getActiveConnections());
+            }
+        });
+    }
+
+    @Test
+    void testBuild_FillsMinimumSize() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenReturn(connection, otherConnection);
+            try (ConnectionPool pool = poolBuilder().minSize(2).maxSize(4).build()) {
+                assertEquals(2, pool.getMetrics().getTotalConnections());
+                assertEquals(2, pool.getMetrics().getIdleConnections());
+            }
+            verify(connection).close();
+            verify(otherConnection).close();
+        });
+    }
+
+    @Test
+    void testBuild_InvalidSizes_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ConnectionPool.builder(factory).minSize(3).maxSize(2).build());
+        assertEquals("Minimum pool size must be between 0 and the maximum size", exception.getMessage());
+    }
+
+    @Test
+    void testGetConnection_ClosedPool_ThrowsException() {
+        assertDoesNotThrow(() -> {
+            ConnectionPool pool = poolBuilder().build();
+            pool.close();
+            SQLException exception = assertThrows(SQLException.class, pool::getConnection);
+            assertEquals("Connection pool is closed", exception.getMessage());
+        });
+    }
+
+    @Test
+    void testGetConnection_ConcurrentBorrowersNeverExceedMaxSize() {
+        assertDoesNotThrow(() -> {
+            when(factory.getConnection()).thenAnswer(invocation -> mock(DatabaseConnection.class));
+            int threads = 64;
+            int maxSize = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try (ConnectionPool pool = poolBuilder().maxSize(maxSize).borrowTimeout(Duration.ofSeconds(10)).build()) {
+                AtomicInteger inUse = new AtomicInteger();
+                AtomicInteger peak = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 200; i++) {
+                            try (DatabaseConnection pooled = pool.getConnection()) {
+                                assertNotNull(pooled);
+                                peak.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                                inUse.decrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                assertTrue(peak.get() <= maxSize, "More connections lent out than the pool allows");
+                assertTrue(pool.getMetrics().getTotalConnections() <= maxSize);
+                assertEquals(0, pool.getMetrics().getActiveConnections());
+                assertEquals(threads * 200L, pool.getMetrics().getBorrowCount());
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,160 @@
+package org.example.replay;
+
+import org.example.JdbcWrapper;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.example.memory.InMemoryDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaptureTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private InMemoryDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("capture.bin");
+        database = new InMemoryDatabase();
+        assertDoesNotThrow(() -> {
+            try (DatabaseConnection connection = database.getConnection()) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                wrapper.executeUpdate("CREATE TABLE users (id BIGINT PRIMARY KEY, name VARCHAR(50), score DOUBLE, "
+                        + "active BOOLEAN, created TIMESTAMP, avatar VARBINARY(16))", List.of());
+                wrapper.executeUpdate("INSERT INTO users VALUES (1, 'Alice', 9.5, TRUE, '2024-01-02 03:04:05.123456789', NULL)",
+                        List.of());
+                wrapper.executeUpdate("INSERT INTO users (id, name, avatar) VALUES (?, ?, ?)",
+                        List.of(2L, "Bob", new byte[]{1, 2, 3}));
+            }
+        });
+    }
+
+    @Test
+    void testReplay_ServesRecordedRows() {
+        assertDoesNotThrow(() -> {
+            try (CaptureWriter writer = CaptureWriter.create(file);
+                 DatabaseConnection connection = writer.record(database.getConnection())) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                assertEquals(List.of("Alice", "Bob"),
+                        wrapper.executeQuery("SELECT * FROM users ORDER BY id", List.of(), rs -> rs.getString("name")));
+            }
+
+            try (Capture capture = Capture.open(file);
+                 DatabaseConnection connection = capture.getConnection();
+                 DatabaseStatement statement = connection.prepareStatement("SELECT * FROM users ORDER BY id");
+                 DatabaseResultSet resultSet = statement.executeQuery()) {
+                assertEquals(1, capture.getInteractionCount());
+                assertEquals(6, resultSet.getColumnCount());
+                assertEquals(Types.DOUBLE, resultSet.getColumnType(3));
+
+                assertTrue(resultSet.next());
+                assertEquals(1, resultSet.getInt("id"));
+                assertEquals("Alice", resultSet.getString(2));
+                assertEquals(9.5, resultSet.getDouble("score"));
+                assertTrue(resultSet.getBoolean("active"));
+                assertEquals(Timestamp.valueOf("2024-01-02 03:04:05.123456789"), resultSet.getTimestamp("created"));
+                assertNull(resultSet.getBytes("avatar"));
+                assertTrue(resultSet.wasNull());
+
+                assertTrue(resultSet.next());
+                assertEquals(2L, resultSet.getLong(1));
+                assertEquals(0.0, resultSet.getDouble("score"));
+                assertTrue(resultSet.wasNull());
+                assertArrayEquals(new byte[]{1, 2, 3}, resultSet.getBytes("avatar"));
+                assertFalse(resultSet.next());
+            }
+        });
+    }
+
+    @Test
+    void testReplay_MatchesParametersAndOrder() {
+        assertDoesNotThrow(() -> {
+            try (CaptureWriter writer = CaptureWriter.create(file);
+                 DatabaseConnection connection = writer.record(database.getConnection())) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                wrapper.executeQuery("SELECT name FROM users WHERE id = ?", List.of(1L), rs -> rs.getString(1));
+                wrapper.executeQuery("SELECT name FROM users WHERE id = ?", List.of(2L), rs -> rs.getString(1));
+                wrapper.executeUpdate("UPDATE users SET name = ? WHERE id = ?", List.of("Alicia", 1L));
+                wrapper.executeQuery("SELECT name FROM users WHERE id = ?", List.of(1L), rs -> rs.getString(1));
+            }
+
+            try (Capture capture = Capture.open(file);
+                 DatabaseConnection connection = capture.getConnection()) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                String query = "SELECT name FROM users WHERE id = ?";
+                assertEquals(List.of("Bob"), wrapper.executeQuery(query, List.of(2L), rs -> rs.getString(1)));
+                assertEquals(List.of("Alice"), wrapper.executeQuery(query, List.of(1L), rs -> rs.getString(1)));
+                assertEquals(1, wrapper.executeUpdate("UPDATE users SET name = ? WHERE id = ?", List.of("Alicia", 1L)));
+                assertEquals(List.of("Alicia"), wrapper.executeQuery(query, List.of(1L), rs -> rs.getString(1)));
+                assertEquals(List.of("Alicia"), wrapper.executeQuery(query, List.of(1L), rs -> rs.getString(1)));
+
+                SQLException exception = assertThrows(SQLException.class,
+                        () -> wrapper.executeQuery(query, List.of(3L), rs -> rs.getString(1)));
+                assertEquals("No recorded query for \"" + query + "\" with the bound parameters", exception.getMessage());
+            }
+        });
+    }
+
+    @Test
+    void testReplay_ReproducesBatchesAndFailures() {
+        assertDoesNotThrow(() -> {
+            List<List<Object>> rows = List.of(List.of(3L, "Carol"), List.of(4L, "Dave"));
+            try (CaptureWriter writer = CaptureWriter.create(file);
+                 DatabaseConnection connection = writer.record(database.getConnection())) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                assertArrayEquals(new int[]{1, 1}, wrapper.executeBatch("INSERT INTO users (id, name) VALUES (?, ?)", rows));
+                assertThrows(SQLException.class, () -> wrapper.executeUpdate("INSERT INTO users (id) VALUES (?)", List.of(1L)));
+            }
+
+            try (Capture capture = Capture.open(file);
+                 DatabaseConnection connection = capture.getConnection()) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                assertArrayEquals(new int[]{1, 1}, wrapper.executeBatch("INSERT INTO users (id, name) VALUES (?, ?)", rows));
+                SQLException exception = assertThrows(SQLException.class,
+                        () -> wrapper.executeUpdate("INSERT INTO users (id) VALUES (?)", List.of(1L)));
+                assertEquals("23505", exception.getSQLState());
+            }
+        });
+    }
+
+    @Test
+    void testOpen_IgnoresTruncatedTrailingRecord() {
+        assertDoesNotThrow(() -> {
+            try (CaptureWriter writer = CaptureWriter.create(file);
+                 DatabaseConnection connection = writer.record(database.getConnection())) {
+                JdbcWrapper wrapper = new JdbcWrapper(connection);
+                wrapper.executeUpdate("UPDATE users SET score = ? WHERE id = ?", List.of(1.0, 1L));
+                wrapper.executeUpdate("UPDATE users SET score = ? WHERE id = ?", List.of(2.0, 2L));
+            }
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+            try (Capture capture = Capture.open(file)) {
+                assertEquals(1, capture.getInteractionCount());
+            }
+        });
+    }
+
+    @Test
+    void testOpen_RejectsOtherFiles() {
+        assertDoesNotThrow(() -> Files.writeString(file, "not a capture"));
+        assertThrows(IOException.class, () -> Capture.open(file));
+    }
+
+}
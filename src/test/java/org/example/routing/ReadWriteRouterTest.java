@@ -0,0 +1,233 @@
+package org.example.routing;
+
+import org.example.JdbcWrapper;
+import org.example.adapters.DelegatingConnection;
+import org.example.adapters.JdbcConnectionAdapter;
+import org.example.interfaces.DatabaseConnection;
+import org.example.interfaces.DatabaseConnectionProvider;
+import org.example.interfaces.DatabaseResultSet;
+import org.example.interfaces.DatabaseStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadWriteRouterTest {
+
+    private static final String NODE_QUERY = "SELECT name FROM node";
+
+    private DatabaseConnectionProvider primary;
+    private DatabaseConnectionProvider replica1;
+    private DatabaseConnectionProvider replica2;
+
+    @BeforeEach
+    void setUp() {
+        assertDoesNotThrow(() -> {
+            primary = database("primary");
+            replica1 = database("replica1");
+            replica2 = database("replica2");
+        });
+    }
+
+    @Test
+    void testExecuteQuery_ReadsFromReplicasAndWritesToPrimary() {
+        assertDoesNotThrow(() -> {
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(replica1).replica(replica2)
+                    .readYourWritesWindow(Duration.ZERO).build();
+            try (JdbcWrapper wrapper = new JdbcWrapper(router.getConnection())) {
+                String first = node(wrapper);
+                String second = node(wrapper);
+                assertTrue(first.startsWith("replica") && second.startsWith("replica"));
+                assertNotEquals(first, second, "Idle replicas should take turns");
+
+                wrapper.executeUpdate("UPDATE node SET name = ?", List.of("primary-updated"));
+
+                assertTrue(node(wrapper).startsWith("replica"), "Reads should stay on replicas without stickiness");
+            }
+            try (JdbcWrapper wrapper = new JdbcWrapper(primary.getConnection())) {
+                assertEquals("primary-updated", node(wrapper));
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQuery_ReadsOwnWritesFromPrimary() {
+        assertDoesNotThrow(() -> {
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(replica1)
+                    .readYourWritesWindow(Duration.ofMinutes(1)).build();
+            try (JdbcWrapper writer = new JdbcWrapper(router.getConnection());
+                 JdbcWrapper other = new JdbcWrapper(router.getConnection())) {
+                assertEquals("replica1", node(writer));
+                writer.executeUpdate("UPDATE node SET name = ?", List.of("written"));
+
+                assertEquals("written", node(writer));
+                assertEquals("replica1", node(other));
+            }
+        });
+    }
+
+    @Test
+    void testInTransaction_ReadsFromPrimary() {
+        assertDoesNotThrow(() -> {
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(replica1).build();
+            try (JdbcWrapper wrapper = new JdbcWrapper(router.getConnection())) {
+                String seen = wrapper.inTransaction(tx -> {
+                    tx.executeUpdate("UPDATE node SET name = ?", List.of("uncommitted"));
+                    return node(tx);
+                });
+                assertEquals("uncommitted", seen);
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQuery_PrefersReplicaWithFewestOutstandingQueries() {
+        assertDoesNotThrow(() -> {
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(replica1).replica(replica2).build();
+            try (DatabaseConnection connection = router.getConnection();
+                 DatabaseStatement holding = connection.prepareStatement(NODE_QUERY);
+                 DatabaseStatement statement = connection.prepareStatement(NODE_QUERY);
+                 DatabaseResultSet held = holding.executeQuery()) {
+                assertTrue(held.next());
+                String busy = held.getString(1);
+                for (int i = 0; i < 4; i++) {
+                    try (DatabaseResultSet resultSet = statement.executeQuery()) {
+                        assertTrue(resultSet.next());
+                        assertNotEquals(busy, resultSet.getString(1));
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQuery_ReexecutingOrClosingStatementReturnsReplicaConnection() {
+        assertDoesNotThrow(() -> {
+            AtomicInteger open = new AtomicInteger();
+            DatabaseConnectionProvider counting = () -> {
+                open.incrementAndGet();
+                return new DelegatingConnection(replica1.getConnection()) {
+                    @Override
+                    public void close() throws SQLException {
+                        open.decrementAndGet();
+                        super.close();
+                    }
+                };
+            };
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(counting).build();
+            try (DatabaseConnection connection = router.getConnection()) {
+                DatabaseStatement statement = connection.prepareStatement(NODE_QUERY);
+                DatabaseResultSet first = statement.executeQuery();
+                assertEquals(1, open.get());
+                DatabaseResultSet second = statement.executeQuery();
+                assertEquals(1, open.get(), "Running the statement again should close its previous result set");
+                assertTrue(second.next());
+                assertEquals("replica1", second.getString(1));
+                assertThrows(SQLException.class, first::next);
+
+                statement.close();
+                assertEquals(0, open.get(), "Closing the statement should close its open result set");
+                second.close();
+                assertEquals(0, open.get());
+            }
+        });
+    }
+
+    @Test
+    void testIsWrapperFor_DoesNotBorrowPrimaryConnection() {
+        assertDoesNotThrow(() -> {
+            AtomicInteger borrowed = new AtomicInteger();
+            DatabaseConnectionProvider counting = () -> {
+                borrowed.incrementAndGet();
+                return primary.getConnection();
+            };
+            ReadWriteRouter router = ReadWriteRouter.builder(counting).replica(replica1).build();
+            try (DatabaseConnection connection = router.getConnection()) {
+                assertFalse(connection.isWrapperFor(Connection.class));
+                assertThrows(SQLException.class, () -> connection.unwrap(Connection.class));
+                assertSame(connection, connection.unwrap(DatabaseConnection.class));
+                assertEquals(0, borrowed.get());
+
+                connection.setAutoCommit(false);
+                assertTrue(connection.isWrapperFor(Connection.class));
+                assertNotNull(connection.unwrap(Connection.class));
+                assertEquals(1, borrowed.get());
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQuery_EjectsUnreachableReplica() {
+        assertDoesNotThrow(() -> {
+            AtomicInteger attempts = new AtomicInteger();
+            DatabaseConnectionProvider unreachable = () -> {
+                attempts.incrementAndGet();
+                throw new SQLTransientConnectionException("Connection refused", "08001");
+            };
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(unreachable).replica(replica2)
+                    .ejectionPeriod(Duration.ofMinutes(1)).build();
+            try (JdbcWrapper wrapper = new JdbcWrapper(router.getConnection())) {
+                for (int i = 0; i < 5; i++) {
+                    assertEquals("replica2", node(wrapper));
+                }
+            }
+            assertTrue(attempts.get() <= 1, "Ejected replica was retried " + attempts.get() + " times");
+            assertEquals(1, router.getAvailableReplicaCount());
+        });
+    }
+
+    @Test
+    void testExecuteQuery_FallsBackToPrimaryWithoutReplicas() {
+        assertDoesNotThrow(() -> {
+            DatabaseConnectionProvider unreachable = () -> {
+                throw new SQLTransientConnectionException("Connection refused", "08001");
+            };
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(unreachable).build();
+            try (JdbcWrapper wrapper = new JdbcWrapper(router.getConnection())) {
+                assertEquals("primary", node(wrapper));
+            }
+        });
+    }
+
+    @Test
+    void testExecuteQuery_QueryErrorIsNotRetried() {
+        assertDoesNotThrow(() -> {
+            ReadWriteRouter router = ReadWriteRouter.builder(primary).replica(replica1).build();
+            try (JdbcWrapper wrapper = new JdbcWrapper(router.getConnection())) {
+                assertThrows(SQLException.class, () -> wrapper.executeQuery("SELECT missing FROM node", List.of(), rs -> rs.getString(1)));
+            }
+            assertEquals(1, router.getAvailableReplicaCount());
+        });
+    }
+
+    @Test
+    void testBuild_InvalidFailureThreshold_ThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ReadWriteRouter.builder(primary).failureThreshold(0).build());
+        assertEquals("Failure threshold must be positive", exception.getMessage());
+    }
+
+    private static String node(JdbcWrapper wrapper) throws SQLException {
+        return wrapper.executeQuery(NODE_QUERY, List.of(), rs -> rs.getString(1)).get(0);
+    }
+
+    private static DatabaseConnectionProvider database(String name) throws SQLException {
+        String url = "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        DatabaseConnectionProvider provider = () -> new JdbcConnectionAdapter(DriverManager.getConnection(url));
+        try (JdbcWrapper wrapper = new JdbcWrapper(provider.getConnection())) {
+            wrapper.executeUpdate("CREATE TABLE node (name VARCHAR(40))", List.of());
+            wrapper.executeUpdate("INSERT INTO node VALUES (?)", List.of(name));
+        }
+        return provider;
+    }
+
+}